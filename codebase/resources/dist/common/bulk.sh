@@ -0,0 +1,58 @@
+#!/bin/bash
+
+function printUsage()
+{
+	echo ""
+	echo "The bulk test measures how well very large messages (megabytes to hundreds of"
+	echo "megabytes) can be moved through the RTI when split into chunks. One federate is"
+	echo "designated as the sender. All others receive and reassemble the messages.    "
+	echo ""
+	echo "For each message size the sender sends --loops messages once for each of the "
+	echo "chunk sizes. Receivers report the goodput and the time from the first to the "
+	echo "last chunk of each message for every combination."
+	echo ""
+	echo "usage: bulk.sh [--arg <value>]"
+	echo ""
+	echo "    --federate-name      [stirng]    (REQUIRED) Name for this federate"
+	echo "    --federation-name    [string]    (optional) Name of the federation we're joining, default hperf"
+	echo "    --loops              [number]    (optional) Number of messages to send per run, default 20"
+	echo "    --peers              [list]      (REQUIRED) Comma-separated list of other federate names"
+	echo "    --bulk-sizes         [list]      (optional) Size of each message. e.g. 1M,16M,256M, default 1M,16M"
+	echo "    --chunk-sizes        [list]      (optional) Size of each chunk. e.g. 16K,64K, default 16K,64K,256K,1M"
+	echo "    --bulk-updates                   (optional) Send chunks as attribute updates, default interactions"
+	echo "    --sender                         (optional) Is this federate the sender, default false"
+	echo "    --log-level          [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
+	echo ""
+	echo "example: ./bulk.sh --federate-name one --peers two,three --bulk-sizes 1M,64M --sender"
+	echo "         ./bulk.sh --federate-name two --peers one,three --bulk-sizes 1M,64M"
+	echo ""
+	exit;
+}
+
+###########################
+# check for usage request #
+###########################
+if [ $# = 0 ]
+then
+    printUsage;
+    exit;
+fi
+
+if [ $1 = "--help" ]
+then
+    printUsage;
+    exit;
+fi
+
+############################################
+### (target) execute #######################
+############################################
+echo -e "Starting HPerf Test Federate (use --help to display usage)"
+
+# Change : to ; on classpath if Git Bash... because Windows
+classpath="./lib/hperf.jar:./lib/portico/portico.jar"
+if [ $(uname) != "Linux" ]; then
+	classpath=$( echo "$classpath" | tr : \; )
+fi
+
+java -cp $classpath hperf.Main --bulk-test $*
@@ -0,0 +1,54 @@
+#!/bin/bash
+
+function printUsage()
+{
+	echo ""
+	echo "The churn test runs alongside a throughput test. Churn federates repeatedly   "
+	echo "join, wait for the throughput federates, stay for a while and then resign.    "
+	echo "Run the throughput federates with --rate-series to see how much their receive "
+	echo "rate dips around each join and resign. Throughput federates should not list   "
+	echo "churn federates as peers; churn federates should list the throughput ones.    "
+	echo ""
+	echo "usage: churn.sh [--arg <value>]"
+	echo ""
+	echo "    --federate-name      [string]    (REQUIRED) Name for this federate"
+	echo "    --federation-name    [string]    (optional) Name of the federation we're joining, default hperf"
+	echo "    --loops              [number]    (optional) Number of times to join and resign, default 20"
+	echo "    --peers              [list]      (REQUIRED) Comma-separated list of the throughput federates"
+	echo "    --churn-interval     [number]    (optional) Time (ms) to stay joined, then away, each loop, default 2000"
+	echo "    --callback-evoked                (optional) Use the evoked callback model, default immediate"
+	echo "    --log-level          [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
+	echo ""
+	echo "example: ./throughput.sh --federate-name one --peers two --loops 100000 --rate-series"
+	echo "         ./throughput.sh --federate-name two --peers one --loops 100000 --rate-series"
+	echo "         ./churn.sh --federate-name churn1 --peers one,two --loops 10 --churn-interval 3000"
+	echo ""
+	exit;
+}
+###########################
+# check for usage request #
+###########################
+if [ $# = 0 ]
+then
+    printUsage;
+    exit;
+fi
+
+if [ $1 = "--help" ]
+then
+    printUsage;
+    exit;
+fi
+
+############################################
+### (target) execute #######################
+############################################
+echo -e "Starting HPerf Test Federate (use --help to display usage)"
+
+# Change : to ; on classpath if Git Bash... because Windows
+classpath="./lib/hperf.jar:./lib/portico/portico.jar"
+if [ $(uname) != "Linux" ]; then
+	classpath=$( echo "$classpath" | tr : \; )
+fi
+
+java -cp $classpath hperf.Main --churn-test $*
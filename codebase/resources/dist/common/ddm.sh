@@ -0,0 +1,62 @@
+#!/bin/bash
+
+function printUsage()
+{
+	echo ""
+	echo "The DDM test measures how well Data Distribution Management filters traffic. "
+	echo "Every federate registers --objects objects spread over a grid of cells in the "
+	echo "GridX/GridY routing space, each with an update region covering its own cell.  "
+	echo "Every federate also subscribes with a region covering part of the grid.       "
+	echo ""
+	echo "For each of the --ddm-fractions the subscription region is resized to cover   "
+	echo "that much of the grid and all federates update their objects --loops times.   "
+	echo "The report shows delivered vs filtered updates and CPU cost per message."
+	echo ""
+	echo "usage: ddm.sh [--arg <value>]"
+	echo ""
+	echo "    --federate-name      [stirng]    (REQUIRED) Name for this federate"
+	echo "    --federation-name    [string]    (optional) Name of the federation we're joining, default hperf"
+	echo "    --loops              [number]    (optional) Number of times to update every object per run, default 20"
+	echo "    --peers              [list]      (REQUIRED) Comma-separated list of other federate names"
+	echo "    --objects            [number]    (optional) Number of objects each federate registers, default 20"
+	echo "    --ddm-grid           [number]    (optional) Grid is this many cells on each side, default 10"
+	echo "    --ddm-fractions      [list]      (optional) Fractions of the grid to subscribe to, default 0.1,0.25,0.5,1.0"
+	echo "    --packet-size        [number]    (optional) Min size of messages. e.g. 1B, 1K, 1M, default 1K"
+	echo "    --loop-wait          [number]    (optional) How long (ms) to tick between loops in evoked mode, default 10"
+	echo "    --callback-immediate             (optional) Use the immediate callback HLA mode (default)"
+	echo "    --callback-evoked                (optional) If specified, used the ticked HLA callback mode"
+	echo "    --log-level          [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
+	echo ""
+	echo "example: ./ddm.sh --federate-name one --peers two,three --objects 1000"
+	echo "         ./ddm.sh --federate-name one --peers two --ddm-grid 20 --ddm-fractions 0.05,0.5"
+	echo ""
+	exit;
+}
+
+###########################
+# check for usage request #
+###########################
+if [ $# = 0 ]
+then
+    printUsage;
+    exit;
+fi
+
+if [ $1 = "--help" ]
+then
+    printUsage;
+    exit;
+fi
+
+############################################
+### (target) execute #######################
+############################################
+echo -e "Starting HPerf Test Federate (use --help to display usage)"
+
+# Change : to ; on classpath if Git Bash... because Windows
+classpath="./lib/hperf.jar:./lib/portico/portico.jar"
+if [ $(uname) != "Linux" ]; then
+	classpath=$( echo "$classpath" | tr : \; )
+fi
+
+java -cp $classpath hperf.Main --ddm-test $*
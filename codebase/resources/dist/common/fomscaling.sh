@@ -0,0 +1,63 @@
+#!/bin/bash
+
+function printUsage()
+{
+	echo ""
+	echo "The FOM scaling test measures how federate start-up grows with the size of the   "
+	echo "FOM. For each of the --fom-sizes it generates a FOM module with that many object "
+	echo "classes (each with --fom-attributes attributes) and --fom-interactions interaction"
+	echo "classes, and then --loops times it will:"
+	echo ""
+	echo "    1. Create a federation with the module (which is where it gets parsed)"
+	echo "    2. Join the federation"
+	echo "    3. Look up every class, attribute and parameter handle"
+	echo "    4. Publish and then subscribe to everything"
+	echo "    5. Resign and destroy the federation"
+	echo ""
+	echo " NOTE: This test runs on its own - no peers are required."
+	echo ""
+	echo "usage: fomscaling.sh [--arg <value>]"
+	echo ""
+	echo "    --federate-name      [stirng]    (REQUIRED) Name for this federate"
+	echo "    --federation-name    [string]    (optional) Prefix for the federations we create, default hperf"
+	echo "    --loops              [number]    (optional) Number of times to run through each size, default 20"
+	echo "    --fom-sizes          [list]      (optional) Comma-separated object class counts, default 10,100,500,1000"
+	echo "    --fom-attributes     [number]    (optional) Attributes per class (and parameters per interaction), default 10"
+	echo "    --fom-interactions   [number]    (optional) Interaction classes in each module, default same as object classes"
+	echo "    --callback-immediate             (optional) Use the immediate callback HLA mode (default)"
+	echo "    --callback-evoked                (optional) If specified, used the ticked HLA callback mode"
+	echo "    --log-level          [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
+	echo ""
+	echo "example: ./fomscaling.sh --federate-name one"
+	echo "         ./fomscaling.sh --federate-name one --fom-sizes 100,1000,5000 --fom-attributes 20 --loops 5"
+	echo ""
+	exit;
+}
+
+###########################
+# check for usage request #
+###########################
+if [ $# = 0 ]
+then
+    printUsage;
+    exit;
+fi
+
+if [ $1 = "--help" ]
+then
+    printUsage;
+    exit;
+fi
+
+############################################
+### (target) execute #######################
+############################################
+echo -e "Starting HPerf Test Federate (use --help to display usage)"
+
+# Change : to ; on classpath if Git Bash... because Windows
+classpath="./lib/hperf.jar:./lib/portico/portico.jar"
+if [ $(uname) != "Linux" ]; then
+	classpath=$( echo "$classpath" | tr : \; )
+fi
+
+java -cp $classpath hperf.Main --fom-scaling-test $*
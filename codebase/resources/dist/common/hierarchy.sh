@@ -0,0 +1,65 @@
+#!/bin/bash
+
+function printUsage()
+{
+	echo ""
+	echo "The hierarchy test measures the cost of deep interaction class hierarchies. The  "
+	echo "federation is created with a generated FOM module containing a tree of classes "
+	echo "--fom-depth levels deep, where every class has --fom-breadth children. One       "
+	echo "federate is the sender and only ever sends leaf class interactions."
+	echo ""
+	echo "The receivers subscribe to every class on each level of the tree in turn, from   "
+	echo "the root down to the leaves, so the interactions are promoted up to whatever     "
+	echo "level they are subscribed at. The report shows receive rate and CPU cost per     "
+	echo "interaction for each level."
+	echo ""
+	echo " NOTE: All federates must use the same --fom-depth and --fom-breadth."
+	echo ""
+	echo "usage: hierarchy.sh [--arg <value>]"
+	echo ""
+	echo "    --federate-name      [stirng]    (REQUIRED) Name for this federate"
+	echo "    --federation-name    [string]    (optional) Name of the federation we're joining, default hperf"
+	echo "    --loops              [number]    (optional) Number of batches sent for each level, default 20"
+	echo "    --peers              [list]      (REQUIRED) Comma-separated list of other federate names"
+	echo "    --interactions       [number]    (optional) Number of interactions in each batch, default 20"
+	echo "    --fom-depth          [number]    (optional) Levels of classes below the root, default 3"
+	echo "    --fom-breadth        [number]    (optional) Number of children each class has, default 3"
+	echo "    --packet-size        [number]    (optional) Min size of messages. e.g. 1B, 1K, 1M, default 1K"
+	echo "    --sender                         (optional) Is this federate the sender, default false"
+	echo "    --callback-immediate             (optional) Use the immediate callback HLA mode (default)"
+	echo "    --callback-evoked                (optional) If specified, used the ticked HLA callback mode"
+	echo "    --log-level          [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
+	echo ""
+	echo "example: ./hierarchy.sh --federate-name one --peers two --fom-depth 5 --fom-breadth 2"
+	echo "         ./hierarchy.sh --federate-name two --peers one --fom-depth 5 --fom-breadth 2 --loops 1000 --sender"
+	echo ""
+	exit;
+}
+
+###########################
+# check for usage request #
+###########################
+if [ $# = 0 ]
+then
+    printUsage;
+    exit;
+fi
+
+if [ $1 = "--help" ]
+then
+    printUsage;
+    exit;
+fi
+
+############################################
+### (target) execute #######################
+############################################
+echo -e "Starting HPerf Test Federate (use --help to display usage)"
+
+# Change : to ; on classpath if Git Bash... because Windows
+classpath="./lib/hperf.jar:./lib/portico/portico.jar"
+if [ $(uname) != "Linux" ]; then
+	classpath=$( echo "$classpath" | tr : \; )
+fi
+
+java -cp $classpath hperf.Main --hierarchy-test $*
@@ -0,0 +1,62 @@
+#!/bin/bash
+
+function printUsage()
+{
+	echo ""
+	echo "The late joiner test measures how long it takes a federate that joins an    "
+	echo "exercise already in progress to catch up. One federate is designated as the "
+	echo "sender (the late joiner). All others are established federates that register"
+	echo "test objects and keep updating them for the duration of the test.           "
+	echo ""
+	echo "Each loop the established federates register another --objects objects and  "
+	echo "the late joiner re-joins, timing how long it takes to discover all of them   "
+	echo "and receive a fresh update for each."
+	echo ""
+	echo " NOTE: The late joiner should list all established federates as peers. The  "
+	echo "       established federates should only list each other."
+	echo ""
+	echo "usage: latejoin.sh [--arg <value>]"
+	echo ""
+	echo "    --federate-name      [stirng]    (REQUIRED) Name for this federate"
+	echo "    --federation-name    [string]    (optional) Name of the federation we're joining, default hperf"
+	echo "    --loops              [number]    (optional) Number of times the late joiner joins, default 20"
+	echo "    --peers              [list]      (REQUIRED) Comma-separated list of other federate names"
+	echo "    --objects            [number]    (optional) Objects each established federate adds per loop, default 20"
+	echo "    --packet-size        [number]    (optional) Min size of messages. e.g. 1B, 1K, 1M, default 1K"
+	echo "    --loop-wait          [number]    (optional) How long (ms) established federates wait between updates, default 10"
+	echo "    --sender                         (optional) Is this federate the late joiner, default false"
+	echo "    --log-level          [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
+	echo ""
+	echo "example: ./latejoin.sh --federate-name one --peers two --objects 10000"
+	echo "         ./latejoin.sh --federate-name late --peers one,two --objects 10000 --loops 10 --sender"
+	echo ""
+	exit;
+}
+
+###########################
+# check for usage request #
+###########################
+if [ $# = 0 ]
+then
+    printUsage;
+    exit;
+fi
+
+if [ $1 = "--help" ]
+then
+    printUsage;
+    exit;
+fi
+
+############################################
+### (target) execute #######################
+############################################
+echo -e "Starting HPerf Test Federate (use --help to display usage)"
+
+# Change : to ; on classpath if Git Bash... because Windows
+classpath="./lib/hperf.jar:./lib/portico/portico.jar"
+if [ $(uname) != "Linux" ]; then
+	classpath=$( echo "$classpath" | tr : \; )
+fi
+
+java -cp $classpath hperf.Main --late-join-test $*
@@ -18,11 +18,24 @@ function printUsage()
 	echo "    --loops              [number]    (optional) Number of loops we should iterate for, default 20"
 	echo "    --peers              [list]      (REQUIRED) Comma-separated list of other federate names"
 	echo "    --packet-size        [number]    (optional) Min size of messages. e.g. 1B, 1K, 1M, default 1K"
+	echo "    --payload-content    [string]    (optional) PATTERN | TEXT | RANDOM, what to fill payloads with, default PATTERN"
+	echo "    --compress           [number]    (optional) Deflate payloads at this level (0-9) before sending, default off"
+	echo "    --encrypt                        (optional) Encrypt payloads with AES-GCM before sending, default off"
+	echo "    --encrypt-key        [string]    (optional) Passphrase for --encrypt (implies it), default federation name"
+	echo "    --entity-payload                 (optional) Send HLA-encoded RPR entity state records instead of raw bytes, default off"
+	echo "    --articulated-parts  [number]    (optional) Articulated parts in each entity state record, default 4"
 	echo "    --sender                         (optional) Is this federate the one event sender, default false"
 	echo "    --validate-data                  (optional) Validate received contents and log any errors, default false"
+	echo "    --tso                            (optional) Send Ping/PingAck timestamp ordered, advancing time to deliver them"
+	echo "    --lookahead          [number]    (optional) Lookahead used when sending TSO, default 1.0"
+	echo "    --time-step          [number]    (optional) Time to advance each step when sending TSO, default 1.0"
+	echo "                                                Must be at least the lookahead"
 	echo "    --log-level          [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
+	echo "    --scale-to           [number]    (optional) Run in a single JVM at 2, 4, 8... federates up to this many and report how it scales"
+	echo "    --federations        [number]    (optional) Run 1, 2, 4... copies of this federation at once in a single JVM, up to this many"
 	echo ""
 	echo "example: ./latency-sh --federate-name one --peers two,three --loops 10000 --sender"
+	echo "         ./latency.sh --federate-name one --peers two,three --loops 1000 --sender --tso --lookahead 0.1"
 	echo ""
 	exit;
 }
@@ -0,0 +1,63 @@
+#!/bin/bash
+
+function printUsage()
+{
+	echo ""
+	echo "The next event test compares the time advance services for sparse, event-  "
+	echo "driven federates. Each federate has a local event queue with random gaps   "
+	echo "between events, and sends a TSO interaction to everyone else each time one "
+	echo "fires. The same workload is run using timeAdvanceRequest (TAR),            "
+	echo "nextMessageRequest (NMR) and flushQueueRequest (FQR), reporting how fast   "
+	echo "logical time moves and how long each grant takes under each."
+	echo ""
+	echo " NOTE: All federates should be given the same --loops, --event-gap and     "
+	echo "       --advance-modes."
+	echo ""
+	echo "usage: nextevent.sh [--arg <value>]"
+	echo ""
+	echo "    --federate-name      [string]    (REQUIRED) Name for this federate"
+	echo "    --federation-name    [string]    (optional) Name of the federation we're joining, default hperf"
+	echo "    --loops              [number]    (optional) Mean number of local events per mode, default 20"
+	echo "    --peers              [list]      (REQUIRED) Comma-separated list of other federate names"
+	echo "    --packet-size        [number]    (optional) Min size of messages. e.g. 1B, 1K, 1M, default 1K"
+	echo "    --advance-modes      [list]      (optional) Comma-separated list of TAR, NMR, FQR, default all"
+	echo "    --event-gap          [number]    (optional) Mean logical time between local events, default 10.0"
+	echo "    --lookahead          [number]    (optional) Lookahead for all TSO traffic, default 1.0"
+	echo "    --callback-immediate             (optional) Use the immediate callback HLA mode (default)"
+	echo "    --callback-evoked                (optional) If specified, used the ticked HLA callback mode"
+	echo "    --loop-wait          [number]    (optional) Max time (ms) to wait for each callback (if in 'evoked' mode), default 10"
+	echo "    --log-level          [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
+	echo ""
+	echo "example: ./nextevent.sh --federate-name one --peers two,three --loops 1000"
+	echo "         ./nextevent.sh --federate-name two --peers one,three --loops 1000 --advance-modes NMR,FQR"
+	echo ""
+	exit;
+}
+
+###########################
+# check for usage request #
+###########################
+if [ $# = 0 ]
+then
+    printUsage;
+    exit;
+fi
+
+if [ $1 = "--help" ]
+then
+    printUsage;
+    exit;
+fi
+
+############################################
+### (target) execute #######################
+############################################
+echo -e "Starting HPerf Test Federate (use --help to display usage)"
+
+# Change : to ; on classpath if Git Bash... because Windows
+classpath="./lib/hperf.jar:./lib/portico/portico.jar"
+if [ $(uname) != "Linux" ]; then
+	classpath=$( echo "$classpath" | tr : \; )
+fi
+
+java -cp $classpath hperf.Main --next-event-test $*
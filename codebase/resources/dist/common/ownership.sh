@@ -0,0 +1,62 @@
+#!/bin/bash
+
+function printUsage()
+{
+	echo ""
+	echo "The ownership test measures how quickly attribute ownership can be handed   "
+	echo "between federates. The first federate (by name) registers the test objects. "
+	echo "Ownership of all of them is then passed around the federates in name order, "
+	echo "one hop each round, using each of the requested ownership modes:"
+	echo ""
+	echo "    NEGOTIATED     Owner offers, acquirer accepts, owner confirms"
+	echo "    ACQUISITION    Acquirer asks, owner releases with divestiture-if-wanted"
+	echo "    UNCONDITIONAL  Acquirer asks, owner divests unconditionally"
+	echo ""
+	echo " NOTE: All federates should be given the same --objects, --loops and        "
+	echo "       --ownership-modes."
+	echo ""
+	echo "usage: ownership.sh [--arg <value>]"
+	echo ""
+	echo "    --federate-name      [string]    (REQUIRED) Name for this federate"
+	echo "    --federation-name    [string]    (optional) Name of the federation we're joining, default hperf"
+	echo "    --loops              [number]    (optional) Number of rounds to run in each mode, default 20"
+	echo "    --peers              [list]      (REQUIRED) Comma-separated list of other federate names"
+	echo "    --objects            [number]    (optional) Number of objects passed around each round, default 20"
+	echo "    --ownership-modes    [list]      (optional) Comma-separated list of modes, default all"
+	echo "    --callback-immediate             (optional) Use the immediate callback HLA mode (default)"
+	echo "    --callback-evoked                (optional) If specified, used the ticked HLA callback mode"
+	echo "    --log-level          [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
+	echo ""
+	echo "example: ./ownership.sh --federate-name one --peers two --objects 1000 --loops 50"
+	echo "         ./ownership.sh --federate-name two --peers one --objects 1000 --loops 50"
+	echo ""
+	exit;
+}
+
+###########################
+# check for usage request #
+###########################
+if [ $# = 0 ]
+then
+    printUsage;
+    exit;
+fi
+
+if [ $1 = "--help" ]
+then
+    printUsage;
+    exit;
+fi
+
+############################################
+### (target) execute #######################
+############################################
+echo -e "Starting HPerf Test Federate (use --help to display usage)"
+
+# Change : to ; on classpath if Git Bash... because Windows
+classpath="./lib/hperf.jar:./lib/portico/portico.jar"
+if [ $(uname) != "Linux" ]; then
+	classpath=$( echo "$classpath" | tr : \; )
+fi
+
+java -cp $classpath hperf.Main --ownership-test $*
@@ -0,0 +1,63 @@
+#!/bin/bash
+
+function printUsage()
+{
+	echo ""
+	echo "The population test grows the number of live objects in the federation to  "
+	echo "production scale (a million or more) and reports how discovery time, heap   "
+	echo "used per object and the cost of each update change as it does. All federates"
+	echo "take part equally, each growing its share to --objects over several steps. "
+	echo ""
+	echo "Each step every federate registers its share of the new objects in batches, "
+	echo "waits to discover everyone else's, then spends --loops loops updating the   "
+	echo "next --update-subset of its objects in turn."
+	echo ""
+	echo " NOTE: Give the JVM plenty of heap (-Xmx) for large populations."
+	echo ""
+	echo "usage: population.sh [--arg <value>]"
+	echo ""
+	echo "    --federate-name      [stirng]    (REQUIRED) Name for this federate"
+	echo "    --federation-name    [string]    (optional) Name of the federation we're joining, default hperf"
+	echo "    --peers              [list]      (REQUIRED) Comma-separated list of other federate names"
+	echo "    --objects            [number]    (optional) Objects this federate grows to by the last step, default 20"
+	echo "    --population-steps   [number]    (optional) Number of steps to grow the population in, default 10"
+	echo "    --register-batch     [number]    (optional) Objects registered at a time between ticks, default 10000"
+	echo "    --update-subset      [number]    (optional) Objects updated each loop, default 1000"
+	echo "    --loops              [number]    (optional) Number of update loops at each step, default 20"
+	echo "    --packet-size        [number]    (optional) Min size of messages. e.g. 1B, 1K, 1M, default 1K"
+	echo "    --callback-evoked                (optional) If specified, used the ticked HLA callback mode"
+	echo "    --log-level          [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
+	echo ""
+	echo "example: ./population.sh --federate-name one --peers two --objects 500000 --loops 100"
+	echo "         ./population.sh --federate-name two --peers one --objects 500000 --loops 100"
+	echo ""
+	exit;
+}
+
+###########################
+# check for usage request #
+###########################
+if [ $# = 0 ]
+then
+    printUsage;
+    exit;
+fi
+
+if [ $1 = "--help" ]
+then
+    printUsage;
+    exit;
+fi
+
+############################################
+### (target) execute #######################
+############################################
+echo -e "Starting HPerf Test Federate (use --help to display usage)"
+
+# Change : to ; on classpath if Git Bash... because Windows
+classpath="./lib/hperf.jar:./lib/portico/portico.jar"
+if [ $(uname) != "Linux" ]; then
+	classpath=$( echo "$classpath" | tr : \; )
+fi
+
+java -cp $classpath hperf.Main --population-test $*
@@ -0,0 +1,64 @@
+#!/bin/bash
+
+function printUsage()
+{
+	echo ""
+	echo "The pull test measures the requestAttributeValueUpdate/provideAttributeValueUpdate"
+	echo "path. One federate is designated as the sender (the requester). All others are   "
+	echo "owners that register --objects objects and only ever update them on request.     "
+	echo ""
+	echo "The requester runs --loops rounds of each of the following, timing from each     "
+	echo "request until the reflect arrives:"
+	echo "    Single Object: request one object, wait for it, repeat"
+	echo "    Object Burst:  request every object individually, then wait for them all"
+	echo "    Whole Class:   request the whole class at once, then wait for every object"
+	echo ""
+	echo " NOTE: The requester should list all owners as peers. The owners only need to   "
+	echo "       list the requester."
+	echo ""
+	echo "usage: pull.sh [--arg <value>]"
+	echo ""
+	echo "    --federate-name      [stirng]    (REQUIRED) Name for this federate"
+	echo "    --federation-name    [string]    (optional) Name of the federation we're joining, default hperf"
+	echo "    --loops              [number]    (optional) Number of rounds of each kind of request, default 20"
+	echo "    --peers              [list]      (REQUIRED) Comma-separated list of other federate names"
+	echo "    --objects            [number]    (optional) Number of objects each owner registers, default 20"
+	echo "    --packet-size        [number]    (optional) Min size of messages. e.g. 1B, 1K, 1M, default 1K"
+	echo "    --sender                         (optional) Is this federate the requester, default false"
+	echo "    --callback-immediate             (optional) Use the immediate callback HLA mode (default)"
+	echo "    --callback-evoked                (optional) If specified, used the ticked HLA callback mode"
+	echo "    --log-level          [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
+	echo ""
+	echo "example: ./pull.sh --federate-name one --peers req --objects 10000"
+	echo "         ./pull.sh --federate-name req --peers one,two --objects 10000 --loops 100 --sender"
+	echo ""
+	exit;
+}
+
+###########################
+# check for usage request #
+###########################
+if [ $# = 0 ]
+then
+    printUsage;
+    exit;
+fi
+
+if [ $1 = "--help" ]
+then
+    printUsage;
+    exit;
+fi
+
+############################################
+### (target) execute #######################
+############################################
+echo -e "Starting HPerf Test Federate (use --help to display usage)"
+
+# Change : to ; on classpath if Git Bash... because Windows
+classpath="./lib/hperf.jar:./lib/portico/portico.jar"
+if [ $(uname) != "Linux" ]; then
+	classpath=$( echo "$classpath" | tr : \; )
+fi
+
+java -cp $classpath hperf.Main --pull-test $*
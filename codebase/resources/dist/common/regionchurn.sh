@@ -0,0 +1,64 @@
+#!/bin/bash
+
+function printUsage()
+{
+	echo ""
+	echo "The region churn test measures the cost of moving DDM regions while traffic  "
+	echo "is flowing. Every federate registers --objects objects, each with its own     "
+	echo "update region in a random cell of the grid, and subscribes with a region half "
+	echo "the width of the grid. All objects are updated each loop, and one region is   "
+	echo "moved to a new random spot --region-move-rate times a second. The subscription"
+	echo "region takes its turn with the update regions."
+	echo ""
+	echo "The report shows how long region modifications take to commit, and how long  "
+	echo "after each subscription move reflects start/stop arriving from the cells that "
+	echo "were moved onto/away from."
+	echo ""
+	echo "usage: regionchurn.sh [--arg <value>]"
+	echo ""
+	echo "    --federate-name      [stirng]    (REQUIRED) Name for this federate"
+	echo "    --federation-name    [string]    (optional) Name of the federation we're joining, default hperf"
+	echo "    --loops              [number]    (optional) Number of times to update every object, default 20"
+	echo "    --peers              [list]      (REQUIRED) Comma-separated list of other federate names"
+	echo "    --objects            [number]    (optional) Number of objects (and update regions) per federate, default 20"
+	echo "    --ddm-grid           [number]    (optional) Grid is this many cells on each side, default 10"
+	echo "    --region-move-rate   [number]    (optional) Region moves per second, default 100"
+	echo "    --packet-size        [number]    (optional) Min size of messages. e.g. 1B, 1K, 1M, default 1K"
+	echo "    --loop-wait          [number]    (optional) How long (ms) to wait between loops, default 10"
+	echo "    --callback-immediate             (optional) Use the immediate callback HLA mode (default)"
+	echo "    --callback-evoked                (optional) If specified, used the ticked HLA callback mode"
+	echo "    --log-level          [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
+	echo ""
+	echo "example: ./regionchurn.sh --federate-name one --peers two --objects 100 --loops 1000"
+	echo "         ./regionchurn.sh --federate-name two --peers one --objects 100 --loops 1000 --region-move-rate 500"
+	echo ""
+	exit;
+}
+
+###########################
+# check for usage request #
+###########################
+if [ $# = 0 ]
+then
+    printUsage;
+    exit;
+fi
+
+if [ $1 = "--help" ]
+then
+    printUsage;
+    exit;
+fi
+
+############################################
+### (target) execute #######################
+############################################
+echo -e "Starting HPerf Test Federate (use --help to display usage)"
+
+# Change : to ; on classpath if Git Bash... because Windows
+classpath="./lib/hperf.jar:./lib/portico/portico.jar"
+if [ $(uname) != "Linux" ]; then
+	classpath=$( echo "$classpath" | tr : \; )
+fi
+
+java -cp $classpath hperf.Main --region-churn-test $*
@@ -0,0 +1,52 @@
+#!/bin/bash
+
+function printUsage()
+{
+	echo ""
+	echo "The registration test measures how quickly each federate can register its    "
+	echo "objects. The same number of objects is registered in several phases: unnamed, "
+	echo "named with one reservation at a time, named with all reservations pipelined  "
+	echo "and named using reserveMultipleObjectInstanceName() batches of each given size."
+	echo ""
+	echo "usage: registration.sh [--arg <value>]"
+	echo ""
+	echo "    --federate-name          [string]    (REQUIRED) Name for this federate"
+	echo "    --federation-name        [string]    (optional) Name of the federation we're joining, default hperf"
+	echo "    --peers                  [list]      (REQUIRED) Comma-separated list of other federate names"
+	echo "    --objects                [number]    (optional) Objects to register in each phase, default 20"
+	echo "    --reservation-batches    [list]      (optional) Comma-separated list of batch sizes, default 10,100,1000"
+	echo "    --callback-evoked                    (optional) Use the evoked callback model, default immediate"
+	echo "    --log-level              [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
+	echo ""
+	echo "example: ./registration.sh --federate-name one --peers two --objects 20000"
+	echo "         ./registration.sh --federate-name two --peers one --objects 20000 --reservation-batches 100,5000"
+	echo ""
+	exit;
+}
+###########################
+# check for usage request #
+###########################
+if [ $# = 0 ]
+then
+    printUsage;
+    exit;
+fi
+
+if [ $1 = "--help" ]
+then
+    printUsage;
+    exit;
+fi
+
+############################################
+### (target) execute #######################
+############################################
+echo -e "Starting HPerf Test Federate (use --help to display usage)"
+
+# Change : to ; on classpath if Git Bash... because Windows
+classpath="./lib/hperf.jar:./lib/portico/portico.jar"
+if [ $(uname) != "Linux" ]; then
+	classpath=$( echo "$classpath" | tr : \; )
+fi
+
+java -cp $classpath hperf.Main --registration-test $*
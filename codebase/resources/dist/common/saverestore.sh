@@ -0,0 +1,53 @@
+#!/bin/bash
+
+function printUsage()
+{
+	echo ""
+	echo "The save/restore test measures how long a federation save and restore takes  "
+	echo "as the federation grows. Each round every federate registers more objects and "
+	echo "then the sender requests a federation save, followed by a restore of it.      "
+	echo "Run with different numbers of federates to see how federate count affects it. "
+	echo ""
+	echo "usage: saverestore.sh [--arg <value>]"
+	echo ""
+	echo "    --federate-name      [string]    (REQUIRED) Name for this federate"
+	echo "    --federation-name    [string]    (optional) Name of the federation we're joining, default hperf"
+	echo "    --loops              [number]    (optional) Number of save/restore rounds, default 20"
+	echo "    --peers              [list]      (REQUIRED) Comma-separated list of other federate names"
+	echo "    --objects            [number]    (optional) Objects each federate adds per round, default 20"
+	echo "    --sender                         (optional) Is this federate the one requesting saves, default false"
+	echo "    --callback-evoked                (optional) Use the evoked callback model, default immediate"
+	echo "    --log-level          [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
+	echo ""
+	echo "example: ./saverestore.sh --federate-name one --peers two --objects 1000 --loops 10 --sender"
+	echo "         ./saverestore.sh --federate-name two --peers one --objects 1000 --loops 10"
+	echo ""
+	exit;
+}
+###########################
+# check for usage request #
+###########################
+if [ $# = 0 ]
+then
+    printUsage;
+    exit;
+fi
+
+if [ $1 = "--help" ]
+then
+    printUsage;
+    exit;
+fi
+
+############################################
+### (target) execute #######################
+############################################
+echo -e "Starting HPerf Test Federate (use --help to display usage)"
+
+# Change : to ; on classpath if Git Bash... because Windows
+classpath="./lib/hperf.jar:./lib/portico/portico.jar"
+if [ $(uname) != "Linux" ]; then
+	classpath=$( echo "$classpath" | tr : \; )
+fi
+
+java -cp $classpath hperf.Main --save-restore-test $*
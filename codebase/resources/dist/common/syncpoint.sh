@@ -0,0 +1,52 @@
+#!/bin/bash
+
+function printUsage()
+{
+	echo ""
+	echo "The sync point test measures how long it takes to get through a sync point.  "
+	echo "The sender registers points restricted to itself plus 1..N of its peers and  "
+	echo "times register->announce and achieve->synchronized for each. All the other   "
+	echo "federates just achieve each point as soon as it is announced.                "
+	echo ""
+	echo "usage: syncpoint.sh [--arg <value>]"
+	echo ""
+	echo "    --federate-name      [string]    (REQUIRED) Name for this federate"
+	echo "    --federation-name    [string]    (optional) Name of the federation we're joining, default hperf"
+	echo "    --loops              [number]    (optional) Number of points for each federate count, default 20"
+	echo "    --peers              [list]      (REQUIRED) Comma-separated list of other federate names"
+	echo "    --sender                         (optional) Is this federate the sender, default false"
+	echo "    --callback-evoked                (optional) Use the evoked callback model, default immediate"
+	echo "    --log-level          [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
+	echo ""
+	echo "example: ./syncpoint.sh --federate-name one --peers two,three --loops 1000 --sender"
+	echo "         ./syncpoint.sh --federate-name two --peers one,three"
+	echo ""
+	exit;
+}
+###########################
+# check for usage request #
+###########################
+if [ $# = 0 ]
+then
+    printUsage;
+    exit;
+fi
+
+if [ $1 = "--help" ]
+then
+    printUsage;
+    exit;
+fi
+
+############################################
+### (target) execute #######################
+############################################
+echo -e "Starting HPerf Test Federate (use --help to display usage)"
+
+# Change : to ; on classpath if Git Bash... because Windows
+classpath="./lib/hperf.jar:./lib/portico/portico.jar"
+if [ $(uname) != "Linux" ]; then
+	classpath=$( echo "$classpath" | tr : \; )
+fi
+
+java -cp $classpath hperf.Main --syncpoint-test $*
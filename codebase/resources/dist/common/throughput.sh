@@ -9,6 +9,13 @@ function printUsage()
 	echo "    --loops              [number]    (optional) Number of loops we should iterate for, default 20"
 	echo "    --peers              [list]      (REQUIRED) Comma-separated list of other federate names"
 	echo "    --packet-size        [number]    (optional) Min size of messages. e.g. 1B, 1K, 1M, default 1K"
+	echo "    --payload-pool       [number]    (optional) Rotate through this many bytes of distinct payloads. e.g. 512M, default off"
+	echo "    --payload-content    [string]    (optional) PATTERN | TEXT | RANDOM, what to fill payloads with, default PATTERN"
+	echo "    --compress           [number]    (optional) Deflate payloads at this level (0-9) before sending, default off"
+	echo "    --encrypt                        (optional) Encrypt payloads with AES-GCM before sending, default off"
+	echo "    --encrypt-key        [string]    (optional) Passphrase for --encrypt (implies it), default federation name"
+	echo "    --entity-payload                 (optional) Send HLA-encoded RPR entity state records instead of raw bytes, default off"
+	echo "    --articulated-parts  [number]    (optional) Articulated parts in each entity state record, default 4"
 	echo "    --validate-data                  (optional) Validate received contents and log any errors, default false"
 	echo "    --callback-immediate             (optional) Use the immediate callback HLA mode (default)"
 	echo "    --callback-evoked                (optional) If specified, used the ticked HLA callback mode"
@@ -17,6 +24,19 @@ function printUsage()
 	echo "    --log-level          [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
 	echo "    --print-interval     [number]    (optional) Print status update every X iterations, default 10% of loops"
 	echo "    --print-megabits                 (optional) If specified, prints throughput in megabits-per-second"
+	echo "    --rate-series                    (optional) Record and report the receive rate for each second"
+	echo "    --timestepped                    (optional) Advance time each loop, sending receive order traffic"
+	echo "    --tso                            (optional) As --timestepped, but send timestamp order traffic"
+	echo "    --lookahead          [number]    (optional) Lookahead used when time stepping, default 1.0"
+	echo "    --time-step          [number]    (optional) Time to advance each loop when time stepping, default 1.0"
+	echo "                                                With --tso this must be at least the lookahead"
+	echo "    --topology           [string]    (optional) MESH | STAR | RING | PAIRS, who sends to whom, default MESH"
+	echo "    --publish-only       [list]      (optional) Comma-separated list of federates that only send"
+	echo "    --subscribe-only     [list]      (optional) Comma-separated list of federates that only receive"
+	echo "    --subscribe-count    [number]    (optional) Subscribe to only this many of the federates that could send to us, default all"
+	echo "    --subscribe-seed     [number]    (optional) Seed used to pick who each federate subscribes to, default 1"
+	echo "    --scale-to           [number]    (optional) Run in a single JVM at 2, 4, 8... federates up to this many and report how it scales"
+	echo "    --federations        [number]    (optional) Run 1, 2, 4... copies of this federation at once in a single JVM, up to this many"
 	echo ""
 	exit;
 }
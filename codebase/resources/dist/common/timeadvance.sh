@@ -0,0 +1,57 @@
+#!/bin/bash
+
+function printUsage()
+{
+	echo ""
+	echo "The time advance test measures the raw cost of advancing time. Every federate"
+	echo "is regulating and constrained and advances as fast as it can with no traffic,"
+	echo "recording how long each time advance request takes to be granted."
+	echo ""
+	echo "The test runs once for each lookahead given, stepping by the lookahead each  "
+	echo "time. All federates should be given the same --loops and --lookaheads."
+	echo ""
+	echo "usage: timeadvance.sh [--arg <value>]"
+	echo ""
+	echo "    --federate-name      [string]    (REQUIRED) Name for this federate"
+	echo "    --federation-name    [string]    (optional) Name of the federation we're joining, default hperf"
+	echo "    --loops              [number]    (optional) Number of grants to request for each lookahead, default 20"
+	echo "    --peers              [list]      (REQUIRED) Comma-separated list of other federate names"
+	echo "    --lookaheads         [list]      (optional) Comma-separated list of lookaheads, default 1.0,0.1,0.01,0.001"
+	echo "    --callback-immediate             (optional) Use the immediate callback HLA mode (default)"
+	echo "    --callback-evoked                (optional) If specified, used the ticked HLA callback mode"
+	echo "    --loop-wait          [number]    (optional) Max time (ms) to wait for each callback (if in 'evoked' mode), default 10"
+	echo "    --log-level          [string]    (optional) TRACE | DEBUG | INFO | WARN | FATAL | OFF, default INFO"
+	echo ""
+	echo "example: ./timeadvance.sh --federate-name one --peers two,three --loops 10000"
+	echo "         ./timeadvance.sh --federate-name two --peers one,three --loops 10000 --lookaheads 1.0,0.5"
+	echo ""
+	exit;
+}
+
+###########################
+# check for usage request #
+###########################
+if [ $# = 0 ]
+then
+    printUsage;
+    exit;
+fi
+
+if [ $1 = "--help" ]
+then
+    printUsage;
+    exit;
+fi
+
+############################################
+### (target) execute #######################
+############################################
+echo -e "Starting HPerf Test Federate (use --help to display usage)"
+
+# Change : to ; on classpath if Git Bash... because Windows
+classpath="./lib/hperf.jar:./lib/portico/portico.jar"
+if [ $(uname) != "Linux" ]; then
+	classpath=$( echo "$classpath" | tr : \; )
+fi
+
+java -cp $classpath hperf.Main --time-advance-test $*
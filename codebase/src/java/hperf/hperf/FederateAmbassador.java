@@ -20,26 +20,50 @@
  */
 package hperf;
 
-import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.log4j.Logger;
 
+import hla.rti1516e.AttributeHandleSet;
 import hla.rti1516e.AttributeHandleValueMap;
+import hla.rti1516e.FederateHandle;
 import hla.rti1516e.FederateHandleSet;
 import hla.rti1516e.InteractionClassHandle;
 import hla.rti1516e.LogicalTime;
+import hla.rti1516e.MessageRetractionHandle;
 import hla.rti1516e.NullFederateAmbassador;
 import hla.rti1516e.ObjectClassHandle;
 import hla.rti1516e.ObjectInstanceHandle;
 import hla.rti1516e.OrderType;
+import hla.rti1516e.ParameterHandle;
 import hla.rti1516e.ParameterHandleValueMap;
+import hla.rti1516e.RestoreFailureReason;
+import hla.rti1516e.SaveFailureReason;
+import hla.rti1516e.RtiFactoryFactory;
 import hla.rti1516e.TransportationTypeHandle;
 import hla.rti1516e.exceptions.FederateInternalError;
+import hla.rti1516e.exceptions.RTIexception;
 import hla.rti1516e.time.HLAfloat64Time;
+import hperf.bulk.BulkTracker;
+import hperf.compress.PayloadCompressor;
 import hperf.config.Configuration;
+import hperf.crypto.PayloadCipher;
+import hperf.entity.EntityStateCodec;
+import hperf.ddm.RegionChurnTracker;
+import hperf.fom.HierarchyTracker;
+import hperf.latejoin.CatchupEvent;
 import hperf.latency.LatencyEvent;
+import hperf.ownership.OwnershipRequest;
+import hperf.ownership.OwnershipTracker;
+import hperf.pull.PullTracker;
+import hperf.saverestore.SaveRestoreEvent;
+import hperf.throughput.RateSeries;
 
 import static hperf.Handles.*;
 
@@ -58,21 +82,58 @@ public class FederateAmbassador extends NullFederateAmbassador
 
 	// federate name reservation
 	public Set<String> reservedObjectNames;
+	public Set<String> failedObjectNames;
+	public volatile CountDownLatch reservationLatch; // counted down as each reservation is answered
 
 	// sync point information
 	public Set<String> announcedSyncPoints;
 	public Set<String> achievedSyncPoints;
+	public Map<String,Long> syncPointAnnounceTimes;     // nanoTime at which each was announced
+	public Map<String,Long> syncPointSynchronizedTimes; // nanoTime at which each was synchronized
+	public BlockingQueue<String> syncPointAnnouncements; // if set, announced labels are queued here
 	
 	// time settings
 	public boolean timeConstrained;
 	public boolean timeRegulating;
-	public long currentTime;
+	public volatile double currentTime;
+	public Object grantSignal; // notified each time we receive a time advance grant
+	public volatile int grantCount; // grants received so far, see Utils.waitForGrant()
 
 	// latency test settings
 	public LatencyEvent currentLatencyEvent;
 	public ConcurrentLinkedQueue<Integer> pingReceived;
 	public Object pingSignal; // object we use to signal to other thread that ping has been received 
 
+	// late joiner test settings
+	public CatchupEvent currentCatchupEvent;
+
+	// save/restore test settings
+	public SaveRestoreEvent currentSaveRestoreEvent;
+
+	// ownership test settings
+	public volatile OwnershipTracker ownershipTracker;
+
+	// ddm test settings
+	public AtomicLong regionReflections; // reflections of RegionTestObjects that made it through
+	public volatile RegionChurnTracker regionChurnTracker;
+
+	// pull test settings
+	public volatile PullTracker pullTracker;
+
+	// hierarchy test settings
+	public volatile HierarchyTracker hierarchyTracker;
+
+	// throughput test topology settings
+	public volatile Set<InteractionClassHandle> topologyInteractions; // per-federate throughput subclasses
+
+	// bulk test settings
+	public volatile BulkTracker bulkTracker;
+
+	// throughput and latency payload encoding, compression and encryption, null if not in use
+	public EntityStateCodec entityCodec;
+	public PayloadCompressor compressor;
+	public PayloadCipher cipher;
+
 
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
@@ -84,21 +145,66 @@ public class FederateAmbassador extends NullFederateAmbassador
 		this.storage = storage;
 
 		// object names
-		this.reservedObjectNames = new HashSet<String>();
+		this.reservedObjectNames = ConcurrentHashMap.newKeySet();
+		this.failedObjectNames = ConcurrentHashMap.newKeySet();
+		this.reservationLatch = null;
 
 		// sync points
-		this.announcedSyncPoints = new HashSet<String>();
-		this.achievedSyncPoints = new HashSet<String>();
+		this.announcedSyncPoints = ConcurrentHashMap.newKeySet();
+		this.achievedSyncPoints = ConcurrentHashMap.newKeySet();
+		this.syncPointAnnounceTimes = new ConcurrentHashMap<String,Long>();
+		this.syncPointSynchronizedTimes = new ConcurrentHashMap<String,Long>();
+		this.syncPointAnnouncements = null;
 		
 		// time settings
 		this.timeConstrained = false;
 		this.timeRegulating = false;
 		this.currentTime = 0;
+		this.grantSignal = new Object();
+		this.grantCount = 0;
 		
 		// latency test settings
 		this.currentLatencyEvent = null;
 		this.pingReceived = new ConcurrentLinkedQueue<Integer>();
 		this.pingSignal = new Object();
+
+		// late joiner test settings
+		this.currentCatchupEvent = null;
+
+		// save/restore test settings
+		this.currentSaveRestoreEvent = null;
+
+		// ownership test settings
+		this.ownershipTracker = null;
+
+		// ddm test settings
+		this.regionReflections = new AtomicLong( 0 );
+		this.regionChurnTracker = null;
+
+		// pull test settings
+		this.pullTracker = null;
+
+		// hierarchy test settings
+		this.hierarchyTracker = null;
+
+		// throughput test topology settings
+		this.topologyInteractions = null;
+
+		// bulk test settings
+		this.bulkTracker = null;
+
+		// throughput and latency payload encoding, compression and encryption
+		this.entityCodec = null;
+		if( configuration.isEntityPayloadEnabled() )
+			this.entityCodec = createEntityCodec();
+
+		this.compressor = null;
+		if( configuration.isCompressionEnabled() )
+			this.compressor = new PayloadCompressor( configuration.getCompressLevel() );
+
+		this.cipher = null;
+		if( configuration.isEncryptionEnabled() )
+			this.cipher = new PayloadCipher( configuration.getEncryptKey() );
 	}
 
 	//----------------------------------------------------------
@@ -121,13 +227,34 @@ public class FederateAmbassador extends NullFederateAmbassador
 			//
 			storage.addPeer( new TestFederate(objectName,false/*isLocal*/,objectHandle) );
 			logger.info( "Discovered federate "+objectName+" (handle:"+objectHandle+")" );
+
+			// mark the join if we're watching for throughput disruption
+			RateSeries rateSeries = storage.getRateSeries();
+			if( rateSeries != null )
+				rateSeries.mark( objectName+" joined" );
 		}
 		else if( theObjectClass.equals(Handles.OC_TEST_OBJECT) )
 		{
 			//
 			// Class: HLAobjectRoot.TestObject
 			//
-			// No-op
+			// Only of interest if we're measuring how long a late joiner takes to catch up
+			if( currentCatchupEvent != null )
+				currentCatchupEvent.recordDiscover( objectHandle, System.nanoTime() );
+
+			// ...or if we're passing ownership of them around
+			OwnershipTracker tracker = this.ownershipTracker;
+			if( tracker != null )
+				tracker.objectDiscovered( objectHandle );
+		}
+		else if( theObjectClass.equals(Handles.OC_PULL_TEST_OBJECT) )
+		{
+			//
+			// Class: HLAobjectRoot.PullTestObject
+			//
+			PullTracker tracker = this.pullTracker;
+			if( tracker != null )
+				tracker.objectDiscovered( objectHandle );
 		}
 		
 		if( logger.isDebugEnabled() )
@@ -146,28 +273,114 @@ public class FederateAmbassador extends NullFederateAmbassador
 	                                    SupplementalReflectInfo reflectInfo )
 	    throws FederateInternalError
 	{
-		// if the update came with a creator name, then it is the initial update
-		if( theAttributes.containsKey(AC_CREATOR) )
+		handleReflect( theObject, theAttributes, userSuppliedTag );
+	}
+
+	@SuppressWarnings("rawtypes")
+	public void reflectAttributeValues( ObjectInstanceHandle theObject,
+	                                    AttributeHandleValueMap theAttributes,
+	                                    byte[] userSuppliedTag,
+	                                    OrderType sentOrdering,
+	                                    TransportationTypeHandle theTransport,
+	                                    LogicalTime theTime,
+	                                    OrderType receivedOrdering,
+	                                    SupplementalReflectInfo reflectInfo )
+	    throws FederateInternalError
+	{
+		handleReflect( theObject, theAttributes, userSuppliedTag );
+	}
+
+	@SuppressWarnings("rawtypes")
+	public void reflectAttributeValues( ObjectInstanceHandle theObject,
+	                                    AttributeHandleValueMap theAttributes,
+	                                    byte[] userSuppliedTag,
+	                                    OrderType sentOrdering,
+	                                    TransportationTypeHandle theTransport,
+	                                    LogicalTime theTime,
+	                                    OrderType receivedOrdering,
+	                                    MessageRetractionHandle retractionHandle,
+	                                    SupplementalReflectInfo reflectInfo )
+	    throws FederateInternalError
+	{
+		handleReflect( theObject, theAttributes, userSuppliedTag );
+	}
+
+	/**
+	 * Common handling for receive and timestamp ordered reflections. Both `TestObject` and
+	 * `TimedTestObject` carry the same creator/payload attributes, so we look for either.
+	 */
+	private void handleReflect( ObjectInstanceHandle theObject,
+	                            AttributeHandleValueMap theAttributes,
+	                            byte[] tag )
+	{
+		// region test objects are just counted - we only want to know how many got through
+		if( theAttributes.containsKey(AC_REGION_PAYLOAD) )
+		{
+			regionReflections.incrementAndGet();
+			RegionChurnTracker tracker = this.regionChurnTracker;
+			if( tracker != null )
+				tracker.reflected( theAttributes.get(AC_REGION_PAYLOAD), System.nanoTime() );
+
+			return;
+		}
+
+		// bulk test chunks are handed over for reassembly
+		if( theAttributes.containsKey(AC_BULK_CHUNK) )
+		{
+			BulkTracker tracker = this.bulkTracker;
+			if( tracker != null )
+				tracker.chunk( theAttributes.get(AC_BULK_CHUNK), System.nanoTime() );
+
+			return;
+		}
+
+		// pull test objects only ever reflect because someone asked for them
+		if( theAttributes.containsKey(AC_PULL_PAYLOAD) )
+		{
+			PullTracker tracker = this.pullTracker;
+			if( tracker != null )
+				tracker.reflected( theObject, tag, System.nanoTime() );
+
+			return;
+		}
+
+		byte[] creator = theAttributes.get( AC_CREATOR );
+		byte[] payload = theAttributes.get( AC_PAYLOAD );
+		if( creator == null && payload == null )
+		{
+			creator = theAttributes.get( AC_TIMED_CREATOR );
+			payload = theAttributes.get( AC_TIMED_PAYLOAD );
+		}
+
+		// if the update came with a creator name and we don't know the object yet, then it is
+		// the initial update (or the first fresh update we've seen if we joined late)
+		if( creator != null && storage.getOwner(theObject) == null )
 		{
 			//
 			// Initial Update
 			//
-			String name = new String( theAttributes.get(AC_CREATOR) );
+			String name = new String( creator );
 			TestFederate owner = storage.getPeer( name );
 			if( owner == null )
+			{
 				logger.error( "Received initial update from an undiscovered federate: "+name );
+			}
 			else
+			{
 				storage.recordDiscover( theObject, owner );
+				if( currentCatchupEvent != null )
+					currentCatchupEvent.recordReflect( theObject, System.nanoTime() );
+			}
 		}
-		else
+		else if( payload != null )
 		{
 			//
 			// Regular Reflect
 			//
 			// validate the data blob received
-			byte[] payload = theAttributes.get(AC_PAYLOAD);
+			payload = decodePayload( payload );
 			if( configuration.getValidateData() )
-				Utils.verifyPayload( payload, configuration.getPacketSize(), logger );
+				verifyPayload( payload );
 
 			storage.recordReflect( theObject );
 		}
@@ -185,6 +398,17 @@ public class FederateAmbassador extends NullFederateAmbassador
 	                                  SupplementalRemoveInfo info )
 		throws FederateInternalError
 	{
+		// if this was a federate object, mark the resign if we're watching for disruption
+		RateSeries rateSeries = storage.getRateSeries();
+		if( rateSeries != null )
+		{
+			for( TestFederate federate : storage.getPeers() )
+			{
+				if( objectHandle.equals(federate.getFederateObjectHandle()) )
+					rateSeries.mark( federate.getFederateName()+" resigned" );
+			}
+		}
+
 		storage.recordDelete( objectHandle );
 
 		if( logger.isDebugEnabled() )
@@ -202,12 +426,24 @@ public class FederateAmbassador extends NullFederateAmbassador
 	                                SupplementalReceiveInfo receiveInfo )
 	    throws FederateInternalError
 	{
-		if( interactionClass.equals(IC_PING) )
+		if( interactionClass.equals(IC_PING) || interactionClass.equals(IC_TIMED_PING) )
 			handlePing( parameters );
-		else if( interactionClass.equals(IC_PING_ACK) )
+		else if( interactionClass.equals(IC_PING_ACK) || interactionClass.equals(IC_TIMED_PING_ACK) )
 			handlePingAck( parameters );
 		else if( interactionClass.equals(IC_THROUGHPUT) )
-			handleThroughputInteraction( interactionClass, parameters );
+			handleThroughputInteraction( interactionClass, parameters, PC_THROUGHPUT_SENDER, PC_THROUGHPUT_PAYLOAD );
+		else if( interactionClass.equals(IC_TIMED_THROUGHPUT) )
+			handleThroughputInteraction( interactionClass, parameters, PC_TIMED_THROUGHPUT_SENDER, PC_TIMED_THROUGHPUT_PAYLOAD );
+		else if( topologyInteractions != null && topologyInteractions.contains(interactionClass) )
+			handleThroughputInteraction( interactionClass, parameters, PC_THROUGHPUT_SENDER, PC_THROUGHPUT_PAYLOAD );
+		else if( interactionClass.equals(IC_BULK_CHUNK) )
+		{
+			BulkTracker tracker = this.bulkTracker;
+			if( tracker != null )
+				tracker.chunk( parameters.get(PC_BULK_CHUNK), System.nanoTime() );
+		}
+		else if( hierarchyTracker != null )
+			hierarchyTracker.received( interactionClass );
 		
 		if( logger.isDebugEnabled() )
 		{
@@ -216,19 +452,50 @@ public class FederateAmbassador extends NullFederateAmbassador
 		}
 	}
 
+	@SuppressWarnings("rawtypes")
+	public void receiveInteraction( InteractionClassHandle interactionClass,
+	                                ParameterHandleValueMap parameters,
+	                                byte[] tag,
+	                                OrderType sentOrdering,
+	                                TransportationTypeHandle theTransport,
+	                                LogicalTime theTime,
+	                                OrderType receivedOrdering,
+	                                SupplementalReceiveInfo receiveInfo )
+	    throws FederateInternalError
+	{
+		receiveInteraction( interactionClass, parameters, tag, sentOrdering, theTransport, receiveInfo );
+	}
+
+	@SuppressWarnings("rawtypes")
+	public void receiveInteraction( InteractionClassHandle interactionClass,
+	                                ParameterHandleValueMap parameters,
+	                                byte[] tag,
+	                                OrderType sentOrdering,
+	                                TransportationTypeHandle theTransport,
+	                                LogicalTime theTime,
+	                                OrderType receivedOrdering,
+	                                MessageRetractionHandle retractionHandle,
+	                                SupplementalReceiveInfo receiveInfo )
+	    throws FederateInternalError
+	{
+		receiveInteraction( interactionClass, parameters, tag, sentOrdering, theTransport, receiveInfo );
+	}
+
 	///
 	/// Throughput Interaction Handling Methods
 	///
 	private void handleThroughputInteraction( InteractionClassHandle interactionClass,
-	                                          ParameterHandleValueMap parameters )
+	                                          ParameterHandleValueMap parameters,
+	                                          ParameterHandle senderHandle,
+	                                          ParameterHandle payloadHandle )
 	{
 		// validate the data blob received
-		byte[] payload = parameters.get(PC_THROUGHPUT_PAYLOAD);
+		byte[] payload = decodePayload( parameters.get(payloadHandle) );
 		if( configuration.getValidateData() )
-			Utils.verifyPayload( payload, configuration.getPacketSize(), logger );
+			verifyPayload( payload );
 
 		// find the sending federate in our list
-		byte[] temp = parameters.get(PC_THROUGHPUT_SENDER);
+		byte[] temp = parameters.get(senderHandle);
 		String senderName = new String( temp );
 		TestFederate sender = storage.getPeer( senderName );
 
@@ -236,6 +503,64 @@ public class FederateAmbassador extends NullFederateAmbassador
 		storage.recordInteraction( interactionClass, sender );
 	}
 	
+	/**
+	 * Decrypt, decompress and/or decode a received throughput or latency payload for whichever
+	 * are on (in the reverse of the order the sender applied them). We always do this, whether
+	 * or not we're validating, as the cost of it is part of what we're measuring.
+	 *
+	 * To keep allocation out of the receive path the array returned may be a scratch buffer
+	 * owned by whatever did the decoding, so it is only valid until the next call. That holds
+	 * because callbacks are delivered to us one at a time; verify it or copy it before
+	 * returning from the callback, don't hold on to it.
+	 */
+	private byte[] decodePayload( byte[] payload )
+	{
+		if( payload == null )
+			return null;
+
+		if( cipher != null )
+			payload = cipher.decrypt( payload );
+		if( compressor != null )
+		{
+			// entity state records are whatever size the codec makes them, not the packet size
+			int expectedSize = entityCodec == null ? configuration.getPacketSize()
+			                                       : entityCodec.getEncodedLength();
+			payload = compressor.decompress( payload, expectedSize );
+		}
+		if( entityCodec != null )
+			entityCodec.decode( payload );
+
+		return payload;
+	}
+
+	/**
+	 * Validate a payload that has been through {@link #decodePayload(byte[])}. Entity state
+	 * payloads are checked in their decoded form, everything else against what we expect
+	 * them to have been filled with.
+	 */
+	private void verifyPayload( byte[] payload )
+	{
+		if( entityCodec != null )
+			entityCodec.verify( logger );
+		else
+			configuration.getPayloadContent().verify( payload, configuration.getPacketSize(), logger );
+	}
+
+	private EntityStateCodec createEntityCodec()
+	{
+		try
+		{
+			short entityNumber = (short)(configuration.getFederateName().hashCode() & 0x7fff);
+			return new EntityStateCodec( RtiFactoryFactory.getRtiFactory().getEncoderFactory(),
+			                             configuration.getArticulatedParts(),
+			                             entityNumber );
+		}
+		catch( RTIexception rtie )
+		{
+			throw new RuntimeException( "Could not get the HLA encoder factory: "+rtie.getMessage(), rtie );
+		}
+	}
+
 	///
 	/// Latency Interaction Handling Methods
 	///
@@ -249,12 +574,11 @@ public class FederateAmbassador extends NullFederateAmbassador
 		int serial = Utils.bytesToInt( parameters.get(PC_PING_SERIAL) );
 
 		// validate the payload data if we've been asked to
+		byte[] payload = decodePayload( parameters.get(PC_PING_PAYLOAD) );
 		if( configuration.getValidateData() )
 		{
 			// validate the data only if we're told to - will hurt latency!
-			Utils.verifyPayload( parameters.get(PC_PING_PAYLOAD),
-			                     configuration.getPacketSize(),
-			                     logger );
+			verifyPayload( payload );
 		}
 
 		// let the people waiting on a ping know that it is here
@@ -270,6 +594,9 @@ public class FederateAmbassador extends NullFederateAmbassador
 	 */
 	private void handlePingAck( ParameterHandleValueMap parameters )
 	{
+		// decoding is part of getting the payload to the application, so do it first
+		byte[] payload = decodePayload( parameters.get(PC_PING_ACK_PAYLOAD) );
+
 		// stop the clock!
 		long receivedTimestamp = System.nanoTime();
 
@@ -286,9 +613,7 @@ public class FederateAmbassador extends NullFederateAmbassador
 		if( configuration.getValidateData() )
 		{
 			// validate the data only if we're told to - will hurt latency!
-			Utils.verifyPayload( parameters.get(PC_PING_ACK_PAYLOAD),
-			                     configuration.getPacketSize(),
-			                     logger );
+			verifyPayload( payload );
 		}
 		
 		synchronized( pingSignal )
@@ -304,7 +629,7 @@ public class FederateAmbassador extends NullFederateAmbassador
 	public void timeRegulationEnabled( LogicalTime time ) throws FederateInternalError
 	{
 		this.timeRegulating = true;
-		this.currentTime = (long)((HLAfloat64Time)time).getValue();
+		this.currentTime = ((HLAfloat64Time)time).getValue();
 		logger.info( "timeRegulationEnabled("+currentTime+")" );
 	}
 
@@ -312,14 +637,19 @@ public class FederateAmbassador extends NullFederateAmbassador
 	public void timeConstrainedEnabled( LogicalTime time ) throws FederateInternalError
 	{
 		this.timeConstrained = true;
-		this.currentTime = (long)((HLAfloat64Time)time).getValue();
+		this.currentTime = ((HLAfloat64Time)time).getValue();
 		logger.info( "timeConstrainedEnabled("+currentTime+")" );
 	}
 
 	@SuppressWarnings("rawtypes")
 	public void timeAdvanceGrant( LogicalTime time ) throws FederateInternalError
 	{
-		this.currentTime = (long)((HLAfloat64Time)time).getValue();
+		synchronized( grantSignal )
+		{
+			this.currentTime = ((HLAfloat64Time)time).getValue();
+			this.grantCount++;
+			this.grantSignal.notifyAll();
+		}
 	}
 
 	///////////////////////////////////////////////////////////////////////////////////////
@@ -328,17 +658,164 @@ public class FederateAmbassador extends NullFederateAmbassador
 	public void announceSynchronizationPoint( String label, byte[] tag )
 		throws FederateInternalError
 	{
+		this.syncPointAnnounceTimes.put( label, System.nanoTime() );
 		this.announcedSyncPoints.add( label );
+
+		BlockingQueue<String> queue = this.syncPointAnnouncements;
+		if( queue != null )
+			queue.add( label );
 	}
 
 	public void federationSynchronized( String label, FederateHandleSet failedSet )
 		throws FederateInternalError
 	{
+		this.syncPointSynchronizedTimes.put( label, System.nanoTime() );
 		this.achievedSyncPoints.add( label );
 	}
 
 
 
+	///////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Save and Restore Handling /////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	// The driver is responsible for answering with federateSaveBegun()/federateSaveComplete()
+	// and federateRestoreComplete(). All we do here is note when things happen.
+	public void initiateFederateSave( String label ) throws FederateInternalError
+	{
+		logger.debug( "(FedAmb) Initiate federate save: "+label );
+		SaveRestoreEvent event = this.currentSaveRestoreEvent;
+		if( event != null )
+			event.setSaveInitiated( System.nanoTime() );
+	}
+
+	@SuppressWarnings("rawtypes")
+	public void initiateFederateSave( String label, LogicalTime time ) throws FederateInternalError
+	{
+		initiateFederateSave( label );
+	}
+
+	public void federationSaved() throws FederateInternalError
+	{
+		logger.debug( "(FedAmb) Federation saved" );
+		SaveRestoreEvent event = this.currentSaveRestoreEvent;
+		if( event != null )
+			event.saveFinished( System.nanoTime(), true );
+	}
+
+	public void federationNotSaved( SaveFailureReason reason ) throws FederateInternalError
+	{
+		logger.warn( "(FedAmb) Federation save FAILED: "+reason );
+		SaveRestoreEvent event = this.currentSaveRestoreEvent;
+		if( event != null )
+			event.saveFinished( System.nanoTime(), false );
+	}
+
+	public void requestFederationRestoreSucceeded( String label ) throws FederateInternalError
+	{
+		logger.debug( "(FedAmb) Federation restore request succeeded: "+label );
+	}
+
+	public void requestFederationRestoreFailed( String label ) throws FederateInternalError
+	{
+		logger.warn( "(FedAmb) Federation restore request FAILED: "+label );
+		SaveRestoreEvent event = this.currentSaveRestoreEvent;
+		if( event != null )
+			event.restoreRequestFailed( System.nanoTime() );
+	}
+
+	public void initiateFederateRestore( String label, String federateName, FederateHandle handle )
+		throws FederateInternalError
+	{
+		logger.debug( "(FedAmb) Initiate federate restore: "+label+" (as "+federateName+")" );
+		SaveRestoreEvent event = this.currentSaveRestoreEvent;
+		if( event != null )
+			event.setRestoreInitiated( System.nanoTime() );
+	}
+
+	public void federationRestored() throws FederateInternalError
+	{
+		logger.debug( "(FedAmb) Federation restored" );
+		SaveRestoreEvent event = this.currentSaveRestoreEvent;
+		if( event != null )
+			event.restoreFinished( System.nanoTime(), true );
+	}
+
+	public void federationNotRestored( RestoreFailureReason reason ) throws FederateInternalError
+	{
+		logger.warn( "(FedAmb) Federation restore FAILED: "+reason );
+		SaveRestoreEvent event = this.currentSaveRestoreEvent;
+		if( event != null )
+			event.restoreFinished( System.nanoTime(), false );
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////// Ownership Handling /////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	// The driver is responsible for answering offers, release requests and divestiture
+	// confirmations. All we do here is queue them up and note when acquisitions complete.
+	public void requestAttributeOwnershipAssumption( ObjectInstanceHandle theObject,
+	                                                 AttributeHandleSet offeredAttributes,
+	                                                 byte[] tag )
+		throws FederateInternalError
+	{
+		OwnershipTracker tracker = this.ownershipTracker;
+		if( tracker != null )
+			tracker.requestReceived( theObject, OwnershipRequest.Type.ASSUMPTION, tag );
+	}
+
+	public void requestDivestitureConfirmation( ObjectInstanceHandle theObject,
+	                                            AttributeHandleSet releasedAttributes )
+		throws FederateInternalError
+	{
+		OwnershipTracker tracker = this.ownershipTracker;
+		if( tracker != null )
+			tracker.requestReceived( theObject, OwnershipRequest.Type.CONFIRMATION, null );
+	}
+
+	public void requestAttributeOwnershipRelease( ObjectInstanceHandle theObject,
+	                                              AttributeHandleSet candidateAttributes,
+	                                              byte[] tag )
+		throws FederateInternalError
+	{
+		OwnershipTracker tracker = this.ownershipTracker;
+		if( tracker != null )
+			tracker.requestReceived( theObject, OwnershipRequest.Type.RELEASE, tag );
+	}
+
+	public void attributeOwnershipAcquisitionNotification( ObjectInstanceHandle theObject,
+	                                                       AttributeHandleSet securedAttributes,
+	                                                       byte[] tag )
+		throws FederateInternalError
+	{
+		OwnershipTracker tracker = this.ownershipTracker;
+		if( tracker != null )
+			tracker.acquisitionNotified( theObject, System.nanoTime() );
+
+		if( logger.isDebugEnabled() )
+			logger.debug( "(FedAmb) Acquired ownership of "+theObject+": "+securedAttributes );
+	}
+
+	public void attributeOwnershipUnavailable( ObjectInstanceHandle theObject,
+	                                           AttributeHandleSet attributes )
+		throws FederateInternalError
+	{
+		logger.warn( "(FedAmb) Ownership unavailable for "+theObject+": "+attributes );
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////// Update Request Handling //////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	// As with ownership, the driver sends the actual update. We just queue up the request.
+	public void provideAttributeValueUpdate( ObjectInstanceHandle theObject,
+	                                         AttributeHandleSet theAttributes,
+	                                         byte[] userSuppliedTag )
+		throws FederateInternalError
+	{
+		PullTracker tracker = this.pullTracker;
+		if( tracker != null )
+			tracker.updateRequested( theObject, userSuppliedTag );
+	}
+
 	///////////////////////////////////////////////////////////////////////////////////////
 	////////////////////// Object Instance Name Reservation Handling //////////////////////
 	///////////////////////////////////////////////////////////////////////////////////////
@@ -349,6 +826,7 @@ public class FederateAmbassador extends NullFederateAmbassador
 			logger.debug( "(FedAmb) Object name reservation success: "+objectName );
 
 		this.reservedObjectNames.add( objectName );
+		reservationAnswered();
 	}
 
 	public void objectInstanceNameReservationFailed( String objectName )
@@ -356,6 +834,8 @@ public class FederateAmbassador extends NullFederateAmbassador
 	{
 		logger.warn( "(FedAmb) Object name reservation FAILED: "+objectName );
 		this.reservedObjectNames.add( objectName );
+		this.failedObjectNames.add( objectName );
+		reservationAnswered();
 	}
 
 	public void multipleObjectInstanceNameReservationSucceeded( Set<String> objectNames )
@@ -365,6 +845,7 @@ public class FederateAmbassador extends NullFederateAmbassador
 			logger.debug( "(FedAmb) Object name reservation success: "+objectNames );
 
 		this.reservedObjectNames.addAll( objectNames );
+		reservationAnswered();
 	}
 
 	public void multipleObjectInstanceNameReservationFailed( Set<String> objectNames )
@@ -372,6 +853,19 @@ public class FederateAmbassador extends NullFederateAmbassador
 	{
 		logger.warn( "(FedAmb) Object name reservation FAILED: "+objectNames );
 		this.reservedObjectNames.addAll( objectNames );
+		this.failedObjectNames.addAll( objectNames );
+		reservationAnswered();
+	}
+
+	/**
+	 * A reservation request (single or multiple) has been answered one way or the other. If
+	 * anyone is waiting on the latch, let them know.
+	 */
+	private void reservationAnswered()
+	{
+		CountDownLatch latch = this.reservationLatch;
+		if( latch != null )
+			latch.countDown();
 	}
 
 	//----------------------------------------------------------
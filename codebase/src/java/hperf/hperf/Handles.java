@@ -21,6 +21,7 @@
 package hperf;
 
 import hla.rti1516e.AttributeHandle;
+import hla.rti1516e.DimensionHandle;
 import hla.rti1516e.InteractionClassHandle;
 import hla.rti1516e.ObjectClassHandle;
 import hla.rti1516e.ParameterHandle;
@@ -40,22 +41,58 @@ public class Handles
 	public static AttributeHandle   AC_CREATOR       = null; // string - federate name
 	public static AttributeHandle   AC_PAYLOAD       = null; // byte[] stuffing
 
+	// Class: TimedTestObject
+	public static ObjectClassHandle OC_TIMED_TEST_OBJECT = null;
+	public static AttributeHandle   AC_TIMED_CREATOR     = null; // string - federate name (RO)
+	public static AttributeHandle   AC_TIMED_PAYLOAD     = null; // byte[] stuffing (TSO)
+
+	// Class: RegionTestObject
+	public static ObjectClassHandle OC_REGION_TEST_OBJECT = null;
+	public static AttributeHandle   AC_REGION_PAYLOAD     = null; // byte[] stuffing (GridX/GridY)
+
+	// Class: PullTestObject
+	public static ObjectClassHandle OC_PULL_TEST_OBJECT = null;
+	public static AttributeHandle   AC_PULL_PAYLOAD     = null; // byte[] stuffing (on request)
+
+	// Class: BulkTestObject
+	public static ObjectClassHandle OC_BULK_TEST_OBJECT = null;
+	public static AttributeHandle   AC_BULK_CHUNK       = null; // byte[] header + part of a message
+
+	// Dimensions
+	public static DimensionHandle DIM_GRID_X = null;
+	public static DimensionHandle DIM_GRID_Y = null;
+
 	// Interactions and Parameters
 	// Class: ThroughputInteraction
 	public static InteractionClassHandle IC_THROUGHPUT         = null;
 	public static ParameterHandle        PC_THROUGHPUT_SENDER  = null; // string - federate name
 	public static ParameterHandle        PC_THROUGHPUT_PAYLOAD = null; // byte[] stuffing
 
+	// Class: TimedThroughputInteraction (TSO)
+	public static InteractionClassHandle IC_TIMED_THROUGHPUT         = null;
+	public static ParameterHandle        PC_TIMED_THROUGHPUT_SENDER  = null; // string - federate name
+	public static ParameterHandle        PC_TIMED_THROUGHPUT_PAYLOAD = null; // byte[] stuffing
+
+	// Class: BulkChunk
+	public static InteractionClassHandle IC_BULK_CHUNK = null;
+	public static ParameterHandle        PC_BULK_CHUNK = null; // byte[] header + part of a message
+
 	// Class: Ping
 	public static InteractionClassHandle IC_PING         = null;
 	public static ParameterHandle        PC_PING_SERIAL  = null; // int - event id
 	public static ParameterHandle        PC_PING_SENDER  = null; // string - federate name
 	public static ParameterHandle        PC_PING_PAYLOAD = null; // byte[] stuffing
 
+	// Class: Ping.TimedPing (TSO, inherits all Ping parameters)
+	public static InteractionClassHandle IC_TIMED_PING = null;
+
 	// Class: PingAck
 	public static InteractionClassHandle IC_PING_ACK         = null;
 	public static ParameterHandle        PC_PING_ACK_SERIAL  = null; // int - event id
 	public static ParameterHandle        PC_PING_ACK_SENDER  = null; // string - federate name
 	public static ParameterHandle        PC_PING_ACK_PAYLOAD = null; // byte[] stuffing
 
+	// Class: PingAck.TimedPingAck (TSO, inherits all PingAck parameters)
+	public static InteractionClassHandle IC_TIMED_PING_ACK = null;
+
 }
@@ -0,0 +1,31 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf;
+
+/**
+ * Something that counts up as a test runs (reflections received, interactions received and
+ * so on). Handed to {@link Utils#waitForQuiet} so it can tell when the traffic has stopped
+ * without caring where the count lives.
+ */
+public interface ICounter
+{
+	public long getCount();
+}
@@ -0,0 +1,176 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf;
+
+import java.util.Arrays;
+
+/**
+ * A growable collection of duration samples (in nanoseconds) along with the handful of
+ * summary statistics the report generators like to print (mean, median, percentiles...).
+ *
+ * Samples are stored in a primitive array so that recording is cheap enough to do from
+ * inside a callback. This class is not thread safe - it expects a single writer, with any
+ * reading done once the writer has finished recording.
+ */
+public class LatencySamples
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private long[] samples;
+	private int count;
+	private long total;
+	private boolean sorted;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public LatencySamples()
+	{
+		this( 1024 );
+	}
+
+	public LatencySamples( int initialCapacity )
+	{
+		this.samples = new long[Math.max(initialCapacity,16)];
+		this.count = 0;
+		this.total = 0;
+		this.sorted = true;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void add( long nanos )
+	{
+		if( count == samples.length )
+			samples = Arrays.copyOf( samples, samples.length*2 );
+
+		samples[count++] = nanos;
+		total += nanos;
+		sorted = false;
+	}
+
+	public void clear()
+	{
+		this.count = 0;
+		this.total = 0;
+		this.sorted = true;
+	}
+
+	private void sort()
+	{
+		if( sorted )
+			return;
+
+		Arrays.sort( samples, 0, count );
+		sorted = true;
+	}
+
+	/** @return The value at the given percentile (0-100) or 0 if there are no samples */
+	public long getPercentile( double percentile )
+	{
+		if( count == 0 )
+			return 0;
+
+		sort();
+		int index = (int)Math.ceil( (percentile/100.0) * count ) - 1;
+		return samples[Math.max(0,Math.min(index,count-1))];
+	}
+
+	public long getMedian()
+	{
+		return getPercentile( 50.0 );
+	}
+
+	public long getMean()
+	{
+		return count == 0 ? 0 : total / count;
+	}
+
+	public long getMin()
+	{
+		return getPercentile( 0.0 );
+	}
+
+	public long getMax()
+	{
+		return getPercentile( 100.0 );
+	}
+
+	/** @return The number of samples strictly less than the given value (nanos) */
+	public int getCountBelow( long nanos )
+	{
+		sort();
+		int low = 0;
+		int high = count;
+		while( low < high )
+		{
+			int middle = (low+high) >>> 1;
+			if( samples[middle] < nanos )
+				low = middle+1;
+			else
+				high = middle;
+		}
+
+		return low;
+	}
+
+	public double getStandardDeviation()
+	{
+		if( count == 0 )
+			return 0.0;
+
+		long mean = getMean();
+		double sum = 0.0;
+		for( int i = 0; i < count; i++ )
+			sum += Math.pow( samples[i]-mean, 2 );
+
+		return Math.sqrt( sum / count );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public int size()
+	{
+		return this.count;
+	}
+
+	public boolean isEmpty()
+	{
+		return this.count == 0;
+	}
+
+	/** @return The sum of all samples (nanos) */
+	public long getTotal()
+	{
+		return this.total;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
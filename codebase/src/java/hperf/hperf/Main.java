@@ -24,6 +24,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import hperf.config.Configuration;
+import hperf.scaling.ConcurrencyReportGenerator;
+import hperf.scaling.ScalingReportGenerator;
+import hperf.scaling.ScalingResult;
 
 public class Main
 {
@@ -52,13 +55,23 @@ public class Main
 		Configuration configuration = new Configuration();
 		configuration.loadCommandLine( args );
 
-		if( configuration.isJvmFederation() )
-			executeJvmFederation( configuration );
+		if( configuration.isJvmScaling() )
+			executeJvmScaling( configuration );
+		else if( configuration.isConcurrentFederations() )
+			executeConcurrentFederations( configuration );
+		else if( configuration.isJvmFederation() )
+			executeJvmFederation( configuration, new ArrayList<TestRunner>() );
 		else		
 			new TestRunner(configuration).execute();
 	}
 
-	private static void executeJvmFederation( Configuration configuration )
+	/**
+	 * Start a thread for each federate named in the configuration (us and our peers). The
+	 * {@link TestRunner} for each is added to the given list and the started threads are
+	 * returned so that the caller can wait for them if it wants to.
+	 */
+	private static List<Thread> executeJvmFederation( Configuration configuration,
+	                                                  List<TestRunner> runners )
 	{
 		System.setProperty( "portico.connection", "jvm" );
 		
@@ -67,13 +80,14 @@ public class Main
 		allFederates.add( masterFederate );
 		allFederates.addAll( configuration.getPeers() );
 		
+		List<Thread> threads = new ArrayList<Thread>();
 		for( String name : allFederates )
 		{
 			// create a new configuration object for each of the federates so
 			// that they have the proper name and peer list
 			List<String> peers = new ArrayList<String>( allFederates );
 			peers.remove( name );
-			final Configuration local = configuration.copy( name, peers );
+			Configuration local = configuration.copy( name, peers );
 			
 			// set us up as the master if that is the case
 			if( masterFederate.equals(name) )
@@ -85,13 +99,15 @@ public class Main
 			}
 			
 			// run the thing
+			final TestRunner testRunner = new TestRunner( local );
+			runners.add( testRunner );
 			Runnable runner = new Runnable()
 			{
 				public void run()
 				{
 					try
 					{
-						new TestRunner(local).execute();
+						testRunner.execute();
 					}
 					catch( Exception e ){ e.printStackTrace(); }
 				}
@@ -100,7 +116,126 @@ public class Main
 			//FederateRunner runner = new FederateRunner( local );
 			Thread thread = new Thread( runner, name );
 			thread.start();
+			threads.add( thread );
 		}
+		
+		return threads;
+	}
+
+	/**
+	 * Run the throughput or latency test in a JVM federation of 2 federates, then 4, 8 and so
+	 * on up to the size given by --scale-to. Each size gets a fresh federation of its own. Once
+	 * the federates at one size have all finished we pull their results straight out of their
+	 * storage and move on to the next. When we're done a single table is printed showing how
+	 * things changed as the federation grew.
+	 */
+	private static void executeJvmScaling( Configuration configuration ) throws Exception
+	{
+		if( !configuration.isThroughputTestEnabled() && !configuration.isLatencyTestEnabled() )
+			throw new RuntimeException( "--scale-to needs either --throughput-test or --latency-test" );
+
+		// work out the sizes we'll run at: 2, 4, 8, ..., scaleTo
+		List<Integer> sizes = new ArrayList<Integer>();
+		for( int size = 2; size < configuration.getScaleTo(); size *= 2 )
+			sizes.add( size );
+		sizes.add( configuration.getScaleTo() );
+
+		String masterFederate = configuration.getFederateName();
+		String federationName = configuration.getFederationName();
+		List<ScalingResult> results = new ArrayList<ScalingResult>();
+		for( int size : sizes )
+		{
+			List<String> peers = new ArrayList<String>();
+			for( int i = 2; i <= size; i++ )
+				peers.add( masterFederate+"-"+i );
+
+			Configuration local = configuration.copy( masterFederate, peers );
+			local.setFederationName( federationName+"-"+size );
+
+			// run everyone and wait for them all to finish
+			List<TestRunner> runners = new ArrayList<TestRunner>();
+			for( Thread thread : executeJvmFederation(local,runners) )
+				thread.join();
+
+			// gather up what they all recorded
+			results.add( collectResult(configuration,runners) );
+		}
+
+		new ScalingReportGenerator(configuration,results).printReport();
+	}
+
+	/**
+	 * Run the throughput or latency test in 1 JVM federation, then 2, 4 and so on up to the
+	 * count given by --federations, all at the same time. Each federation is a copy of the one
+	 * on the command line (us and our peers), with the federates renamed so we can tell them
+	 * apart. When we're done a single table is printed showing how each federation did against
+	 * how it did when it had the RTI to itself.
+	 */
+	private static void executeConcurrentFederations( Configuration configuration ) throws Exception
+	{
+		if( !configuration.isThroughputTestEnabled() && !configuration.isLatencyTestEnabled() )
+			throw new RuntimeException( "--federations needs either --throughput-test or --latency-test" );
+
+		// work out the counts we'll run at: 1, 2, 4, ..., federations
+		List<Integer> counts = new ArrayList<Integer>();
+		for( int count = 1; count < configuration.getFederationCount(); count *= 2 )
+			counts.add( count );
+		counts.add( configuration.getFederationCount() );
+
+		String federationName = configuration.getFederationName();
+		List<List<ScalingResult>> results = new ArrayList<List<ScalingResult>>();
+		for( int count : counts )
+		{
+			// kick off all the federations before we wait on any of them
+			List<List<TestRunner>> runners = new ArrayList<List<TestRunner>>();
+			List<Thread> threads = new ArrayList<Thread>();
+			for( int federation = 1; federation <= count; federation++ )
+			{
+				String suffix = "-f"+federation;
+				List<String> peers = new ArrayList<String>();
+				for( String peer : configuration.getPeers() )
+					peers.add( peer+suffix );
+
+				Configuration local = configuration.copy( configuration.getFederateName()+suffix, peers );
+				local.setFederationName( federationName+"-"+count+suffix );
+
+				List<TestRunner> federationRunners = new ArrayList<TestRunner>();
+				threads.addAll( executeJvmFederation(local,federationRunners) );
+				runners.add( federationRunners );
+			}
+
+			for( Thread thread : threads )
+				thread.join();
+
+			// gather up what each federation recorded
+			List<ScalingResult> round = new ArrayList<ScalingResult>();
+			for( List<TestRunner> federationRunners : runners )
+				round.add( collectResult(configuration,federationRunners) );
+
+			results.add( round );
+		}
+
+		new ConcurrencyReportGenerator(configuration,results).printReport();
+	}
+
+	/**
+	 * Pull the results out of the storage of all the federates in a finished JVM federation
+	 */
+	private static ScalingResult collectResult( Configuration configuration, List<TestRunner> runners )
+	{
+		ScalingResult result = new ScalingResult( runners.size() );
+		if( configuration.isThroughputTestEnabled() )
+		{
+			for( TestRunner runner : runners )
+				result.addThroughput( runner.getStorage() );
+		}
+		else
+		{
+			// the master is always first and is the only one sending latency requests
+			result.addLatencies( runners.get(0).getStorage() );
+		}
+
+		return result;
 	}
 	
 }
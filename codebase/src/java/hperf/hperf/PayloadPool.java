@@ -0,0 +1,106 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf;
+
+import hperf.compress.PayloadContent;
+
+/**
+ * A set of pre-generated payloads that are handed out in turn. With a single buffer every
+ * message we send carries the same array, which will always be sitting in the CPU cache by
+ * the time the RTI comes to copy it. Real federates serialize fresh state from much larger
+ * working sets, so given a working set (say 512MB) we generate enough distinct buffers to
+ * fill it and rotate through them. By the time we come back around to a buffer it will long
+ * since have been evicted, so the RTI pays the memory cost of reading it.
+ *
+ * Each buffer is generated as a different variant of the configured {@link PayloadContent}
+ * (for the default pattern, each starts its 0-9 cycle at a different point) so that they
+ * don't all have the same contents, but they will all still pass verification.
+ *
+ * Not thread safe. Each sending thread should have its own pool.
+ */
+public class PayloadPool
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private byte[][] buffers;
+	private int next;         // index of the buffer to hand out next
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	/**
+	 * @param payloadSize Size of each buffer in bytes
+	 * @param workingSet Total bytes to spread the buffers over. If this isn't bigger than a
+	 *                   single payload we just use the one buffer (the hot-cache case).
+	 * @param content What to fill the buffers with
+	 */
+	public PayloadPool( int payloadSize, long workingSet, PayloadContent content )
+	{
+		long count = 1;
+		if( payloadSize > 0 && workingSet > payloadSize )
+			count = workingSet / payloadSize;
+
+		if( count > Integer.MAX_VALUE )
+			throw new RuntimeException( "Payload working set too large for message size: "+workingSet );
+
+		this.buffers = new byte[(int)count][];
+		for( int i = 0; i < buffers.length; i++ )
+			buffers[i] = content.generate( payloadSize, i );
+
+		this.next = 0;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/** @return The next buffer in the rotation */
+	public byte[] next()
+	{
+		byte[] buffer = buffers[next];
+		if( ++next == buffers.length )
+			next = 0;
+
+		return buffer;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public int getBufferCount()
+	{
+		return this.buffers.length;
+	}
+
+	/** @return Total bytes across all the buffers in the pool */
+	public long getWorkingSet()
+	{
+		return buffers.length == 0 ? 0 : (long)buffers.length * buffers[0].length;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -23,12 +23,15 @@ package hperf;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import hla.rti1516e.InteractionClassHandle;
 import hla.rti1516e.ObjectInstanceHandle;
+import hperf.latejoin.CatchupEvent;
 import hperf.latency.LatencyEvent;
+import hperf.throughput.RateSeries;
 
 /**
  * This class is used to store event information that is accumulated during throughput
@@ -57,17 +60,25 @@ public class Storage
 	private AtomicInteger interactionEvents;
 	private long throughputTestStartTime;
 	private long throughputTestStopTime;
+	private RateSeries rateSeries; // null unless we're recording the receive rate
+	private LatencySamples stepSendTimes; // time spent sending each loop when timestepped
+	private LatencySamples stepWaitTimes; // time spent waiting for the grant each loop
+	private long sendTime;                // nanos spent sending across all loops
+	private long throughputCpuTime;       // process CPU nanos over the test, -1 if unavailable
 	
 	// latency specific data
 	private ConcurrentLinkedQueue<LatencyEvent> latencyEvents;
 
+	// late joiner specific data
+	private ConcurrentLinkedQueue<CatchupEvent> catchupEvents;
+
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
 	//----------------------------------------------------------
 	public Storage() 
 	{
 		this.localFederate = null;
-		this.peers = new HashMap<String,TestFederate>();
+		this.peers = new ConcurrentHashMap<String,TestFederate>(); // peers can come and go mid-run
 
 		// throughput test specific data
 		this.objectOwners = new HashMap<ObjectInstanceHandle,TestFederate>();
@@ -76,9 +87,17 @@ public class Storage
 		this.interactionEvents = new AtomicInteger(0);
 		this.throughputTestStartTime = 0;
 		this.throughputTestStopTime = 0;
+		this.rateSeries = null;
+		this.stepSendTimes = new LatencySamples();
+		this.stepWaitTimes = new LatencySamples();
+		this.sendTime = 0;
+		this.throughputCpuTime = -1;
 		
 		// latency specific data
 		this.latencyEvents = new ConcurrentLinkedQueue<LatencyEvent>();
+
+		// late joiner specific data
+		this.catchupEvents = new ConcurrentLinkedQueue<CatchupEvent>();
 	}
 
 	//----------------------------------------------------------
@@ -103,8 +122,13 @@ public class Storage
 	
 	public void recordReflect( ObjectInstanceHandle objectHandle )
 	{
+		// if we joined mid-run we may never have seen the initial update for an object
+		TestFederate owner = objectOwners.get( objectHandle );
+		if( owner == null )
+			return;
+
 		reflectEvents.incrementAndGet();
-		objectOwners.get(objectHandle).recordReflect( objectHandle );
+		owner.recordReflect( objectHandle );
 	}
 	
 	public void recordInteraction( InteractionClassHandle interactionClass, TestFederate sender )
@@ -179,6 +203,61 @@ public class Storage
 		return this.latencyEvents;
 	}
 
+	///
+	/// Late Joiner Event Storage
+	///
+	public void addCatchupEvent( CatchupEvent event )
+	{
+		this.catchupEvents.add( event );
+	}
+
+	public ConcurrentLinkedQueue<CatchupEvent> getCatchupEvents()
+	{
+		return this.catchupEvents;
+	}
+
+	///
+	/// Time Step Storage
+	///
+	/** Record how long (nanos) we spent sending, and then waiting for our grant, in a loop */
+	public void recordTimestep( long sendNanos, long waitNanos )
+	{
+		this.stepSendTimes.add( sendNanos );
+		this.stepWaitTimes.add( waitNanos );
+	}
+
+	/** Add to the time (nanos) the throughput test has spent sending */
+	public void recordSendTime( long nanos )
+	{
+		this.sendTime += nanos;
+	}
+
+	public long getSendTime()
+	{
+		return this.sendTime;
+	}
+
+	public void setThroughputCpuTime( long cpuTime )
+	{
+		this.throughputCpuTime = cpuTime;
+	}
+
+	/** @return Process CPU nanos used over the throughput test, or -1 if we don't know */
+	public long getThroughputCpuTime()
+	{
+		return this.throughputCpuTime;
+	}
+
+	public LatencySamples getStepSendTimes()
+	{
+		return this.stepSendTimes;
+	}
+
+	public LatencySamples getStepWaitTimes()
+	{
+		return this.stepWaitTimes;
+	}
+
 	///////////////////
 	// Timer Methods //
 	///////////////////
@@ -202,6 +281,17 @@ public class Storage
 		return this.throughputTestStartTime;
 	}
 	
+	/** @return The per-second receive rate series, or null if one isn't being recorded */
+	public RateSeries getRateSeries()
+	{
+		return this.rateSeries;
+	}
+
+	public void setRateSeries( RateSeries rateSeries )
+	{
+		this.rateSeries = rateSeries;
+	}
+
 	public int getThroughputEventCount()
 	{
 		return discoverEvents.get() + reflectEvents.get() + interactionEvents.get();
@@ -20,9 +20,6 @@
  */
 package hperf;
 
-import java.util.HashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-
 import hla.rti1516e.InteractionClassHandle;
 import hla.rti1516e.ObjectInstanceHandle;
 
@@ -38,7 +35,6 @@ public class TestFederate
 	private String federateName;
 	private boolean isLocal;
 	private ObjectInstanceHandle myHandle;
-	private HashMap<ObjectInstanceHandle,AtomicInteger> objects;
 	private int discoverEvents;
 	private int reflectEvents;
 	private int interactionEvents;
@@ -54,7 +50,6 @@ public class TestFederate
 		this.federateName = federateName;
 		this.isLocal = isLocal;
 		this.myHandle = null;
-		this.objects = new HashMap<ObjectInstanceHandle,AtomicInteger>();
 		this.discoverEvents = 0;
 		this.reflectEvents = 0;
 		this.interactionEvents = 0;
@@ -73,20 +68,21 @@ public class TestFederate
 	//                    INSTANCE METHODS
 	//----------------------------------------------------------
 	
+	/**
+	 * Count an object from this federate. We don't keep anything per-object here. The handle
+	 * to owner mapping already lives in {@link Storage}, and it only calls us the first time it
+	 * sees an object, so the discover count doubles as our object count. Keeping a map of our
+	 * own cost an entry and a counter for every object, which adds up at a million objects.
+	 */
 	public void recordDiscover( ObjectInstanceHandle objectHandle )
 	{
 		++discoverEvents;
-		this.objects.put( objectHandle, new AtomicInteger(0) );
 	}
 	
 	public void recordReflect( ObjectInstanceHandle objectHandle )
 	{
 		++reflectEvents;
 
-		// we already know about the object, so this isn't the discover call.
-		// increment our counter and record the timestamp
-		this.objects.get(objectHandle).incrementAndGet();
-
 		// record timestamp of the first true throughput test event, or it is the most recent
 		if( this.firstMessage == 0 )
 			this.firstMessage = System.currentTimeMillis();
@@ -105,11 +101,6 @@ public class TestFederate
 			this.lastMessage = System.currentTimeMillis();
 	}
 	
-	public boolean containsObject( ObjectInstanceHandle handle )
-	{
-		return this.objects.containsKey( handle );
-	}
-	
 	public int compareTo( TestFederate other )
 	{
 		if( other == null )
@@ -141,7 +132,7 @@ public class TestFederate
 
 	public int getObjectCount()
 	{
-		return this.objects.size();
+		return this.discoverEvents;
 	}
 
 	public String toString()
@@ -21,22 +21,46 @@
 package hperf;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 
 import hla.rti1516e.AttributeHandleSet;
 import hla.rti1516e.CallbackModel;
+import hla.rti1516e.InteractionClassHandle;
+import hla.rti1516e.ObjectClassHandle;
 import hla.rti1516e.RTIambassador;
 import hla.rti1516e.ResignAction;
 import hla.rti1516e.RtiFactoryFactory;
 import hla.rti1516e.exceptions.*;
+import hperf.bulk.BulkDriver;
 import hperf.config.Configuration;
 import hperf.config.LoggingConfigurator;
+import hperf.ddm.DdmDriver;
+import hperf.ddm.RegionChurnDriver;
+import hperf.fom.FomModuleGenerator;
+import hperf.fom.FomScalingDriver;
+import hperf.fom.HierarchyDriver;
+import hperf.fom.InteractionHierarchy;
+import hperf.latejoin.LateJoinDriver;
 import hperf.latency.LatencyDriver;
+import hperf.lifecycle.ChurnDriver;
 import hperf.lifecycle.LifecycleDriver;
+import hperf.ownership.OwnershipDriver;
+import hperf.population.PopulationDriver;
+import hperf.pull.PullDriver;
+import hperf.registration.RegistrationDriver;
+import hperf.saverestore.SaveRestoreDriver;
+import hperf.syncpoint.SyncPointDriver;
 import hperf.throughput.ThroughputDriver;
+import hperf.timeadvance.NextEventDriver;
+import hperf.timeadvance.TimeAdvanceDriver;
+import hperf.topology.Topology;
 
 import static hperf.Handles.*;
 
@@ -158,6 +182,15 @@ public class TestRunner
 		logger.info( "Driver has completed execution, exiting." );
 	}
 	
+	/**
+	 * @return The storage this runner recorded its results in. Used to gather up the results
+	 *         from all the federates in a JVM federation.
+	 */
+	public Storage getStorage()
+	{
+		return this.storage;
+	}
+
 	/**
 	 * Set up a default logger with a basic logging pattern.
 	 */
@@ -182,6 +215,36 @@ public class TestRunner
 			driver = new LatencyDriver();
 		else if( configuration.isLifecycleTestEnabled() )
 			driver = new LifecycleDriver();
+		else if( configuration.isLateJoinTestEnabled() )
+			driver = new LateJoinDriver();
+		else if( configuration.isRegistrationTestEnabled() )
+			driver = new RegistrationDriver();
+		else if( configuration.isSyncPointTestEnabled() )
+			driver = new SyncPointDriver();
+		else if( configuration.isSaveRestoreTestEnabled() )
+			driver = new SaveRestoreDriver();
+		else if( configuration.isChurnTestEnabled() )
+			driver = new ChurnDriver();
+		else if( configuration.isTimeAdvanceTestEnabled() )
+			driver = new TimeAdvanceDriver();
+		else if( configuration.isNextEventTestEnabled() )
+			driver = new NextEventDriver();
+		else if( configuration.isOwnershipTestEnabled() )
+			driver = new OwnershipDriver();
+		else if( configuration.isDdmTestEnabled() )
+			driver = new DdmDriver();
+		else if( configuration.isRegionChurnTestEnabled() )
+			driver = new RegionChurnDriver();
+		else if( configuration.isPullTestEnabled() )
+			driver = new PullDriver();
+		else if( configuration.isHierarchyTestEnabled() )
+			driver = new HierarchyDriver();
+		else if( configuration.isFomScalingTestEnabled() )
+			driver = new FomScalingDriver();
+		else if( configuration.isPopulationTestEnabled() )
+			driver = new PopulationDriver();
+		else if( configuration.isBulkTestEnabled() )
+			driver = new BulkDriver();
 		else
 			throw new Exception( "You must specify at least --throughput-test or --latency-test" );
 		
@@ -195,67 +258,23 @@ public class TestRunner
 	////////////////////////////////////////////////////////////////////////////////////////////
 
 	/**
-	 * Create and join the federation. Note that someone else may have gotten in first, so we
-	 * should expect that the federation creation process will fail.
+	 * Create and join the federation, returning the local federate.
 	 */
 	private TestFederate createAndJoinFederation() throws RTIexception
 	{
-		/////////////////////////////////////////////////
-		// 1 & 2. create the RTIambassador and Connect //
-		/////////////////////////////////////////////////
-		logger.info( "Creating RTIambassador" );
-		this.rtiamb = RtiFactoryFactory.getRtiFactory().getRtiAmbassador();
-		
-		// connect
-		logger.info( "Connecting..." );
-		CallbackModel cbmodel = configuration.isImmediateCallback() ? CallbackModel.HLA_IMMEDIATE :
-		                                                              CallbackModel.HLA_EVOKED;
-		rtiamb.connect( fedamb, cbmodel );
-
-		//////////////////////////////
-		// 3. create the federation //
-		//////////////////////////////
-		logger.info( "Creating Federation..." );
-		// We attempt to create a new federation with the first three of the
-		// restaurant FOM modules covering processes, food and drink
-		try
-		{
-			URL[] modules = new URL[]{
-			    (new File("config/testfom.xml")).toURI().toURL()
-			};
-			
-			rtiamb.createFederationExecution( configuration.getFederationName(), modules );
-			logger.info( "Created Federation ["+configuration.getFederationName()+"]" );
-		}
-		catch( FederationExecutionAlreadyExists exists )
-		{
-			logger.warn( "Didn't create federation, it already existed" );
-		}
-		catch( MalformedURLException urle )
-		{
-			logger.error( "Exception loading one of the FOM modules: " + urle.getMessage(), urle );
-			throw new RuntimeException( urle );
-		}
-
-		////////////////////////////
-		// 4. join the federation //
-		////////////////////////////
-		rtiamb.joinFederationExecution( configuration.getFederateName(),
-		                                configuration.getFederateName(),
-		                                configuration.getFederationName() );
-
-		logger.info( "Joined Federation as " + configuration.getFederateName() );
-
-		////////////////////////
-		// 5. enable callback //
-		////////////////////////
-		// because REASONS, le sigh
-		rtiamb.enableCallbacks();
-		rtiamb.enableAsynchronousDelivery();
-
+		this.rtiamb = createAndJoinFederation( configuration, fedamb, logger );
 		return new TestFederate( configuration.getFederateName(), true/*local*/ );
 	}
 
+	/**
+	 * This method ticks the RTI until we've received word that all federates listed
+	 * as peers are present. 
+	 */
+	private void waitForPeers() throws RTIexception
+	{
+		waitForPeers( rtiamb, configuration, storage, logger );
+	}
+
 	/**
 	 * Cache all handles and perform publication and subscription for all object and
 	 * interaction types we require to complete throughput and latency tests.
@@ -269,20 +288,44 @@ public class TestRunner
 		OC_TEST_OBJECT  = rtiamb.getObjectClassHandle( "TestObject" );
 		AC_CREATOR      = rtiamb.getAttributeHandle( OC_TEST_OBJECT, "creator" );
 		AC_PAYLOAD      = rtiamb.getAttributeHandle( OC_TEST_OBJECT, "payload" );
+
+		OC_TIMED_TEST_OBJECT = rtiamb.getObjectClassHandle( "TimedTestObject" );
+		AC_TIMED_CREATOR     = rtiamb.getAttributeHandle( OC_TIMED_TEST_OBJECT, "creator" );
+		AC_TIMED_PAYLOAD     = rtiamb.getAttributeHandle( OC_TIMED_TEST_OBJECT, "payload" );
+
+		OC_REGION_TEST_OBJECT = rtiamb.getObjectClassHandle( "RegionTestObject" );
+		AC_REGION_PAYLOAD     = rtiamb.getAttributeHandle( OC_REGION_TEST_OBJECT, "payload" );
+		DIM_GRID_X            = rtiamb.getDimensionHandle( "GridX" );
+		DIM_GRID_Y            = rtiamb.getDimensionHandle( "GridY" );
+
+		OC_PULL_TEST_OBJECT = rtiamb.getObjectClassHandle( "PullTestObject" );
+		AC_PULL_PAYLOAD     = rtiamb.getAttributeHandle( OC_PULL_TEST_OBJECT, "payload" );
+
+		OC_BULK_TEST_OBJECT = rtiamb.getObjectClassHandle( "BulkTestObject" );
+		AC_BULK_CHUNK       = rtiamb.getAttributeHandle( OC_BULK_TEST_OBJECT, "chunk" );
 		
 		IC_THROUGHPUT         = rtiamb.getInteractionClassHandle( "ThroughputInteraction" );
 		PC_THROUGHPUT_SENDER  = rtiamb.getParameterHandle( IC_THROUGHPUT, "sender" );
 		PC_THROUGHPUT_PAYLOAD = rtiamb.getParameterHandle( IC_THROUGHPUT, "payload" );
 
+		IC_TIMED_THROUGHPUT         = rtiamb.getInteractionClassHandle( "TimedThroughputInteraction" );
+		PC_TIMED_THROUGHPUT_SENDER  = rtiamb.getParameterHandle( IC_TIMED_THROUGHPUT, "sender" );
+		PC_TIMED_THROUGHPUT_PAYLOAD = rtiamb.getParameterHandle( IC_TIMED_THROUGHPUT, "payload" );
+
+		IC_BULK_CHUNK = rtiamb.getInteractionClassHandle( "BulkChunk" );
+		PC_BULK_CHUNK = rtiamb.getParameterHandle( IC_BULK_CHUNK, "chunk" );
+
 		IC_PING         = rtiamb.getInteractionClassHandle( "Ping" );
 		PC_PING_SERIAL  = rtiamb.getParameterHandle( IC_PING, "serial" );
 		PC_PING_SENDER  = rtiamb.getParameterHandle( IC_PING, "sender" );
 		PC_PING_PAYLOAD = rtiamb.getParameterHandle( IC_PING, "payload" );
+		IC_TIMED_PING   = rtiamb.getInteractionClassHandle( "HLAinteractionRoot.Ping.TimedPing" );
 
 		IC_PING_ACK         = rtiamb.getInteractionClassHandle( "PingAck" );
 		PC_PING_ACK_SERIAL  = rtiamb.getParameterHandle( IC_PING_ACK, "serial" );
 		PC_PING_ACK_SENDER  = rtiamb.getParameterHandle( IC_PING_ACK, "sender" );
 		PC_PING_ACK_PAYLOAD = rtiamb.getParameterHandle( IC_PING_ACK, "payload" );
+		IC_TIMED_PING_ACK   = rtiamb.getInteractionClassHandle( "HLAinteractionRoot.PingAck.TimedPingAck" );
 		
 		///////////////////////////
 		// Publish and Subscribe //
@@ -294,25 +337,126 @@ public class TestRunner
 		rtiamb.subscribeObjectClassAttributes( OC_TEST_FEDERATE, attributes );
 		
 		// Class: TestObject
+		// With a topology we only deal in the per-federate subclasses. See below.
 		attributes.clear();
 		attributes.add( AC_CREATOR );
 		attributes.add( AC_PAYLOAD );
-		rtiamb.publishObjectClassAttributes( OC_TEST_OBJECT, attributes );
-		rtiamb.subscribeObjectClassAttributes( OC_TEST_OBJECT, attributes );
+		if( configuration.isTopologyEnabled() == false )
+		{
+			rtiamb.publishObjectClassAttributes( OC_TEST_OBJECT, attributes );
+			rtiamb.subscribeObjectClassAttributes( OC_TEST_OBJECT, attributes );
+		}
+
+		// Class: TimedTestObject
+		// Only used for TSO throughput traffic. Leave it alone otherwise so it doesn't add to
+		// the cost of the receive-ordered tests.
+		if( configuration.isTimestampOrder() )
+		{
+			attributes.clear();
+			attributes.add( AC_TIMED_CREATOR );
+			attributes.add( AC_TIMED_PAYLOAD );
+			rtiamb.publishObjectClassAttributes( OC_TIMED_TEST_OBJECT, attributes );
+			rtiamb.subscribeObjectClassAttributes( OC_TIMED_TEST_OBJECT, attributes );
+		}
+
+		// Class: RegionTestObject
+		// Only published here. The DDM test subscribes with regions.
+		attributes.clear();
+		attributes.add( AC_REGION_PAYLOAD );
+		rtiamb.publishObjectClassAttributes( OC_REGION_TEST_OBJECT, attributes );
+
+		// Class: PullTestObject
+		// Only published here. The pull test requester is the only one that subscribes.
+		attributes.clear();
+		attributes.add( AC_PULL_PAYLOAD );
+		rtiamb.publishObjectClassAttributes( OC_PULL_TEST_OBJECT, attributes );
+
+		// Class: BulkTestObject
+		// Only published here. Bulk test receivers subscribe if chunks are sent as updates.
+		attributes.clear();
+		attributes.add( AC_BULK_CHUNK );
+		rtiamb.publishObjectClassAttributes( OC_BULK_TEST_OBJECT, attributes );
 
 		// Class: ThroughputInteraction
-		rtiamb.publishInteractionClass( IC_THROUGHPUT );
-		rtiamb.subscribeInteractionClass( IC_THROUGHPUT );
+		if( configuration.isTopologyEnabled() == false )
+		{
+			rtiamb.publishInteractionClass( IC_THROUGHPUT );
+			rtiamb.subscribeInteractionClass( IC_THROUGHPUT );
+		}
+
+		// Class: TimedThroughputInteraction
+		// Sent by TSO throughput federates and the next event test
+		if( configuration.isTimestampOrder() || configuration.isNextEventTestEnabled() )
+		{
+			rtiamb.publishInteractionClass( IC_TIMED_THROUGHPUT );
+			rtiamb.subscribeInteractionClass( IC_TIMED_THROUGHPUT );
+		}
+
+		// Class: BulkChunk
+		// Only published here. Bulk test receivers subscribe if chunks are sent as interactions.
+		rtiamb.publishInteractionClass( IC_BULK_CHUNK );
 
 		// Class: LatencyInteraction
 		rtiamb.publishInteractionClass( IC_PING );
 		rtiamb.subscribeInteractionClass( IC_PING );
 		rtiamb.publishInteractionClass( IC_PING_ACK );
 		rtiamb.subscribeInteractionClass( IC_PING_ACK );
+
+		// Class: TimedPing and TimedPingAck
+		// Only sent by the latency test with --tso
+		if( configuration.isTimestampOrder() )
+		{
+			rtiamb.publishInteractionClass( IC_TIMED_PING );
+			rtiamb.subscribeInteractionClass( IC_TIMED_PING );
+			rtiamb.publishInteractionClass( IC_TIMED_PING_ACK );
+			rtiamb.subscribeInteractionClass( IC_TIMED_PING_ACK );
+		}
+
+		// Class: TestObject.<federate> and ThroughputInteraction.<federate>
+		if( configuration.isTopologyEnabled() )
+		{
+			attributes.clear();
+			attributes.add( AC_CREATOR );
+			attributes.add( AC_PAYLOAD );
+			publishAndSubscribeTopology( attributes );
+		}
 		
 		logger.info( "Publish and Subscribe complete" );
 	}
 
+	/**
+	 * With a throughput topology in place we publish only our own subclasses of TestObject
+	 * and ThroughputInteraction (if we send to anyone at all), and subscribe only to the
+	 * subclasses of the federates that send to us.
+	 */
+	private void publishAndSubscribeTopology( AttributeHandleSet attributes ) throws RTIexception
+	{
+		Topology topology = new Topology( configuration );
+		String name = configuration.getFederateName();
+		if( topology.isPublisher(name) )
+		{
+			ObjectClassHandle objectClass = rtiamb.getObjectClassHandle( Topology.getObjectClassName(name) );
+			rtiamb.publishObjectClassAttributes( objectClass, attributes );
+			rtiamb.publishInteractionClass( rtiamb.getInteractionClassHandle(Topology.getInteractionClassName(name)) );
+		}
+
+		Set<InteractionClassHandle> interactions = new HashSet<InteractionClassHandle>();
+		for( String source : topology.getSources(name) )
+		{
+			ObjectClassHandle objectClass = rtiamb.getObjectClassHandle( Topology.getObjectClassName(source) );
+			rtiamb.subscribeObjectClassAttributes( objectClass, attributes );
+
+			InteractionClassHandle interactionClass =
+				rtiamb.getInteractionClassHandle( Topology.getInteractionClassName(source) );
+			rtiamb.subscribeInteractionClass( interactionClass );
+			interactions.add( interactionClass );
+		}
+
+		fedamb.topologyInteractions = interactions;
+		logger.info( topology.getShape().getLabel()+" topology: sending="+topology.isPublisher(name)+
+		             ", receiving from "+topology.getSources(name) );
+	}
+
 	/**
 	 * Register and update an object representing this federate so that others may discover us.
 	 * This currently covers up for the lack of MOM support in the Portico 1516e interface.
@@ -322,67 +466,60 @@ public class TestRunner
 		logger.info( "Registering HLAobjectRoot.TestFederate object for local federate" );
 
 		// reserve the name first
+		CountDownLatch latch = new CountDownLatch( 1 );
+		fedamb.reservationLatch = latch;
 		rtiamb.reserveObjectInstanceName( configuration.getFederateName() );
 		logger.info( "Waiting for object name reservation ("+configuration.getFederateName()+")" );
-		while( fedamb.reservedObjectNames.contains(configuration.getFederateName()) == false )
+		while( latch.getCount() > 0 )
 		{
 			if( configuration.isImmediateCallback() )
-				Utils.sleep( 500 );
+				Utils.await( latch );
 			else
-				rtiamb.evokeMultipleCallbacks( 1.0, 1.0 );
+				rtiamb.evokeCallback( 1.0 );
 		}
 
+		fedamb.reservationLatch = null;
+
 		// register the obejct
 		rtiamb.registerObjectInstance( OC_TEST_FEDERATE, configuration.getFederateName() );
 	}
-	
-	/**
-	 * This method ticks the RTI until we've received word that all federates listed
-	 * as peers are present. 
-	 */
-	private void waitForPeers() throws RTIexception
-	{
-		///////////////////////////////////////////
-		// wait for all the federates to connect //
-		///////////////////////////////////////////
-		logger.info( "Waiting for peers: "+configuration.getPeers() );
-		List<String> absentPeers = new ArrayList<String>( configuration.getPeers() );
-		absentPeers.remove( storage.getLocalFederate().getFederateName() );
-
-		while( absentPeers.isEmpty() == false )
-		{
-			// let the RTI work for a bit while we wait to discover the
-			// objects registered by the remote federates
-			if( configuration.isImmediateCallback() )
-				Utils.sleep( 500 );
-			else
-				rtiamb.evokeMultipleCallbacks( 1.0, 1.0 );
-
-			// check to see who turned up
-			for( TestFederate federate : storage.getPeers() )
-			{
-				String federateName = federate.getFederateName();
-				if( absentPeers.contains(federateName) )
-				{
-					absentPeers.remove( federateName );
-					logger.debug( "  ... found "+federateName );
-				}
-			}
-		}
-
-		logger.info( "All federates present - let's do this thing!" );
-	}
 
 	/**
 	 * Announce all our sync points up front so that they're all ready for when we
 	 * need them later.
+	 * 
+	 * FINISH_SYNCPOINT_TEST is left off. The sync point test sender registers it when it is
+	 * done, and its announcement is what tells the responders to stop.
 	 */
 	private void announceSyncPoints()
 	{
 		String[] points = new String[] { "START_THROUGHPUT_TEST",
 		                                 "FINISH_THROUGHPUT_TEST",
 		                                 "START_LATENCY_TEST",
-		                                 "FINISH_LATENCY_TEST" };
+		                                 "FINISH_LATENCY_TEST",
+		                                 "START_REGISTRATION_TEST",
+		                                 "FINISH_REGISTRATION_TEST",
+		                                 "START_SYNCPOINT_TEST",
+		                                 "START_SAVE_RESTORE_TEST",
+		                                 "FINISH_SAVE_RESTORE_TEST",
+		                                 "START_TIME_ADVANCE_TEST",
+		                                 "FINISH_TIME_ADVANCE_TEST",
+		                                 "START_NEXT_EVENT_TEST",
+		                                 "FINISH_NEXT_EVENT_TEST",
+		                                 "START_OWNERSHIP_TEST",
+		                                 "FINISH_OWNERSHIP_TEST",
+		                                 "START_DDM_TEST",
+		                                 "FINISH_DDM_TEST",
+		                                 "START_REGION_CHURN_TEST",
+		                                 "FINISH_REGION_CHURN_TEST",
+		                                 "START_PULL_TEST",
+		                                 "FINISH_PULL_TEST",
+		                                 "START_HIERARCHY_TEST",
+		                                 "FINISH_HIERARCHY_TEST",
+		                                 "START_POPULATION_TEST",
+		                                 "FINISH_POPULATION_TEST",
+		                                 "START_BULK_TEST",
+		                                 "FINISH_BULK_TEST" };
 
 		for( String point : points )
 		{
@@ -444,4 +581,136 @@ public class TestRunner
 	//----------------------------------------------------------
 	//                     STATIC METHODS
 	//----------------------------------------------------------
+	/**
+	 * Create the RTIambassador, connect and join the federation. Note that someone else may
+	 * have gotten in first, so we should expect that the federation creation process will fail.
+	 * Drivers that look after their own lifecycle use this to join in the same way we do.
+	 *
+	 * @return The connected and joined RTIambassador, with callbacks enabled
+	 */
+	public static RTIambassador createAndJoinFederation( Configuration configuration,
+	                                                     FederateAmbassador fedamb,
+	                                                     Logger logger )
+		throws RTIexception
+	{
+		/////////////////////////////////////////////////
+		// 1 & 2. create the RTIambassador and Connect //
+		/////////////////////////////////////////////////
+		logger.info( "Creating RTIambassador" );
+		RTIambassador rtiamb = RtiFactoryFactory.getRtiFactory().getRtiAmbassador();
+		
+		// connect
+		logger.info( "Connecting..." );
+		CallbackModel cbmodel = configuration.isImmediateCallback() ? CallbackModel.HLA_IMMEDIATE :
+		                                                              CallbackModel.HLA_EVOKED;
+		rtiamb.connect( fedamb, cbmodel );
+
+		//////////////////////////////
+		// 3. create the federation //
+		//////////////////////////////
+		logger.info( "Creating Federation..." );
+		// We attempt to create a new federation with the first three of the
+		// restaurant FOM modules covering processes, food and drink
+		try
+		{
+			List<URL> modules = new ArrayList<URL>();
+			modules.add( (new File("config/testfom.xml")).toURI().toURL() );
+			
+			// tack on any generated modules the test needs
+			if( configuration.isHierarchyTestEnabled() )
+			{
+				FomModuleGenerator generator = new FomModuleGenerator( "HPerf Hierarchy Module" );
+				generator.addInteractionHierarchy( new InteractionHierarchy(configuration.getFomDepth(),
+				                                                            configuration.getFomBreadth()) );
+				modules.add( generator.writeModule().toURI().toURL() );
+			}
+
+			if( configuration.isTopologyEnabled() )
+			{
+				FomModuleGenerator generator = new FomModuleGenerator( "HPerf Topology Module" );
+				List<String> federates = new Topology( configuration ).getFederates();
+				generator.addObjectSubclasses( "TestObject", federates );
+				generator.addInteractionSubclasses( "ThroughputInteraction", federates );
+				modules.add( generator.writeModule().toURI().toURL() );
+			}
+			
+			rtiamb.createFederationExecution( configuration.getFederationName(),
+			                                  modules.toArray(new URL[0]) );
+			logger.info( "Created Federation ["+configuration.getFederationName()+"]" );
+		}
+		catch( FederationExecutionAlreadyExists exists )
+		{
+			logger.warn( "Didn't create federation, it already existed" );
+		}
+		catch( MalformedURLException urle )
+		{
+			logger.error( "Exception loading one of the FOM modules: " + urle.getMessage(), urle );
+			throw new RuntimeException( urle );
+		}
+		catch( IOException ioe )
+		{
+			logger.error( "Exception writing generated FOM module: " + ioe.getMessage(), ioe );
+			throw new RuntimeException( ioe );
+		}
+
+		////////////////////////////
+		// 4. join the federation //
+		////////////////////////////
+		rtiamb.joinFederationExecution( configuration.getFederateName(),
+		                                configuration.getFederateName(),
+		                                configuration.getFederationName() );
+
+		logger.info( "Joined Federation as " + configuration.getFederateName() );
+
+		////////////////////////
+		// 5. enable callback //
+		////////////////////////
+		// because REASONS, le sigh
+		rtiamb.enableCallbacks();
+		rtiamb.enableAsynchronousDelivery();
+
+		return rtiamb;
+	}
+
+	/**
+	 * This method ticks the RTI until we've received word that all federates listed
+	 * as peers are present. The local federate is never waited for, even if it
+	 * appears in the peer list.
+	 */
+	public static void waitForPeers( RTIambassador rtiamb,
+	                                 Configuration configuration,
+	                                 Storage storage,
+	                                 Logger logger )
+		throws RTIexception
+	{
+		///////////////////////////////////////////
+		// wait for all the federates to connect //
+		///////////////////////////////////////////
+		logger.info( "Waiting for peers: "+configuration.getPeers() );
+		List<String> absentPeers = new ArrayList<String>( configuration.getPeers() );
+		absentPeers.remove( storage.getLocalFederate().getFederateName() );
+
+		while( absentPeers.isEmpty() == false )
+		{
+			// let the RTI work for a bit while we wait to discover the
+			// objects registered by the remote federates
+			if( configuration.isImmediateCallback() )
+				Utils.sleep( 500 );
+			else
+				rtiamb.evokeMultipleCallbacks( 1.0, 1.0 );
+
+			// check to see who turned up
+			for( TestFederate federate : storage.getPeers() )
+			{
+				String federateName = federate.getFederateName();
+				if( absentPeers.contains(federateName) )
+				{
+					absentPeers.remove( federateName );
+					logger.debug( "  ... found "+federateName );
+				}
+			}
+		}
+
+		logger.info( "All federates present - let's do this thing!" );
+	}
 }
@@ -20,10 +20,19 @@
  */
 package hperf;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
 import java.text.NumberFormat;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.log4j.Logger;
 
+import hla.rti1516e.RTIambassador;
+import hla.rti1516e.exceptions.RTIexception;
+import hperf.config.Configuration;
+
 public class Utils
 {
 	//----------------------------------------------------------
@@ -58,6 +67,17 @@ public class Utils
 	 *         numbers from 0-9.
 	 */
 	public static byte[] generatePayload( int sizeInBytes )
+	{
+		return generatePayload( sizeInBytes, 0 );
+	}
+
+	/**
+	 * Same as {@link #generatePayload(int)}, but the cycle starts at the given value (0-9)
+	 * rather than 0, so that we can have payloads with different contents that still pass
+	 * {@link #verifyPayload(byte[], int, Logger)}. For example, a 13-byte buffer starting
+	 * at 7 would return: `[7,8,9,0,1,2,3,4,5,6,7,8,9]`.
+	 */
+	public static byte[] generatePayload( int sizeInBytes, int start )
 	{
 		// Stuff a basic buffer full of some data we can verify on the other side
 		// The size of this is set in configuration and we use it to ensure that
@@ -66,7 +86,7 @@ public class Utils
 		// can't have it all with perfectly sized updates now can we!
 		byte[] payload = new byte[sizeInBytes];
 		for( int i = 0; i < sizeInBytes; i++ )
-			payload[i] = (byte)(i % 10);
+			payload[i] = (byte)((i+start) % 10);
 
 		return payload;
 	}
@@ -75,6 +95,7 @@ public class Utils
 	 * Validates the given payload as being consistent with the scheme that we use
 	 * to generate payloads in {@link #generatePayload(int)}. This is a cyclic list
 	 * of numbers, from 0-9, repeating until the appropriate buffer size is filled.
+	 * The cycle may start at any number (see {@link #generatePayload(int, int)}).
 	 * If there is a problem, we print this to the provided logger.
 	 * 
 	 * @param received The payload we received
@@ -89,9 +110,14 @@ public class Utils
 			              expectedSize+", received="+received.length );
 		}
 
+		// the cycle can start anywhere, see generatePayload(int,int)
+		int start = received.length == 0 ? 0 : received[0];
+		if( start < 0 || start > 9 )
+			start = 0;
+
 		for( int i = 0; i < received.length; i++ )
 		{
-			byte expected = (byte)(i % 10);
+			byte expected = (byte)((i+start) % 10);
 			if( received[i] != expected )
 			{
 				logger.error( "Invalid data received. Index ["+i+"] was ["+received[i]+
@@ -163,6 +189,23 @@ public class Utils
 		return NumberFormat.getIntegerInstance().format( value );
 	}
 
+	/**
+	 * Convert the given duration (in nanoseconds) to a short human readable string. Values
+	 * under 10ms are given in microseconds, values under 10s in milliseconds and anything
+	 * larger in seconds. Returned values will be in the form: "1234us", "1234ms", "12.3s".
+	 */
+	public static String getLatencyString( long nanos )
+	{
+		long microseconds = TimeUnit.NANOSECONDS.toMicros( nanos );
+		long milliseconds = TimeUnit.NANOSECONDS.toMillis( nanos );
+		if( microseconds <= 9999 )
+			return String.format( "%4dus", microseconds );
+		else if( milliseconds <= 9999 )
+			return String.format( "%4dms", milliseconds );
+		else
+			return String.format( "%5.1fs", milliseconds/1000.0 );
+	}
+
 	/** 
 	 * Sleep for the given milliseconds, throw an unchecked exception
 	 * if we are interrupted for any reason.
@@ -212,7 +255,151 @@ public class Utils
 			}
 		}
 	}
+
+	/**
+	 * Depending on whether we are using the immediate callback processor, or are in a
+	 * ticking mode, either sleep or tick for at least the given number of millis
+	 */
+	public static void tickOrSleep( RTIambassador rtiamb, Configuration configuration, long millis )
+		throws RTIexception
+	{
+		if( configuration.isImmediateCallback() )
+			sleep( millis );
+		else
+			rtiamb.evokeMultipleCallbacks( (millis/1000.0), (millis/1000.0) );
+	}
+
+	/**
+	 * Synchronize on the given point. If `register` is true we register the point ourselves,
+	 * otherwise we expect someone else to. Either way we wait for it to be announced, achieve
+	 * it and then wait for the federation to synchronize.
+	 */
+	public static void synchronize( RTIambassador rtiamb,
+	                                FederateAmbassador fedamb,
+	                                Configuration configuration,
+	                                String label,
+	                                boolean register )
+		throws RTIexception
+	{
+		if( register )
+			rtiamb.registerFederationSynchronizationPoint( label, new byte[]{} );
+
+		while( fedamb.announcedSyncPoints.contains(label) == false )
+			tickOrSleep( rtiamb, configuration, 10 );
+
+		rtiamb.synchronizationPointAchieved( label );
+		while( fedamb.achievedSyncPoints.contains(label) == false )
+			tickOrSleep( rtiamb, configuration, 10 );
+	}
+
+	/**
+	 * Wait for the next time advance grant after `grantCount` (the value of the federate
+	 * ambassador's grant count from before the request was made). We go by the count rather
+	 * than the time so the same wait works whichever service asked for the advance. In
+	 * immediate mode we wait on the grant signal rather than sleeping, so that what gets
+	 * measured is the grant and not the granularity of our sleep.
+	 */
+	public static void waitForGrant( RTIambassador rtiamb,
+	                                 FederateAmbassador fedamb,
+	                                 Configuration configuration,
+	                                 int grantCount )
+		throws RTIexception
+	{
+		if( configuration.isImmediateCallback() )
+		{
+			synchronized( fedamb.grantSignal )
+			{
+				while( fedamb.grantCount == grantCount )
+					wait( fedamb.grantSignal );
+			}
+		}
+		else
+		{
+			while( fedamb.grantCount == grantCount )
+				rtiamb.evokeCallback( configuration.getLoopWait()/1000.0 );
+		}
+	}
+
+	/**
+	 * Wait until the given counter has stopped moving for a while (five 100ms ticks in a row).
+	 *
+	 * @return The time (nanoTime) we last saw the count change
+	 */
+	public static long waitForQuiet( RTIambassador rtiamb, Configuration configuration, ICounter counter )
+		throws RTIexception
+	{
+		long lastCount = counter.getCount();
+		long lastArrival = System.nanoTime();
+		for( int quietTicks = 0; quietTicks < 5; quietTicks++ )
+		{
+			tickOrSleep( rtiamb, configuration, 100 );
+			long count = counter.getCount();
+			if( count != lastCount )
+			{
+				lastCount = count;
+				lastArrival = System.nanoTime();
+				quietTicks = -1;
+			}
+		}
+
+		return lastArrival;
+	}
 	
+	/**
+	 * Convenience method that will call `.await()` on the given latch and swallow the
+	 * interrupted exception, returning immediately if it is generated. Callers should check
+	 * the count if they need to know the latch was actually released.
+	 */
+	public static final void await( CountDownLatch latch )
+	{
+		try
+		{
+			latch.await();
+		}
+		catch( InterruptedException ie )
+		{
+			return;
+		}
+	}
+
+	/**
+	 * @return The CPU time (nanos) used by the whole process so far, RTI threads included, or
+	 *         -1 if the JVM can't tell us
+	 */
+	public static long getProcessCpuTime()
+	{
+		OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+		if( bean instanceof com.sun.management.OperatingSystemMXBean )
+			return ((com.sun.management.OperatingSystemMXBean)bean).getProcessCpuTime();
+		else
+			return -1;
+	}
+
+	/**
+	 * @return The CPU time (nanos) used by the calling thread so far, or wall clock time
+	 *         (System.nanoTime()) if the JVM can't measure thread CPU time. Only good for
+	 *         working out how much time passed between two calls on the same thread.
+	 */
+	public static long getThreadCpuTime()
+	{
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if( bean.isCurrentThreadCpuTimeSupported() && bean.isThreadCpuTimeEnabled() )
+			return bean.getCurrentThreadCpuTime();
+		else
+			return System.nanoTime();
+	}
+
+	/**
+	 * @return The heap (bytes) in use once we've asked the JVM to collect garbage. It is only
+	 *         a request, so treat the figure as an estimate
+	 */
+	public static long getUsedHeap()
+	{
+		Runtime runtime = Runtime.getRuntime();
+		System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
 	///////////////////////////////////////////////////////////////
 	// Int Conversion Methods                                    //
 	///////////////////////////////////////////////////////////////
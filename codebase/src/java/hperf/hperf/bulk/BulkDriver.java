@@ -0,0 +1,312 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hla.rti1516e.AttributeHandleSet;
+import hla.rti1516e.AttributeHandleValueMap;
+import hla.rti1516e.ObjectInstanceHandle;
+import hla.rti1516e.ParameterHandleValueMap;
+import hla.rti1516e.RTIambassador;
+import hla.rti1516e.exceptions.RTIexception;
+import hperf.FederateAmbassador;
+import hperf.IDriver;
+import hperf.Storage;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+import static hperf.Handles.*;
+
+/**
+ * Moves very large logical messages (megabytes to hundreds of megabytes) through the RTI by
+ * splitting them into chunks. The `--sender` federate sends `--loops` messages of each of the
+ * `--bulk-sizes`, once for each of the `--chunk-sizes`. Every chunk carries a small header (see
+ * {@link BulkTracker}) so that the receivers can put the message back together no matter what
+ * order the chunks turn up in.
+ *
+ * Chunks are sent as `BulkChunk` interactions, or as updates to a single `BulkTestObject` if
+ * `--bulk-updates` is given. Each receiver reports the goodput (reassembled message bytes per
+ * second) and the time from first to last chunk of each message for each combination.
+ */
+public class BulkDriver implements IDriver
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final String RUN_POINT = "BULK_RUN_";
+	private static final long STALL_TIMEOUT = 10000; // millis without a chunk before we give up
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private Storage storage;
+	private RTIambassador rtiamb;
+	private FederateAmbassador fedamb;
+
+	private BulkTracker tracker;              // receivers only
+	private ObjectInstanceHandle bulkObject;  // sender only, if sending updates
+	private int nextTransfer;                 // sender only, id of the next message we send
+	private List<BulkResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public BulkDriver()
+	{
+		this.logger = null;         // set in configure()
+		this.configuration = null;  // set in configure()
+		this.storage = null;        // set in configure()
+		this.rtiamb = null;         // set in execute()
+		this.fedamb = null;         // set in execute()
+
+		this.tracker = null;        // set in execute()
+		this.bulkObject = null;     // set in execute()
+		this.nextTransfer = 0;
+		this.results = new ArrayList<BulkResult>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public boolean manageLifecycleManually()
+	{
+		return false;
+	}
+
+	public void execute( RTIambassador rtiamb, FederateAmbassador fedamb ) throws RTIexception
+	{
+		this.rtiamb = rtiamb;
+		this.fedamb = fedamb;
+
+		if( configuration.isSender() )
+		{
+			if( configuration.isBulkUpdates() )
+				this.bulkObject = rtiamb.registerObjectInstance( OC_BULK_TEST_OBJECT );
+		}
+		else
+		{
+			subscribe();
+		}
+
+		logger.info( "Waiting for all federates to be ready to start" );
+		rtiamb.synchronizationPointAchieved( "START_BULK_TEST" );
+		while( fedamb.achievedSyncPoints.contains("START_BULK_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+		int run = 0;
+		for( int messageSize : configuration.getBulkSizes() )
+		{
+			// one copy of the message for all the runs at this size
+			byte[] message = configuration.isSender() ? Utils.generatePayload(messageSize) : null;
+			for( int chunkSize : configuration.getChunkSizes() )
+			{
+				++run;
+				BulkResult result = new BulkResult( messageSize, chunkSize, configuration.getLoopCount() );
+				if( tracker != null )
+					tracker.startRun( run, messageSize );
+
+				Utils.synchronize( rtiamb, fedamb, configuration, RUN_POINT+run, configuration.isSender() );
+				if( configuration.isSender() )
+					send( run, message, chunkSize );
+				else
+					receive( result );
+
+				Utils.synchronize( rtiamb, fedamb, configuration, RUN_POINT+run+"_DONE", configuration.isSender() );
+				results.add( result );
+			}
+		}
+
+		// Wait for everyone to finish up
+		rtiamb.synchronizationPointAchieved( "FINISH_BULK_TEST" );
+		while( fedamb.achievedSyncPoints.contains("FINISH_BULK_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 100 );
+
+		fedamb.bulkTracker = null;
+		logger.info( "Bulk Test Finished" );
+		logger.info( "" );
+
+		if( configuration.isSender() == false )
+			new BulkReportGenerator(configuration,results).printReport();
+	}
+
+	/**
+	 * Subscribe to whichever of the object class or interaction the chunks will be coming
+	 * through and start handing them over to a tracker for reassembly.
+	 */
+	private void subscribe() throws RTIexception
+	{
+		this.tracker = new BulkTracker();
+		fedamb.bulkTracker = tracker;
+
+		if( configuration.isBulkUpdates() )
+		{
+			AttributeHandleSet attributes = rtiamb.getAttributeHandleSetFactory().create();
+			attributes.add( AC_BULK_CHUNK );
+			rtiamb.subscribeObjectClassAttributes( OC_BULK_TEST_OBJECT, attributes );
+		}
+		else
+		{
+			rtiamb.subscribeInteractionClass( IC_BULK_CHUNK );
+		}
+	}
+
+	/**
+	 * Send `--loops` copies of the given message, split into chunks of the given size and
+	 * stamped with the run number. Each chunk gets its own buffer so the RTI is free to hang
+	 * on to it after we hand it over.
+	 */
+	private void send( int run, byte[] message, int chunkSize ) throws RTIexception
+	{
+		logger.info( "Sending "+configuration.getLoopCount()+" x "+BulkReportGenerator.getSizeLabel(message.length)+
+		             " in "+BulkReportGenerator.getSizeLabel(chunkSize)+" chunks" );
+
+		long started = System.nanoTime();
+		for( int loop = 0; loop < configuration.getLoopCount(); loop++ )
+		{
+			int transfer = nextTransfer++;
+			for( int offset = 0; offset < message.length; offset += chunkSize )
+			{
+				int length = Math.min( chunkSize, message.length-offset );
+				byte[] chunk = new byte[BulkTracker.HEADER_SIZE+length];
+				Utils.intToBytes( run, chunk, 0 );
+				Utils.intToBytes( transfer, chunk, 4 );
+				Utils.intToBytes( offset, chunk, 8 );
+				Utils.intToBytes( message.length, chunk, 12 );
+				System.arraycopy( message, offset, chunk, BulkTracker.HEADER_SIZE, length );
+				sendChunk( chunk );
+			}
+
+			if( configuration.isEvokedCallback() )
+				rtiamb.evokeMultipleCallbacks( 0.0, configuration.getLoopWait()/1000.0 );
+		}
+
+		double seconds = (System.nanoTime()-started) / 1000000000.0;
+		double bytes = (double)message.length * configuration.getLoopCount();
+		logger.info( "Sent in "+Utils.getLatencyString(System.nanoTime()-started)+" ("+
+		             Utils.getMegabytesPerSec(bytes/seconds,2)+")" );
+	}
+
+	private void sendChunk( byte[] chunk ) throws RTIexception
+	{
+		if( bulkObject != null )
+		{
+			AttributeHandleValueMap attributes = rtiamb.getAttributeHandleValueMapFactory().create( 1 );
+			attributes.put( AC_BULK_CHUNK, chunk );
+			rtiamb.updateAttributeValues( bulkObject, attributes, null );
+		}
+		else
+		{
+			ParameterHandleValueMap parameters = rtiamb.getParameterHandleValueMapFactory().create( 1 );
+			parameters.put( PC_BULK_CHUNK, chunk );
+			rtiamb.sendInteraction( IC_BULK_CHUNK, parameters, null );
+		}
+	}
+
+	/**
+	 * Wait until we've reassembled every message the sender is sending, or until chunks stop
+	 * arriving for long enough that we have to assume the rest aren't coming.
+	 */
+	private void receive( BulkResult result ) throws RTIexception
+	{
+		long lastChunks = 0;
+		long lastProgress = System.currentTimeMillis();
+		while( tracker.getCompleted() < result.getExpected() )
+		{
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+			long chunks = tracker.getChunks();
+			if( chunks != lastChunks )
+			{
+				lastChunks = chunks;
+				lastProgress = System.currentTimeMillis();
+			}
+			else if( System.currentTimeMillis()-lastProgress > STALL_TIMEOUT )
+			{
+				logger.warn( "No chunks for "+(STALL_TIMEOUT/1000)+"s, only reassembled "+
+				             tracker.getCompleted()+" of "+result.getExpected()+" messages" );
+				break;
+			}
+		}
+
+		result.setCompleted( tracker.getCompleted() );
+		result.setWindow( tracker.getWindow() );
+		result.setAllocated( tracker.getAllocated() );
+		result.setLatencies( tracker.getLatencies() );
+		logger.info( String.format("%s in %s chunks: %d of %d messages, %s",
+		                           BulkReportGenerator.getSizeLabel(result.getMessageSize()),
+		                           BulkReportGenerator.getSizeLabel(result.getChunkSize()),
+		                           result.getCompleted(),
+		                           result.getExpected(),
+		                           Utils.getMegabytesPerSec(result.getGoodput(),2)) );
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// IDriver Methods /////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public void configure( Configuration configuration, Storage storage )
+	{
+		this.configuration = configuration;
+		this.storage = storage;
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+	}
+
+	@Override
+	public void printWelcomeMessage()
+	{
+		List<String> bulkSizes = new ArrayList<String>();
+		for( int size : configuration.getBulkSizes() )
+			bulkSizes.add( BulkReportGenerator.getSizeLabel(size) );
+
+		List<String> chunkSizes = new ArrayList<String>();
+		for( int size : configuration.getChunkSizes() )
+			chunkSizes.add( BulkReportGenerator.getSizeLabel(size) );
+
+		logger.info( " ===================================" );
+		logger.info( " =        Running Bulk Test        =" );
+		logger.info( " ===================================" );
+		logger.info( "" );
+		logger.info( "   Message Sizes = "+bulkSizes );
+		logger.info( "     Chunk Sizes = "+chunkSizes );
+		logger.info( "           Loops = "+configuration.getLoopCount()+" (messages per run)" );
+		logger.info( "         Carrier = "+(configuration.isBulkUpdates() ? "Attribute Updates" : "Interactions") );
+		logger.info( "            Role = "+(configuration.isSender() ? "Sender" : "Receiver") );
+		logger.info( "" );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public String getName()
+	{
+		return "Bulk Test";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
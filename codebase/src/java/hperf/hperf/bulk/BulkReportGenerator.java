@@ -0,0 +1,117 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.bulk;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hperf.LatencySamples;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints a table showing the goodput and reassembly time a receiver saw for each message and
+ * chunk size of the bulk test, so the effect of the chunk size can be read straight down it.
+ */
+public class BulkReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private List<BulkResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public BulkReportGenerator( Configuration configuration, List<BulkResult> results )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.results = results;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public void printReport()
+	{
+		logger.info( " ===================================" );
+		logger.info( " =        Bulk Test Report         =" );
+		logger.info( " ===================================" );
+		logger.info( "" );
+		logger.info( "   Messages Per Run: "+configuration.getLoopCount() );
+		logger.info( "   Carried As:       "+(configuration.isBulkUpdates() ? "Attribute Updates" : "Interactions") );
+		logger.info( "" );
+		logger.info( "  |-----------------------------------------------------------------------------------------|" );
+		logger.info( "  |         |       |        |           |             |  -- First to Last Chunk --  |      |" );
+		logger.info( "  | Message | Chunk | Chunks |   Done    |   Goodput   |  Mean   |   Med   |   95%   | Bufs |" );
+		logger.info( "  |---------|-------|--------|-----------|-------------|---------|---------|---------|------|" );
+	  //logger.info( "  |    256M |  256K |   1024 |   100/100 | 1234.56MB/s |  1234ms |  1234ms |  1234ms |    2 |" );
+
+		for( BulkResult result : results )
+		{
+			LatencySamples latencies = result.getLatencies();
+			String line = String.format( "  | %7s | %5s | %6d | %9s | %11s | %7s | %7s | %7s | %4d |",
+			                             getSizeLabel(result.getMessageSize()),
+			                             getSizeLabel(result.getChunkSize()),
+			                             result.getChunksPerMessage(),
+			                             result.getCompleted()+"/"+result.getExpected(),
+			                             Utils.getMegabytesPerSec(result.getGoodput(),2),
+			                             Utils.getLatencyString(latencies.getMean()),
+			                             Utils.getLatencyString(latencies.getMedian()),
+			                             Utils.getLatencyString(latencies.getPercentile(95.0)),
+			                             result.getAllocated() );
+			logger.info( line );
+		}
+
+		logger.info( "  |-----------------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: Goodput is reassembled message bytes (no headers) over the time from" );
+		logger.info( "              the first chunk arriving to the last message being completed." );
+		logger.info( "     ** Note: Bufs is the number of reassembly buffers allocated, the rest were" );
+		logger.info( "              reused from the pool." );
+		logger.info( "" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	/**
+	 * Sizes as they were given on the command line (powers of 1024), e.g. "16M", "64K"
+	 */
+	static String getSizeLabel( long bytes )
+	{
+		if( bytes >= (1<<20) && bytes % (1<<20) == 0 )
+			return (bytes>>20)+"M";
+		else if( bytes >= (1<<10) && bytes % (1<<10) == 0 )
+			return (bytes>>10)+"K";
+		else
+			return bytes+"B";
+	}
+}
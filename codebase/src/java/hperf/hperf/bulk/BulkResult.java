@@ -0,0 +1,133 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.bulk;
+
+import hperf.LatencySamples;
+
+/**
+ * What a receiver saw for one message size / chunk size combination of the bulk test.
+ */
+public class BulkResult
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int messageSize;        // bytes in each logical message
+	private int chunkSize;          // bytes of the message in each chunk (excluding header)
+	private int expected;           // messages the sender sent
+	private int completed;          // messages we reassembled
+	private long window;            // nanos from the first chunk until the last message completed
+	private int allocated;          // reassembly buffers we had to create
+	private LatencySamples latencies; // first to last chunk for each message
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public BulkResult( int messageSize, int chunkSize, int expected )
+	{
+		this.messageSize = messageSize;
+		this.chunkSize = chunkSize;
+		this.expected = expected;
+		this.completed = 0;
+		this.window = 0;
+		this.allocated = 0;
+		this.latencies = new LatencySamples();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/** @return Number of chunks each message is split into */
+	public int getChunksPerMessage()
+	{
+		return (messageSize + chunkSize - 1) / chunkSize;
+	}
+
+	/** @return Bytes of reassembled message per second */
+	public double getGoodput()
+	{
+		if( window <= 0 )
+			return 0.0;
+		else
+			return ((double)completed * messageSize) / (window/1000000000.0);
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public int getMessageSize()
+	{
+		return this.messageSize;
+	}
+
+	public int getChunkSize()
+	{
+		return this.chunkSize;
+	}
+
+	public int getExpected()
+	{
+		return this.expected;
+	}
+
+	public int getCompleted()
+	{
+		return this.completed;
+	}
+
+	public void setCompleted( int completed )
+	{
+		this.completed = completed;
+	}
+
+	public void setWindow( long window )
+	{
+		this.window = window;
+	}
+
+	public int getAllocated()
+	{
+		return this.allocated;
+	}
+
+	public void setAllocated( int allocated )
+	{
+		this.allocated = allocated;
+	}
+
+	public LatencySamples getLatencies()
+	{
+		return this.latencies;
+	}
+
+	public void setLatencies( LatencySamples latencies )
+	{
+		this.latencies = latencies;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
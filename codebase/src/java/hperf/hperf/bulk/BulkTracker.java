@@ -0,0 +1,192 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.bulk;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import hperf.LatencySamples;
+import hperf.Utils;
+
+/**
+ * Shared between the {@link BulkDriver} and the {@link hperf.FederateAmbassador}. The federate
+ * ambassador hands over every chunk that arrives and we copy it into place in the buffer for
+ * its message. Once all the bytes for a message are in, the time since its first chunk arrived
+ * is recorded and the buffer goes back into the pool to be used for the next message.
+ *
+ * Every chunk starts with a {@link #HEADER_SIZE} byte header: the run number, the transfer id,
+ * the offset of the data in the message and the size of the whole message (all ints). The driver
+ * resets the per-run state with {@link #startRun(int,int)} before each run, and any chunk that
+ * carries a different run number is counted as stale and dropped.
+ */
+public class BulkTracker
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	public static final int HEADER_SIZE = 16;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int run;                    // number of the current run, as carried in chunk headers
+	private int messageSize;            // size of the messages in the current run
+	private Deque<byte[]> pool;         // buffers free to reassemble the next message into
+	private int allocated;              // buffers we've had to create this run
+	private Map<Integer,byte[]> buffers;     // transfer id to the message being reassembled
+	private Map<Integer,Integer> received;   // transfer id to bytes received so far
+	private Map<Integer,Long> started;       // transfer id to time (nanoTime) of first chunk
+
+	private long chunks;                // chunks received this run
+	private long stale;                 // chunks from some other run
+	private int completed;              // messages fully reassembled this run
+	private long firstArrival;          // time (nanoTime) the first chunk of the run arrived
+	private long lastCompletion;        // time (nanoTime) the last message was completed
+	private LatencySamples latencies;   // first chunk to last chunk for each message
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public BulkTracker()
+	{
+		this.run = 0;
+		this.messageSize = 0;
+		this.pool = new ArrayDeque<byte[]>();
+		this.buffers = new HashMap<Integer,byte[]>();
+		this.received = new HashMap<Integer,Integer>();
+		this.started = new HashMap<Integer,Long>();
+		this.latencies = new LatencySamples();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public synchronized void startRun( int run, int messageSize )
+	{
+		// pooled buffers are only any good to us if they're the right size
+		if( messageSize != this.messageSize )
+			this.pool.clear();
+
+		this.run = run;
+		this.messageSize = messageSize;
+		this.allocated = 0;
+		this.buffers.clear();
+		this.received.clear();
+		this.started.clear();
+		this.chunks = 0;
+		this.stale = 0;
+		this.completed = 0;
+		this.firstArrival = 0;
+		this.lastCompletion = 0;
+		this.latencies = new LatencySamples();
+	}
+
+	/** A chunk arrived, copy it into place and see if that completes its message */
+	public synchronized void chunk( byte[] chunk, long timestamp )
+	{
+		if( Utils.bytesToInt(chunk,0) != run )
+		{
+			// straggler from another run
+			++stale;
+			return;
+		}
+
+		int transfer = Utils.bytesToInt( chunk, 4 );
+		int offset = Utils.bytesToInt( chunk, 8 );
+		int size = Utils.bytesToInt( chunk, 12 );
+
+		++chunks;
+		if( firstArrival == 0 )
+			firstArrival = timestamp;
+
+		byte[] buffer = buffers.get( transfer );
+		if( buffer == null )
+		{
+			buffer = pool.isEmpty() ? allocate() : pool.pop();
+			buffers.put( transfer, buffer );
+			received.put( transfer, 0 );
+			started.put( transfer, timestamp );
+		}
+
+		int length = chunk.length - HEADER_SIZE;
+		System.arraycopy( chunk, HEADER_SIZE, buffer, offset, length );
+		int total = received.get(transfer) + length;
+		if( total < size )
+		{
+			received.put( transfer, total );
+			return;
+		}
+
+		// message complete - hand the buffer back for the next one
+		latencies.add( timestamp - started.remove(transfer) );
+		received.remove( transfer );
+		pool.push( buffers.remove(transfer) );
+		++completed;
+		lastCompletion = timestamp;
+	}
+
+	private byte[] allocate()
+	{
+		++allocated;
+		return new byte[messageSize];
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public synchronized long getChunks()
+	{
+		return this.chunks;
+	}
+
+	public synchronized long getStale()
+	{
+		return this.stale;
+	}
+
+	public synchronized int getCompleted()
+	{
+		return this.completed;
+	}
+
+	/** @return Number of reassembly buffers we had to create this run, the rest came from the pool */
+	public synchronized int getAllocated()
+	{
+		return this.allocated;
+	}
+
+	/** @return Nanos from the first chunk of the run arriving until the last message completed */
+	public synchronized long getWindow()
+	{
+		return lastCompletion - firstArrival;
+	}
+
+	public synchronized LatencySamples getLatencies()
+	{
+		return this.latencies;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
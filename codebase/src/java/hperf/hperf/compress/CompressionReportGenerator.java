@@ -0,0 +1,112 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.compress;
+
+import org.apache.log4j.Logger;
+
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints what compressing payloads cost us (CPU per message) and what it bought us (ratio of
+ * raw to wire bytes). Tacked onto the end of the throughput and latency reports when
+ * `--compress` is in use.
+ */
+public class CompressionReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private PayloadCompressor compressor;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public CompressionReportGenerator( Configuration configuration, PayloadCompressor compressor )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.compressor = compressor;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	/**
+	 * @param duration Millis the traffic was flowing for, used to work out the rates. Pass 0
+	 *                 if there is no sensible figure and the rate columns will be left out.
+	 */
+	public void printReport( long duration )
+	{
+		logger.info( "   Compression: level "+compressor.getLevel()+", "+
+		             configuration.getPayloadContent().getLabel()+" payloads" );
+		logger.info( "  |------------------------------------------------------------------------------------------------|" );
+		logger.info( "  | Direction |  Messages  |    Raw     |    Wire    | Ratio | CPU/Msg |  Raw Rate   |  Wire Rate  |" );
+		logger.info( "  |-----------|------------|------------|------------|-------|---------|-------------|-------------|" );
+	  //logger.info( "  | Received  |   12345678 |  1234.56MB |  1234.56MB | 12.34 |  1234us | 1234.56MB/s | 1234.56MB/s |" );
+
+		logger.info( getLine("Sent",
+		                     compressor.getCompressedCount(),
+		                     compressor.getCompressedRawBytes(),
+		                     compressor.getCompressedWireBytes(),
+		                     compressor.getCompressCpuTime(),
+		                     duration) );
+		logger.info( getLine("Received",
+		                     compressor.getDecompressedCount(),
+		                     compressor.getDecompressedRawBytes(),
+		                     compressor.getDecompressedWireBytes(),
+		                     compressor.getDecompressCpuTime(),
+		                     duration) );
+
+		logger.info( "  |------------------------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: Raw Rate is the effective throughput of payload data, Wire Rate what" );
+		logger.info( "              actually went through the RTI. CPU/Msg is the compressing thread only." );
+		logger.info( "" );
+	}
+
+	private String getLine( String direction, long messages, long raw, long wire, long cpu, long duration )
+	{
+		double ratio = wire == 0 ? 0.0 : ((double)raw) / wire;
+		long cpuPerMessage = messages == 0 ? 0 : cpu / messages;
+		double seconds = duration / 1000.0;
+		return String.format( "  | %-9s | %10d | %10s | %10s | %5.2f | %7s | %11s | %11s |",
+		                      direction,
+		                      messages,
+		                      Utils.getSizeString(raw,2).trim(),
+		                      Utils.getSizeString(wire,2).trim(),
+		                      ratio,
+		                      Utils.getLatencyString(cpuPerMessage),
+		                      seconds <= 0 ? "-" : Utils.getMegabytesPerSec(raw/seconds,2).trim(),
+		                      seconds <= 0 ? "-" : Utils.getMegabytesPerSec(wire/seconds,2).trim() );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
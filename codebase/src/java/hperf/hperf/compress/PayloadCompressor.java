@@ -0,0 +1,247 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.compress;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import hperf.Utils;
+
+/**
+ * Compresses payloads before they go to the RTI and decompresses them when they come back
+ * out. One {@link Deflater} and one {@link Inflater} are created up front and reset for each
+ * message, and each side has a scratch buffer that is only ever grown, so the only thing we
+ * allocate per message is the exact-sized array the RTI needs to be handed.
+ *
+ * We keep count of the bytes going in and out each way and the CPU time spent doing it so
+ * that the cost can be weighed against the bandwidth saved. Compression happens on the
+ * sending thread and decompression on the callback thread, so each side has its own lock.
+ */
+public class PayloadCompressor
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int level;
+	private Object compressLock;      // guards the deflater, its buffer and the sending stats
+	private Object decompressLock;    // guards the inflater, its buffer and the receiving stats
+	private Deflater deflater;
+	private Inflater inflater;
+	private byte[] deflateBuffer;     // compressed output lands here before being copied out
+	private byte[] inflateBuffer;     // decompressed output, only ever grown
+
+	// compression (sending)
+	private long compressed;          // messages compressed
+	private long compressedRaw;       // bytes before compression
+	private long compressedWire;      // bytes after compression
+	private long compressCpu;         // nanos of CPU spent compressing
+
+	// decompression (receiving)
+	private long decompressed;        // messages decompressed
+	private long decompressedRaw;     // bytes after decompression
+	private long decompressedWire;    // bytes before decompression
+	private long decompressCpu;       // nanos of CPU spent decompressing
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public PayloadCompressor( int level )
+	{
+		this.level = level;
+		this.compressLock = new Object();
+		this.decompressLock = new Object();
+		this.deflater = new Deflater( level );
+		this.inflater = new Inflater();
+		this.deflateBuffer = new byte[0];
+		this.inflateBuffer = new byte[0];
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * @return A new array holding the compressed form of the given payload
+	 */
+	public byte[] compress( byte[] payload )
+	{
+		synchronized( compressLock )
+		{
+			long started = Utils.getThreadCpuTime();
+
+			// deflate can grow incompressible data a little, leave room for it
+			int bound = payload.length + (payload.length >> 12) + (payload.length >> 14) + 64;
+			if( deflateBuffer.length < bound )
+				deflateBuffer = new byte[bound];
+
+			deflater.reset();
+			deflater.setInput( payload );
+			deflater.finish();
+			int length = 0;
+			while( deflater.finished() == false )
+			{
+				if( length == deflateBuffer.length )
+					deflateBuffer = Arrays.copyOf( deflateBuffer, deflateBuffer.length*2 );
+
+				length += deflater.deflate( deflateBuffer, length, deflateBuffer.length-length );
+			}
+
+			byte[] wire = Arrays.copyOf( deflateBuffer, length );
+			compressCpu += Utils.getThreadCpuTime() - started;
+			compressed++;
+			compressedRaw += payload.length;
+			compressedWire += length;
+			return wire;
+		}
+	}
+
+	/**
+	 * @param wire The compressed payload as it came off the wire
+	 * @param expectedSize How big we expect the payload to be once decompressed
+	 * @return The decompressed payload. If it fills the scratch buffer exactly it is handed
+	 *         back directly and is only valid until the next call, otherwise it's a copy.
+	 */
+	public byte[] decompress( byte[] wire, int expectedSize )
+	{
+		synchronized( decompressLock )
+		{
+			long started = Utils.getThreadCpuTime();
+
+			// only ever grow, payloads that vary in size shouldn't cost us a new buffer each
+			if( inflateBuffer.length < expectedSize )
+				inflateBuffer = new byte[expectedSize];
+
+			inflater.reset();
+			inflater.setInput( wire );
+			int length = 0;
+			try
+			{
+				while( inflater.finished() == false )
+				{
+					// bigger than we expected, keep going so verification can see how much bigger
+					if( length == inflateBuffer.length )
+						inflateBuffer = Arrays.copyOf( inflateBuffer, inflateBuffer.length*2+1 );
+
+					int inflated = inflater.inflate( inflateBuffer, length, inflateBuffer.length-length );
+					if( inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()) )
+						break; // truncated
+
+					length += inflated;
+				}
+			}
+			catch( DataFormatException dfe )
+			{
+				throw new RuntimeException( "Received corrupt compressed payload: "+dfe.getMessage(), dfe );
+			}
+
+			decompressCpu += Utils.getThreadCpuTime() - started;
+			decompressed++;
+			decompressedRaw += length;
+			decompressedWire += wire.length;
+
+			if( length == inflateBuffer.length )
+				return inflateBuffer;
+			else
+				return Arrays.copyOf( inflateBuffer, length );
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public int getLevel()
+	{
+		return this.level;
+	}
+
+	public long getCompressedCount()
+	{
+		synchronized( compressLock )
+		{
+			return this.compressed;
+		}
+	}
+
+	public long getCompressedRawBytes()
+	{
+		synchronized( compressLock )
+		{
+			return this.compressedRaw;
+		}
+	}
+
+	public long getCompressedWireBytes()
+	{
+		synchronized( compressLock )
+		{
+			return this.compressedWire;
+		}
+	}
+
+	public long getCompressCpuTime()
+	{
+		synchronized( compressLock )
+		{
+			return this.compressCpu;
+		}
+	}
+
+	public long getDecompressedCount()
+	{
+		synchronized( decompressLock )
+		{
+			return this.decompressed;
+		}
+	}
+
+	public long getDecompressedRawBytes()
+	{
+		synchronized( decompressLock )
+		{
+			return this.decompressedRaw;
+		}
+	}
+
+	public long getDecompressedWireBytes()
+	{
+		synchronized( decompressLock )
+		{
+			return this.decompressedWire;
+		}
+	}
+
+	public long getDecompressCpuTime()
+	{
+		synchronized( decompressLock )
+		{
+			return this.decompressCpu;
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,131 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.compress;
+
+import java.util.Random;
+
+import org.apache.log4j.Logger;
+
+import hperf.Utils;
+
+/**
+ * What we fill payloads with. How well a payload compresses depends entirely on what is in
+ * it, so when compression is on we want something closer to real traffic than a repeating
+ * 0-9 cycle (which compresses to almost nothing).
+ */
+public enum PayloadContent
+{
+	//----------------------------------------------------------
+	//                        VALUES
+	//----------------------------------------------------------
+	/** A repeating 0-9 cycle, see {@link Utils#generatePayload(int, int)} (the default) */
+	PATTERN( "Pattern" ),
+
+	/** Words and numbers separated by spaces and punctuation, roughly like serialized text */
+	TEXT( "Text" ),
+
+	/** Random bytes, which won't compress at all */
+	RANDOM( "Random" );
+
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final String[] WORDS = { "entity", "position", "velocity", "heading",
+	                                        "platform", "status", "alpha", "bravo", "charlie",
+	                                        "track", "sensor", "id", "force", "the", "and",
+	                                        "of", "to", "update", "damage", "fuel" };
+	private static final String[] SEPARATORS = { " ", " ", " ", ", ", ": ", "=", ";\n" };
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String label;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	private PayloadContent( String label )
+	{
+		this.label = label;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public String getLabel()
+	{
+		return this.label;
+	}
+
+	/**
+	 * Generate a payload of the given size. Payloads with different variants have different
+	 * contents, but the same variant always gives the same contents.
+	 */
+	public byte[] generate( int sizeInBytes, int variant )
+	{
+		switch( this )
+		{
+			case TEXT:
+				return generateText( sizeInBytes, new Random(variant) );
+			case RANDOM:
+				byte[] payload = new byte[sizeInBytes];
+				new Random( variant ).nextBytes( payload );
+				return payload;
+			default:
+				return Utils.generatePayload( sizeInBytes, variant % 10 );
+		}
+	}
+
+	/**
+	 * Check a received payload. Only the pattern can be checked byte-by-byte, for the others
+	 * we can only check the size (if it was compressed, the decompressor has already checked
+	 * the contents against the stream checksum).
+	 */
+	public void verify( byte[] received, int expectedSize, Logger logger )
+	{
+		if( this == PATTERN )
+		{
+			Utils.verifyPayload( received, expectedSize, logger );
+		}
+		else if( received.length != expectedSize )
+		{
+			logger.error( "Received data buffer of incorrect size: expected="+
+			              expectedSize+", received="+received.length );
+		}
+	}
+
+	private byte[] generateText( int sizeInBytes, Random random )
+	{
+		StringBuilder builder = new StringBuilder( sizeInBytes+16 );
+		while( builder.length() < sizeInBytes )
+		{
+			if( random.nextInt(4) == 0 )
+				builder.append( random.nextInt(100000) );
+			else
+				builder.append( WORDS[random.nextInt(WORDS.length)] );
+
+			builder.append( SEPARATORS[random.nextInt(SEPARATORS.length)] );
+		}
+
+		builder.setLength( sizeInBytes );
+		return builder.toString().getBytes();
+	}
+}
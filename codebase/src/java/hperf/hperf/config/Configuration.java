@@ -29,6 +29,10 @@ import java.util.List;
 import java.util.Properties;
 import java.util.StringTokenizer;
 
+import hperf.compress.PayloadContent;
+import hperf.ownership.OwnershipMode;
+import hperf.timeadvance.AdvanceMode;
+
 public class Configuration
 {
 	//----------------------------------------------------------
@@ -46,6 +50,8 @@ public class Configuration
 	private String federateName;
 	private boolean jvmFederation;
 	private boolean jvmMaster; // is this the "master" federate?
+	private int scaleTo;       // largest JVM federation to grow to in scaling mode, 0 if off
+	private int federations;   // most concurrent JVM federations to grow to, 0 if off
 	
 	// execution properties
 	private int loopCount;
@@ -53,16 +59,67 @@ public class Configuration
 	private int objectCount; // number of objects we'll create
 	private int interactionCount; // number of interactions to send each iteration
 	private int packetSize;  // the minimum size of each update in kb
+	private int payloadPool; // bytes of distinct payloads to rotate through, 0 for just one
+	private int compressLevel;     // Deflater level for payloads, -1 if not compressing
+	private String payloadContent; // PATTERN, TEXT or RANDOM
+	private boolean encrypt;       // encrypt payloads with AES-GCM
+	private String encryptKey;     // passphrase the key is derived from, null for the federation name
+	private boolean entityPayload; // send HLA-encoded entity state records rather than raw bytes
+	private int articulatedParts;  // articulated parts in each entity state record
 	private boolean validateData;
 	private List<String> peers;
 	private boolean sender;  // is this the sender for the latency or lifecycle federates?
 	private int printInterval;  // number of loops at which to print throughput federate status
+	private List<Integer> reservationBatchSizes; // batch sizes for the registration test
 
 	private boolean runThroughputTest;
 	private boolean runLatencyTest;
 	private boolean runLifecycleTest;
+	private boolean runLateJoinTest;
+	private boolean runRegistrationTest;
+	private boolean runSyncPointTest;
+	private boolean runSaveRestoreTest;
+	private boolean runChurnTest;
+	private boolean runTimeAdvanceTest;
+	private boolean runNextEventTest;
+	private boolean runOwnershipTest;
+	private boolean runDdmTest;
+	private boolean runRegionChurnTest;
+	private boolean runPullTest;
+	private boolean runHierarchyTest;
+	private boolean runFomScalingTest;
+	private boolean runPopulationTest;
+	private boolean runBulkTest;
+	private int churnInterval;  // ms churn federates stay joined (and then away) each loop
+	private boolean rateSeries; // record the per-second receive rate in the throughput test
 	private boolean isImmediateCallbackMode;
 	private boolean isTimestepped;
+	private boolean isTimestampOrder; // send TSO traffic when timestepped
+	private double lookahead;
+	private double timeStep;
+	private List<Double> lookaheads; // lookaheads swept by the time advance test
+	private List<AdvanceMode> advanceModes; // advance services swept by the next event test
+	private double eventGap;           // mean logical time between local events (next event test)
+	private List<OwnershipMode> ownershipModes; // transfer modes swept by the ownership test
+	private int ddmGridSize;             // cells along each side of the DDM test grid
+	private List<Double> ddmFractions;   // share of the grid receivers subscribe to, per run
+	private int regionMoveRate;          // region moves per second in the region churn test
+	private int fomDepth;                // levels below the root of the generated interaction tree
+	private int fomBreadth;              // children of each class in the generated interaction tree
+	private List<Integer> fomSizes;      // object classes in each generated module (FOM scaling test)
+	private int fomAttributes;           // attributes (and parameters) on each generated class
+	private int fomInteractions;         // interaction classes in each module, -1 to match fomSizes
+	private int populationSteps;         // steps the population test grows to --objects in
+	private int registerBatch;           // objects registered between ticks in the population test
+	private int updateSubset;            // objects each federate updates per loop in the population test
+	private String topology;             // MESH, STAR, RING or PAIRS for throughput test traffic
+	private List<String> publishOnly;    // federates that only send throughput test traffic
+	private List<String> subscribeOnly;  // federates that only receive throughput test traffic
+	private int subscribeCount;          // publishers each federate subscribes to, 0 for all of them
+	private long subscribeSeed;          // seed used to pick which publishers those are
+	private List<Integer> bulkSizes;     // bytes in each logical message of the bulk test
+	private List<Integer> chunkSizes;    // bytes of message carried in each bulk test chunk
+	private boolean bulkUpdates;         // send bulk chunks as attribute updates, not interactions
 
 	private boolean printEventLog;
 	private boolean printMegabits;
@@ -81,6 +138,8 @@ public class Configuration
 		this.federateName = "hperf1";
 		this.jvmFederation = false;
 		this.jvmMaster = false;
+		this.scaleTo = 0;
+		this.federations = 0;
 		
 		// execution properties
 		this.loopCount = 20;
@@ -88,19 +147,97 @@ public class Configuration
 		this.objectCount = 20;
 		this.interactionCount = -1; // if -1, will default to same as objectCount
 		this.packetSize = 1000;
+		this.payloadPool = 0;
+		this.compressLevel = -1;
+		this.payloadContent = "PATTERN";
+		this.encrypt = false;
+		this.encryptKey = null;
+		this.entityPayload = false;
+		this.articulatedParts = 4;
 		this.validateData = false;
 		this.peers = new ArrayList<String>();
 		this.sender = false;
 		this.printInterval = -1;
+		this.reservationBatchSizes = new ArrayList<Integer>();
+		this.reservationBatchSizes.add( 10 );
+		this.reservationBatchSizes.add( 100 );
+		this.reservationBatchSizes.add( 1000 );
 
 		// default to run neither test unless instructed
 		this.runThroughputTest = false;
 		this.runLatencyTest = false;
 		this.runLifecycleTest = false;
+		this.runLateJoinTest = false;
+		this.runRegistrationTest = false;
+		this.runSyncPointTest = false;
+		this.runSaveRestoreTest = false;
+		this.runChurnTest = false;
+		this.runTimeAdvanceTest = false;
+		this.runNextEventTest = false;
+		this.runOwnershipTest = false;
+		this.runDdmTest = false;
+		this.runRegionChurnTest = false;
+		this.runPullTest = false;
+		this.runHierarchyTest = false;
+		this.runFomScalingTest = false;
+		this.runPopulationTest = false;
+		this.runBulkTest = false;
+		this.churnInterval = 2000;
+		this.rateSeries = false;
 		
 		// what is our callback mode? Immediate or Evoked?
 		this.isImmediateCallbackMode = true;
 		this.isTimestepped = false;
+		this.isTimestampOrder = false;
+		this.lookahead = 1.0;
+		this.timeStep = 1.0;
+		this.lookaheads = new ArrayList<Double>();
+		this.lookaheads.add( 1.0 );
+		this.lookaheads.add( 0.1 );
+		this.lookaheads.add( 0.01 );
+		this.lookaheads.add( 0.001 );
+		this.advanceModes = new ArrayList<AdvanceMode>();
+		this.advanceModes.add( AdvanceMode.TAR );
+		this.advanceModes.add( AdvanceMode.NMR );
+		this.advanceModes.add( AdvanceMode.FQR );
+		this.eventGap = 10.0;
+		this.ownershipModes = new ArrayList<OwnershipMode>();
+		this.ownershipModes.add( OwnershipMode.NEGOTIATED );
+		this.ownershipModes.add( OwnershipMode.ACQUISITION );
+		this.ownershipModes.add( OwnershipMode.UNCONDITIONAL );
+		this.ddmGridSize = 10;
+		this.ddmFractions = new ArrayList<Double>();
+		this.ddmFractions.add( 0.1 );
+		this.ddmFractions.add( 0.25 );
+		this.ddmFractions.add( 0.5 );
+		this.ddmFractions.add( 1.0 );
+		this.regionMoveRate = 100;
+		this.fomDepth = 3;
+		this.fomBreadth = 3;
+		this.fomSizes = new ArrayList<Integer>();
+		this.fomSizes.add( 10 );
+		this.fomSizes.add( 100 );
+		this.fomSizes.add( 500 );
+		this.fomSizes.add( 1000 );
+		this.fomAttributes = 10;
+		this.fomInteractions = -1; // if -1, will default to the same as each of the fomSizes
+		this.populationSteps = 10;
+		this.registerBatch = 10000;
+		this.updateSubset = 1000;
+		this.topology = "MESH";
+		this.publishOnly = new ArrayList<String>();
+		this.subscribeOnly = new ArrayList<String>();
+		this.subscribeCount = 0;
+		this.subscribeSeed = 1;
+		this.bulkSizes = new ArrayList<Integer>();
+		this.bulkSizes.add( 1024 * 1024 );
+		this.bulkSizes.add( 16 * 1024 * 1024 );
+		this.chunkSizes = new ArrayList<Integer>();
+		this.chunkSizes.add( 16 * 1024 );
+		this.chunkSizes.add( 64 * 1024 );
+		this.chunkSizes.add( 256 * 1024 );
+		this.chunkSizes.add( 1024 * 1024 );
+		this.bulkUpdates = false;
 		
 		this.printEventLog = false;
 		this.printMegabits = false;
@@ -126,6 +263,8 @@ public class Configuration
 		temp.federateName = federateName;
 		temp.jvmFederation = this.jvmFederation;
 		temp.jvmMaster = this.jvmMaster;
+		temp.scaleTo = this.scaleTo;
+		temp.federations = this.federations;
 		
 		// execution properties
 		temp.loopCount = this.loopCount;
@@ -133,15 +272,67 @@ public class Configuration
 		temp.objectCount = this.objectCount;
 		temp.interactionCount = this.interactionCount;
 		temp.packetSize = this.packetSize;
+		temp.payloadPool = this.payloadPool;
+		temp.compressLevel = this.compressLevel;
+		temp.payloadContent = this.payloadContent;
+		temp.encrypt = this.encrypt;
+		temp.encryptKey = this.encryptKey;
+		temp.entityPayload = this.entityPayload;
+		temp.articulatedParts = this.articulatedParts;
 		temp.validateData = this.validateData;
 		temp.peers = peers;
+		temp.reservationBatchSizes = this.reservationBatchSizes;
 
 		// default to run neither test unless instructed
 		temp.runThroughputTest = this.runThroughputTest;
 		temp.runLatencyTest = this.runLatencyTest;
+		temp.runLateJoinTest = this.runLateJoinTest;
+		temp.runRegistrationTest = this.runRegistrationTest;
+		temp.runSyncPointTest = this.runSyncPointTest;
+		temp.runSaveRestoreTest = this.runSaveRestoreTest;
+		temp.runChurnTest = this.runChurnTest;
+		temp.runTimeAdvanceTest = this.runTimeAdvanceTest;
+		temp.runNextEventTest = this.runNextEventTest;
+		temp.runOwnershipTest = this.runOwnershipTest;
+		temp.runDdmTest = this.runDdmTest;
+		temp.runRegionChurnTest = this.runRegionChurnTest;
+		temp.runPullTest = this.runPullTest;
+		temp.runHierarchyTest = this.runHierarchyTest;
+		temp.runFomScalingTest = this.runFomScalingTest;
+		temp.runPopulationTest = this.runPopulationTest;
+		temp.runBulkTest = this.runBulkTest;
+		temp.churnInterval = this.churnInterval;
+		temp.rateSeries = this.rateSeries;
 		
 		// what is our callback mode? Immediate or Evoked?
 		temp.isImmediateCallbackMode = this.isImmediateCallbackMode;
+		temp.isTimestepped = this.isTimestepped;
+		temp.isTimestampOrder = this.isTimestampOrder;
+		temp.lookahead = this.lookahead;
+		temp.timeStep = this.timeStep;
+		temp.lookaheads = this.lookaheads;
+		temp.advanceModes = this.advanceModes;
+		temp.eventGap = this.eventGap;
+		temp.ownershipModes = this.ownershipModes;
+		temp.ddmGridSize = this.ddmGridSize;
+		temp.ddmFractions = this.ddmFractions;
+		temp.regionMoveRate = this.regionMoveRate;
+		temp.fomDepth = this.fomDepth;
+		temp.fomBreadth = this.fomBreadth;
+		temp.fomSizes = this.fomSizes;
+		temp.fomAttributes = this.fomAttributes;
+		temp.fomInteractions = this.fomInteractions;
+		temp.populationSteps = this.populationSteps;
+		temp.registerBatch = this.registerBatch;
+		temp.updateSubset = this.updateSubset;
+		temp.topology = this.topology;
+		temp.publishOnly = this.publishOnly;
+		temp.subscribeOnly = this.subscribeOnly;
+		temp.subscribeCount = this.subscribeCount;
+		temp.subscribeSeed = this.subscribeSeed;
+		temp.bulkSizes = this.bulkSizes;
+		temp.chunkSizes = this.chunkSizes;
+		temp.bulkUpdates = this.bulkUpdates;
 		
 		temp.printEventLog = this.printEventLog;
 		temp.printMegabits = this.printMegabits;
@@ -170,6 +361,12 @@ public class Configuration
 	{
 		return this.federationName;
 	}
+
+	/** Only used to give each JVM federation in scaling or concurrent modes a name of its own */
+	public void setFederationName( String federationName )
+	{
+		this.federationName = federationName;
+	}
 	
 	public String getFederateName()
 	{
@@ -192,6 +389,30 @@ public class Configuration
 	{
 		this.jvmMaster = master;
 	}
+
+	/** Should we run the test in JVM federations of growing size, rather than just once? */
+	public boolean isJvmScaling()
+	{
+		return this.scaleTo > 0;
+	}
+
+	/** The largest JVM federation to run in scaling mode. Sizes double from 2 up to this */
+	public int getScaleTo()
+	{
+		return this.scaleTo;
+	}
+
+	/** Should we run the test in several JVM federations at once, rather than just the one? */
+	public boolean isConcurrentFederations()
+	{
+		return this.federations > 0;
+	}
+
+	/** The most JVM federations to run at once. Counts double from 1 up to this */
+	public int getFederationCount()
+	{
+		return this.federations;
+	}
 	
 	// Execution Properties
 	/**
@@ -245,6 +466,66 @@ public class Configuration
 		return this.packetSize;
 	}
 
+	/**
+	 * Bytes of distinct pre-generated payloads that senders should rotate through so that
+	 * they aren't always in the cache. Defaults to 0, one payload that is always sent.
+	 */
+	public int getPayloadPool()
+	{
+		return this.payloadPool;
+	}
+
+	/**
+	 * Should payloads be compressed before they are sent? Only the throughput and latency
+	 * tests support this, so it is always false for the others.
+	 */
+	public boolean isCompressionEnabled()
+	{
+		return this.compressLevel >= 0 && (this.runThroughputTest || this.runLatencyTest);
+	}
+
+	/** Deflater level (0-9) to compress payloads at, -1 if compression is off (the default) */
+	public int getCompressLevel()
+	{
+		return this.compressLevel;
+	}
+
+	/** What to fill payloads with. Defaults to PATTERN */
+	public PayloadContent getPayloadContent()
+	{
+		return PayloadContent.valueOf( this.payloadContent );
+	}
+
+	/**
+	 * Should payloads be encrypted before they are sent? Like compression, only the throughput
+	 * and latency tests support this.
+	 */
+	public boolean isEncryptionEnabled()
+	{
+		return this.encrypt && (this.runThroughputTest || this.runLatencyTest);
+	}
+
+	/** Passphrase everyone derives the encryption key from. Defaults to the federation name */
+	public String getEncryptKey()
+	{
+		return this.encryptKey == null ? getFederationName() : this.encryptKey;
+	}
+
+	/**
+	 * Should payloads be entity state records built with the HLA encoders (rather than raw
+	 * bytes of --packet-size)? Only the throughput and latency tests support this.
+	 */
+	public boolean isEntityPayloadEnabled()
+	{
+		return this.entityPayload && (this.runThroughputTest || this.runLatencyTest);
+	}
+
+	/** Articulated parts in each entity state payload. Defaults to 4 */
+	public int getArticulatedParts()
+	{
+		return this.articulatedParts;
+	}
+
 	/**
 	 * If this is set to true, for each message received, we should validate
 	 * the contents of the data to ensure it is as expected. 
@@ -283,6 +564,13 @@ public class Configuration
 	{
 		return this.printInterval;
 	}
+
+	/** The batch sizes to use with `reserveMultipleObjectInstanceName` in the registration
+	    test. Defaults to 10, 100 and 1000. */
+	public List<Integer> getReservationBatchSizes()
+	{
+		return this.reservationBatchSizes;
+	}
 	
 	/** Should the throughput test be run? */
 	public boolean isThroughputTestEnabled()
@@ -302,6 +590,108 @@ public class Configuration
 		return this.runLifecycleTest;
 	}
 
+	/** Should the late joiner test be run? */
+	public boolean isLateJoinTestEnabled()
+	{
+		return this.runLateJoinTest;
+	}
+
+	/** Should the registration test be run? */
+	public boolean isRegistrationTestEnabled()
+	{
+		return this.runRegistrationTest;
+	}
+
+	/** Should the sync point test be run? */
+	public boolean isSyncPointTestEnabled()
+	{
+		return this.runSyncPointTest;
+	}
+
+	/** Should the save/restore test be run? */
+	public boolean isSaveRestoreTestEnabled()
+	{
+		return this.runSaveRestoreTest;
+	}
+
+	/** Should this federate join and resign repeatedly alongside a throughput test? */
+	public boolean isChurnTestEnabled()
+	{
+		return this.runChurnTest;
+	}
+
+	/** Should the time advance request-to-grant test be run? */
+	public boolean isTimeAdvanceTestEnabled()
+	{
+		return this.runTimeAdvanceTest;
+	}
+
+	/** Should the TAR vs NMR vs FQR next event test be run? */
+	public boolean isNextEventTestEnabled()
+	{
+		return this.runNextEventTest;
+	}
+
+	/** Should the ownership transfer test be run? */
+	public boolean isOwnershipTestEnabled()
+	{
+		return this.runOwnershipTest;
+	}
+
+	/** Should the DDM region-filtered throughput test be run? */
+	public boolean isDdmTestEnabled()
+	{
+		return this.runDdmTest;
+	}
+
+	/** Should the moving-region DDM churn test be run? */
+	public boolean isRegionChurnTestEnabled()
+	{
+		return this.runRegionChurnTest;
+	}
+
+	/** Should the pull-model (requestAttributeValueUpdate) latency test be run? */
+	public boolean isPullTestEnabled()
+	{
+		return this.runPullTest;
+	}
+
+	/** Should the interaction hierarchy depth test be run? */
+	public boolean isHierarchyTestEnabled()
+	{
+		return this.runHierarchyTest;
+	}
+
+	/** Should the large-FOM scaling test be run? */
+	public boolean isFomScalingTestEnabled()
+	{
+		return this.runFomScalingTest;
+	}
+
+	/** Should the large object population scaling test be run? */
+	public boolean isPopulationTestEnabled()
+	{
+		return this.runPopulationTest;
+	}
+
+	/** Should the chunked bulk transfer test be run? */
+	public boolean isBulkTestEnabled()
+	{
+		return this.runBulkTest;
+	}
+
+	/** Time (ms) a churn federate stays joined each loop, and then stays away for. Default 2000 */
+	public int getChurnInterval()
+	{
+		return this.churnInterval;
+	}
+
+	/** Should the throughput test record and report the receive rate for each second? */
+	public boolean isRateSeries()
+	{
+		return this.rateSeries;
+	}
+
 	/** Are we using the immediate callback mode? (default to true) */
 	public boolean isImmediateCallback()
 	{
@@ -319,6 +709,178 @@ public class Configuration
 	{
 		return this.isTimestepped;
 	}
+
+	/** Should timestepped federates send their traffic timestamp ordered? Implies timestepped */
+	public boolean isTimestampOrder()
+	{
+		return this.isTimestampOrder;
+	}
+
+	/** Lookahead to use when the federate is time regulating. Defaults to 1.0 */
+	public double getLookahead()
+	{
+		return this.lookahead;
+	}
+
+	/** How far to advance time each loop when timestepped. Defaults to 1.0 */
+	public double getTimeStep()
+	{
+		return this.timeStep;
+	}
+
+	/** Lookaheads the time advance test runs through, in order. Defaults to 1.0,0.1,0.01,0.001 */
+	public List<Double> getLookaheads()
+	{
+		return this.lookaheads;
+	}
+
+	/** Advance services (TAR, NMR, FQR) the next event test runs through, in order. Default all */
+	public List<AdvanceMode> getAdvanceModes()
+	{
+		return this.advanceModes;
+	}
+
+	/** Mean logical time between each federate's local events in the next event test. Default 10.0 */
+	public double getEventGap()
+	{
+		return this.eventGap;
+	}
+
+	/** Ways the ownership test hands objects over, in order. Defaults to all of them */
+	public List<OwnershipMode> getOwnershipModes()
+	{
+		return this.ownershipModes;
+	}
+
+	/** Number of cells along each side of the DDM test grid. Defaults to 10 (10x10) */
+	public int getDdmGridSize()
+	{
+		return this.ddmGridSize;
+	}
+
+	/** Share of the grid (0-1) DDM test receivers subscribe to in each run. Defaults to 0.1,0.25,0.5,1.0 */
+	public List<Double> getDdmFractions()
+	{
+		return this.ddmFractions;
+	}
+
+	/** Number of region moves per second in the region churn test. Defaults to 100 */
+	public int getRegionMoveRate()
+	{
+		return this.regionMoveRate;
+	}
+
+	/** Levels below the root of the generated interaction class tree. Defaults to 3 */
+	public int getFomDepth()
+	{
+		return this.fomDepth;
+	}
+
+	/** Number of children each class in the generated interaction tree has. Defaults to 3 */
+	public int getFomBreadth()
+	{
+		return this.fomBreadth;
+	}
+
+	/** Number of object classes in each module the FOM scaling test generates. Defaults to 10,100,500,1000 */
+	public List<Integer> getFomSizes()
+	{
+		return this.fomSizes;
+	}
+
+	/** Number of attributes (or parameters) on each generated class. Defaults to 10 */
+	public int getFomAttributes()
+	{
+		return this.fomAttributes;
+	}
+
+	/**
+	 * Number of interaction classes to generate alongside the given number of object classes.
+	 * Defaults to the same number unless specifically specified on the command line.
+	 */
+	public int getFomInteractions( int objectClasses )
+	{
+		return this.fomInteractions == -1 ? objectClasses : this.fomInteractions;
+	}
+
+	/** Number of steps the population test takes to grow each federate to --objects. Defaults to 10 */
+	public int getPopulationSteps()
+	{
+		return this.populationSteps;
+	}
+
+	/** Number of objects the population test registers before ticking/logging. Defaults to 10000 */
+	public int getRegisterBatch()
+	{
+		return this.registerBatch;
+	}
+
+	/** Number of its objects each federate updates per loop in the population test. Defaults to 1000 */
+	public int getUpdateSubset()
+	{
+		return this.updateSubset;
+	}
+
+	/** Shape of the throughput test traffic: MESH, STAR, RING or PAIRS. Defaults to MESH */
+	public String getTopology()
+	{
+		return this.topology;
+	}
+
+	/** Federates that only send throughput test traffic. Defaults to none */
+	public List<String> getPublishOnly()
+	{
+		return this.publishOnly;
+	}
+
+	/** Federates that only receive throughput test traffic. Defaults to none */
+	public List<String> getSubscribeOnly()
+	{
+		return this.subscribeOnly;
+	}
+
+	/** Number of the publishers each federate subscribes to, 0 for all of them. Defaults to 0 */
+	public int getSubscribeCount()
+	{
+		return this.subscribeCount;
+	}
+
+	/** Seed used to pick the publishers each federate subscribes to. Defaults to 1 */
+	public long getSubscribeSeed()
+	{
+		return this.subscribeSeed;
+	}
+
+	/** Bytes in each logical message the bulk test sends. Defaults to 1M,16M */
+	public List<Integer> getBulkSizes()
+	{
+		return this.bulkSizes;
+	}
+
+	/** Bytes of the message carried in each bulk test chunk. Defaults to 16K,64K,256K,1M */
+	public List<Integer> getChunkSizes()
+	{
+		return this.chunkSizes;
+	}
+
+	/** Send bulk test chunks as attribute updates rather than interactions? Defaults to false */
+	public boolean isBulkUpdates()
+	{
+		return this.bulkUpdates;
+	}
+
+	/**
+	 * Is the throughput test traffic shaped by anything other than a plain full mesh? Only the
+	 * throughput test has a topology, so this is always false for the other tests.
+	 */
+	public boolean isTopologyEnabled()
+	{
+		return this.runThroughputTest &&
+		       (topology.equals("MESH") == false ||
+		        publishOnly.isEmpty() == false ||
+		        subscribeOnly.isEmpty() == false ||
+		        subscribeCount > 0);
+	}
 	
 	public boolean getPrintEventLog()
 	{
@@ -400,6 +962,30 @@ public class Configuration
 				continue;
 			}
 			
+			if( argument.startsWith("--scale-to") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.scaleTo = Integer.parseInt( args[count+1] );
+				if( scaleTo < 2 )
+					throw new RuntimeException( "Must scale to at least 2 federates: "+scaleTo );
+
+				this.jvmFederation = true;
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--federations") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.federations = Integer.parseInt( args[count+1] );
+				if( federations < 1 )
+					throw new RuntimeException( "Must run at least 1 federation: "+federations );
+
+				this.jvmFederation = true;
+				count += 2;
+				continue;
+			}
+
 			if( argument.startsWith("--jvm") )
 			{
 				this.jvmFederation = true;
@@ -418,28 +1004,78 @@ public class Configuration
 			if( argument.startsWith("--packet-size") )
 			{
 				validateArgIsValue( argument, args[count+1] );
-				String packetString = args[count+1];
-				if( packetString.toUpperCase().endsWith("K") )
-				{
-					int size = Integer.parseInt( packetString.substring(0,packetString.length()-1) );
-					this.packetSize = size * 1024;
-				}
-				else if( packetString.toUpperCase().endsWith("M") )
-				{
-					int size = Integer.parseInt( packetString.substring(0,packetString.length()-1) );
-					this.packetSize = size * 1024 * 1024;
-				}
-				else if( packetString.toUpperCase().endsWith("B") )
-				{
-					int size = Integer.parseInt( packetString.substring(0,packetString.length()-1) );
-					this.packetSize = size;
-				}
-				else
+				this.packetSize = parseSize( args[count+1] );
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--payload-pool") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.payloadPool = parseSize( args[count+1] );
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--entity-payload") )
+			{
+				this.entityPayload = true;
+				count++;
+				continue;
+			}
+
+			if( argument.startsWith("--articulated-parts") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.articulatedParts = Integer.parseInt( args[count+1] );
+				if( articulatedParts < 0 )
+					throw new RuntimeException( "Articulated parts cannot be negative: "+articulatedParts );
+
+				count += 2;
+				continue;
+			}
+
+			// must come before --encrypt, which it starts with
+			if( argument.startsWith("--encrypt-key") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.encrypt = true;
+				this.encryptKey = args[count+1];
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--encrypt") )
+			{
+				this.encrypt = true;
+				count++;
+				continue;
+			}
+
+			if( argument.startsWith("--compress") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.compressLevel = Integer.parseInt( args[count+1] );
+				if( compressLevel < 0 || compressLevel > 9 )
+					throw new RuntimeException( "Compression level must be between 0 and 9: "+compressLevel );
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--payload-content") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				String content = args[count+1].trim().toUpperCase();
+				if( content.equals("PATTERN") == false &&
+				    content.equals("TEXT") == false &&
+				    content.equals("RANDOM") == false )
 				{
-					// assume bytes if there is not information
-					this.packetSize = Integer.parseInt( packetString );
+					throw new RuntimeException( "Unknown payload content (expected PATTERN, TEXT or RANDOM): "+
+					                            content );
 				}
-				
+
+				this.payloadContent = content;
 				count += 2;
 				continue;
 			}
@@ -510,13 +1146,409 @@ public class Configuration
 				continue;
 			}
 			
-			if( argument.startsWith("--callback-immediate") )
+			if( argument.startsWith("--late-join-test") )
 			{
-				this.isImmediateCallbackMode = true;
+				this.runLateJoinTest = true;
 				count++;
 				continue;
 			}
-
+			
+			if( argument.startsWith("--registration-test") )
+			{
+				this.runRegistrationTest = true;
+				count++;
+				continue;
+			}
+			
+			if( argument.startsWith("--syncpoint-test") )
+			{
+				this.runSyncPointTest = true;
+				count++;
+				continue;
+			}
+			
+			if( argument.startsWith("--save-restore-test") )
+			{
+				this.runSaveRestoreTest = true;
+				count++;
+				continue;
+			}
+			
+			if( argument.startsWith("--churn-test") )
+			{
+				this.runChurnTest = true;
+				count++;
+				continue;
+			}
+
+			if( argument.startsWith("--time-advance-test") )
+			{
+				this.runTimeAdvanceTest = true;
+				count++;
+				continue;
+			}
+
+			if( argument.startsWith("--next-event-test") )
+			{
+				this.runNextEventTest = true;
+				count++;
+				continue;
+			}
+
+			if( argument.startsWith("--advance-modes") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.advanceModes.clear();
+				StringTokenizer tokenizer = new StringTokenizer( args[count+1], "," );
+				while( tokenizer.hasMoreTokens() )
+				{
+					String mode = tokenizer.nextToken().trim().toUpperCase();
+					try
+					{
+						advanceModes.add( AdvanceMode.valueOf(mode) );
+					}
+					catch( IllegalArgumentException iae )
+					{
+						throw new RuntimeException( "Unknown advance mode (expected TAR, NMR or FQR): "+mode );
+					}
+				}
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--event-gap") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.eventGap = Double.parseDouble( args[count+1] );
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--ownership-test") )
+			{
+				this.runOwnershipTest = true;
+				count++;
+				continue;
+			}
+
+			if( argument.startsWith("--ownership-modes") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.ownershipModes.clear();
+				StringTokenizer tokenizer = new StringTokenizer( args[count+1], "," );
+				while( tokenizer.hasMoreTokens() )
+				{
+					String mode = tokenizer.nextToken().trim().toUpperCase();
+					try
+					{
+						ownershipModes.add( OwnershipMode.valueOf(mode) );
+					}
+					catch( IllegalArgumentException iae )
+					{
+						throw new RuntimeException( "Unknown ownership mode (expected NEGOTIATED, "+
+						                            "ACQUISITION or UNCONDITIONAL): "+mode );
+					}
+				}
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--ddm-test") )
+			{
+				this.runDdmTest = true;
+				count++;
+				continue;
+			}
+
+			if( argument.startsWith("--ddm-grid") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.ddmGridSize = Integer.parseInt( args[count+1] );
+				if( ddmGridSize < 1 )
+					throw new RuntimeException( "DDM grid size must be at least 1: "+ddmGridSize );
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--ddm-fractions") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.ddmFractions.clear();
+				StringTokenizer tokenizer = new StringTokenizer( args[count+1], "," );
+				while( tokenizer.hasMoreTokens() )
+				{
+					double value = Double.parseDouble( tokenizer.nextToken().trim() );
+					if( value <= 0.0 || value > 1.0 )
+						throw new RuntimeException( "DDM fractions must be in the range (0,1]: "+value );
+
+					ddmFractions.add( value );
+				}
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--region-churn-test") )
+			{
+				this.runRegionChurnTest = true;
+				count++;
+				continue;
+			}
+
+			if( argument.startsWith("--region-move-rate") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.regionMoveRate = Integer.parseInt( args[count+1] );
+				if( regionMoveRate <= 0 )
+					throw new RuntimeException( "Region move rate must be greater than 0: "+regionMoveRate );
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--pull-test") )
+			{
+				this.runPullTest = true;
+				count++;
+				continue;
+			}
+
+			if( argument.startsWith("--hierarchy-test") )
+			{
+				this.runHierarchyTest = true;
+				count++;
+				continue;
+			}
+
+			if( argument.startsWith("--fom-depth") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.fomDepth = Integer.parseInt( args[count+1] );
+				if( fomDepth < 1 )
+					throw new RuntimeException( "FOM depth must be at least 1: "+fomDepth );
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--fom-breadth") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.fomBreadth = Integer.parseInt( args[count+1] );
+				if( fomBreadth < 1 )
+					throw new RuntimeException( "FOM breadth must be at least 1: "+fomBreadth );
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--fom-scaling-test") )
+			{
+				this.runFomScalingTest = true;
+				count++;
+				continue;
+			}
+
+			if( argument.startsWith("--fom-sizes") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.fomSizes.clear();
+				StringTokenizer tokenizer = new StringTokenizer( args[count+1], "," );
+				while( tokenizer.hasMoreTokens() )
+				{
+					int value = Integer.parseInt( tokenizer.nextToken().trim() );
+					if( value < 1 )
+						throw new RuntimeException( "FOM sizes must be at least 1: "+value );
+
+					fomSizes.add( value );
+				}
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--fom-attributes") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.fomAttributes = Integer.parseInt( args[count+1] );
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--fom-interactions") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.fomInteractions = Integer.parseInt( args[count+1] );
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--population-test") )
+			{
+				this.runPopulationTest = true;
+				count++;
+				continue;
+			}
+
+			if( argument.startsWith("--population-steps") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.populationSteps = Integer.parseInt( args[count+1] );
+				if( populationSteps < 1 )
+					throw new RuntimeException( "Population steps must be at least 1: "+populationSteps );
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--register-batch") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.registerBatch = Integer.parseInt( args[count+1] );
+				if( registerBatch < 1 )
+					throw new RuntimeException( "Register batch must be at least 1: "+registerBatch );
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--update-subset") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.updateSubset = Integer.parseInt( args[count+1] );
+				if( updateSubset < 1 )
+					throw new RuntimeException( "Update subset must be at least 1: "+updateSubset );
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--topology") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				String shape = args[count+1].trim().toUpperCase();
+				if( shape.equals("MESH") == false &&
+				    shape.equals("STAR") == false &&
+				    shape.equals("RING") == false &&
+				    shape.equals("PAIRS") == false )
+				{
+					throw new RuntimeException( "Unknown topology (expected MESH, STAR, RING or PAIRS): "+
+					                            shape );
+				}
+
+				this.topology = shape;
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--publish-only") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				StringTokenizer tokenizer = new StringTokenizer( args[count+1], "," );
+				while( tokenizer.hasMoreTokens() )
+					publishOnly.add( tokenizer.nextToken().trim() );
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--subscribe-only") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				StringTokenizer tokenizer = new StringTokenizer( args[count+1], "," );
+				while( tokenizer.hasMoreTokens() )
+					subscribeOnly.add( tokenizer.nextToken().trim() );
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--subscribe-count") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.subscribeCount = Integer.parseInt( args[count+1] );
+				if( subscribeCount < 0 )
+					throw new RuntimeException( "Subscribe count can't be negative: "+subscribeCount );
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--subscribe-seed") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.subscribeSeed = Long.parseLong( args[count+1] );
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--bulk-test") )
+			{
+				this.runBulkTest = true;
+				count++;
+				continue;
+			}
+
+			if( argument.startsWith("--bulk-sizes") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.bulkSizes = parseSizes( args[count+1] );
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--chunk-sizes") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.chunkSizes = parseSizes( args[count+1] );
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--bulk-updates") )
+			{
+				this.bulkUpdates = true;
+				count++;
+				continue;
+			}
+
+			if( argument.startsWith("--churn-interval") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.churnInterval = Integer.parseInt( args[count+1] );
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--rate-series") )
+			{
+				this.rateSeries = true;
+				count++;
+				continue;
+			}
+			
+			if( argument.startsWith("--reservation-batches") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.reservationBatchSizes.clear();
+				StringTokenizer tokenizer = new StringTokenizer( args[count+1], "," );
+				while( tokenizer.hasMoreTokens() )
+					reservationBatchSizes.add( Integer.parseInt(tokenizer.nextToken().trim()) );
+
+				count += 2;
+				continue;
+			}
+			
+			if( argument.startsWith("--callback-immediate") )
+			{
+				this.isImmediateCallbackMode = true;
+				count++;
+				continue;
+			}
+
 			if( argument.startsWith("--callback-evoked") )
 			{
 				this.isImmediateCallbackMode = false;
@@ -531,6 +1563,54 @@ public class Configuration
 				continue;
 			}
 
+			if( argument.startsWith("--tso") )
+			{
+				this.isTimestepped = true;
+				this.isTimestampOrder = true;
+				count++;
+				continue;
+			}
+
+			if( argument.startsWith("--lookaheads") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.lookaheads.clear();
+				StringTokenizer tokenizer = new StringTokenizer( args[count+1], "," );
+				while( tokenizer.hasMoreTokens() )
+				{
+					double value = Double.parseDouble( tokenizer.nextToken().trim() );
+					if( value <= 0.0 )
+						throw new RuntimeException( "Lookaheads must be greater than zero: "+value );
+
+					lookaheads.add( value );
+				}
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--lookahead") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.lookahead = Double.parseDouble( args[count+1] );
+				if( lookahead <= 0.0 )
+					throw new RuntimeException( "Lookahead must be greater than zero: "+lookahead );
+
+				count += 2;
+				continue;
+			}
+
+			if( argument.startsWith("--time-step") )
+			{
+				validateArgIsValue( argument, args[count+1] );
+				this.timeStep = Double.parseDouble( args[count+1] );
+				if( timeStep <= 0.0 )
+					throw new RuntimeException( "Time step must be greater than zero: "+timeStep );
+
+				count += 2;
+				continue;
+			}
+
 			if( argument.startsWith("--loop-wait") )
 			{
 				validateArgIsValue( argument, args[count+1] );
@@ -571,7 +1651,15 @@ public class Configuration
 			
 			throw new RuntimeException( "Unknown argument: "+argument );
 		}
-		
+
+		// TSO messages are stamped with (current time + lookahead) and only delivered once we
+		// are granted that time. Step by less than the lookahead and the last loop's messages
+		// never arrive, leaving everyone waiting for them at the finish line.
+		if( isTimestampOrder && timeStep < lookahead )
+		{
+			throw new RuntimeException( "Time step ("+timeStep+") must be at least the lookahead ("+
+			                            lookahead+") when sending TSO messages" );
+		}
 	}
 
 	/** Make sure no numpty left the actual argument companion value off a call by ensuring that
@@ -587,6 +1675,57 @@ public class Configuration
 			throw new RuntimeException( "Was expecting a value for "+key+", instead found: "+arg );
 	}
 	
+	/**
+	 * Turn a size such as 1B, 64K or 16M into bytes. If there is no qualifier we assume bytes.
+	 * Sizes are worked out as longs and rejected if they don't fit in an int, rather than
+	 * being allowed to wrap around.
+	 */
+	private int parseSize( String sizeString )
+	{
+		String number = sizeString;
+		long multiplier = 1;
+		if( sizeString.toUpperCase().endsWith("K") )
+		{
+			number = sizeString.substring( 0, sizeString.length()-1 );
+			multiplier = 1024;
+		}
+		else if( sizeString.toUpperCase().endsWith("M") )
+		{
+			number = sizeString.substring( 0, sizeString.length()-1 );
+			multiplier = 1024 * 1024;
+		}
+		else if( sizeString.toUpperCase().endsWith("B") )
+		{
+			number = sizeString.substring( 0, sizeString.length()-1 );
+		}
+
+		// with no qualifier (or B) we assume bytes and leave the multiplier at 1
+		long size = Long.parseLong( number );
+		if( size > Integer.MAX_VALUE / multiplier )
+			throw new RuntimeException( "Size is too large (must be less than 2GB): "+sizeString );
+
+		return (int)(size * multiplier);
+	}
+
+	/**
+	 * Turn a comma-separated list of sizes into bytes. See {@link #parseSize(String)}.
+	 */
+	private List<Integer> parseSizes( String sizeList )
+	{
+		List<Integer> sizes = new ArrayList<Integer>();
+		StringTokenizer tokenizer = new StringTokenizer( sizeList, "," );
+		while( tokenizer.hasMoreTokens() )
+		{
+			int size = parseSize( tokenizer.nextToken().trim() );
+			if( size < 1 )
+				throw new RuntimeException( "Sizes must be at least 1 byte: "+size );
+
+			sizes.add( size );
+		}
+
+		return sizes;
+	}
+
 	public void loadConfigurationFile()
 	{
 		// load the file into a properties set
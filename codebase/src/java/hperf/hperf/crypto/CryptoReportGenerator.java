@@ -0,0 +1,120 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.crypto;
+
+import org.apache.log4j.Logger;
+
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints what encrypting payloads cost us: the bytes added to each message for the nonce and
+ * tag, the CPU spent per message and what share of the whole process' CPU time that was.
+ * Tacked onto the end of the throughput and latency reports when `--encrypt` is in use.
+ */
+public class CryptoReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private PayloadCipher cipher;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public CryptoReportGenerator( Configuration configuration, PayloadCipher cipher )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.cipher = cipher;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	/**
+	 * @param duration Millis the traffic was flowing for, used to work out the rates. Pass 0
+	 *                 if there is no sensible figure and the rate columns will be left out.
+	 * @param processCpu Nanos of CPU the whole process used over the same period, used to
+	 *                   work out the share spent on crypto. Pass 0 (or less) if unknown.
+	 */
+	public void printReport( long duration, long processCpu )
+	{
+		logger.info( "   Encryption: AES-128-GCM" );
+		logger.info( "  |---------------------------------------------------------------------------------------------------------------|" );
+		logger.info( "  | Direction |  Messages  |   Plain    |    Wire    | Overhead | CPU/Msg | CPU Share | Plain Rate  |  Wire Rate  |" );
+		logger.info( "  |-----------|------------|------------|------------|----------|---------|-----------|-------------|-------------|" );
+	  //logger.info( "  | Received  |   12345678 |  1234.56MB |  1234.56MB |    2.73% |  1234us |    12.34% | 1234.56MB/s | 1234.56MB/s |" );
+
+		logger.info( getLine("Sent",
+		                     cipher.getEncryptedCount(),
+		                     cipher.getEncryptedPlainBytes(),
+		                     cipher.getEncryptedWireBytes(),
+		                     cipher.getEncryptCpuTime(),
+		                     duration,
+		                     processCpu) );
+		logger.info( getLine("Received",
+		                     cipher.getDecryptedCount(),
+		                     cipher.getDecryptedPlainBytes(),
+		                     cipher.getDecryptedWireBytes(),
+		                     cipher.getDecryptCpuTime(),
+		                     duration,
+		                     processCpu) );
+
+		logger.info( "  |---------------------------------------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: CPU Share is crypto CPU over the CPU used by the whole process (RTI included)." );
+		logger.info( "              For the plaintext baseline, run again without --encrypt and compare." );
+		logger.info( "" );
+	}
+
+	private String getLine( String direction,
+	                        long messages,
+	                        long plain,
+	                        long wire,
+	                        long cpu,
+	                        long duration,
+	                        long processCpu )
+	{
+		double overhead = plain == 0 ? 0.0 : ((double)(wire-plain) / plain) * 100.0;
+		long cpuPerMessage = messages == 0 ? 0 : cpu / messages;
+		double seconds = duration / 1000.0;
+		return String.format( "  | %-9s | %10d | %10s | %10s | %8s | %7s | %9s | %11s | %11s |",
+		                      direction,
+		                      messages,
+		                      Utils.getSizeString(plain,2).trim(),
+		                      Utils.getSizeString(wire,2).trim(),
+		                      String.format("%.2f%%",overhead),
+		                      Utils.getLatencyString(cpuPerMessage),
+		                      processCpu <= 0 ? "-" : String.format("%.2f%%",(cpu*100.0)/processCpu),
+		                      seconds <= 0 ? "-" : Utils.getMegabytesPerSec(plain/seconds,2).trim(),
+		                      seconds <= 0 ? "-" : Utils.getMegabytesPerSec(wire/seconds,2).trim() );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
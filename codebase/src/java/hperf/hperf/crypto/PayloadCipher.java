@@ -0,0 +1,249 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.crypto;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import hperf.Utils;
+
+/**
+ * Encrypts payloads with AES-GCM before they go to the RTI, and decrypts and authenticates
+ * them when they come back out. Everyone derives the same 128-bit key from a shared
+ * passphrase. The {@link Cipher}s are created once up front; GCM needs a fresh nonce for
+ * every message, so each message re-initializes them with the next nonce.
+ *
+ * Nonces are 12 bytes: 4 random bytes picked when we start (so two federates using the same
+ * key don't collide) followed by an 8 byte counter. On the wire each payload is the nonce
+ * followed by the ciphertext and the 16 byte authentication tag.
+ *
+ * Each direction has its own {@link Cipher}, statistics and lock. The encrypt lock is also
+ * what stops the nonce counter being handed out twice if more than one thread sends.
+ */
+public class PayloadCipher
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	public static final int NONCE_SIZE = 12;
+	public static final int TAG_SIZE = 16;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private SecretKeySpec key;
+
+	// encryption (sending), everything here is guarded by encryptLock
+	private Object encryptLock;
+	private Cipher encryptor;
+	private byte[] nonce;             // prefix fixed at start, counter updated for each message
+	private long counter;
+	private long encrypted;           // messages encrypted
+	private long encryptedPlain;      // bytes before encryption
+	private long encryptedWire;       // bytes after encryption (nonce and tag included)
+	private long encryptCpu;          // nanos of CPU spent encrypting
+
+	// decryption (receiving), everything here is guarded by decryptLock
+	private Object decryptLock;
+	private Cipher decryptor;
+	private byte[] decryptBuffer;     // plaintext lands here, reused while the size is the same
+	private long decrypted;           // messages decrypted and authenticated
+	private long decryptedPlain;      // bytes after decryption
+	private long decryptedWire;       // bytes before decryption
+	private long decryptCpu;          // nanos of CPU spent decrypting
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public PayloadCipher( String passphrase )
+	{
+		try
+		{
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest( passphrase.getBytes("UTF-8") );
+			this.key = new SecretKeySpec( Arrays.copyOf(digest,16), "AES" );
+			this.encryptor = Cipher.getInstance( "AES/GCM/NoPadding" );
+			this.decryptor = Cipher.getInstance( "AES/GCM/NoPadding" );
+		}
+		catch( Exception e )
+		{
+			throw new RuntimeException( "Could not set up AES-GCM payload encryption: "+e.getMessage(), e );
+		}
+
+		this.encryptLock = new Object();
+		this.decryptLock = new Object();
+		this.nonce = new byte[NONCE_SIZE];
+		new SecureRandom().nextBytes( nonce );
+		this.counter = 0;
+		this.decryptBuffer = new byte[0];
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * @return A new array holding the nonce, then the encrypted payload and tag
+	 */
+	public byte[] encrypt( byte[] payload )
+	{
+		synchronized( encryptLock )
+		{
+			long started = Utils.getThreadCpuTime();
+			Utils.longToBytes( counter++, nonce, 4 );
+
+			byte[] wire = new byte[NONCE_SIZE+payload.length+TAG_SIZE];
+			System.arraycopy( nonce, 0, wire, 0, NONCE_SIZE );
+			try
+			{
+				encryptor.init( Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_SIZE*8,nonce) );
+				encryptor.doFinal( payload, 0, payload.length, wire, NONCE_SIZE );
+			}
+			catch( GeneralSecurityException gse )
+			{
+				throw new RuntimeException( "Could not encrypt payload: "+gse.getMessage(), gse );
+			}
+
+			encryptCpu += Utils.getThreadCpuTime() - started;
+			encrypted++;
+			encryptedPlain += payload.length;
+			encryptedWire += wire.length;
+			return wire;
+		}
+	}
+
+	/**
+	 * @param wire The nonce, encrypted payload and tag as they came off the wire
+	 * @return The decrypted payload. This is only valid until the next call.
+	 */
+	public byte[] decrypt( byte[] wire )
+	{
+		synchronized( decryptLock )
+		{
+			long started = Utils.getThreadCpuTime();
+			int length = wire.length - NONCE_SIZE - TAG_SIZE;
+			if( length < 0 )
+			{
+				throw new RuntimeException( "Received encrypted payload too short to be valid: "+wire.length );
+			}
+
+			if( decryptBuffer.length != length )
+				decryptBuffer = new byte[length];
+
+			try
+			{
+				GCMParameterSpec spec = new GCMParameterSpec( TAG_SIZE*8, wire, 0, NONCE_SIZE );
+				decryptor.init( Cipher.DECRYPT_MODE, key, spec );
+				decryptor.doFinal( wire, NONCE_SIZE, wire.length-NONCE_SIZE, decryptBuffer, 0 );
+			}
+			catch( AEADBadTagException abte )
+			{
+				throw new RuntimeException( "Received payload failed authentication (wrong key or tampered)", abte );
+			}
+			catch( GeneralSecurityException gse )
+			{
+				throw new RuntimeException( "Could not decrypt payload: "+gse.getMessage(), gse );
+			}
+
+			decryptCpu += Utils.getThreadCpuTime() - started;
+			decrypted++;
+			decryptedPlain += length;
+			decryptedWire += wire.length;
+			return decryptBuffer;
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public long getEncryptedCount()
+	{
+		synchronized( encryptLock )
+		{
+			return this.encrypted;
+		}
+	}
+
+	public long getEncryptedPlainBytes()
+	{
+		synchronized( encryptLock )
+		{
+			return this.encryptedPlain;
+		}
+	}
+
+	public long getEncryptedWireBytes()
+	{
+		synchronized( encryptLock )
+		{
+			return this.encryptedWire;
+		}
+	}
+
+	public long getEncryptCpuTime()
+	{
+		synchronized( encryptLock )
+		{
+			return this.encryptCpu;
+		}
+	}
+
+	public long getDecryptedCount()
+	{
+		synchronized( decryptLock )
+		{
+			return this.decrypted;
+		}
+	}
+
+	public long getDecryptedPlainBytes()
+	{
+		synchronized( decryptLock )
+		{
+			return this.decryptedPlain;
+		}
+	}
+
+	public long getDecryptedWireBytes()
+	{
+		synchronized( decryptLock )
+		{
+			return this.decryptedWire;
+		}
+	}
+
+	public long getDecryptCpuTime()
+	{
+		synchronized( decryptLock )
+		{
+			return this.decryptCpu;
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,349 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.ddm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+
+import hla.rti1516e.AttributeHandleSet;
+import hla.rti1516e.AttributeHandleValueMap;
+import hla.rti1516e.AttributeRegionAssociation;
+import hla.rti1516e.AttributeSetRegionSetPairList;
+import hla.rti1516e.DimensionHandleSet;
+import hla.rti1516e.ObjectInstanceHandle;
+import hla.rti1516e.RTIambassador;
+import hla.rti1516e.RangeBounds;
+import hla.rti1516e.RegionHandle;
+import hla.rti1516e.RegionHandleSet;
+import hla.rti1516e.exceptions.RTIexception;
+import hperf.FederateAmbassador;
+import hperf.ICounter;
+import hperf.IDriver;
+import hperf.Storage;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+import static hperf.Handles.*;
+
+/**
+ * Measures how well Data Distribution Management keeps receivers from being flooded.
+ *
+ * The GridX/GridY routing space is split into a `--ddm-grid` x `--ddm-grid` grid. Each
+ * federate registers `--objects` RegionTestObjects, spread evenly over the cells, each with
+ * an update region covering just its cell. Each federate also subscribes with a region that
+ * covers the first rows of the grid, enough to make up the first of the `--ddm-fractions`.
+ *
+ * For each fraction every federate resizes its subscription region, then updates all its
+ * objects `--loops` times. We count how many of our peers' updates got through against how
+ * many would have with no filtering, and how much CPU the process burned per message.
+ */
+public class DdmDriver implements IDriver
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final String RUN_POINT = "DDM_RUN_";
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private Storage storage;
+	private RTIambassador rtiamb;
+	private FederateAmbassador fedamb;
+
+	private boolean leader;         // true if we register the run sync points
+	private int gridSize;
+	private long cellSize;          // width of each cell in dimension units
+	private long upperBound;        // upper bound of the dimensions
+	private List<ObjectInstanceHandle> myObjects;
+	private List<Integer> myObjectRows;
+	private RegionHandle subscriptionRegion;
+	private List<DdmResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public DdmDriver()
+	{
+		this.logger = null;         // set in configure()
+		this.configuration = null;  // set in configure()
+		this.storage = null;        // set in configure()
+		this.rtiamb = null;         // set in execute()
+		this.fedamb = null;         // set in execute()
+
+		this.leader = false;        // set in configure()
+		this.gridSize = 0;          // set in configure()
+		this.cellSize = 0;          // set in execute()
+		this.upperBound = 0;        // set in execute()
+		this.myObjects = new ArrayList<ObjectInstanceHandle>();
+		this.myObjectRows = new ArrayList<Integer>();
+		this.subscriptionRegion = null;
+		this.results = new ArrayList<DdmResult>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public boolean manageLifecycleManually()
+	{
+		return false;
+	}
+
+	public void execute( RTIambassador rtiamb, FederateAmbassador fedamb ) throws RTIexception
+	{
+		this.rtiamb = rtiamb;
+		this.fedamb = fedamb;
+		this.upperBound = rtiamb.getDimensionUpperBound( DIM_GRID_X );
+		this.cellSize = upperBound / gridSize;
+
+		registerObjects();
+		subscribe( configuration.getDdmFractions().get(0) );
+
+		logger.info( "Waiting for all federates to be ready to start" );
+		rtiamb.synchronizationPointAchieved( "START_DDM_TEST" );
+		while( fedamb.achievedSyncPoints.contains("START_DDM_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+		List<Double> fractions = configuration.getDdmFractions();
+		for( int i = 0; i < fractions.size(); i++ )
+		{
+			int rows = subscribe( fractions.get(i) );
+			DdmResult result = run( i, rows );
+			results.add( result );
+
+			logger.info( String.format("Overlap %.0f%%: delivered=%d, filtered=%d, %.0f/s",
+			                           result.getOverlap()*100.0,
+			                           result.getDelivered(),
+			                           result.getFiltered(),
+			                           result.getDeliveredPerSecond()) );
+		}
+
+		// Wait for everyone to finish up
+		rtiamb.synchronizationPointAchieved( "FINISH_DDM_TEST" );
+		while( fedamb.achievedSyncPoints.contains("FINISH_DDM_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 100 );
+
+		logger.info( "DDM Test Finished" );
+		logger.info( "" );
+
+		new DdmReportGenerator(configuration,results).printReport();
+	}
+
+	/**
+	 * Register our objects spread evenly across the grid, each with an update region that
+	 * covers the cell it sits in.
+	 */
+	private void registerObjects() throws RTIexception
+	{
+		AttributeHandleSet attributes = rtiamb.getAttributeHandleSetFactory().create();
+		attributes.add( AC_REGION_PAYLOAD );
+
+		// one region per cell, shared by all the objects in that cell
+		Map<Integer,RegionHandle> cellRegions = new HashMap<Integer,RegionHandle>();
+		RegionHandleSet toCommit = rtiamb.getRegionHandleSetFactory().create();
+		int cells = gridSize * gridSize;
+		for( int cell = 0; cell < Math.min(cells,configuration.getObjectCount()); cell++ )
+		{
+			int column = cell % gridSize;
+			int row = cell / gridSize;
+			RegionHandle region = rtiamb.createRegion( getDimensions() );
+			rtiamb.setRangeBounds( region, DIM_GRID_X, new RangeBounds(column*cellSize,(column+1)*cellSize) );
+			rtiamb.setRangeBounds( region, DIM_GRID_Y, new RangeBounds(row*cellSize,(row+1)*cellSize) );
+			cellRegions.put( cell, region );
+			toCommit.add( region );
+		}
+
+		rtiamb.commitRegionModifications( toCommit );
+
+		for( int i = 0; i < configuration.getObjectCount(); i++ )
+		{
+			int cell = i % cells;
+			RegionHandleSet regions = rtiamb.getRegionHandleSetFactory().create();
+			regions.add( cellRegions.get(cell) );
+			AttributeSetRegionSetPairList pairs = rtiamb.getAttributeSetRegionSetPairListFactory().create(1);
+			pairs.add( new AttributeRegionAssociation(attributes,regions) );
+
+			myObjects.add( rtiamb.registerObjectInstanceWithRegions(OC_REGION_TEST_OBJECT,pairs) );
+			myObjectRows.add( cell / gridSize );
+		}
+
+		logger.info( "Registered "+myObjects.size()+" objects over "+cellRegions.size()+" cells" );
+	}
+
+	/**
+	 * Set our subscription region to cover enough whole rows of the grid to make up the given
+	 * fraction of it (at least one). The first time through we create the region and subscribe
+	 * with it, after that we just resize it.
+	 *
+	 * @return The number of rows the region now covers
+	 */
+	private int subscribe( double fraction ) throws RTIexception
+	{
+		int rows = Math.max( 1, (int)Math.round(fraction*gridSize) );
+
+		boolean subscribed = subscriptionRegion != null;
+		if( subscribed == false )
+			subscriptionRegion = rtiamb.createRegion( getDimensions() );
+
+		rtiamb.setRangeBounds( subscriptionRegion, DIM_GRID_X, new RangeBounds(0,upperBound) );
+		rtiamb.setRangeBounds( subscriptionRegion, DIM_GRID_Y, new RangeBounds(0,rows*cellSize) );
+
+		RegionHandleSet regions = rtiamb.getRegionHandleSetFactory().create();
+		regions.add( subscriptionRegion );
+		rtiamb.commitRegionModifications( regions );
+
+		if( subscribed == false )
+		{
+			AttributeHandleSet attributes = rtiamb.getAttributeHandleSetFactory().create();
+			attributes.add( AC_REGION_PAYLOAD );
+			AttributeSetRegionSetPairList pairs = rtiamb.getAttributeSetRegionSetPairListFactory().create(1);
+			pairs.add( new AttributeRegionAssociation(attributes,regions) );
+			rtiamb.subscribeObjectClassAttributesWithRegions( OC_REGION_TEST_OBJECT, pairs );
+		}
+
+		return rows;
+	}
+
+	/**
+	 * Update all our objects `--loops` times with our subscription region covering the given
+	 * number of rows, then wait for everything still in flight to arrive.
+	 */
+	private DdmResult run( int runNumber, int rows ) throws RTIexception
+	{
+		Utils.synchronize( rtiamb, fedamb, configuration, RUN_POINT+runNumber, leader );
+
+		DdmResult result = new DdmResult( rows*gridSize, gridSize*gridSize );
+		byte[] payload = Utils.generatePayload( configuration.getPacketSize() );
+		AttributeHandleValueMap values = rtiamb.getAttributeHandleValueMapFactory().create(1);
+		values.put( AC_REGION_PAYLOAD, payload );
+
+		long receivedBefore = fedamb.regionReflections.get();
+		long cpuBefore = Utils.getProcessCpuTime();
+		long started = System.nanoTime();
+
+		long sent = 0;
+		for( int loop = 0; loop < configuration.getLoopCount(); loop++ )
+		{
+			for( ObjectInstanceHandle object : myObjects )
+			{
+				rtiamb.updateAttributeValues( object, values, null );
+				sent++;
+			}
+
+			if( configuration.isEvokedCallback() )
+				rtiamb.evokeMultipleCallbacks( 0.0, configuration.getLoopWait()/1000.0 );
+		}
+
+		// everyone is done sending, wait for the last of it to trickle in
+		Utils.synchronize( rtiamb, fedamb, configuration, RUN_POINT+runNumber+"_DONE", leader );
+		ICounter reflections = new ICounter()
+		{
+			public long getCount()
+			{
+				return fedamb.regionReflections.get();
+			}
+		};
+		long lastArrival = Utils.waitForQuiet( rtiamb, configuration, reflections );
+		long cpuAfter = Utils.getProcessCpuTime();
+
+		// figure out what we should have seen - everyone has the same objects in the same cells
+		int inRegion = 0;
+		for( int row : myObjectRows )
+		{
+			if( row < rows )
+				inRegion++;
+		}
+
+		long loops = configuration.getLoopCount();
+		int peers = configuration.getPeers().size();
+		result.setSent( sent );
+		result.setUnfiltered( loops * myObjects.size() * peers );
+		result.setExpected( loops * inRegion * peers );
+		result.setDelivered( fedamb.regionReflections.get()-receivedBefore );
+		result.setDuration( lastArrival-started );
+		if( cpuBefore >= 0 && cpuAfter >= 0 )
+			result.setCpuTime( cpuAfter-cpuBefore );
+
+		return result;
+	}
+
+	private DimensionHandleSet getDimensions() throws RTIexception
+	{
+		DimensionHandleSet dimensions = rtiamb.getDimensionHandleSetFactory().create();
+		dimensions.add( DIM_GRID_X );
+		dimensions.add( DIM_GRID_Y );
+		return dimensions;
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// IDriver Methods /////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public void configure( Configuration configuration, Storage storage )
+	{
+		this.configuration = configuration;
+		this.storage = storage;
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.gridSize = configuration.getDdmGridSize();
+
+		// everyone has to agree on who registers the sync points, so just go by name
+		List<String> federates = new ArrayList<String>( configuration.getPeers() );
+		federates.add( configuration.getFederateName() );
+		this.leader = Collections.min( federates ).equals( configuration.getFederateName() );
+	}
+
+	@Override
+	public void printWelcomeMessage()
+	{
+		logger.info( " ==================================" );
+		logger.info( " =        Running DDM Test        =" );
+		logger.info( " ==================================" );
+		logger.info( "" );
+		logger.info( "       Federates = "+(configuration.getPeers().size()+1) );
+		logger.info( "            Grid = "+gridSize+"x"+gridSize );
+		logger.info( "         Objects = "+configuration.getObjectCount()+" (per federate)" );
+		logger.info( "   Loops Per Run = "+configuration.getLoopCount() );
+		logger.info( "       Fractions = "+configuration.getDdmFractions() );
+		logger.info( "    Message Size = "+Utils.getSizeString(configuration.getPacketSize()) );
+		logger.info( "" );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public String getName()
+	{
+		return "DDM Test";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
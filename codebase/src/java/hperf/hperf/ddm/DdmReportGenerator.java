@@ -0,0 +1,102 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.ddm;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints a table showing, for each subscription region size, how many of our peers' updates
+ * were delivered against how many DDM filtered out, and what that did to throughput and CPU.
+ */
+public class DdmReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private List<DdmResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public DdmReportGenerator( Configuration configuration, List<DdmResult> results )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.results = results;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public void printReport()
+	{
+		logger.info( " ===================================" );
+		logger.info( " =         DDM Test Report         =" );
+		logger.info( " ===================================" );
+		logger.info( "" );
+		logger.info( "   Peers:   "+configuration.getPeers().size() );
+		logger.info( "   Grid:    "+configuration.getDdmGridSize()+"x"+configuration.getDdmGridSize() );
+		logger.info( "   Objects: "+configuration.getObjectCount()+" (per federate)" );
+		logger.info( "" );
+		logger.info( "  |-----------------------------------------------------------------------------------------|" );
+		logger.info( "  | Overlap | Cells | Unfiltered | Expected  | Delivered | Filtered  | Recv/s   | CPU/msg |" );
+		logger.info( "  |---------|-------|------------|-----------|-----------|-----------|----------|---------|" );
+	  //logger.info( "  |   10.0% |    10 |    1000000 |    100000 |    100000 |    900000 |   123456 |  1234us |" );
+
+		for( DdmResult result : results )
+		{
+			long cpu = result.getCpuPerMessage();
+			String line = String.format( "  | %6.1f%% | %5d | %10d | %9d | %9d | %9d | %8d | %7s |",
+			                             result.getOverlap()*100.0,
+			                             result.getSubscribedCells(),
+			                             result.getUnfiltered(),
+			                             result.getExpected(),
+			                             result.getDelivered(),
+			                             result.getFiltered(),
+			                             (long)result.getDeliveredPerSecond(),
+			                             cpu < 0 ? "n/a" : Utils.getLatencyString(cpu) );
+			logger.info( line );
+		}
+
+		logger.info( "  |-----------------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: Unfiltered is what we would have received with no DDM. Filtered is" );
+		logger.info( "              the part of that which the RTI never handed to us." );
+		logger.info( "     ** Note: CPU/msg is process CPU time over messages sent plus received." );
+		logger.info( "" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
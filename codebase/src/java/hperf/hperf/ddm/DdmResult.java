@@ -0,0 +1,156 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.ddm;
+
+/**
+ * Counts for a single DDM run, in which we subscribed to a particular share of the grid.
+ */
+public class DdmResult
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int subscribedCells;
+	private int totalCells;
+	private long sent;          // updates we sent
+	private long unfiltered;    // updates from peers we'd have received with no filtering
+	private long expected;      // updates from peers that fall in our subscription region
+	private long delivered;     // updates we actually received
+	private long duration;      // nanos from the start of the run until the last update arrived
+	private long cpuTime;       // process CPU (nanos) used over the run, or -1 if not known
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public DdmResult( int subscribedCells, int totalCells )
+	{
+		this.subscribedCells = subscribedCells;
+		this.totalCells = totalCells;
+		this.sent = 0;
+		this.unfiltered = 0;
+		this.expected = 0;
+		this.delivered = 0;
+		this.duration = 0;
+		this.cpuTime = -1;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/** @return Share of the grid (0-1) our subscription region covered */
+	public double getOverlap()
+	{
+		return subscribedCells / (double)totalCells;
+	}
+
+	/** @return Updates from peers that the RTI kept from us */
+	public long getFiltered()
+	{
+		return unfiltered - delivered;
+	}
+
+	/** @return Updates received per second */
+	public double getDeliveredPerSecond()
+	{
+		return duration <= 0 ? 0.0 : delivered / (duration/1000000000.0);
+	}
+
+	/** @return Process CPU time (nanos) per message sent or received, or -1 if not known */
+	public long getCpuPerMessage()
+	{
+		long messages = sent + delivered;
+		if( cpuTime < 0 || messages == 0 )
+			return -1;
+		else
+			return cpuTime / messages;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public int getSubscribedCells()
+	{
+		return this.subscribedCells;
+	}
+
+	public int getTotalCells()
+	{
+		return this.totalCells;
+	}
+
+	public long getSent()
+	{
+		return this.sent;
+	}
+
+	public void setSent( long sent )
+	{
+		this.sent = sent;
+	}
+
+	public long getUnfiltered()
+	{
+		return this.unfiltered;
+	}
+
+	public void setUnfiltered( long unfiltered )
+	{
+		this.unfiltered = unfiltered;
+	}
+
+	public long getExpected()
+	{
+		return this.expected;
+	}
+
+	public void setExpected( long expected )
+	{
+		this.expected = expected;
+	}
+
+	public long getDelivered()
+	{
+		return this.delivered;
+	}
+
+	public void setDelivered( long delivered )
+	{
+		this.delivered = delivered;
+	}
+
+	public void setDuration( long duration )
+	{
+		this.duration = duration;
+	}
+
+	public void setCpuTime( long cpuTime )
+	{
+		this.cpuTime = cpuTime;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
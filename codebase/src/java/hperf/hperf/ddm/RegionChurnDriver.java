@@ -0,0 +1,381 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.ddm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.log4j.Logger;
+
+import hla.rti1516e.AttributeHandleSet;
+import hla.rti1516e.AttributeHandleValueMap;
+import hla.rti1516e.AttributeRegionAssociation;
+import hla.rti1516e.AttributeSetRegionSetPairList;
+import hla.rti1516e.DimensionHandleSet;
+import hla.rti1516e.ObjectInstanceHandle;
+import hla.rti1516e.RTIambassador;
+import hla.rti1516e.RangeBounds;
+import hla.rti1516e.RegionHandle;
+import hla.rti1516e.RegionHandleSet;
+import hla.rti1516e.exceptions.RTIexception;
+import hperf.FederateAmbassador;
+import hperf.ICounter;
+import hperf.IDriver;
+import hperf.LatencySamples;
+import hperf.Storage;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+import static hperf.Handles.*;
+
+/**
+ * Measures the cost of moving regions around while traffic is flowing, the way entities do.
+ *
+ * Each federate registers `--objects` RegionTestObjects, each with its own single-cell update
+ * region dropped somewhere random on the `--ddm-grid` grid, and subscribes with one region
+ * covering a block half the width of the grid. Every federate then updates all its objects
+ * each loop while moving one region to a new random spot `--region-move-rate` times a second.
+ * The subscription region takes its turn with the update regions.
+ *
+ * Senders put the cell each object is in at the front of its payload so that the
+ * {@link RegionChurnTracker} can tell how long filtering takes to catch up with each
+ * subscription move. We also time every setRangeBounds/commitRegionModifications pair.
+ */
+public class RegionChurnDriver implements IDriver
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private Storage storage;
+	private RTIambassador rtiamb;
+	private FederateAmbassador fedamb;
+
+	private boolean leader;         // true if we register the sync points
+	private int gridSize;
+	private int windowSize;         // cells along each side of our subscription region
+	private long cellSize;          // width of each cell in dimension units
+	private Random random;
+
+	private List<ObjectInstanceHandle> objects;
+	private List<RegionHandle> objectRegions;
+	private int[] objectColumns;    // cell each object is in right now
+	private int[] objectRows;
+	private RegionHandle subscriptionRegion;
+	private RegionChurnTracker tracker;
+
+	private LatencySamples updateMoves;       // time to move an update region
+	private LatencySamples subscriptionMoves; // time to move our subscription region
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public RegionChurnDriver()
+	{
+		this.logger = null;         // set in configure()
+		this.configuration = null;  // set in configure()
+		this.storage = null;        // set in configure()
+		this.rtiamb = null;         // set in execute()
+		this.fedamb = null;         // set in execute()
+
+		this.leader = false;        // set in configure()
+		this.gridSize = 0;          // set in configure()
+		this.windowSize = 0;        // set in configure()
+		this.cellSize = 0;          // set in execute()
+		this.random = new Random();
+
+		this.objects = new ArrayList<ObjectInstanceHandle>();
+		this.objectRegions = new ArrayList<RegionHandle>();
+		this.objectColumns = null;  // set in execute()
+		this.objectRows = null;     // set in execute()
+		this.subscriptionRegion = null;
+		this.tracker = new RegionChurnTracker();
+
+		this.updateMoves = new LatencySamples();
+		this.subscriptionMoves = new LatencySamples();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public boolean manageLifecycleManually()
+	{
+		return false;
+	}
+
+	public void execute( RTIambassador rtiamb, FederateAmbassador fedamb ) throws RTIexception
+	{
+		this.rtiamb = rtiamb;
+		this.fedamb = fedamb;
+		this.cellSize = rtiamb.getDimensionUpperBound(DIM_GRID_X) / gridSize;
+
+		registerObjects();
+		subscribe();
+
+		logger.info( "Waiting for all federates to be ready to start" );
+		rtiamb.synchronizationPointAchieved( "START_REGION_CHURN_TEST" );
+		while( fedamb.achievedSyncPoints.contains("START_REGION_CHURN_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+		// send traffic, moving regions as we go
+		long sent = churn();
+
+		// let everyone finish sending and wait for the tail to arrive
+		Utils.synchronize( rtiamb, fedamb, configuration, "REGION_CHURN_DONE", leader );
+		ICounter reflections = new ICounter()
+		{
+			public long getCount()
+			{
+				return fedamb.regionReflections.get();
+			}
+		};
+		Utils.waitForQuiet( rtiamb, configuration, reflections );
+		tracker.finishMove();
+		fedamb.regionChurnTracker = null;
+
+		// Wait for everyone to finish up
+		rtiamb.synchronizationPointAchieved( "FINISH_REGION_CHURN_TEST" );
+		while( fedamb.achievedSyncPoints.contains("FINISH_REGION_CHURN_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 100 );
+
+		logger.info( "Region Churn Test Finished" );
+		logger.info( "" );
+
+		new RegionChurnReportGenerator( configuration,
+		                                tracker,
+		                                updateMoves,
+		                                subscriptionMoves,
+		                                sent ).printReport();
+	}
+
+	/**
+	 * Register our objects, each with its own update region in a random cell
+	 */
+	private void registerObjects() throws RTIexception
+	{
+		int count = configuration.getObjectCount();
+		this.objectColumns = new int[count];
+		this.objectRows = new int[count];
+
+		AttributeHandleSet attributes = rtiamb.getAttributeHandleSetFactory().create();
+		attributes.add( AC_REGION_PAYLOAD );
+
+		RegionHandleSet toCommit = rtiamb.getRegionHandleSetFactory().create();
+		for( int i = 0; i < count; i++ )
+		{
+			objectColumns[i] = random.nextInt( gridSize );
+			objectRows[i] = random.nextInt( gridSize );
+			RegionHandle region = rtiamb.createRegion( getDimensions() );
+			setBounds( region, objectColumns[i], objectRows[i], 1 );
+			objectRegions.add( region );
+			toCommit.add( region );
+		}
+
+		rtiamb.commitRegionModifications( toCommit );
+
+		for( int i = 0; i < count; i++ )
+		{
+			RegionHandleSet regions = rtiamb.getRegionHandleSetFactory().create();
+			regions.add( objectRegions.get(i) );
+			AttributeSetRegionSetPairList pairs = rtiamb.getAttributeSetRegionSetPairListFactory().create(1);
+			pairs.add( new AttributeRegionAssociation(attributes,regions) );
+			objects.add( rtiamb.registerObjectInstanceWithRegions(OC_REGION_TEST_OBJECT,pairs) );
+		}
+
+		logger.info( "Registered "+objects.size()+" objects with their own update regions" );
+	}
+
+	/**
+	 * Create our subscription region somewhere random and subscribe with it
+	 */
+	private void subscribe() throws RTIexception
+	{
+		int column = random.nextInt( gridSize-windowSize+1 );
+		int row = random.nextInt( gridSize-windowSize+1 );
+		this.subscriptionRegion = rtiamb.createRegion( getDimensions() );
+		setBounds( subscriptionRegion, column, row, windowSize );
+
+		RegionHandleSet regions = rtiamb.getRegionHandleSetFactory().create();
+		regions.add( subscriptionRegion );
+		rtiamb.commitRegionModifications( regions );
+
+		AttributeHandleSet attributes = rtiamb.getAttributeHandleSetFactory().create();
+		attributes.add( AC_REGION_PAYLOAD );
+		AttributeSetRegionSetPairList pairs = rtiamb.getAttributeSetRegionSetPairListFactory().create(1);
+		pairs.add( new AttributeRegionAssociation(attributes,regions) );
+		rtiamb.subscribeObjectClassAttributesWithRegions( OC_REGION_TEST_OBJECT, pairs );
+
+		tracker.subscriptionMoved( column, row, windowSize, System.nanoTime() );
+		fedamb.regionChurnTracker = tracker;
+	}
+
+	/**
+	 * Update every object each loop, fitting in as many region moves as we need to keep up
+	 * with the configured move rate.
+	 *
+	 * @return The number of updates we sent
+	 */
+	private long churn() throws RTIexception
+	{
+		byte[] template = Utils.generatePayload( Math.max(8,configuration.getPacketSize()) );
+		double movesPerNano = configuration.getRegionMoveRate() / 1000000000.0;
+		long sent = 0;
+		long moves = 0;
+		long started = System.nanoTime();
+
+		for( int loop = 1; loop <= configuration.getLoopCount(); loop++ )
+		{
+			for( int i = 0; i < objects.size(); i++ )
+			{
+				byte[] payload = template.clone();
+				Utils.intToBytes( objectColumns[i], payload, 0 );
+				Utils.intToBytes( objectRows[i], payload, 4 );
+
+				AttributeHandleValueMap values = rtiamb.getAttributeHandleValueMapFactory().create(1);
+				values.put( AC_REGION_PAYLOAD, payload );
+				rtiamb.updateAttributeValues( objects.get(i), values, null );
+				sent++;
+			}
+
+			// the subscription region takes its turn after all the update regions
+			long due = (long)((System.nanoTime()-started) * movesPerNano);
+			for( ; moves < due; moves++ )
+			{
+				int index = (int)(moves % (objects.size()+1));
+				if( index == objects.size() )
+					moveSubscriptionRegion();
+				else
+					moveUpdateRegion( index );
+			}
+
+			if( loop % 100 == 0 )
+			{
+				logger.info( String.format("Finished loop %d -- %d update moves, %d subscription moves",
+				                           loop, updateMoves.size(), subscriptionMoves.size()) );
+			}
+
+			Utils.tickOrSleep( rtiamb, configuration, configuration.getLoopWait() );
+		}
+
+		return sent;
+	}
+
+	private void moveUpdateRegion( int index ) throws RTIexception
+	{
+		objectColumns[index] = random.nextInt( gridSize );
+		objectRows[index] = random.nextInt( gridSize );
+		RegionHandle region = objectRegions.get( index );
+
+		long start = System.nanoTime();
+		setBounds( region, objectColumns[index], objectRows[index], 1 );
+		RegionHandleSet regions = rtiamb.getRegionHandleSetFactory().create();
+		regions.add( region );
+		rtiamb.commitRegionModifications( regions );
+		updateMoves.add( System.nanoTime()-start );
+	}
+
+	private void moveSubscriptionRegion() throws RTIexception
+	{
+		int column = random.nextInt( gridSize-windowSize+1 );
+		int row = random.nextInt( gridSize-windowSize+1 );
+
+		long start = System.nanoTime();
+		setBounds( subscriptionRegion, column, row, windowSize );
+		RegionHandleSet regions = rtiamb.getRegionHandleSetFactory().create();
+		regions.add( subscriptionRegion );
+		rtiamb.commitRegionModifications( regions );
+		long committed = System.nanoTime();
+		subscriptionMoves.add( committed-start );
+
+		tracker.subscriptionMoved( column, row, windowSize, committed );
+	}
+
+	/** Set the region to cover a square block of cells with its bottom-left in the given cell */
+	private void setBounds( RegionHandle region, int column, int row, int width ) throws RTIexception
+	{
+		rtiamb.setRangeBounds( region, DIM_GRID_X, new RangeBounds(column*cellSize,(column+width)*cellSize) );
+		rtiamb.setRangeBounds( region, DIM_GRID_Y, new RangeBounds(row*cellSize,(row+width)*cellSize) );
+	}
+
+	private DimensionHandleSet getDimensions() throws RTIexception
+	{
+		DimensionHandleSet dimensions = rtiamb.getDimensionHandleSetFactory().create();
+		dimensions.add( DIM_GRID_X );
+		dimensions.add( DIM_GRID_Y );
+		return dimensions;
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// IDriver Methods /////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public void configure( Configuration configuration, Storage storage )
+	{
+		this.configuration = configuration;
+		this.storage = storage;
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.gridSize = configuration.getDdmGridSize();
+		this.windowSize = Math.max( 1, gridSize/2 );
+
+		// everyone has to agree on who registers the sync points, so just go by name
+		List<String> federates = new ArrayList<String>( configuration.getPeers() );
+		federates.add( configuration.getFederateName() );
+		this.leader = Collections.min( federates ).equals( configuration.getFederateName() );
+	}
+
+	@Override
+	public void printWelcomeMessage()
+	{
+		logger.info( " ==================================" );
+		logger.info( " =    Running Region Churn Test   =" );
+		logger.info( " ==================================" );
+		logger.info( "" );
+		logger.info( "       Federates = "+(configuration.getPeers().size()+1) );
+		logger.info( "            Grid = "+gridSize+"x"+gridSize );
+		logger.info( "    Subscription = "+windowSize+"x"+windowSize );
+		logger.info( "         Objects = "+configuration.getObjectCount()+" (per federate)" );
+		logger.info( "           Loops = "+configuration.getLoopCount() );
+		logger.info( "       Move Rate = "+configuration.getRegionMoveRate()+"/s" );
+		logger.info( "    Message Size = "+Utils.getSizeString(configuration.getPacketSize()) );
+		logger.info( "" );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public String getName()
+	{
+		return "Region Churn Test";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,121 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.ddm;
+
+import org.apache.log4j.Logger;
+
+import hperf.LatencySamples;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints what moving regions cost us: how long each move took to commit, and how long it
+ * took the filtering to catch up with our subscription moves.
+ */
+public class RegionChurnReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private RegionChurnTracker tracker;
+	private LatencySamples updateMoves;
+	private LatencySamples subscriptionMoves;
+	private long sent;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public RegionChurnReportGenerator( Configuration configuration,
+	                                   RegionChurnTracker tracker,
+	                                   LatencySamples updateMoves,
+	                                   LatencySamples subscriptionMoves,
+	                                   long sent )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.tracker = tracker;
+		this.updateMoves = updateMoves;
+		this.subscriptionMoves = subscriptionMoves;
+		this.sent = sent;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public void printReport()
+	{
+		logger.info( " ===================================" );
+		logger.info( " =    Region Churn Test Report     =" );
+		logger.info( " ===================================" );
+		logger.info( "" );
+		logger.info( "   Peers:     "+configuration.getPeers().size() );
+		logger.info( "   Grid:      "+configuration.getDdmGridSize()+"x"+configuration.getDdmGridSize() );
+		logger.info( "   Objects:   "+configuration.getObjectCount()+" (per federate)" );
+		logger.info( "   Move Rate: "+configuration.getRegionMoveRate()+"/s" );
+		logger.info( "   Sent:      "+sent );
+		logger.info( "   Received:  "+tracker.getReceived()+" ("+tracker.getStale()+" from outside our region)" );
+		logger.info( "" );
+		logger.info( "  |-------------------------------------------------------------------------|" );
+		logger.info( "  | Measure                | Count  |  Mean   |   Med   |   95%   |   Max   |" );
+		logger.info( "  |------------------------|--------|---------|---------|---------|---------|" );
+	  //logger.info( "  | Subscription Move      | 123456 |  1234us |  1234us |  1234us |  1234us |" );
+		printLine( "Update Region Move", updateMoves );
+		printLine( "Subscription Move", subscriptionMoves );
+		printLine( "Reflects Start", tracker.getStartDelays() );
+		printLine( "Reflects Stop", tracker.getStopDelays() );
+		logger.info( "  |-------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: Moves are timed from the first setRangeBounds() until the" );
+		logger.info( "              commitRegionModifications() call returns." );
+		logger.info( "     ** Note: Start/Stop are from each subscription move until the first" );
+		logger.info( "              reflect from a newly covered cell / last from an old one." );
+		logger.info( "" );
+	}
+
+	private void printLine( String label, LatencySamples samples )
+	{
+		if( samples.isEmpty() )
+		{
+			logger.info( String.format("  | %-22s | %6d | %7s | %7s | %7s | %7s |",
+			                           label, 0, "-", "-", "-", "-") );
+			return;
+		}
+
+		logger.info( String.format("  | %-22s | %6d | %7s | %7s | %7s | %7s |",
+		                           label,
+		                           samples.size(),
+		                           Utils.getLatencyString(samples.getMean()),
+		                           Utils.getLatencyString(samples.getMedian()),
+		                           Utils.getLatencyString(samples.getPercentile(95.0)),
+		                           Utils.getLatencyString(samples.getMax())) );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
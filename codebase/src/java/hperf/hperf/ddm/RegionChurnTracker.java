@@ -0,0 +1,178 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.ddm;
+
+import hperf.LatencySamples;
+import hperf.Utils;
+
+/**
+ * Shared between the {@link RegionChurnDriver} and the {@link hperf.FederateAmbassador}.
+ * Senders write the cell each object's update region currently covers into the front of the
+ * payload. The federate ambassador hands every reflection to us, and we compare that cell
+ * against where our subscription region is now, and where it was before the last move.
+ *
+ * After each subscription move we time:
+ * <ul>
+ *   <li>Start delay: until the first reflection from a cell we only just moved over</li>
+ *   <li>Stop delay: until the last reflection from a cell we just moved away from</li>
+ * </ul>
+ *
+ * Anything arriving from outside the current region is counted as stale, whether it is the
+ * tail of our own move or a sender's region move that routing hasn't caught up with yet.
+ */
+public class RegionChurnTracker
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int width;           // cells along each side of the subscription region
+	private int column;          // bottom-left cell of the subscription region now
+	private int row;
+	private int previousColumn;  // bottom-left cell before the last move, -1 if none
+	private int previousRow;
+	private long movedAt;        // nanoTime our subscription region last moved
+	private long firstEntered;   // first reflection from a newly covered cell since the move
+	private long lastLeft;       // last reflection from a newly uncovered cell since the move
+
+	private LatencySamples startDelays;
+	private LatencySamples stopDelays;
+	private long received;
+	private long stale;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public RegionChurnTracker()
+	{
+		this.width = 0;
+		this.column = -1;
+		this.row = -1;
+		this.previousColumn = -1;
+		this.previousRow = -1;
+		this.movedAt = 0;
+		this.firstEntered = -1;
+		this.lastLeft = -1;
+
+		this.startDelays = new LatencySamples();
+		this.stopDelays = new LatencySamples();
+		this.received = 0;
+		this.stale = 0;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Our subscription region has been committed at its new position. Closes off the delays
+	 * for the previous move and starts timing this one.
+	 */
+	public synchronized void subscriptionMoved( int column, int row, int width, long timestamp )
+	{
+		finishMove();
+		this.previousColumn = this.column;
+		this.previousRow = this.row;
+		this.column = column;
+		this.row = row;
+		this.width = width;
+		this.movedAt = timestamp;
+	}
+
+	/** A RegionTestObject reflection arrived, the payload starts with the sender's cell */
+	public synchronized void reflected( byte[] payload, long timestamp )
+	{
+		received++;
+		if( column < 0 || payload.length < 8 )
+			return;
+
+		int senderColumn = Utils.bytesToInt( payload, 0 );
+		int senderRow = Utils.bytesToInt( payload, 4 );
+		boolean inCurrent = covers( column, row, senderColumn, senderRow );
+		boolean inPrevious = covers( previousColumn, previousRow, senderColumn, senderRow );
+
+		if( inCurrent == false )
+			stale++;
+
+		if( previousColumn < 0 )
+			return;
+
+		if( inCurrent && !inPrevious && firstEntered < 0 )
+			firstEntered = timestamp;
+		else if( inPrevious && !inCurrent )
+			lastLeft = timestamp;
+	}
+
+	/** Does a subscription region with its bottom-left at the given cell cover the other cell? */
+	private boolean covers( int fromColumn, int fromRow, int column, int row )
+	{
+		if( fromColumn < 0 )
+			return false;
+
+		return column >= fromColumn && column < fromColumn+width &&
+		       row >= fromRow && row < fromRow+width;
+	}
+
+	/** Record the delays for the move in progress, if there was anything to see */
+	public synchronized void finishMove()
+	{
+		if( previousColumn >= 0 )
+		{
+			if( firstEntered >= 0 )
+				startDelays.add( firstEntered - movedAt );
+			if( lastLeft >= 0 )
+				stopDelays.add( lastLeft - movedAt );
+		}
+
+		this.firstEntered = -1;
+		this.lastLeft = -1;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public LatencySamples getStartDelays()
+	{
+		return this.startDelays;
+	}
+
+	public LatencySamples getStopDelays()
+	{
+		return this.stopDelays;
+	}
+
+	public synchronized long getReceived()
+	{
+		return this.received;
+	}
+
+	/** @return Reflections that arrived from cells outside our subscription region at the time */
+	public synchronized long getStale()
+	{
+		return this.stale;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,110 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.entity;
+
+import org.apache.log4j.Logger;
+
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Splits the CPU we used into what went on encoding and decoding entity state records and
+ * what went on everything else (the RTI moving the bytes, our callbacks and the test loop).
+ * Tacked onto the end of the throughput and latency reports when `--entity-payload` is in use.
+ */
+public class EncodingReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private EntityStateCodec codec;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public EncodingReportGenerator( Configuration configuration, EntityStateCodec codec )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.codec = codec;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	/**
+	 * @param processCpu Nanos of CPU the whole process used while the traffic was flowing.
+	 *                   Pass 0 (or less) if unknown and the shares will be left out.
+	 */
+	public void printReport( long processCpu )
+	{
+		long encodeCpu = codec.getEncodeCpuTime();
+		long decodeCpu = codec.getDecodeCpuTime();
+
+		logger.info( "   Payload Encoding: RPR entity state, "+codec.getParts()+" articulated parts" );
+		logger.info( "  |----------------------------------------------------------|" );
+		logger.info( "  | Stage     |  Messages  | Bytes/Msg | CPU/Msg | CPU Share |" );
+		logger.info( "  |-----------|------------|-----------|---------|-----------|" );
+	  //logger.info( "  | Transport |   12345678 |       118 |  1234us |    75.32% |" );
+
+		logger.info( getLine("Encode", codec.getEncodedCount(), codec.getEncodedBytes(), encodeCpu, processCpu) );
+		logger.info( getLine("Decode", codec.getDecodedCount(), codec.getDecodedBytes(), decodeCpu, processCpu) );
+		logger.info( String.format("  | %-9s | %10s | %9s | %7s | %9s |",
+		                           "Transport",
+		                           "-",
+		                           "-",
+		                           "-",
+		                           getShare(processCpu-encodeCpu-decodeCpu,processCpu)) );
+
+		logger.info( "  |----------------------------------------------------------|" );
+		logger.info( "     ** Note: Transport is all other process CPU: the RTI, callbacks and the" );
+		logger.info( "              test itself (compression and encryption included if on)." );
+		logger.info( "" );
+	}
+
+	private String getLine( String stage, long messages, long bytes, long cpu, long processCpu )
+	{
+		return String.format( "  | %-9s | %10d | %9d | %7s | %9s |",
+		                      stage,
+		                      messages,
+		                      messages == 0 ? 0 : bytes / messages,
+		                      Utils.getLatencyString(messages == 0 ? 0 : cpu / messages),
+		                      getShare(cpu,processCpu) );
+	}
+
+	private String getShare( long cpu, long processCpu )
+	{
+		if( processCpu <= 0 )
+			return "-";
+		else
+			return String.format( "%.2f%%", (cpu*100.0)/processCpu );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,361 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.entity;
+
+import org.apache.log4j.Logger;
+
+import hla.rti1516e.encoding.DataElementFactory;
+import hla.rti1516e.encoding.DecoderException;
+import hla.rti1516e.encoding.EncoderException;
+import hla.rti1516e.encoding.EncoderFactory;
+import hla.rti1516e.encoding.HLAfixedRecord;
+import hla.rti1516e.encoding.HLAfloat32BE;
+import hla.rti1516e.encoding.HLAfloat64BE;
+import hla.rti1516e.encoding.HLAinteger32BE;
+import hla.rti1516e.encoding.HLAvariableArray;
+import hperf.Utils;
+
+/**
+ * Builds payloads the way a real federate would: as an RPR-style entity state record put
+ * together with the 1516e {@link EncoderFactory}, rather than an opaque byte[]. The record is
+ *
+ * <pre>
+ *   EntityIdentifier  { SiteID, ApplicationID, EntityNumber }         (HLAinteger16BE x3)
+ *   EntityType        { Kind, Domain, Country, Category, Subcategory } (HLAinteger16BE x5)
+ *   WorldLocation     { X, Y, Z }                                      (HLAfloat64BE x3)
+ *   Orientation       { Psi, Theta, Phi }                              (HLAfloat32BE x3)
+ *   VelocityVector    { X, Y, Z }                                      (HLAfloat32BE x3)
+ *   ArticulatedParameters[]  { PartAttachedTo, ParameterType, Value }  (HLAvariableArray)
+ * </pre>
+ *
+ * One element tree is built for encoding and one for decoding, and both are reused for every
+ * message. Each send moves the entity along a bit and re-encodes the whole record. Each
+ * receive decodes the whole record back into the decoding tree.
+ *
+ * We keep count of the CPU time spent in each so that the report can split it out from the
+ * cost of moving the bytes. Encoding and decoding each work on their own tree under their
+ * own lock. The decoding tree only holds the most recent record, so {@link #verify(Logger)}
+ * has to follow the {@link #decode(byte[])} it is checking.
+ */
+public class EntityStateCodec
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final int PARAMETER_TYPE = 4096; // articulated part type metric (position)
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private EncoderFactory factory;
+	private int parts;            // articulated parts in each record we send
+	private int encodedLength;    // every record we send is the same size
+
+	// encoding, everything here is guarded by encodeLock
+	private Object encodeLock;
+	private HLAfixedRecord encodeRecord;
+	private HLAfloat64BE[] location;
+	private HLAfloat32BE[] orientation;
+	private HLAfloat32BE[] velocity;
+	private HLAfloat32BE[] partValues;
+	private long sequence;        // number of records we've encoded, drives the movement
+
+	private long encoded;         // records encoded
+	private long encodedBytes;    // bytes produced by encoding
+	private long encodeCpu;       // nanos of CPU spent encoding
+
+	// decoding, everything here is guarded by decodeLock
+	private Object decodeLock;
+	private HLAfixedRecord decodeRecord;
+	private HLAvariableArray<HLAfixedRecord> decodeParts;
+	private long decoded;         // records decoded
+	private long decodedBytes;    // bytes consumed by decoding
+	private long decodeCpu;       // nanos of CPU spent decoding
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	/**
+	 * @param factory Where we get our data elements from
+	 * @param parts Number of articulated parts in each record we send
+	 * @param entityNumber Goes into the EntityIdentifier so each federate's entity is distinct
+	 */
+	public EntityStateCodec( EncoderFactory factory, int parts, short entityNumber )
+	{
+		this.factory = factory;
+		this.parts = parts;
+		this.encodeLock = new Object();
+		this.decodeLock = new Object();
+
+		// encoding tree, we keep hold of the elements that change so we can update them
+		this.location = new HLAfloat64BE[3];
+		this.orientation = new HLAfloat32BE[3];
+		this.velocity = new HLAfloat32BE[3];
+		this.partValues = new HLAfloat32BE[parts];
+		HLAvariableArray<HLAfixedRecord> encodeParts = factory.createHLAvariableArray( new PartFactory() );
+		for( int i = 0; i < parts; i++ )
+		{
+			HLAfixedRecord part = createPart();
+			partValues[i] = (HLAfloat32BE)part.get( 2 );
+			encodeParts.addElement( part );
+		}
+
+		this.encodeRecord = createRecord( entityNumber, location, orientation, velocity, encodeParts );
+		this.sequence = 0;
+		this.encodedLength = encodeRecord.getEncodedLength();
+
+		// decoding tree, the parts array is resized to fit whatever comes in
+		this.decodeParts = factory.createHLAvariableArray( new PartFactory() );
+		this.decodeRecord = createRecord( (short)0,
+		                                  new HLAfloat64BE[3],
+		                                  new HLAfloat32BE[3],
+		                                  new HLAfloat32BE[3],
+		                                  decodeParts );
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Move the entity along and encode the whole record
+	 *
+	 * @return A new array holding the encoded record
+	 */
+	public byte[] encode()
+	{
+		synchronized( encodeLock )
+		{
+			long started = Utils.getThreadCpuTime();
+
+			// straight and level, with the parts slowly turning
+			double time = ++sequence * 0.1;
+			location[0].setValue( 4000000.0 + time*velocity[0].getValue() );
+			location[1].setValue( 3000000.0 + time*velocity[1].getValue() );
+			location[2].setValue( 4000000.0 );
+			orientation[0].setValue( 0.5f );
+			orientation[1].setValue( 0.0f );
+			orientation[2].setValue( 0.0f );
+			for( int i = 0; i < partValues.length; i++ )
+				partValues[i].setValue( (float)((time+i) % 360.0) );
+
+			byte[] bytes;
+			try
+			{
+				bytes = encodeRecord.toByteArray();
+			}
+			catch( EncoderException ee )
+			{
+				throw new RuntimeException( "Could not encode entity state: "+ee.getMessage(), ee );
+			}
+
+			encodeCpu += Utils.getThreadCpuTime() - started;
+			encoded++;
+			encodedBytes += bytes.length;
+			return bytes;
+		}
+	}
+
+	/**
+	 * Decode the given record into our decoding tree
+	 */
+	public void decode( byte[] bytes )
+	{
+		synchronized( decodeLock )
+		{
+			long started = Utils.getThreadCpuTime();
+			try
+			{
+				decodeRecord.decode( bytes );
+			}
+			catch( DecoderException de )
+			{
+				throw new RuntimeException( "Received invalid entity state: "+de.getMessage(), de );
+			}
+
+			decodeCpu += Utils.getThreadCpuTime() - started;
+			decoded++;
+			decodedBytes += bytes.length;
+		}
+	}
+
+	/**
+	 * Check the most recently decoded record looks like one of ours
+	 */
+	public void verify( Logger logger )
+	{
+		synchronized( decodeLock )
+		{
+			if( decodeParts.size() != parts )
+			{
+				logger.error( "Received entity state with incorrect articulated parts: expected="+
+				              parts+", received="+decodeParts.size() );
+				return;
+			}
+
+			for( int i = 0; i < decodeParts.size(); i++ )
+			{
+				int type = ((HLAinteger32BE)decodeParts.get(i).get(1)).getValue();
+				if( type != PARAMETER_TYPE )
+				{
+					logger.error( "Invalid entity state received. Articulated part ["+i+
+					              "] had type ["+type+"], expected ["+PARAMETER_TYPE+"]" );
+					return;
+				}
+			}
+		}
+	}
+
+	private HLAfixedRecord createRecord( short entityNumber,
+	                                     HLAfloat64BE[] location,
+	                                     HLAfloat32BE[] orientation,
+	                                     HLAfloat32BE[] velocity,
+	                                     HLAvariableArray<HLAfixedRecord> parts )
+	{
+		HLAfixedRecord identifier = factory.createHLAfixedRecord();
+		identifier.add( factory.createHLAinteger16BE((short)1) );  // site
+		identifier.add( factory.createHLAinteger16BE((short)1) );  // application
+		identifier.add( factory.createHLAinteger16BE(entityNumber) );
+
+		HLAfixedRecord type = factory.createHLAfixedRecord();
+		type.add( factory.createHLAinteger16BE((short)1) );        // kind: platform
+		type.add( factory.createHLAinteger16BE((short)2) );        // domain: air
+		type.add( factory.createHLAinteger16BE((short)13) );       // country: australia
+		type.add( factory.createHLAinteger16BE((short)1) );        // category
+		type.add( factory.createHLAinteger16BE((short)1) );        // subcategory
+
+		HLAfixedRecord worldLocation = factory.createHLAfixedRecord();
+		for( int i = 0; i < 3; i++ )
+		{
+			location[i] = factory.createHLAfloat64BE();
+			worldLocation.add( location[i] );
+		}
+
+		HLAfixedRecord orientationRecord = factory.createHLAfixedRecord();
+		HLAfixedRecord velocityRecord = factory.createHLAfixedRecord();
+		for( int i = 0; i < 3; i++ )
+		{
+			orientation[i] = factory.createHLAfloat32BE();
+			orientationRecord.add( orientation[i] );
+			velocity[i] = factory.createHLAfloat32BE( i == 0 ? 250.0f : 0.0f );
+			velocityRecord.add( velocity[i] );
+		}
+
+		HLAfixedRecord record = factory.createHLAfixedRecord();
+		record.add( identifier );
+		record.add( type );
+		record.add( worldLocation );
+		record.add( orientationRecord );
+		record.add( velocityRecord );
+		record.add( parts );
+		return record;
+	}
+
+	/** PartAttachedTo, ParameterType, Value */
+	private HLAfixedRecord createPart()
+	{
+		HLAfixedRecord part = factory.createHLAfixedRecord();
+		part.add( factory.createHLAinteger16BE((short)0) );
+		part.add( factory.createHLAinteger32BE(PARAMETER_TYPE) );
+		part.add( factory.createHLAfloat32BE() );
+		return part;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public int getParts()
+	{
+		return this.parts;
+	}
+
+	/**
+	 * @return The size of each record we encode. Only the values change from one to the next,
+	 *         so this is fixed for a given number of articulated parts.
+	 */
+	public int getEncodedLength()
+	{
+		return this.encodedLength;
+	}
+
+	public long getEncodedCount()
+	{
+		synchronized( encodeLock )
+		{
+			return this.encoded;
+		}
+	}
+
+	public long getEncodedBytes()
+	{
+		synchronized( encodeLock )
+		{
+			return this.encodedBytes;
+		}
+	}
+
+	public long getEncodeCpuTime()
+	{
+		synchronized( encodeLock )
+		{
+			return this.encodeCpu;
+		}
+	}
+
+	public long getDecodedCount()
+	{
+		synchronized( decodeLock )
+		{
+			return this.decoded;
+		}
+	}
+
+	public long getDecodedBytes()
+	{
+		synchronized( decodeLock )
+		{
+			return this.decodedBytes;
+		}
+	}
+
+	public long getDecodeCpuTime()
+	{
+		synchronized( decodeLock )
+		{
+			return this.decodeCpu;
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////////// Class: PartFactory ////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/** Creates the articulated part records as the decoder resizes the parts array */
+	private class PartFactory implements DataElementFactory<HLAfixedRecord>
+	{
+		public HLAfixedRecord createElement( int index )
+		{
+			return createPart();
+		}
+	}
+}
@@ -0,0 +1,272 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.fom;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes out a FOM module holding generated classes, so that tests can measure how the shape
+ * of a FOM affects the RTI without anyone having to maintain giant FOMs by hand. The module
+ * only declares the scaffolding it needs (the root classes) and is loaded alongside
+ * `config/testfom.xml` when the federation is created.
+ *
+ * Every federate generates the module from its own command line, so they all need the same
+ * generation settings.
+ */
+public class FomModuleGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String name;
+	private List<InteractionHierarchy> interactionHierarchies;
+	private int objectClassCount;      // flat object classes directly under HLAobjectRoot
+	private int attributeCount;        // attributes on each of those classes
+	private int interactionClassCount; // flat interaction classes directly under HLAinteractionRoot
+	private int parameterCount;        // parameters on each of those classes
+	private Map<String,List<String>> objectSubclasses;      // parent name to child names
+	private Map<String,List<String>> interactionSubclasses; // parent name to child names
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public FomModuleGenerator( String name )
+	{
+		this.name = name;
+		this.interactionHierarchies = new ArrayList<InteractionHierarchy>();
+		this.objectClassCount = 0;
+		this.attributeCount = 0;
+		this.interactionClassCount = 0;
+		this.parameterCount = 0;
+		this.objectSubclasses = new LinkedHashMap<String,List<String>>();
+		this.interactionSubclasses = new LinkedHashMap<String,List<String>>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void addInteractionHierarchy( InteractionHierarchy hierarchy )
+	{
+		this.interactionHierarchies.add( hierarchy );
+	}
+
+	/**
+	 * Add `count` object classes directly under HLAobjectRoot, each with `attributes` attributes.
+	 * See {@link #getObjectClassName(int)} and {@link #getAttributeName(int)} for their names.
+	 */
+	public void addObjectClasses( int count, int attributes )
+	{
+		this.objectClassCount = count;
+		this.attributeCount = attributes;
+	}
+
+	/**
+	 * Add `count` interaction classes directly under HLAinteractionRoot, each with `parameters`
+	 * parameters. See {@link #getInteractionClassName(int)} and {@link #getParameterName(int)}.
+	 */
+	public void addInteractionClasses( int count, int parameters )
+	{
+		this.interactionClassCount = count;
+		this.parameterCount = parameters;
+	}
+
+	/**
+	 * Add an empty subclass with each of the given names under an object class that is directly
+	 * beneath HLAobjectRoot in another module. The subclasses just inherit their attributes.
+	 */
+	public void addObjectSubclasses( String parent, List<String> names )
+	{
+		this.objectSubclasses.put( parent, names );
+	}
+
+	/**
+	 * Add an empty subclass with each of the given names under an interaction class that is
+	 * directly beneath HLAinteractionRoot in another module. They just inherit their parameters.
+	 */
+	public void addInteractionSubclasses( String parent, List<String> names )
+	{
+		this.interactionSubclasses.put( parent, names );
+	}
+
+	/**
+	 * @return The content of the module as an OMT 2010 document
+	 */
+	public String generate()
+	{
+		StringBuilder builder = new StringBuilder();
+		builder.append( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" );
+		builder.append( "<objectModel xmlns=\"http://standards.ieee.org/IEEE1516-2010\">\n" );
+		builder.append( "\t<modelIdentification>\n" );
+		builder.append( "\t\t<name>" ).append( name ).append( "</name>\n" );
+		builder.append( "\t\t<type>FOM</type>\n" );
+		builder.append( "\t\t<version>1.0</version>\n" );
+		builder.append( "\t\t<purpose>Generated by hperf for use in its tests.</purpose>\n" );
+		builder.append( "\t</modelIdentification>\n" );
+
+		if( objectClassCount > 0 || objectSubclasses.isEmpty() == false )
+		{
+			builder.append( "\t<objects>\n" );
+			builder.append( "\t\t<objectClass>\n" );
+			builder.append( "\t\t\t<name>HLAobjectRoot</name>\n" );
+			for( int i = 0; i < objectClassCount; i++ )
+				appendObjectClass( builder, i );
+			for( String parent : objectSubclasses.keySet() )
+				appendSubclasses( builder, "objectClass", parent, objectSubclasses.get(parent) );
+			builder.append( "\t\t</objectClass>\n" );
+			builder.append( "\t</objects>\n" );
+		}
+
+		if( interactionHierarchies.isEmpty() == false ||
+		    interactionClassCount > 0 ||
+		    interactionSubclasses.isEmpty() == false )
+		{
+			builder.append( "\t<interactions>\n" );
+			builder.append( "\t\t<interactionClass>\n" );
+			builder.append( "\t\t\t<name>HLAinteractionRoot</name>\n" );
+			for( InteractionHierarchy hierarchy : interactionHierarchies )
+				hierarchy.appendXml( builder, "\t\t\t" );
+			for( int i = 0; i < interactionClassCount; i++ )
+				appendInteractionClass( builder, i );
+			for( String parent : interactionSubclasses.keySet() )
+				appendSubclasses( builder, "interactionClass", parent, interactionSubclasses.get(parent) );
+			builder.append( "\t\t</interactionClass>\n" );
+			builder.append( "\t</interactions>\n" );
+		}
+
+		builder.append( "</objectModel>\n" );
+		return builder.toString();
+	}
+
+	private void appendObjectClass( StringBuilder builder, int index )
+	{
+		builder.append( "\t\t\t<objectClass>\n" );
+		builder.append( "\t\t\t\t<name>" ).append( getObjectClassName(index) ).append( "</name>\n" );
+		builder.append( "\t\t\t\t<sharing>PublishSubscribe</sharing>\n" );
+		for( int i = 0; i < attributeCount; i++ )
+		{
+			builder.append( "\t\t\t\t<attribute>\n" );
+			builder.append( "\t\t\t\t\t<name>" ).append( getAttributeName(i) ).append( "</name>\n" );
+			builder.append( "\t\t\t\t\t<dataType>HLAopaqueData</dataType>\n" );
+			builder.append( "\t\t\t\t\t<updateType>Conditional</updateType>\n" );
+			builder.append( "\t\t\t\t\t<updateCondition>On change</updateCondition>\n" );
+			builder.append( "\t\t\t\t\t<ownership>DivestAcquire</ownership>\n" );
+			builder.append( "\t\t\t\t\t<sharing>PublishSubscribe</sharing>\n" );
+			builder.append( "\t\t\t\t\t<transportation>HLAreliable</transportation>\n" );
+			builder.append( "\t\t\t\t\t<order>Receive</order>\n" );
+			builder.append( "\t\t\t\t</attribute>\n" );
+		}
+		builder.append( "\t\t\t</objectClass>\n" );
+	}
+
+	private void appendInteractionClass( StringBuilder builder, int index )
+	{
+		builder.append( "\t\t\t<interactionClass>\n" );
+		builder.append( "\t\t\t\t<name>" ).append( getInteractionClassName(index) ).append( "</name>\n" );
+		builder.append( "\t\t\t\t<sharing>PublishSubscribe</sharing>\n" );
+		builder.append( "\t\t\t\t<transportation>HLAreliable</transportation>\n" );
+		builder.append( "\t\t\t\t<order>Receive</order>\n" );
+		for( int i = 0; i < parameterCount; i++ )
+		{
+			builder.append( "\t\t\t\t<parameter>\n" );
+			builder.append( "\t\t\t\t\t<name>" ).append( getParameterName(i) ).append( "</name>\n" );
+			builder.append( "\t\t\t\t\t<dataType>HLAopaqueData</dataType>\n" );
+			builder.append( "\t\t\t\t</parameter>\n" );
+		}
+		builder.append( "\t\t\t</interactionClass>\n" );
+	}
+
+	/**
+	 * Write out the parent as scaffolding (name only, the real definition is in another module)
+	 * with an empty child for each of the names beneath it.
+	 */
+	private void appendSubclasses( StringBuilder builder, String element, String parent, List<String> names )
+	{
+		builder.append( "\t\t\t<" ).append( element ).append( ">\n" );
+		builder.append( "\t\t\t\t<name>" ).append( parent ).append( "</name>\n" );
+		for( String name : names )
+		{
+			builder.append( "\t\t\t\t<" ).append( element ).append( ">\n" );
+			builder.append( "\t\t\t\t\t<name>" ).append( name ).append( "</name>\n" );
+			builder.append( "\t\t\t\t\t<sharing>PublishSubscribe</sharing>\n" );
+			if( element.equals("interactionClass") )
+			{
+				builder.append( "\t\t\t\t\t<transportation>HLAreliable</transportation>\n" );
+				builder.append( "\t\t\t\t\t<order>Receive</order>\n" );
+			}
+			builder.append( "\t\t\t\t</" ).append( element ).append( ">\n" );
+		}
+		builder.append( "\t\t\t</" ).append( element ).append( ">\n" );
+	}
+
+	/**
+	 * Generate the module and write it to a temporary file that is removed when we exit
+	 *
+	 * @return The file the module was written to
+	 */
+	public File writeModule() throws IOException
+	{
+		File file = File.createTempFile( "hperf-module-", ".xml" );
+		file.deleteOnExit();
+
+		try( Writer writer = new OutputStreamWriter(new FileOutputStream(file),StandardCharsets.UTF_8) )
+		{
+			writer.write( generate() );
+		}
+
+		return file;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	public static String getObjectClassName( int index )
+	{
+		return "ScaleObject"+index;
+	}
+
+	public static String getAttributeName( int index )
+	{
+		return "attribute"+index;
+	}
+
+	public static String getInteractionClassName( int index )
+	{
+		return "ScaleInteraction"+index;
+	}
+
+	public static String getParameterName( int index )
+	{
+		return "parameter"+index;
+	}
+}
@@ -0,0 +1,276 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.fom;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hla.rti1516e.AttributeHandleSet;
+import hla.rti1516e.CallbackModel;
+import hla.rti1516e.InteractionClassHandle;
+import hla.rti1516e.ObjectClassHandle;
+import hla.rti1516e.RTIambassador;
+import hla.rti1516e.ResignAction;
+import hla.rti1516e.RtiFactoryFactory;
+import hla.rti1516e.exceptions.FederationExecutionAlreadyExists;
+import hla.rti1516e.exceptions.RTIexception;
+import hperf.FederateAmbassador;
+import hperf.IDriver;
+import hperf.Storage;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Measures how federate start-up scales with the size of the FOM. For each of the
+ * `--fom-sizes` we generate a module with that many object classes, each carrying
+ * `--fom-attributes` attributes, plus `--fom-interactions` interaction classes with as many
+ * parameters. We then run `--loops` times through:
+ *
+ * <ol>
+ *   <li>createFederationExecution() with the generated module (which is where it is parsed)</li>
+ *   <li>joinFederationExecution()</li>
+ *   <li>Looking up every class, attribute and parameter handle</li>
+ *   <li>Publishing and then subscribing to everything</li>
+ * </ol>
+ *
+ * Each loop uses a fresh federation that we destroy afterwards, so this test runs on its own
+ * and manages its own lifecycle.
+ */
+public class FomScalingDriver implements IDriver
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private Storage storage;
+	private RTIambassador rtiamb;
+	private List<FomScalingResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public FomScalingDriver()
+	{
+		this.logger = null;         // set in configure()
+		this.configuration = null;  // set in configure()
+		this.storage = null;        // set in configure()
+		this.rtiamb = null;         // set in run()
+		this.results = new ArrayList<FomScalingResult>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public boolean manageLifecycleManually()
+	{
+		return true;
+	}
+
+	public void execute( RTIambassador rtiamb, FederateAmbassador fedamb ) throws RTIexception
+	{
+		printWelcomeMessage();
+
+		for( int size : configuration.getFomSizes() )
+		{
+			int attributes = configuration.getFomAttributes();
+			int interactions = configuration.getFomInteractions( size );
+			FomScalingResult result = new FomScalingResult( size, attributes, interactions );
+
+			FomModuleGenerator generator = new FomModuleGenerator( "HPerf Scaling Module" );
+			generator.addObjectClasses( size, attributes );
+			generator.addInteractionClasses( interactions, attributes );
+			URL[] modules = writeModules( generator );
+
+			for( int loop = 0; loop < configuration.getLoopCount(); loop++ )
+				run( modules, result );
+
+			results.add( result );
+			logger.info( String.format("%d classes: create=%s, lookup=%s, publish=%s, subscribe=%s",
+			                           size,
+			                           Utils.getLatencyString(result.getCreate().getMedian()).trim(),
+			                           Utils.getLatencyString(result.getLookup().getMedian()).trim(),
+			                           Utils.getLatencyString(result.getPublish().getMedian()).trim(),
+			                           Utils.getLatencyString(result.getSubscribe().getMedian()).trim()) );
+		}
+
+		logger.info( "FOM Scaling Test Finished" );
+		logger.info( "" );
+
+		new FomScalingReportGenerator(configuration,results).printReport();
+	}
+
+	/**
+	 * Create, join, look everything up, publish and subscribe, and then tear it all down again
+	 */
+	private void run( URL[] modules, FomScalingResult result ) throws RTIexception
+	{
+		String federation = configuration.getFederationName()+"-fom-"+result.getObjectClasses();
+
+		this.rtiamb = RtiFactoryFactory.getRtiFactory().getRtiAmbassador();
+		CallbackModel cbmodel = configuration.isImmediateCallback() ? CallbackModel.HLA_IMMEDIATE :
+		                                                              CallbackModel.HLA_EVOKED;
+		rtiamb.connect( new FederateAmbassador(configuration,storage), cbmodel );
+
+		// 1. create
+		long start = System.nanoTime();
+		try
+		{
+			rtiamb.createFederationExecution( federation, modules );
+			result.getCreate().add( System.nanoTime()-start );
+		}
+		catch( FederationExecutionAlreadyExists exists )
+		{
+			// someone else has one going, or we didn't clean up, so our number is no good
+			logger.warn( "Federation ["+federation+"] already existed, create time not recorded" );
+		}
+
+		// 2. join
+		start = System.nanoTime();
+		rtiamb.joinFederationExecution( configuration.getFederateName(),
+		                                configuration.getFederateName(),
+		                                federation );
+		result.getJoin().add( System.nanoTime()-start );
+
+		// 3. look up all the handles
+		int attributes = result.getAttributes();
+		List<ObjectClassHandle> objectClasses = new ArrayList<ObjectClassHandle>();
+		List<AttributeHandleSet> attributeSets = new ArrayList<AttributeHandleSet>();
+		List<InteractionClassHandle> interactionClasses = new ArrayList<InteractionClassHandle>();
+
+		start = System.nanoTime();
+		for( int i = 0; i < result.getObjectClasses(); i++ )
+		{
+			ObjectClassHandle handle =
+			    rtiamb.getObjectClassHandle( FomModuleGenerator.getObjectClassName(i) );
+			AttributeHandleSet set = rtiamb.getAttributeHandleSetFactory().create();
+			for( int j = 0; j < attributes; j++ )
+				set.add( rtiamb.getAttributeHandle(handle,FomModuleGenerator.getAttributeName(j)) );
+
+			objectClasses.add( handle );
+			attributeSets.add( set );
+		}
+
+		for( int i = 0; i < result.getInteractions(); i++ )
+		{
+			InteractionClassHandle handle =
+			    rtiamb.getInteractionClassHandle( FomModuleGenerator.getInteractionClassName(i) );
+			for( int j = 0; j < attributes; j++ )
+				rtiamb.getParameterHandle( handle, FomModuleGenerator.getParameterName(j) );
+
+			interactionClasses.add( handle );
+		}
+		result.getLookup().add( System.nanoTime()-start );
+
+		// 4. publish everything
+		start = System.nanoTime();
+		for( int i = 0; i < objectClasses.size(); i++ )
+			rtiamb.publishObjectClassAttributes( objectClasses.get(i), attributeSets.get(i) );
+		for( InteractionClassHandle handle : interactionClasses )
+			rtiamb.publishInteractionClass( handle );
+		result.getPublish().add( System.nanoTime()-start );
+
+		// 5. subscribe to everything
+		start = System.nanoTime();
+		for( int i = 0; i < objectClasses.size(); i++ )
+			rtiamb.subscribeObjectClassAttributes( objectClasses.get(i), attributeSets.get(i) );
+		for( InteractionClassHandle handle : interactionClasses )
+			rtiamb.subscribeInteractionClass( handle );
+		result.getSubscribe().add( System.nanoTime()-start );
+
+		// clean up so the next loop starts from scratch
+		rtiamb.resignFederationExecution( ResignAction.DELETE_OBJECTS );
+		rtiamb.destroyFederationExecution( federation );
+		rtiamb.disconnect();
+	}
+
+	/**
+	 * Write out the generated module. We load the regular test FOM with it, as the federates
+	 * we're emulating would have their own FOM along with everything else.
+	 */
+	private URL[] writeModules( FomModuleGenerator generator )
+	{
+		try
+		{
+			return new URL[]{
+			    (new File("config/testfom.xml")).toURI().toURL(),
+			    generator.writeModule().toURI().toURL()
+			};
+		}
+		catch( IOException ioe )
+		{
+			logger.error( "Exception writing generated FOM module: " + ioe.getMessage(), ioe );
+			throw new RuntimeException( ioe );
+		}
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// IDriver Methods /////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public void configure( Configuration configuration, Storage storage )
+	{
+		this.configuration = configuration;
+		this.storage = storage;
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+	}
+
+	@Override
+	public void printWelcomeMessage()
+	{
+		logger.info( " ==================================" );
+		logger.info( " =    Running FOM Scaling Test    =" );
+		logger.info( " ==================================" );
+		logger.info( "" );
+		logger.info( "  Object Classes = "+configuration.getFomSizes() );
+		logger.info( "      Attributes = "+configuration.getFomAttributes()+" (per class)" );
+		List<Integer> interactions = new ArrayList<Integer>();
+		for( int size : configuration.getFomSizes() )
+			interactions.add( configuration.getFomInteractions(size) );
+
+		logger.info( "    Interactions = "+interactions );
+		logger.info( "           Loops = "+configuration.getLoopCount()+" (per size)" );
+		logger.info( "" );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public String getName()
+	{
+		return "FOM Scaling Test";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,110 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.fom;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints the median time taken by each step of federate start-up for each FOM size, so we can
+ * see which of them grow with the FOM and how fast.
+ */
+public class FomScalingReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private List<FomScalingResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public FomScalingReportGenerator( Configuration configuration, List<FomScalingResult> results )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.results = results;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public void printReport()
+	{
+		logger.info( " =================================" );
+		logger.info( " =    FOM Scaling Test Report    =" );
+		logger.info( " =================================" );
+		logger.info( "" );
+		logger.info( "   Attributes: "+configuration.getFomAttributes()+" per class (and parameters per interaction)" );
+		logger.info( "   Loops:      "+configuration.getLoopCount()+" per size" );
+		logger.info( "" );
+		logger.info( "  |--------------------------------------------------------------------------------------------|" );
+		logger.info( "  | Classes |  Attrs  |  Inter  |  Create |   Join  |  Lookup | Per Hdl |  Publish | Subscribe |" );
+		logger.info( "  |---------|---------|---------|---------|---------|---------|---------|----------|-----------|" );
+	  //logger.info( "  |    1000 |   10000 |    1000 |  1234ms |  1234ms |  1234ms |  1234ns |   1234ms |    1234ms |" );
+
+		for( FomScalingResult result : results )
+		{
+			long lookup = result.getLookup().getMedian();
+			String line = String.format( "  | %7d | %7d | %7d | %7s | %7s | %7s | %7s | %8s | %9s |",
+			                             result.getObjectClasses(),
+			                             result.getObjectClasses() * result.getAttributes(),
+			                             result.getInteractions(),
+			                             Utils.getLatencyString(result.getCreate().getMedian()),
+			                             Utils.getLatencyString(result.getJoin().getMedian()),
+			                             Utils.getLatencyString(lookup),
+			                             getNanosString(lookup/result.getHandleCount()),
+			                             Utils.getLatencyString(result.getPublish().getMedian()),
+			                             Utils.getLatencyString(result.getSubscribe().getMedian()) );
+			logger.info( line );
+		}
+
+		logger.info( "  |--------------------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: All times are the median across loops. Attrs is the total across all" );
+		logger.info( "              object classes. Per Hdl is the lookup time over every handle looked up." );
+		logger.info( "" );
+	}
+
+	/** Handle lookups are quick, so show them in nanos until they aren't */
+	private String getNanosString( long nanos )
+	{
+		if( nanos <= 9999 )
+			return String.format( "%4dns", nanos );
+		else
+			return Utils.getLatencyString( nanos );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
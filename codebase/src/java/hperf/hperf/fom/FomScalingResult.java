@@ -0,0 +1,119 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.fom;
+
+import hperf.LatencySamples;
+
+/**
+ * How long each step of setting up took with a generated module of a particular size,
+ * across all the loops we ran for it.
+ */
+public class FomScalingResult
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int objectClasses;
+	private int attributes;       // per class, also used for the parameters per interaction
+	private int interactions;
+
+	private LatencySamples create;    // createFederationExecution(), including parsing the FOM
+	private LatencySamples join;      // joinFederationExecution()
+	private LatencySamples lookup;    // every class, attribute and parameter handle lookup
+	private LatencySamples publish;   // publishing every class and attribute
+	private LatencySamples subscribe; // subscribing to every class and attribute
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public FomScalingResult( int objectClasses, int attributes, int interactions )
+	{
+		this.objectClasses = objectClasses;
+		this.attributes = attributes;
+		this.interactions = interactions;
+
+		this.create = new LatencySamples();
+		this.join = new LatencySamples();
+		this.lookup = new LatencySamples();
+		this.publish = new LatencySamples();
+		this.subscribe = new LatencySamples();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/** @return The number of handles we look up each loop */
+	public int getHandleCount()
+	{
+		return objectClasses + (objectClasses*attributes) + interactions + (interactions*attributes);
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public int getObjectClasses()
+	{
+		return this.objectClasses;
+	}
+
+	public int getAttributes()
+	{
+		return this.attributes;
+	}
+
+	public int getInteractions()
+	{
+		return this.interactions;
+	}
+
+	public LatencySamples getCreate()
+	{
+		return this.create;
+	}
+
+	public LatencySamples getJoin()
+	{
+		return this.join;
+	}
+
+	public LatencySamples getLookup()
+	{
+		return this.lookup;
+	}
+
+	public LatencySamples getPublish()
+	{
+		return this.publish;
+	}
+
+	public LatencySamples getSubscribe()
+	{
+		return this.subscribe;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,273 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.fom;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hla.rti1516e.InteractionClassHandle;
+import hla.rti1516e.ParameterHandle;
+import hla.rti1516e.ParameterHandleValueMap;
+import hla.rti1516e.RTIambassador;
+import hla.rti1516e.exceptions.RTIexception;
+import hperf.FederateAmbassador;
+import hperf.ICounter;
+import hperf.IDriver;
+import hperf.Storage;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Measures what a deep interaction class hierarchy costs receivers. The federation is created
+ * with a generated {@link InteractionHierarchy} `--fom-depth` levels deep and `--fom-breadth`
+ * wide, and the `--sender` only ever sends leaf class interactions.
+ *
+ * The receivers take each level of the tree in turn, from the root down to the leaves, and
+ * subscribe to every class on it. Every interaction still reaches them, but promoted up to
+ * the level they are subscribed at. For each level the sender sends `--loops` batches of
+ * `--interactions` interactions, cycling through the leaves, and the receivers record how
+ * quickly they arrived and how much CPU each one cost.
+ */
+public class HierarchyDriver implements IDriver
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final String LEVEL_POINT = "HIERARCHY_LEVEL_";
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private Storage storage;
+	private RTIambassador rtiamb;
+	private FederateAmbassador fedamb;
+
+	private InteractionHierarchy hierarchy;
+	private HierarchyTracker tracker;
+	private List<HierarchyResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public HierarchyDriver()
+	{
+		this.logger = null;         // set in configure()
+		this.configuration = null;  // set in configure()
+		this.storage = null;        // set in configure()
+		this.rtiamb = null;         // set in execute()
+		this.fedamb = null;         // set in execute()
+
+		this.hierarchy = null;      // set in configure()
+		this.tracker = new HierarchyTracker();
+		this.results = new ArrayList<HierarchyResult>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public boolean manageLifecycleManually()
+	{
+		return false;
+	}
+
+	public void execute( RTIambassador rtiamb, FederateAmbassador fedamb ) throws RTIexception
+	{
+		this.rtiamb = rtiamb;
+		this.fedamb = fedamb;
+
+		List<InteractionClassHandle> leaves = getHandles( hierarchy.getDepth() );
+		if( configuration.isSender() )
+		{
+			for( InteractionClassHandle leaf : leaves )
+				rtiamb.publishInteractionClass( leaf );
+		}
+		else
+		{
+			fedamb.hierarchyTracker = tracker;
+		}
+
+		logger.info( "Waiting for all federates to be ready to start" );
+		rtiamb.synchronizationPointAchieved( "START_HIERARCHY_TEST" );
+		while( fedamb.achievedSyncPoints.contains("START_HIERARCHY_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+		for( int level = 0; level <= hierarchy.getDepth(); level++ )
+		{
+			if( configuration.isSender() )
+				send( level, leaves );
+			else
+				receive( level );
+		}
+
+		// Wait for everyone to finish up
+		rtiamb.synchronizationPointAchieved( "FINISH_HIERARCHY_TEST" );
+		while( fedamb.achievedSyncPoints.contains("FINISH_HIERARCHY_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 100 );
+
+		fedamb.hierarchyTracker = null;
+		logger.info( "Hierarchy Test Finished" );
+		logger.info( "" );
+
+		if( configuration.isSender() == false )
+			new HierarchyReportGenerator(configuration,hierarchy,results).printReport();
+	}
+
+	/**
+	 * Send the interactions for one level, cycling through all the leaf classes
+	 */
+	private void send( int level, List<InteractionClassHandle> leaves ) throws RTIexception
+	{
+		// wait for the receivers to subscribe at this level
+		Utils.synchronize( rtiamb, fedamb, configuration, LEVEL_POINT+level, configuration.isSender() );
+
+		// parameters are declared on the root, so the handles are the same for every class
+		InteractionClassHandle root = getHandles(0).get( 0 );
+		ParameterHandle senderHandle = rtiamb.getParameterHandle( root, "sender" );
+		ParameterHandle payloadHandle = rtiamb.getParameterHandle( root, "payload" );
+		ParameterHandleValueMap parameters = rtiamb.getParameterHandleValueMapFactory().create( 2 );
+		parameters.put( senderHandle, configuration.getFederateName().getBytes() );
+		parameters.put( payloadHandle, Utils.generatePayload(configuration.getPacketSize()) );
+
+		long started = System.nanoTime();
+		long sent = 0;
+		for( int loop = 0; loop < configuration.getLoopCount(); loop++ )
+		{
+			for( int i = 0; i < configuration.getInteractionCount(); i++ )
+			{
+				rtiamb.sendInteraction( leaves.get((int)(sent % leaves.size())), parameters, null );
+				sent++;
+			}
+
+			if( configuration.isEvokedCallback() )
+				rtiamb.evokeMultipleCallbacks( 0.0, configuration.getLoopWait()/1000.0 );
+		}
+
+		double seconds = (System.nanoTime()-started) / 1000000000.0;
+		logger.info( String.format("Level %d: sent %d interactions (%.0f/s)", level, sent, sent/seconds) );
+
+		Utils.synchronize( rtiamb, fedamb, configuration, LEVEL_POINT+level+"_DONE", configuration.isSender() );
+	}
+
+	/**
+	 * Subscribe to every class at the given level and count what arrives while the sender
+	 * does its thing
+	 */
+	private void receive( int level ) throws RTIexception
+	{
+		List<InteractionClassHandle> classes = getHandles( level );
+		for( InteractionClassHandle handle : classes )
+			rtiamb.subscribeInteractionClass( handle );
+
+		HierarchyResult result = new HierarchyResult( level, classes.size(), hierarchy.getDepth()-level );
+		tracker.startLevel( new HashSet<InteractionClassHandle>(classes) );
+		Utils.synchronize( rtiamb, fedamb, configuration, LEVEL_POINT+level, configuration.isSender() );
+
+		long cpuBefore = Utils.getProcessCpuTime();
+		long started = System.nanoTime();
+
+		// the sender is off and running, wait for them to finish and the traffic to dry up
+		Utils.synchronize( rtiamb, fedamb, configuration, LEVEL_POINT+level+"_DONE", configuration.isSender() );
+		ICounter received = new ICounter()
+		{
+			public long getCount()
+			{
+				return tracker.getReceived();
+			}
+		};
+		long lastArrival = Utils.waitForQuiet( rtiamb, configuration, received );
+		long cpuAfter = Utils.getProcessCpuTime();
+
+		for( InteractionClassHandle handle : classes )
+			rtiamb.unsubscribeInteractionClass( handle );
+
+		result.setSent( (long)configuration.getLoopCount() * configuration.getInteractionCount() );
+		result.setReceived( tracker.getReceived() );
+		result.setUnexpected( tracker.getUnexpected() );
+		result.setDuration( lastArrival-started );
+		if( cpuBefore >= 0 && cpuAfter >= 0 )
+			result.setCpuTime( cpuAfter-cpuBefore );
+
+		results.add( result );
+		logger.info( String.format("Level %d: received %d of %d (%.0f/s)",
+		                           level,
+		                           result.getReceived(),
+		                           result.getSent(),
+		                           result.getReceivedPerSecond()) );
+	}
+
+	private List<InteractionClassHandle> getHandles( int level ) throws RTIexception
+	{
+		List<InteractionClassHandle> handles = new ArrayList<InteractionClassHandle>();
+		for( String name : hierarchy.getClassNames(level) )
+			handles.add( rtiamb.getInteractionClassHandle(name) );
+
+		return handles;
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// IDriver Methods /////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public void configure( Configuration configuration, Storage storage )
+	{
+		this.configuration = configuration;
+		this.storage = storage;
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.hierarchy = new InteractionHierarchy( configuration.getFomDepth(),
+		                                           configuration.getFomBreadth() );
+	}
+
+	@Override
+	public void printWelcomeMessage()
+	{
+		logger.info( " ==================================" );
+		logger.info( " =     Running Hierarchy Test     =" );
+		logger.info( " ==================================" );
+		logger.info( "" );
+		logger.info( "            Role = "+(configuration.isSender() ? "SENDER":"RECEIVER") );
+		logger.info( "           Depth = "+hierarchy.getDepth() );
+		logger.info( "         Breadth = "+hierarchy.getBreadth() );
+		logger.info( "         Classes = "+hierarchy.getClassCount() );
+		logger.info( "           Loops = "+configuration.getLoopCount() );
+		logger.info( "    Interactions = "+configuration.getInteractionCount()+" (per loop)" );
+		logger.info( "    Message Size = "+Utils.getSizeString(configuration.getPacketSize()) );
+		logger.info( "" );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public String getName()
+	{
+		return "Hierarchy Test";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,107 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.fom;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints the receive rate and CPU cost per interaction for each level of the hierarchy we
+ * subscribed at, showing what promoting leaf interactions up the tree costs.
+ */
+public class HierarchyReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private InteractionHierarchy hierarchy;
+	private List<HierarchyResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public HierarchyReportGenerator( Configuration configuration,
+	                                 InteractionHierarchy hierarchy,
+	                                 List<HierarchyResult> results )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.hierarchy = hierarchy;
+		this.results = results;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public void printReport()
+	{
+		logger.info( " =================================" );
+		logger.info( " =     Hierarchy Test Report     =" );
+		logger.info( " =================================" );
+		logger.info( "" );
+		logger.info( "   Depth:        "+hierarchy.getDepth()+" (below the root)" );
+		logger.info( "   Breadth:      "+hierarchy.getBreadth() );
+		logger.info( "   Classes:      "+hierarchy.getClassCount()+" ("+hierarchy.getLeafClassNames().size()+" leaves)" );
+		logger.info( "   Message Size: "+Utils.getSizeString(configuration.getPacketSize()) );
+		logger.info( "" );
+		logger.info( "  |--------------------------------------------------------------------------------------|" );
+		logger.info( "  | Level | Classes | Promoted | Sent      | Received  | Unexpected | Recv/s   | CPU/msg |" );
+		logger.info( "  |-------|---------|----------|-----------|-----------|------------|----------|---------|" );
+	  //logger.info( "  |     3 |      27 |        0 |    100000 |    100000 |          0 |   123456 |  1234us |" );
+
+		for( HierarchyResult result : results )
+		{
+			long cpu = result.getCpuPerMessage();
+			String line = String.format( "  | %5d | %7d | %8d | %9d | %9d | %10d | %8d | %7s |",
+			                             result.getLevel(),
+			                             result.getClasses(),
+			                             result.getPromotion(),
+			                             result.getSent(),
+			                             result.getReceived(),
+			                             result.getUnexpected(),
+			                             (long)result.getReceivedPerSecond(),
+			                             cpu < 0 ? "n/a" : Utils.getLatencyString(cpu) );
+			logger.info( line );
+		}
+
+		logger.info( "  |--------------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: Level 0 is the root class. Promoted is how many levels each leaf" );
+		logger.info( "              interaction was moved up to match our subscription." );
+		logger.info( "     ** Note: CPU/msg is process CPU time over interactions received." );
+		logger.info( "" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,141 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.fom;
+
+/**
+ * What a receiver saw while subscribed to every class at one level of the hierarchy.
+ */
+public class HierarchyResult
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int level;           // level we subscribed at, 0 is the root
+	private int classes;         // number of classes we subscribed to
+	private int promotion;       // levels each interaction was promoted up by to reach us
+	private long sent;           // interactions the sender sent
+	private long received;       // interactions that arrived as a class we subscribed to
+	private long unexpected;     // interactions that arrived as anything else
+	private long duration;       // nanos from the start of the run until the last arrival
+	private long cpuTime;        // process CPU nanos over the run, -1 if unavailable
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public HierarchyResult( int level, int classes, int promotion )
+	{
+		this.level = level;
+		this.classes = classes;
+		this.promotion = promotion;
+		this.sent = 0;
+		this.received = 0;
+		this.unexpected = 0;
+		this.duration = 0;
+		this.cpuTime = -1;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/** @return Interactions received per second */
+	public double getReceivedPerSecond()
+	{
+		if( duration <= 0 )
+			return 0.0;
+		else
+			return received / (duration/1000000000.0);
+	}
+
+	/** @return Process CPU nanos for each interaction received, or -1 if we don't know */
+	public long getCpuPerMessage()
+	{
+		if( cpuTime < 0 || received == 0 )
+			return -1;
+		else
+			return cpuTime / received;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public int getLevel()
+	{
+		return this.level;
+	}
+
+	public int getClasses()
+	{
+		return this.classes;
+	}
+
+	public int getPromotion()
+	{
+		return this.promotion;
+	}
+
+	public long getSent()
+	{
+		return this.sent;
+	}
+
+	public void setSent( long sent )
+	{
+		this.sent = sent;
+	}
+
+	public long getReceived()
+	{
+		return this.received;
+	}
+
+	public void setReceived( long received )
+	{
+		this.received = received;
+	}
+
+	public long getUnexpected()
+	{
+		return this.unexpected;
+	}
+
+	public void setUnexpected( long unexpected )
+	{
+		this.unexpected = unexpected;
+	}
+
+	public void setDuration( long duration )
+	{
+		this.duration = duration;
+	}
+
+	public void setCpuTime( long cpuTime )
+	{
+		this.cpuTime = cpuTime;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
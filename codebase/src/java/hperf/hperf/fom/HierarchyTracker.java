@@ -0,0 +1,96 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.fom;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import hla.rti1516e.InteractionClassHandle;
+
+/**
+ * Shared between the {@link HierarchyDriver} and the {@link hperf.FederateAmbassador}. The
+ * driver tells us which classes it is subscribed to at the moment, and we count the
+ * interactions that arrive promoted to one of them, and any that arrive as something else.
+ */
+public class HierarchyTracker
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Set<InteractionClassHandle> subscribed;
+	private AtomicLong received;
+	private AtomicLong unexpected;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public HierarchyTracker()
+	{
+		this.subscribed = ConcurrentHashMap.newKeySet();
+		this.received = new AtomicLong( 0 );
+		this.unexpected = new AtomicLong( 0 );
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/** We're now subscribed at a new level, reset the counts */
+	public void startLevel( Set<InteractionClassHandle> classes )
+	{
+		this.subscribed.clear();
+		this.subscribed.addAll( classes );
+		this.received.set( 0 );
+		this.unexpected.set( 0 );
+	}
+
+	/** An interaction that isn't one of the regular test classes arrived */
+	public void received( InteractionClassHandle interactionClass )
+	{
+		if( subscribed.contains(interactionClass) )
+			received.incrementAndGet();
+		else
+			unexpected.incrementAndGet();
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/** @return Interactions received as one of the classes we're subscribed to this level */
+	public long getReceived()
+	{
+		return this.received.get();
+	}
+
+	/** @return Interactions received as a class we aren't subscribed to this level */
+	public long getUnexpected()
+	{
+		return this.unexpected.get();
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
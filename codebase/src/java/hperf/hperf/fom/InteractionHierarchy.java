@@ -0,0 +1,169 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.fom;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A generated tree of interaction classes hanging off a single root class under
+ * HLAinteractionRoot. The root declares the `sender` and `payload` parameters and every class
+ * below it just inherits them. Each class has `breadth` children, down to `depth` levels below
+ * the root, so the leaves are the only classes anyone should send.
+ *
+ * Classes are named for their level and position among their siblings, for example
+ * `HLAinteractionRoot.DepthTest.L1C0.L2C2`. Level 0 is the root itself.
+ */
+public class InteractionHierarchy
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	public static final String ROOT_NAME = "DepthTest";
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int depth;
+	private int breadth;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public InteractionHierarchy( int depth, int breadth )
+	{
+		this.depth = depth;
+		this.breadth = breadth;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * @return The fully qualified names of every class at the given level, 0 being the root
+	 */
+	public List<String> getClassNames( int level )
+	{
+		List<String> names = new ArrayList<String>();
+		names.add( "HLAinteractionRoot."+ROOT_NAME );
+		for( int current = 1; current <= level; current++ )
+		{
+			List<String> children = new ArrayList<String>();
+			for( String parent : names )
+			{
+				for( int child = 0; child < breadth; child++ )
+					children.add( parent+"."+getLocalName(current,child) );
+			}
+
+			names = children;
+		}
+
+		return names;
+	}
+
+	public List<String> getLeafClassNames()
+	{
+		return getClassNames( depth );
+	}
+
+	/** @return The total number of classes in the tree, including the root */
+	public int getClassCount()
+	{
+		int total = 0;
+		int atLevel = 1;
+		for( int level = 0; level <= depth; level++ )
+		{
+			total += atLevel;
+			atLevel *= breadth;
+		}
+
+		return total;
+	}
+
+	/**
+	 * Append the root class, and everything below it, as `interactionClass` elements
+	 */
+	public void appendXml( StringBuilder builder, String indent )
+	{
+		builder.append( indent ).append( "<!-- class: " ).append( ROOT_NAME )
+		       .append( " (generated, depth=" ).append( depth )
+		       .append( ", breadth=" ).append( breadth ).append( ") -->\n" );
+		builder.append( indent ).append( "<interactionClass>\n" );
+		builder.append( indent ).append( "\t<name>" ).append( ROOT_NAME ).append( "</name>\n" );
+		appendClassDetails( builder, indent+"\t" );
+		builder.append( indent ).append( "\t<parameter>\n" );
+		builder.append( indent ).append( "\t\t<name>sender</name>\n" );
+		builder.append( indent ).append( "\t\t<dataType>HLAASCIIstring</dataType>\n" );
+		builder.append( indent ).append( "\t\t<semantics>Name of the sending federate.</semantics>\n" );
+		builder.append( indent ).append( "\t</parameter>\n" );
+		builder.append( indent ).append( "\t<parameter>\n" );
+		builder.append( indent ).append( "\t\t<name>payload</name>\n" );
+		builder.append( indent ).append( "\t\t<dataType>HLAopaqueData</dataType>\n" );
+		builder.append( indent ).append( "\t\t<semantics>Arbitrary data to bulk up packet.</semantics>\n" );
+		builder.append( indent ).append( "\t</parameter>\n" );
+		appendChildren( builder, indent+"\t", 1 );
+		builder.append( indent ).append( "</interactionClass>\n" );
+	}
+
+	private void appendChildren( StringBuilder builder, String indent, int level )
+	{
+		if( level > depth )
+			return;
+
+		for( int child = 0; child < breadth; child++ )
+		{
+			builder.append( indent ).append( "<interactionClass>\n" );
+			builder.append( indent ).append( "\t<name>" ).append( getLocalName(level,child) ).append( "</name>\n" );
+			appendClassDetails( builder, indent+"\t" );
+			appendChildren( builder, indent+"\t", level+1 );
+			builder.append( indent ).append( "</interactionClass>\n" );
+		}
+	}
+
+	private void appendClassDetails( StringBuilder builder, String indent )
+	{
+		builder.append( indent ).append( "<sharing>PublishSubscribe</sharing>\n" );
+		builder.append( indent ).append( "<transportation>HLAreliable</transportation>\n" );
+		builder.append( indent ).append( "<order>Receive</order>\n" );
+	}
+
+	private String getLocalName( int level, int child )
+	{
+		return "L"+level+"C"+child;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public int getDepth()
+	{
+		return this.depth;
+	}
+
+	public int getBreadth()
+	{
+		return this.breadth;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
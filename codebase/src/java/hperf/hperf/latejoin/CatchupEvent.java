@@ -0,0 +1,171 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.latejoin;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import hla.rti1516e.ObjectInstanceHandle;
+import hperf.LatencySamples;
+
+/**
+ * Records what happened during a single late join. All timestamps are taken from
+ * `System.nanoTime()`. Discovery and first reflect information is written by the callback
+ * thread via the {@link hperf.FederateAmbassador}, while the driver polls the counts to see
+ * when we have caught up.
+ */
+public class CatchupEvent
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int round;
+	private int expectedObjects;
+
+	private long joinStarted;
+	private long joinFinished;
+	private long subscribed;
+	private volatile long lastDiscover;
+	private volatile long lastReflect;
+
+	private Map<ObjectInstanceHandle,Long> discovered;
+	private volatile int reflectCount;
+	private LatencySamples reflectLatencies; // discover -> first reflect for each object
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public CatchupEvent( int round, int expectedObjects )
+	{
+		this.round = round;
+		this.expectedObjects = expectedObjects;
+
+		this.joinStarted = 0;
+		this.joinFinished = 0;
+		this.subscribed = 0;
+		this.lastDiscover = 0;
+		this.lastReflect = 0;
+
+		this.discovered = new ConcurrentHashMap<ObjectInstanceHandle,Long>( expectedObjects*2 );
+		this.reflectCount = 0;
+		this.reflectLatencies = new LatencySamples( expectedObjects );
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void recordDiscover( ObjectInstanceHandle objectHandle, long timestamp )
+	{
+		this.discovered.put( objectHandle, timestamp );
+		this.lastDiscover = timestamp;
+	}
+
+	/**
+	 * Record the first fresh reflection we've received for an object since joining. Objects we
+	 * have no discovery record for are ignored.
+	 */
+	public void recordReflect( ObjectInstanceHandle objectHandle, long timestamp )
+	{
+		Long discoveredAt = this.discovered.get( objectHandle );
+		if( discoveredAt == null )
+			return;
+
+		this.reflectLatencies.add( timestamp - discoveredAt );
+		this.lastReflect = timestamp;
+		this.reflectCount++; // single writer - the callback thread
+	}
+
+	/** @return true if we have discovered and received a fresh reflect for all expected objects */
+	public boolean hasCaughtUp()
+	{
+		return getDiscoverCount() >= expectedObjects && reflectCount >= expectedObjects;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public int getRound()
+	{
+		return this.round;
+	}
+
+	public int getExpectedObjects()
+	{
+		return this.expectedObjects;
+	}
+
+	public int getDiscoverCount()
+	{
+		return this.discovered.size();
+	}
+
+	public int getReflectCount()
+	{
+		return this.reflectCount;
+	}
+
+	public void setJoinStarted( long timestamp )
+	{
+		this.joinStarted = timestamp;
+	}
+
+	public void setJoinFinished( long timestamp )
+	{
+		this.joinFinished = timestamp;
+	}
+
+	public void setSubscribed( long timestamp )
+	{
+		this.subscribed = timestamp;
+	}
+
+	/** Time (nanos) from starting to connect until we had joined the federation */
+	public long getJoinTime()
+	{
+		return this.joinFinished - this.joinStarted;
+	}
+
+	/** Time (nanos) from subscribing to the test objects until the last one was discovered */
+	public long getDiscoverTime()
+	{
+		return this.lastDiscover == 0 ? 0 : this.lastDiscover - this.subscribed;
+	}
+
+	/** Time (nanos) from subscribing to the test objects until all had a fresh reflect */
+	public long getReflectTime()
+	{
+		return this.lastReflect == 0 ? 0 : this.lastReflect - this.subscribed;
+	}
+
+	/** Time (nanos) from each object being discovered to its first fresh reflect */
+	public LatencySamples getReflectLatencies()
+	{
+		return this.reflectLatencies;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,365 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.latejoin;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hla.rti1516e.AttributeHandleSet;
+import hla.rti1516e.AttributeHandleValueMap;
+import hla.rti1516e.ObjectInstanceHandle;
+import hla.rti1516e.RTIambassador;
+import hla.rti1516e.ResignAction;
+import hla.rti1516e.exceptions.FederatesCurrentlyJoined;
+import hla.rti1516e.exceptions.FederationExecutionDoesNotExist;
+import hla.rti1516e.exceptions.RTIexception;
+import hperf.FederateAmbassador;
+import hperf.IDriver;
+import hperf.Storage;
+import hperf.TestFederate;
+import hperf.TestRunner;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+import static hperf.Handles.*;
+
+/**
+ * Measures how long it takes a federate that joins mid-exercise to catch up with the
+ * existing state of the federation.
+ *
+ * The test has two roles:
+ *
+ *   - Established federates (everyone except the sender) join up front, register their
+ *     `TestObject`s and then continuously update them until told to finish.
+ *   - The late joiner (the `--sender`) repeatedly joins, times how long it takes to discover
+ *     every object and receive a fresh reflection for each, and then resigns again.
+ *
+ * Each round, the established federates register another `--objects` objects, so the number
+ * of objects the late joiner must catch up on grows with each round. The late joiner should
+ * list the established federates as its peers. The established federates should only list
+ * each other (the late joiner isn't around long enough to be waited for).
+ */
+public class LateJoinDriver implements IDriver
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final String ROUND_POINT  = "LATE_JOIN_ROUND_";
+	private static final String FINISH_POINT = "FINISH_LATE_JOIN_TEST";
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private Storage storage;
+	private RTIambassador rtiamb;
+	private FederateAmbassador fedamb;
+	private Storage roundStorage; // fresh for each round of the late joiner
+
+	// established federate state
+	private List<ObjectInstanceHandle> myObjects;
+	private byte[] payload;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public LateJoinDriver()
+	{
+		this.logger = null;         // set in configure()
+		this.configuration = null;  // set in configure()
+		this.storage = null;        // set in configure()
+		this.rtiamb = null;         // set in execute()
+		this.fedamb = null;         // set in execute()
+		this.roundStorage = null;   // set in createAndJoinFederation()
+
+		this.myObjects = new ArrayList<ObjectInstanceHandle>();
+		this.payload = null;        // set in execute()
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * The late joiner comes and goes each round, so it looks after its own lifecycle. The
+	 * established federates are happy to have the runner set them up.
+	 */
+	public boolean manageLifecycleManually()
+	{
+		return configuration.isSender();
+	}
+
+	public void execute( RTIambassador rtiamb, FederateAmbassador fedamb ) throws RTIexception
+	{
+		this.rtiamb = rtiamb;
+		this.fedamb = fedamb;
+		this.payload = Utils.generatePayload( configuration.getPacketSize() );
+
+		if( configuration.isSender() )
+			executeLateJoiner();
+		else
+			executeEstablished();
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////////// Established Federate //////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Keep updating all our objects until the late joiner tells us it is done. Each time the
+	 * late joiner finishes a round it registers a sync point. When we see it, we register the
+	 * next batch of objects before achieving it so that they're in place for the next join.
+	 */
+	private void executeEstablished() throws RTIexception
+	{
+		logger.info( "Waiting for the late joiner to turn up" );
+
+		int round = 0;
+		while( fedamb.announcedSyncPoints.contains(FINISH_POINT) == false )
+		{
+			// has the late joiner finished with the current round?
+			String roundPoint = ROUND_POINT+round;
+			if( fedamb.announcedSyncPoints.contains(roundPoint) )
+			{
+				registerObjects();
+				rtiamb.synchronizationPointAchieved( roundPoint );
+				logger.info( "Late joiner finished round "+round+", now updating "+
+				             myObjects.size()+" objects" );
+				round++;
+			}
+
+			// keep the objects fresh
+			updateObjects();
+			Utils.tickOrSleep( rtiamb, configuration, configuration.getLoopWait() );
+		}
+
+		rtiamb.synchronizationPointAchieved( FINISH_POINT );
+		while( fedamb.achievedSyncPoints.contains(FINISH_POINT) == false )
+			Utils.tickOrSleep( rtiamb, configuration, 100 );
+
+		logger.info( "Late Joiner Test Finished" );
+		logger.info( "Report has been generated by late joiner federate" );
+	}
+
+	/**
+	 * Register another batch of test objects, sending an initial update for each so our
+	 * peers can associate it with us.
+	 */
+	private void registerObjects() throws RTIexception
+	{
+		int objectCount = configuration.getObjectCount();
+		logger.info( "Registering ["+objectCount+"] test objects" );
+
+		AttributeHandleValueMap values = rtiamb.getAttributeHandleValueMapFactory().create( 1 );
+		values.put( AC_CREATOR, configuration.getFederateName().getBytes() );
+		for( int i = 0; i < objectCount; i++ )
+		{
+			ObjectInstanceHandle objectHandle = rtiamb.registerObjectInstance( OC_TEST_OBJECT );
+			rtiamb.updateAttributeValues( objectHandle, values, null );
+			myObjects.add( objectHandle );
+		}
+	}
+
+	/**
+	 * Send an update for every object we own. The creator is included with each update so a
+	 * late joiner can associate the object with us from whichever update it sees first.
+	 */
+	private void updateObjects() throws RTIexception
+	{
+		AttributeHandleValueMap values = rtiamb.getAttributeHandleValueMapFactory().create( 2 );
+		values.put( AC_CREATOR, configuration.getFederateName().getBytes() );
+		values.put( AC_PAYLOAD, payload );
+		for( ObjectInstanceHandle objectHandle : myObjects )
+			rtiamb.updateAttributeValues( objectHandle, values, null );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////////// Late Joiner ////////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Join and resign once per round. Round 0 is a warm-up that just lets the established
+	 * federates register their first batch of objects. Each subsequent round expects another
+	 * `--objects` objects from each established federate.
+	 */
+	private void executeLateJoiner() throws RTIexception
+	{
+		printWelcomeMessage();
+
+		int establishedCount = configuration.getPeers().size();
+		for( int round = 0; round <= configuration.getLoopCount(); round++ )
+		{
+			int expected = round * configuration.getObjectCount() * establishedCount;
+			CatchupEvent event = new CatchupEvent( round, expected );
+
+			// come in from the cold
+			event.setJoinStarted( System.nanoTime() );
+			createAndJoinFederation();
+			event.setJoinFinished( System.nanoTime() );
+
+			// find everyone and then subscribe to the objects, timing how long it takes
+			// until we are fully up to date
+			TestRunner.waitForPeers( rtiamb, configuration, roundStorage, logger );
+			if( round > 0 )
+			{
+				fedamb.currentCatchupEvent = event;
+				event.setSubscribed( System.nanoTime() );
+				subscribeTestObjects();
+				waitForCatchup( event );
+				fedamb.currentCatchupEvent = null;
+
+				storage.addCatchupEvent( event );
+				logger.info( String.format("Round %d caught up on %d objects: discover=%s, reflect=%s",
+				                           round,
+				                           expected,
+				                           Utils.getLatencyString(event.getDiscoverTime()).trim(),
+				                           Utils.getLatencyString(event.getReflectTime()).trim()) );
+			}
+
+			// let the established federates know we're done for this round
+			String point = round < configuration.getLoopCount() ? ROUND_POINT+round : FINISH_POINT;
+			Utils.synchronize( rtiamb, fedamb, configuration, point, true );
+			resignAndDisconnect();
+		}
+
+		logger.info( "Late Joiner Test Finished" );
+		logger.info( "" );
+
+		new LateJoinReportGenerator(configuration,storage).printReport();
+	}
+
+	private void waitForCatchup( CatchupEvent event ) throws RTIexception
+	{
+		long nextScheduledReport = System.currentTimeMillis() + 5000;
+		while( event.hasCaughtUp() == false )
+		{
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+			if( System.currentTimeMillis() > nextScheduledReport )
+			{
+				logger.info( "  ... discovered "+event.getDiscoverCount()+", reflected "+
+				             event.getReflectCount()+" of "+event.getExpectedObjects() );
+				nextScheduledReport = System.currentTimeMillis() + 5000;
+			}
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////// Late Joiner Lifecycle Methods /////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	private void createAndJoinFederation() throws RTIexception
+	{
+		// Start each round with a clean slate so nothing from the last join is remembered
+		this.roundStorage = new Storage();
+		this.roundStorage.setLocalFederate( new TestFederate(configuration.getFederateName(),true) );
+		this.fedamb = new FederateAmbassador( configuration, roundStorage );
+
+		// Connect and join the same way the runner does for everyone else
+		this.rtiamb = TestRunner.createAndJoinFederation( configuration, fedamb, logger );
+
+		// Cache the handles and subscribe to the federate objects so we can find our peers.
+		// We hold off subscribing to the test objects until we're ready to start the clock.
+		OC_TEST_FEDERATE = rtiamb.getObjectClassHandle( "TestFederate" );
+		AC_FEDERATE_NAME = rtiamb.getAttributeHandle( OC_TEST_FEDERATE, "federateName" );
+		OC_TEST_OBJECT   = rtiamb.getObjectClassHandle( "TestObject" );
+		AC_CREATOR       = rtiamb.getAttributeHandle( OC_TEST_OBJECT, "creator" );
+		AC_PAYLOAD       = rtiamb.getAttributeHandle( OC_TEST_OBJECT, "payload" );
+
+		AttributeHandleSet attributes = rtiamb.getAttributeHandleSetFactory().create();
+		attributes.add( AC_FEDERATE_NAME );
+		rtiamb.subscribeObjectClassAttributes( OC_TEST_FEDERATE, attributes );
+	}
+
+	private void subscribeTestObjects() throws RTIexception
+	{
+		AttributeHandleSet attributes = rtiamb.getAttributeHandleSetFactory().create();
+		attributes.add( AC_CREATOR );
+		attributes.add( AC_PAYLOAD );
+		rtiamb.subscribeObjectClassAttributes( OC_TEST_OBJECT, attributes );
+	}
+
+	private void resignAndDisconnect() throws RTIexception
+	{
+		rtiamb.resignFederationExecution( ResignAction.DELETE_OBJECTS );
+
+		// the established federates will be there, but clean up after ourselves just in case
+		try
+		{
+			rtiamb.destroyFederationExecution( configuration.getFederationName() );
+		}
+		catch( FederationExecutionDoesNotExist dne )
+		{
+			logger.debug( "No need to destroy federation, it doesn't exist" );
+		}
+		catch( FederatesCurrentlyJoined fcj )
+		{
+			logger.debug( "Didn't destroy federation, federates still joined" );
+		}
+
+		rtiamb.disconnect();
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// IDriver Methods /////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public void configure( Configuration configuration, Storage storage )
+	{
+		this.configuration = configuration;
+		this.storage = storage;
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+	}
+
+	@Override
+	public void printWelcomeMessage()
+	{
+		int established = configuration.isSender() ? configuration.getPeers().size() :
+		                                             configuration.getPeers().size()+1;
+
+		logger.info( " ===================================" );
+		logger.info( " =     Running Late Joiner Test    =" );
+		logger.info( " ===================================" );
+		logger.info( "" );
+		logger.info( "              Role = "+(configuration.isSender() ? "LATE JOINER":"ESTABLISHED") );
+		logger.info( "            Rounds = "+configuration.getLoopCount() );
+		logger.info( " Objects Per Round = "+configuration.getObjectCount()+" (per established federate)" );
+		logger.info( "  Established Feds = "+established );
+		logger.info( "     Final Objects = "+Utils.getFormatted(configuration.getObjectCount()*
+		                                                          configuration.getLoopCount()*
+		                                                          established) );
+		logger.info( "      Message Size = "+Utils.getSizeString(configuration.getPacketSize()) );
+		logger.info( "" );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public String getName()
+	{
+		return "Late Joiner Test";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
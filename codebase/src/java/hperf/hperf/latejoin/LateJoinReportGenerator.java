@@ -0,0 +1,105 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.latejoin;
+
+import org.apache.log4j.Logger;
+
+import hperf.LatencySamples;
+import hperf.Storage;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints a table showing how long the late joiner took to catch up in each round, and so
+ * how catch-up time grows as the number of objects in the federation increases.
+ */
+public class LateJoinReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private Storage storage;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public LateJoinReportGenerator( Configuration configuration, Storage storage )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.storage = storage;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public void printReport()
+	{
+		logger.info( " ===================================" );
+		logger.info( " =     Late Joiner Test Report     =" );
+		logger.info( " ===================================" );
+		logger.info( "" );
+		logger.info( "   Established Federates: "+configuration.getPeers().size() );
+		logger.info( "   Objects Per Round:     "+configuration.getObjectCount()+" (per federate)" );
+		logger.info( "" );
+		logger.info( "  |---------------------------------------------------------------------------------------------|" );
+		logger.info( "  |       |         |        |  -- Catch-up Time --  |  -- Discover to Reflect --  |            |" );
+		logger.info( "  | Round | Objects |  Join  | Discover  |  Reflect  |  Mean   |   Med   |   95%   | Discover/s |" );
+		logger.info( "  |-------|---------|--------|-----------|-----------|---------|---------|---------|------------|" );
+	  //logger.info( "  |    10 |  100000 | 1234ms |     12.3s |     12.3s |  1234us |  1234us |  1234us |    1234567 |" );
+
+		for( CatchupEvent event : storage.getCatchupEvents() )
+		{
+			LatencySamples latencies = event.getReflectLatencies();
+			double discoverSeconds = event.getDiscoverTime() / 1000000000.0;
+			int discoverRate = discoverSeconds == 0 ? 0 : (int)(event.getDiscoverCount()/discoverSeconds);
+
+			String line = String.format( "  | %5d | %7d | %6s | %9s | %9s | %7s | %7s | %7s | %10d |",
+			                             event.getRound(),
+			                             event.getExpectedObjects(),
+			                             Utils.getLatencyString(event.getJoinTime()),
+			                             Utils.getLatencyString(event.getDiscoverTime()),
+			                             Utils.getLatencyString(event.getReflectTime()),
+			                             Utils.getLatencyString(latencies.getMean()),
+			                             Utils.getLatencyString(latencies.getMedian()),
+			                             Utils.getLatencyString(latencies.getPercentile(95.0)),
+			                             discoverRate );
+			logger.info( line );
+		}
+
+		logger.info( "  |---------------------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: Catch-up times are measured from the moment we subscribe to the" );
+		logger.info( "              test objects until the last discovery / first fresh reflect." );
+		logger.info( "" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
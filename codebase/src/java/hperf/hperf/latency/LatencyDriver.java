@@ -25,11 +25,18 @@ import org.apache.log4j.Logger;
 import hla.rti1516e.ParameterHandleValueMap;
 import hla.rti1516e.RTIambassador;
 import hla.rti1516e.exceptions.RTIexception;
+import hla.rti1516e.time.HLAfloat64TimeFactory;
 import hperf.FederateAmbassador;
 import hperf.IDriver;
 import hperf.Storage;
 import hperf.Utils;
+import hperf.compress.CompressionReportGenerator;
+import hperf.compress.PayloadCompressor;
 import hperf.config.Configuration;
+import hperf.crypto.CryptoReportGenerator;
+import hperf.crypto.PayloadCipher;
+import hperf.entity.EncodingReportGenerator;
+import hperf.entity.EntityStateCodec;
 import hperf.config.LoggingConfigurator;
 
 import static hperf.Handles.*;
@@ -51,6 +58,10 @@ public class LatencyDriver implements IDriver
 	
 	// execution parameters
 	private byte[] payload;
+	private EntityStateCodec entityCodec;      // null if sending the raw payload
+	private PayloadCompressor compressor;      // null if payloads are sent as-is
+	private PayloadCipher cipher;              // null if payloads are sent in the clear
+	private HLAfloat64TimeFactory timeFactory; // only when timestamp ordered
 
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
@@ -81,15 +92,27 @@ public class LatencyDriver implements IDriver
 		this.fedamb = fedamb;
 		
 		// execution parameters
-		this.payload = Utils.generatePayload( configuration.getPacketSize() );
+		this.payload = configuration.getPayloadContent().generate( configuration.getPacketSize(), 0 );
+		this.entityCodec = fedamb.entityCodec;
+		this.compressor = fedamb.compressor;
+		this.cipher = fedamb.cipher;
+
+		// If we're sending TSO, turn on the time policy
+		if( configuration.isTimestampOrder() )
+			this.enableTimePolicy();
 
 		// Confirm that everyone is ready to proceed
 		this.waitForStart();
 		
 		// Loop
+		long cpuBefore = Utils.getProcessCpuTime();
 		for( int i = 0; i < configuration.getLoopCount(); i++ )
 		{
-			if( configuration.isSender() )
+			if( configuration.isTimestampOrder() && configuration.isSender() )
+				sendTimedInteractionAndWait( i );
+			else if( configuration.isTimestampOrder() )
+				respondToTimedInteractions( i );
+			else if( configuration.isSender() )
 				sendInteractionAndWait( i );
 			else
 				respondToInteractions( i );
@@ -99,6 +122,12 @@ public class LatencyDriver implements IDriver
 				logger.info( "Finished loop ["+(i+1)+"]" );
 		}
 
+		long cpuAfter = Utils.getProcessCpuTime();
+
+		// Step out of time management so no-one is left waiting on our grants
+		if( configuration.isTimestampOrder() )
+			this.disableTimePolicy();
+
 		// Confirm that everyone is ready to complete
 		this.waitForFinish();
 
@@ -107,7 +136,15 @@ public class LatencyDriver implements IDriver
 		
 		// Print the report - but only if we were the sender
 		if( configuration.isSender() )
+		{
 			new LatencyReportGenerator(configuration,storage).printReport();
+			if( compressor != null )
+				new CompressionReportGenerator(configuration,compressor).printReport( 0 );
+			if( cipher != null )
+				new CryptoReportGenerator(configuration,cipher).printReport( 0, cpuAfter-cpuBefore );
+			if( entityCodec != null )
+				new EncodingReportGenerator(configuration,entityCodec).printReport( cpuAfter-cpuBefore );
+		}
 		else
 			logger.info( "Report has been generated by sender federate" );
 	}
@@ -119,7 +156,19 @@ public class LatencyDriver implements IDriver
 		logger.info( " ================================" );
 		String sizeString = Utils.getSizeString( configuration.getPacketSize() );
 		logger.info( "Minimum message size="+sizeString );
+		logger.info( "Payload content: "+configuration.getPayloadContent().getLabel() );
+		if( configuration.isCompressionEnabled() )
+			logger.info( "Compression: Deflate level "+configuration.getCompressLevel() );
+		if( configuration.isEncryptionEnabled() )
+			logger.info( "Encryption: AES-128-GCM" );
+		if( configuration.isEntityPayloadEnabled() )
+			logger.info( "Entity payload: "+configuration.getArticulatedParts()+" articulated parts" );
 		logger.info( "Sender/Receiver: "+(configuration.isSender() ? "SENDER":"RECIEVER") );	
+		if( configuration.isTimestampOrder() )
+		{
+			logger.info( "Timestamp ordered: lookahead="+configuration.getLookahead()+
+			             ", step="+configuration.getTimeStep() );
+		}
 	}
 
 	public String getName()
@@ -139,11 +188,10 @@ public class LatencyDriver implements IDriver
 		ParameterHandleValueMap parameters = rtiamb.getParameterHandleValueMapFactory().create( 3 );
 		parameters.put( PC_PING_SERIAL, Utils.intToBytes(serial) );
 		parameters.put( PC_PING_SENDER, configuration.getFederateName().getBytes() );
-		parameters.put( PC_PING_PAYLOAD, payload );
 		
 		// setup the event and store in fedamb so we can record pings
 		int responseCount = configuration.getPeers().size();
-		LatencyEvent event = new LatencyEvent( serial, responseCount, payload.length );
+		LatencyEvent event = new LatencyEvent( serial, responseCount );
 		
 		// store the event information
 		storage.addLatencyEvent( event );
@@ -151,6 +199,9 @@ public class LatencyDriver implements IDriver
 
 		// send the interaction!
 		event.setSentTimestamp( System.nanoTime() );
+		byte[] wire = encodePayload(); // part of the send cost
+		parameters.put( PC_PING_PAYLOAD, wire );
+		event.setPayloadSize( wire.length );
 		rtiamb.sendInteraction( IC_PING, parameters, null );
 		
 		// wait until we have all the responses before we request a time advance
@@ -190,30 +241,133 @@ public class LatencyDriver implements IDriver
 		ParameterHandleValueMap parameters = rtiamb.getParameterHandleValueMapFactory().create( 3 );
 		parameters.put( PC_PING_ACK_SERIAL, Utils.intToBytes(serial) );
 		parameters.put( PC_PING_ACK_SENDER, configuration.getFederateName().getBytes() );
-		parameters.put( PC_PING_ACK_PAYLOAD, payload );
+		parameters.put( PC_PING_ACK_PAYLOAD, encodePayload() );
 		rtiamb.sendInteraction( IC_PING_ACK, parameters, null );
 	}
 
+	/**
+	 * Same as {@link #sendInteractionAndWait(int)}, except the Ping is sent TSO with a timestamp
+	 * of current time + lookahead. We then keep advancing time until all the acks have been
+	 * delivered to us, so the latency includes the wait for grants on both sides.
+	 */
+	private void sendTimedInteractionAndWait( int serial ) throws RTIexception
+	{
+		ParameterHandleValueMap parameters = rtiamb.getParameterHandleValueMapFactory().create( 3 );
+		parameters.put( PC_PING_SERIAL, Utils.intToBytes(serial) );
+		parameters.put( PC_PING_SENDER, configuration.getFederateName().getBytes() );
+
+		// setup the event and store in fedamb so we can record pings
+		int responseCount = configuration.getPeers().size();
+		LatencyEvent event = new LatencyEvent( serial, responseCount );
+		storage.addLatencyEvent( event );
+		fedamb.currentLatencyEvent = event;
+
+		// send the interaction!
+		double timestamp = fedamb.currentTime + configuration.getLookahead();
+		event.setSentTimestamp( System.nanoTime() );
+		byte[] wire = encodePayload(); // part of the send cost
+		parameters.put( PC_PING_PAYLOAD, wire );
+		event.setPayloadSize( wire.length );
+		rtiamb.sendInteraction( IC_TIMED_PING, parameters, null, timeFactory.makeTime(timestamp) );
+
+		// the acks are only delivered as we advance, so keep stepping until they're all here
+		while( event.hasReceivedAllResponses() == false )
+		{
+			advanceTime();
+			event.incrementGrantCount();
+		}
+
+		fedamb.currentLatencyEvent = null;
+	}
+
+	/**
+	 * Keep advancing time until the sender's Ping is delivered to us, then answer it with a
+	 * TSO PingAck stamped at current time + lookahead.
+	 */
+	private void respondToTimedInteractions( int serial ) throws RTIexception
+	{
+		while( fedamb.pingReceived.contains(serial) == false )
+			advanceTime();
+
+		ParameterHandleValueMap parameters = rtiamb.getParameterHandleValueMapFactory().create( 3 );
+		parameters.put( PC_PING_ACK_SERIAL, Utils.intToBytes(serial) );
+		parameters.put( PC_PING_ACK_SENDER, configuration.getFederateName().getBytes() );
+		parameters.put( PC_PING_ACK_PAYLOAD, encodePayload() );
+		double timestamp = fedamb.currentTime + configuration.getLookahead();
+		rtiamb.sendInteraction( IC_TIMED_PING_ACK, parameters, null, timeFactory.makeTime(timestamp) );
+	}
+
+	/**
+	 * @return The payload (or a freshly encoded entity state record), compressed and/or
+	 *         encrypted if we've been asked to (compressed first, encrypted data won't compress)
+	 */
+	private byte[] encodePayload()
+	{
+		byte[] encoded = entityCodec == null ? payload : entityCodec.encode();
+		if( compressor != null )
+			encoded = compressor.compress( encoded );
+		if( cipher != null )
+			encoded = cipher.encrypt( encoded );
+
+		return encoded;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////////// Time Policy Methods ///////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	private void enableTimePolicy() throws RTIexception
+	{
+		this.timeFactory = (HLAfloat64TimeFactory)rtiamb.getTimeFactory();
+
+		rtiamb.enableTimeConstrained();
+		rtiamb.enableTimeRegulation( timeFactory.makeInterval(configuration.getLookahead()) );
+		while( fedamb.timeConstrained == false || fedamb.timeRegulating == false )
+			Utils.tickOrSleep( rtiamb, configuration, configuration.getLoopWait() );
+	}
+
+	/**
+	 * Once a federate has sent its last message it stops advancing, so we have to get out of
+	 * the way of anyone still waiting for a grant that needs us to move forward.
+	 */
+	private void disableTimePolicy() throws RTIexception
+	{
+		rtiamb.disableTimeRegulation();
+		rtiamb.disableTimeConstrained();
+		fedamb.timeRegulating = false;
+		fedamb.timeConstrained = false;
+	}
+
+	/**
+	 * Request an advance of one time step and wait until it is granted
+	 */
+	private void advanceTime() throws RTIexception
+	{
+		int grantCount = fedamb.grantCount;
+		double requestedTime = fedamb.currentTime + configuration.getTimeStep();
+		rtiamb.timeAdvanceRequest( timeFactory.makeTime(requestedTime) );
+		Utils.waitForGrant( rtiamb, fedamb, configuration, grantCount );
+	}
+
 	////////////////////////////////////////////////////////////////////////////////////////////
 	//////////////////////////////////// Lifecycle Methods /////////////////////////////////////
 	////////////////////////////////////////////////////////////////////////////////////////////
 	private void waitForStart() throws RTIexception
 	{
 		while( fedamb.announcedSyncPoints.contains("START_LATENCY_TEST") == false )
-			tickOrSleep();
+			Utils.tickOrSleep( rtiamb, configuration, configuration.getLoopWait() );
 		
 		// achieve the ready-to-start sync point
 		rtiamb.synchronizationPointAchieved( "START_LATENCY_TEST" );
 		
 		// wait for everyone to do the same
 		while( fedamb.achievedSyncPoints.contains("START_LATENCY_TEST") == false )
-			tickOrSleep();
+			Utils.tickOrSleep( rtiamb, configuration, configuration.getLoopWait() );
 	}
 
 	private void waitForFinish() throws RTIexception
 	{
 		while( fedamb.announcedSyncPoints.contains("FINISH_LATENCY_TEST") == false )
-			tickOrSleep();
+			Utils.tickOrSleep( rtiamb, configuration, configuration.getLoopWait() );
 		
 		rtiamb.synchronizationPointAchieved( "FINISH_LATENCY_TEST" );
 
@@ -222,14 +376,6 @@ public class LatencyDriver implements IDriver
 			rtiamb.evokeMultipleCallbacks( 0.1, 1.0 );
 	}
 	
-	private void tickOrSleep() throws RTIexception
-	{
-		if( configuration.isImmediateCallback() )
-			Utils.sleep( configuration.getLoopWait() );
-		else
-			rtiamb.evokeMultipleCallbacks( configuration.getLoopWait(), configuration.getLoopWait() );
-	}
-
 	//----------------------------------------------------------
 	//                     STATIC METHODS
 	//----------------------------------------------------------
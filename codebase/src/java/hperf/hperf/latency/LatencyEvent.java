@@ -35,19 +35,21 @@ public class LatencyEvent
 	//----------------------------------------------------------
 	private int serial;
 	private long sentTimestamp;
-	private int payloadSize;
+	private int payloadSize;    // bytes of ping payload on the wire, after any encoding
 	private int responseCount;
+	private int grantCount;     // grants the sender went through waiting for responses (TSO only)
 	private Map<TestFederate,Long> responses;
 
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
 	//----------------------------------------------------------
-	public LatencyEvent( int serial, int responseCount, int payloadSize )
+	public LatencyEvent( int serial, int responseCount )
 	{
 		this.serial = serial;
 		this.sentTimestamp = 0;
 		this.responseCount = responseCount;
-		this.payloadSize = payloadSize;
+		this.payloadSize = 0;
+		this.grantCount = 0;
 		this.responses = new ConcurrentHashMap<TestFederate,Long>();
 	}
 
@@ -74,7 +76,22 @@ public class LatencyEvent
 	{
 		return this.payloadSize;
 	}
+
+	public void setPayloadSize( int payloadSize )
+	{
+		this.payloadSize = payloadSize;
+	}
 	
+	public int getGrantCount()
+	{
+		return this.grantCount;
+	}
+
+	public void incrementGrantCount()
+	{
+		this.grantCount++;
+	}
+
 	public void addResponse( TestFederate sender, long timestamp )
 	{
 		this.responses.put( sender, timestamp );
@@ -48,6 +48,7 @@ public class LatencyReportGenerator
 	//                   INSTANCE VARIABLES
 	//----------------------------------------------------------
 	private Logger logger;
+	private Configuration configuration;
 	private Storage storage;
 
 	//----------------------------------------------------------
@@ -56,6 +57,7 @@ public class LatencyReportGenerator
 	public LatencyReportGenerator( Configuration configuration, Storage storage )
 	{
 		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
 		this.storage = storage;
 	}
 
@@ -65,8 +67,13 @@ public class LatencyReportGenerator
 
 	public void printReport()
 	{
-		// what was the payload size? -- haven't got access to config :(
-		int payload = storage.getLatencyEvents().element().getPayloadSize();
+		// what was the payload size? -- use what went on the wire, which may vary from ping
+		// to ping if it was compressed
+		long totalPayload = 0;
+		for( LatencyEvent event : storage.getLatencyEvents() )
+			totalPayload += event.getPayloadSize();
+
+		long payload = totalPayload / storage.getLatencyEvents().size();
 		
 		// print the overall summary
 		logger.info( " =================================" );
@@ -75,6 +82,12 @@ public class LatencyReportGenerator
 		logger.info( "" );
 		logger.info( "Loops:   "+storage.getLatencyEvents().size() );
 		logger.info( "Payload: "+Utils.getSizeString(payload) );
+		if( configuration.isTimestampOrder() )
+		{
+			logger.info( "Order:   Timestamp (lookahead="+configuration.getLookahead()+
+			             ", step="+configuration.getTimeStep()+")" );
+			logger.info( "Grants:  "+String.format("%.2f",getMeanGrantCount())+" per ping (mean)" );
+		}
 		logger.info( "" );
 		logger.info( "    ---------------------------------------------------" );
 		logger.info( "    |          | Latency                              |" );
@@ -101,6 +114,21 @@ public class LatencyReportGenerator
 		logger.info( "     ** Note: These values represent two-way latency (time taken" );
 		logger.info( "              to send a message and have a response arrive)" );
 		logger.info( "              Halve the values for point-to-point latency." );
+		if( configuration.isTimestampOrder() )
+		{
+			logger.info( "     ** Note: Timestamp ordered values include waiting for the grants" );
+			logger.info( "              that release the Ping and PingAck on each side." );
+		}
+	}
+
+	/** @return The mean number of grants the sender went through waiting on each ping */
+	private double getMeanGrantCount()
+	{
+		long total = 0;
+		for( LatencyEvent event : storage.getLatencyEvents() )
+			total += event.getGrantCount();
+
+		return total / (double)storage.getLatencyEvents().size();
 	}
 
 	/**
@@ -0,0 +1,101 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.lifecycle;
+
+import hla.rti1516e.RTIambassador;
+import hla.rti1516e.exceptions.RTIexception;
+import hperf.FederateAmbassador;
+import hperf.Utils;
+
+/**
+ * Runs alongside a throughput test, repeatedly joining and resigning so that the throughput
+ * federates can measure the disruption each join and resign causes (see `--rate-series`).
+ *
+ * Each loop we join using the same setup as the {@link LifecycleDriver}, wait until we have
+ * found all our peers (the throughput federates), stay joined for `--churn-interval` millis,
+ * resign and then stay away for the same period again. The throughput federates should not
+ * list churn federates as their peers.
+ */
+public class ChurnDriver extends LifecycleDriver
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@Override
+	public void execute( RTIambassador rtiamb, FederateAmbassador fedamb ) throws RTIexception
+	{
+		printWelcomeMessage();
+
+		int interval = configuration.getChurnInterval();
+		for( int i = 0; i < configuration.getLoopCount(); i++ )
+		{
+			// join and stick around for a bit
+			long started = System.currentTimeMillis();
+			doSetup();
+			waitForPeers();
+			logger.info( "Joined in "+(System.currentTimeMillis()-started)+"ms, staying for "+
+			             interval+"ms" );
+
+			// we're subscribed to everything the throughput federates send, so in evoked
+			// mode we have to keep ticking while we are joined or the RTI will back up on us
+			long leaveAt = System.currentTimeMillis() + interval;
+			while( System.currentTimeMillis() < leaveAt )
+				Utils.tickOrSleep( this.rtiamb, configuration, 100 );
+
+			// head off and stay away for a bit
+			doCleanup();
+			logger.info( "Resigned. Completed loop "+(i+1) );
+			Utils.sleep( interval );
+		}
+	}
+
+	@Override
+	public void printWelcomeMessage()
+	{
+		logger.info( " ==================================" );
+		logger.info( " =       Running Churn Test       =" );
+		logger.info( " ==================================" );
+		logger.info( "Loop Count = "+configuration.getLoopCount() );
+		logger.info( "  Interval = "+configuration.getChurnInterval()+"ms" );
+	}
+
+	@Override
+	public String getName()
+	{
+		return "Churn Test";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -56,11 +56,11 @@ public class LifecycleDriver implements IDriver
 	//----------------------------------------------------------
 	//                   INSTANCE VARIABLES
 	//----------------------------------------------------------
-	private Logger logger;
-	private Configuration configuration;
-	private Storage storage;
-	private RTIambassador rtiamb;
-	private FederateAmbassador fedamb;
+	protected Logger logger;
+	protected Configuration configuration;
+	protected Storage storage;
+	protected RTIambassador rtiamb;
+	protected FederateAmbassador fedamb;
 	
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
@@ -137,7 +137,7 @@ public class LifecycleDriver implements IDriver
 		}
 	}
 
-	private void doSetup() throws RTIexception
+	protected void doSetup() throws RTIexception
 	{
 		// 0. pre-initialization
 		storage.clearPeers();
@@ -259,7 +259,7 @@ public class LifecycleDriver implements IDriver
 	 * This method ticks the RTI until we've received word that all federates listed
 	 * as peers are present. 
 	 */
-	private void waitForPeers() throws RTIexception
+	protected void waitForPeers() throws RTIexception
 	{
 		///////////////////////////////////////////
 		// wait for all the federates to connect //
@@ -292,7 +292,7 @@ public class LifecycleDriver implements IDriver
 		logger.debug( "All federates present - let's do this thing!" );
 	}
 	
-	private void doCleanup() throws RTIexception
+	protected void doCleanup() throws RTIexception
 	{
 		////////////////////////////////
 		// resign from the federation //
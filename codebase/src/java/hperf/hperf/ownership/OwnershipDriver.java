@@ -0,0 +1,345 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.ownership;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import hla.rti1516e.AttributeHandleSet;
+import hla.rti1516e.ObjectInstanceHandle;
+import hla.rti1516e.RTIambassador;
+import hla.rti1516e.exceptions.RTIexception;
+import hperf.FederateAmbassador;
+import hperf.IDriver;
+import hperf.Storage;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+import static hperf.Handles.*;
+
+/**
+ * Measures how quickly attribute ownership can be handed from one federate to another.
+ *
+ * The first federate (by name) registers `--objects` test objects. Ownership of all their
+ * attributes is then passed around the federates in name order, one hop per round, for
+ * `--loops` rounds with each mode in `--ownership-modes`. In each round the current owner
+ * releases all the objects and the next federate along acquires them. The acquirer records
+ * the time from asking for each object (or accepting the offer of it, when negotiated) until
+ * the `attributeOwnershipAcquisitionNotification` arrives, and the transfers per second
+ * across the round.
+ *
+ * All requests from the RTI are answered from the driver thread, never from inside a callback.
+ * The round number goes in the tag of each offer and acquisition request, so that requests
+ * left over from an earlier round can be told apart from those for the current one.
+ */
+public class OwnershipDriver implements IDriver
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final String ROUND_POINT = "OWNERSHIP_ROUND_";
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private Storage storage;
+	private RTIambassador rtiamb;
+	private FederateAmbassador fedamb;
+
+	private List<String> ring;     // all federates in the order ownership is passed around
+	private OwnershipTracker tracker;
+	private AttributeHandleSet attributes;
+	private List<OwnershipResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public OwnershipDriver()
+	{
+		this.logger = null;         // set in configure()
+		this.configuration = null;  // set in configure()
+		this.storage = null;        // set in configure()
+		this.rtiamb = null;         // set in execute()
+		this.fedamb = null;         // set in execute()
+
+		this.ring = null;           // set in configure()
+		this.tracker = new OwnershipTracker();
+		this.attributes = null;     // set in execute()
+		this.results = new ArrayList<OwnershipResult>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public boolean manageLifecycleManually()
+	{
+		return false;
+	}
+
+	public void execute( RTIambassador rtiamb, FederateAmbassador fedamb ) throws RTIexception
+	{
+		this.rtiamb = rtiamb;
+		this.fedamb = fedamb;
+		this.attributes = rtiamb.getAttributeHandleSetFactory().create();
+		this.attributes.add( AC_CREATOR );
+		this.attributes.add( AC_PAYLOAD );
+
+		// have the fedamb feed us before anyone can register anything
+		fedamb.ownershipTracker = tracker;
+
+		logger.info( "Waiting for all federates to be ready to start" );
+		rtiamb.synchronizationPointAchieved( "START_OWNERSHIP_TEST" );
+		while( fedamb.achievedSyncPoints.contains("START_OWNERSHIP_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+		// the leader creates all the objects, everyone else waits to hear about them
+		if( isLeader() )
+			registerObjects();
+
+		logger.info( "Waiting to discover "+configuration.getObjectCount()+" test objects" );
+		while( tracker.getObjects().size() < configuration.getObjectCount() )
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+		int round = 0;
+		for( OwnershipMode mode : configuration.getOwnershipModes() )
+		{
+			OwnershipResult result = new OwnershipResult( mode );
+			for( int i = 0; i < configuration.getLoopCount(); i++, round++ )
+				transfer( mode, round, result );
+
+			results.add( result );
+			logger.info( String.format("%s: %d transfers, %.0f transfers/s, median=%s",
+			                           mode.getLabel(),
+			                           result.getLatencies().size(),
+			                           result.getTransfersPerSecond(),
+			                           Utils.getLatencyString(result.getLatencies().getMedian()).trim()) );
+		}
+
+		// Wait for everyone to finish up
+		rtiamb.synchronizationPointAchieved( "FINISH_OWNERSHIP_TEST" );
+		while( fedamb.achievedSyncPoints.contains("FINISH_OWNERSHIP_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 100 );
+
+		fedamb.ownershipTracker = null;
+		logger.info( "Ownership Test Finished" );
+		logger.info( "" );
+
+		new OwnershipReportGenerator(configuration,results).printReport();
+	}
+
+	private void registerObjects() throws RTIexception
+	{
+		for( int i = 0; i < configuration.getObjectCount(); i++ )
+			tracker.objectDiscovered( rtiamb.registerObjectInstance(OC_TEST_OBJECT) );
+	}
+
+	/**
+	 * Run a single round, passing ownership of all objects one hop around the ring
+	 */
+	private void transfer( OwnershipMode mode, int round, OwnershipResult result ) throws RTIexception
+	{
+		String owner = ring.get( round % ring.size() );
+		String acquirer = ring.get( (round+1) % ring.size() );
+		String us = configuration.getFederateName();
+
+		// only drop what's left of the last round once everyone has finished with it
+		Utils.synchronize( rtiamb, fedamb, configuration, ROUND_POINT+round, isLeader() );
+		tracker.startRound( round );
+
+		byte[] tag = Utils.intToBytes( round );
+		if( us.equals(owner) )
+			release( mode, tag );
+		else if( us.equals(acquirer) )
+			acquire( mode, round, tag, result );
+	}
+
+	/**
+	 * We're the current owner. Give up all the objects in the way the mode calls for.
+	 */
+	private void release( OwnershipMode mode, byte[] tag ) throws RTIexception
+	{
+		// when negotiating, we make the first move and then wait for the acquirer to accept
+		OwnershipRequest.Type expected = OwnershipRequest.Type.RELEASE;
+		if( mode == OwnershipMode.NEGOTIATED )
+		{
+			for( ObjectInstanceHandle object : tracker.getObjects() )
+				rtiamb.negotiatedAttributeOwnershipDivestiture( object, attributes, tag );
+
+			expected = OwnershipRequest.Type.CONFIRMATION;
+		}
+
+		int answered = 0;
+		while( answered < tracker.getObjects().size() )
+		{
+			OwnershipRequest request = nextRequest();
+			if( request == null || request.getType() != expected )
+				continue;
+
+			ObjectInstanceHandle object = request.getObject();
+			switch( mode )
+			{
+				case NEGOTIATED:
+					rtiamb.confirmDivestiture( object, attributes, tag );
+					break;
+				case ACQUISITION:
+					rtiamb.attributeOwnershipDivestitureIfWanted( object, attributes );
+					break;
+				case UNCONDITIONAL:
+					rtiamb.unconditionalAttributeOwnershipDivestiture( object, attributes );
+					break;
+			}
+
+			answered++;
+		}
+	}
+
+	/**
+	 * We're next in line. Ask for (or accept the offer of) every object and wait until we've
+	 * been told we own them all.
+	 */
+	private void acquire( OwnershipMode mode, int round, byte[] tag, OwnershipResult result )
+		throws RTIexception
+	{
+		int objectCount = tracker.getObjects().size();
+		Map<ObjectInstanceHandle,Long> requested = new HashMap<ObjectInstanceHandle,Long>();
+		long started = System.nanoTime();
+
+		// unless we're waiting to be offered them, ask for everything up front
+		if( mode != OwnershipMode.NEGOTIATED )
+		{
+			for( ObjectInstanceHandle object : tracker.getObjects() )
+			{
+				requested.put( object, System.nanoTime() );
+				rtiamb.attributeOwnershipAcquisition( object, attributes, tag );
+			}
+		}
+
+		while( tracker.getAcquired().size() < objectCount )
+		{
+			if( mode != OwnershipMode.NEGOTIATED )
+			{
+				Utils.tickOrSleep( rtiamb, configuration, 1 );
+				continue;
+			}
+
+			// take up each offer made this round as it comes in
+			OwnershipRequest request = nextRequest();
+			if( request == null ||
+			    request.getType() != OwnershipRequest.Type.ASSUMPTION ||
+			    request.getRound() != round )
+			{
+				continue;
+			}
+
+			ObjectInstanceHandle object = request.getObject();
+			if( requested.containsKey(object) == false )
+			{
+				requested.put( object, System.nanoTime() );
+				rtiamb.attributeOwnershipAcquisition( object, attributes, tag );
+			}
+		}
+
+		// record the latency for each object and the time the round took
+		Map<ObjectInstanceHandle,Long> acquired = tracker.getAcquired();
+		for( ObjectInstanceHandle object : acquired.keySet() )
+			result.getLatencies().add( acquired.get(object)-requested.get(object) );
+
+		result.addRound( Collections.max(acquired.values())-started );
+	}
+
+	/** @return The next request the RTI wants us to act on, or null if nothing came in for a while */
+	private OwnershipRequest nextRequest() throws RTIexception
+	{
+		if( configuration.isEvokedCallback() )
+		{
+			rtiamb.evokeCallback( 0.1 );
+			return tracker.getRequests().poll();
+		}
+
+		try
+		{
+			return tracker.getRequests().poll( 100, TimeUnit.MILLISECONDS );
+		}
+		catch( InterruptedException ie )
+		{
+			return null;
+		}
+	}
+
+	/** The first federate by name registers the objects and the round sync points */
+	private boolean isLeader()
+	{
+		return ring.get(0).equals( configuration.getFederateName() );
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// IDriver Methods /////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public void configure( Configuration configuration, Storage storage )
+	{
+		this.configuration = configuration;
+		this.storage = storage;
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+
+		// everyone has to agree on the order, so just go by name
+		this.ring = new ArrayList<String>( configuration.getPeers() );
+		this.ring.add( configuration.getFederateName() );
+		Collections.sort( this.ring );
+	}
+
+	@Override
+	public void printWelcomeMessage()
+	{
+		logger.info( " ====================================" );
+		logger.info( " =      Running Ownership Test      =" );
+		logger.info( " ====================================" );
+		logger.info( "" );
+		logger.info( "            Role = "+(isLeader() ? "LEADER (registers objects)":"FOLLOWER") );
+		logger.info( "         Objects = "+configuration.getObjectCount() );
+		logger.info( "       Federates = "+ring );
+		logger.info( "           Modes = "+configuration.getOwnershipModes() );
+		logger.info( " Rounds Per Mode = "+configuration.getLoopCount() );
+		logger.info( "" );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public String getName()
+	{
+		return "Ownership Test";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,60 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.ownership;
+
+/**
+ * The ways the ownership test can hand attribute ownership from one federate to the next.
+ */
+public enum OwnershipMode
+{
+	//----------------------------------------------------------
+	//                        VALUES
+	//----------------------------------------------------------
+	/** Owner offers with negotiatedAttributeOwnershipDivestiture, acquirer accepts, owner confirms */
+	NEGOTIATED( "Negotiated" ),
+
+	/** Acquirer asks with attributeOwnershipAcquisition, owner answers with divestitureIfWanted */
+	ACQUISITION( "Acquisition" ),
+
+	/** Acquirer asks with attributeOwnershipAcquisition, owner unconditionally divests */
+	UNCONDITIONAL( "Unconditional" );
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String label;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	private OwnershipMode( String label )
+	{
+		this.label = label;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public String getLabel()
+	{
+		return this.label;
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.ownership;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hperf.LatencySamples;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints the transfer rate and request-to-acquisition latency for each ownership mode, as
+ * seen by this federate when it was the one acquiring.
+ */
+public class OwnershipReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private List<OwnershipResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public OwnershipReportGenerator( Configuration configuration, List<OwnershipResult> results )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.results = results;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public void printReport()
+	{
+		logger.info( " =================================" );
+		logger.info( " =     Ownership Test Report     =" );
+		logger.info( " =================================" );
+		logger.info( "" );
+		logger.info( "   Federates:  "+(configuration.getPeers().size()+1) );
+		logger.info( "   Objects:    "+configuration.getObjectCount() );
+		logger.info( "   Attributes: 2 per object" );
+		logger.info( "" );
+		logger.info( "  |---------------------------------------------------------------------------------------|" );
+		logger.info( "  |     Mode      | Rounds | Transfers | Xfers/s  |  Mean   |   Med   |   95%   |   Max   |" );
+		logger.info( "  |---------------|--------|-----------|----------|---------|---------|---------|---------|" );
+	  //logger.info( "  | Unconditional | 123456 | 123456789 | 12345678 |  1234us |  1234us |  1234us |  1234us |" );
+
+		for( OwnershipResult result : results )
+		{
+			LatencySamples latencies = result.getLatencies();
+			String line = String.format( "  | %-13s | %6d | %9d | %8d | %7s | %7s | %7s | %7s |",
+			                             result.getMode().getLabel(),
+			                             result.getRounds(),
+			                             latencies.size(),
+			                             (int)result.getTransfersPerSecond(),
+			                             Utils.getLatencyString(latencies.getMean()),
+			                             Utils.getLatencyString(latencies.getMedian()),
+			                             Utils.getLatencyString(latencies.getPercentile(95.0)),
+			                             Utils.getLatencyString(latencies.getMax()) );
+			logger.info( line );
+		}
+
+		logger.info( "  |---------------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: Latency is from our acquisition request until we were notified of the" );
+		logger.info( "              acquisition. Transfers/s is across the rounds we were acquiring in." );
+		logger.info( "" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
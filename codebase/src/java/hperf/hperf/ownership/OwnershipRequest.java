@@ -0,0 +1,84 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.ownership;
+
+import hla.rti1516e.ObjectInstanceHandle;
+
+/**
+ * Something the RTI has asked us to do about the ownership of an object, queued up by the
+ * federate ambassador for the {@link OwnershipDriver} to answer. We keep track of which
+ * callback it came from, as with three or more federates everyone who isn't the owner is
+ * offered the attributes during a negotiated divestiture, not just the acquirer.
+ *
+ * Where the callback carries a tag we also note the round it was sent in (the driver puts
+ * the round number in the tag) so anything left over from an earlier round can be dropped.
+ */
+public class OwnershipRequest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	/** The callback a request came in through */
+	public enum Type
+	{
+		ASSUMPTION,  // requestAttributeOwnershipAssumption
+		RELEASE,     // requestAttributeOwnershipRelease
+		CONFIRMATION // requestDivestitureConfirmation
+	}
+
+	/** Round used for callbacks that don't carry a tag. These are never stale */
+	public static final int NO_ROUND = -1;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private ObjectInstanceHandle object;
+	private Type type;
+	private int round;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public OwnershipRequest( ObjectInstanceHandle object, Type type, int round )
+	{
+		this.object = object;
+		this.type = type;
+		this.round = round;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public ObjectInstanceHandle getObject()
+	{
+		return this.object;
+	}
+
+	public Type getType()
+	{
+		return this.type;
+	}
+
+	public int getRound()
+	{
+		return this.round;
+	}
+}
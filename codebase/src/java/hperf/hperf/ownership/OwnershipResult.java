@@ -0,0 +1,93 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.ownership;
+
+import hperf.LatencySamples;
+
+/**
+ * The transfers we received (as the acquiring federate) using a particular ownership mode.
+ */
+public class OwnershipResult
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private OwnershipMode mode;
+	private int rounds;              // rounds in which we were the acquirer
+	private long transferTime;       // nanos spent acquiring, summed across those rounds
+	private LatencySamples latencies; // request -> attributeOwnershipAcquisitionNotification
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public OwnershipResult( OwnershipMode mode )
+	{
+		this.mode = mode;
+		this.rounds = 0;
+		this.transferTime = 0;
+		this.latencies = new LatencySamples();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/** Record a round in which we acquired objects, from our first request to the last notification */
+	public void addRound( long duration )
+	{
+		this.rounds++;
+		this.transferTime += duration;
+	}
+
+	/** @return Objects transferred to us per second of transfer time */
+	public double getTransfersPerSecond()
+	{
+		if( transferTime <= 0 )
+			return 0.0;
+		else
+			return latencies.size() / (transferTime/1000000000.0);
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public OwnershipMode getMode()
+	{
+		return this.mode;
+	}
+
+	public int getRounds()
+	{
+		return this.rounds;
+	}
+
+	public LatencySamples getLatencies()
+	{
+		return this.latencies;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,128 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.ownership;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import hla.rti1516e.ObjectInstanceHandle;
+import hperf.Utils;
+
+/**
+ * Shared between the {@link OwnershipDriver} and the {@link hperf.FederateAmbassador}. The
+ * federate ambassador notes the test objects we discover, queues up any ownership requests
+ * that the driver needs to answer (assumption, release or divestiture confirmation) and
+ * stamps the time each acquisition notification arrives.
+ *
+ * The driver resets the per-round state with {@link #startRound(int)} once everyone has
+ * synchronized on the start of each round. Requests tagged with an earlier round are dropped
+ * at that point, but anything for the new round that beat us there is kept.
+ */
+public class OwnershipTracker
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Set<ObjectInstanceHandle> objects;
+	private BlockingQueue<OwnershipRequest> requests;
+	private Map<ObjectInstanceHandle,Long> acquired;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public OwnershipTracker()
+	{
+		this.objects = ConcurrentHashMap.newKeySet();
+		this.requests = new LinkedBlockingQueue<OwnershipRequest>();
+		this.acquired = new ConcurrentHashMap<ObjectInstanceHandle,Long>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void startRound( int round )
+	{
+		Iterator<OwnershipRequest> iterator = requests.iterator();
+		while( iterator.hasNext() )
+		{
+			int requestRound = iterator.next().getRound();
+			if( requestRound != OwnershipRequest.NO_ROUND && requestRound < round )
+				iterator.remove();
+		}
+
+		this.acquired.clear();
+	}
+
+	/** A test object was registered by us or discovered from someone else */
+	public void objectDiscovered( ObjectInstanceHandle object )
+	{
+		this.objects.add( object );
+	}
+
+	/**
+	 * The RTI wants us to do something about our ownership of the given object
+	 *
+	 * @param tag The tag the callback came with (holding the round it was sent in), or null
+	 *            if the callback doesn't carry one
+	 */
+	public void requestReceived( ObjectInstanceHandle object, OwnershipRequest.Type type, byte[] tag )
+	{
+		int round = (tag == null || tag.length < 4) ? OwnershipRequest.NO_ROUND : Utils.bytesToInt(tag);
+		this.requests.add( new OwnershipRequest(object,type,round) );
+	}
+
+	/** We've been told we now own the attributes we asked for */
+	public void acquisitionNotified( ObjectInstanceHandle object, long timestamp )
+	{
+		this.acquired.put( object, timestamp );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public Set<ObjectInstanceHandle> getObjects()
+	{
+		return this.objects;
+	}
+
+	public BlockingQueue<OwnershipRequest> getRequests()
+	{
+		return this.requests;
+	}
+
+	/** @return Time (nanoTime) the acquisition notification arrived for each object this round */
+	public Map<ObjectInstanceHandle,Long> getAcquired()
+	{
+		return this.acquired;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
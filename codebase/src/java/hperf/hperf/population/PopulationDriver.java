@@ -0,0 +1,305 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.population;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hla.rti1516e.AttributeHandleValueMap;
+import hla.rti1516e.ObjectInstanceHandle;
+import hla.rti1516e.RTIambassador;
+import hla.rti1516e.exceptions.RTIexception;
+import hperf.FederateAmbassador;
+import hperf.ICounter;
+import hperf.IDriver;
+import hperf.Storage;
+import hperf.TestFederate;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+import static hperf.Handles.*;
+
+/**
+ * Pushes the number of live objects in the federation up to production scale (hundreds of
+ * thousands to millions) and watches what that does to us. Every federate grows its share of
+ * `TestObject`s to `--objects` over `--population-steps` steps. Each step:
+ *
+ * <ol>
+ *   <li>Register our share of the new objects, `--register-batch` at a time, sending the
+ *       initial update (with our name as creator) for each</li>
+ *   <li>Wait until we've had the initial update for every object our peers registered</li>
+ *   <li>Measure the heap in use per object in the federation</li>
+ *   <li>Run `--loops` loops, each updating the next `--update-subset` of our objects in turn,
+ *       timing the sends and counting what arrives from our peers</li>
+ * </ol>
+ *
+ * Objects are only ever tracked through {@link Storage}, the same as the throughput test, so
+ * the heap figures include what we pay per remote object as well as what the RTI does.
+ */
+public class PopulationDriver implements IDriver
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final String STEP_POINT = "POPULATION_STEP_";
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private Storage storage;
+	private RTIambassador rtiamb;
+	private FederateAmbassador fedamb;
+
+	private boolean leader;         // true if we register the step sync points
+	private List<ObjectInstanceHandle> myObjects;
+	private int nextUpdate;         // index of the next of our objects to update
+	private List<PopulationResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public PopulationDriver()
+	{
+		this.logger = null;         // set in configure()
+		this.configuration = null;  // set in configure()
+		this.storage = null;        // set in configure()
+		this.rtiamb = null;         // set in execute()
+		this.fedamb = null;         // set in execute()
+
+		this.leader = false;        // set in configure()
+		this.myObjects = null;      // set in configure()
+		this.nextUpdate = 0;
+		this.results = new ArrayList<PopulationResult>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public boolean manageLifecycleManually()
+	{
+		return false;
+	}
+
+	public void execute( RTIambassador rtiamb, FederateAmbassador fedamb ) throws RTIexception
+	{
+		this.rtiamb = rtiamb;
+		this.fedamb = fedamb;
+
+		int steps = configuration.getPopulationSteps();
+		int federates = configuration.getPeers().size() + 1;
+
+		logger.info( "Waiting for all federates to be ready to start" );
+		rtiamb.synchronizationPointAchieved( "START_POPULATION_TEST" );
+		while( fedamb.achievedSyncPoints.contains("START_POPULATION_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+		// what we're using before there are any objects, so we can take it off later
+		long baselineHeap = Utils.getUsedHeap();
+
+		for( int step = 1; step <= steps; step++ )
+		{
+			int target = (int)((long)configuration.getObjectCount() * step / steps);
+			PopulationResult result = new PopulationResult( step, (long)target * federates );
+			Utils.synchronize( rtiamb, fedamb, configuration, STEP_POINT+step, leader );
+
+			// grow our share and wait for everyone else's
+			long started = System.nanoTime();
+			registerObjects( target );
+			result.setRegisterTime( System.nanoTime()-started );
+			waitForDiscoveries( target );
+			result.setDiscoverTime( System.nanoTime()-started );
+
+			// make sure everyone is fully populated before anyone starts sending updates
+			Utils.synchronize( rtiamb, fedamb, configuration, STEP_POINT+step+"_UPDATE", leader );
+			long heap = Utils.getUsedHeap() - baselineHeap;
+			result.setHeapPerObject( Math.max(0,heap) / result.getPopulation() );
+
+			update( result );
+			Utils.synchronize( rtiamb, fedamb, configuration, STEP_POINT+step+"_DONE", leader );
+
+			results.add( result );
+			logger.info( String.format("Step %d: %d objects, discovered in %s, %d bytes/object, %dns/update",
+			                           step,
+			                           result.getPopulation(),
+			                           Utils.getLatencyString(result.getDiscoverTime()),
+			                           result.getHeapPerObject(),
+			                           result.getSendTimePerUpdate()) );
+		}
+
+		// Wait for everyone to finish up
+		rtiamb.synchronizationPointAchieved( "FINISH_POPULATION_TEST" );
+		while( fedamb.achievedSyncPoints.contains("FINISH_POPULATION_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 100 );
+
+		logger.info( "Population Test Finished" );
+		logger.info( "" );
+
+		new PopulationReportGenerator(configuration,results).printReport();
+	}
+
+	/**
+	 * Register objects until we have the given number, sending each its initial update so our
+	 * peers can tie it back to us. We stop after every batch to give the callbacks for what our
+	 * peers are registering at the same time a chance to come in.
+	 */
+	private void registerObjects( int target ) throws RTIexception
+	{
+		AttributeHandleValueMap values = rtiamb.getAttributeHandleValueMapFactory().create( 1 );
+		values.put( AC_CREATOR, configuration.getFederateName().getBytes() );
+
+		while( myObjects.size() < target )
+		{
+			int batchEnd = Math.min( target, myObjects.size()+configuration.getRegisterBatch() );
+			while( myObjects.size() < batchEnd )
+			{
+				ObjectInstanceHandle handle = rtiamb.registerObjectInstance( OC_TEST_OBJECT );
+				rtiamb.updateAttributeValues( handle, values, null );
+				myObjects.add( handle );
+			}
+
+			if( configuration.isEvokedCallback() )
+				rtiamb.evokeMultipleCallbacks( 0.0, configuration.getLoopWait()/1000.0 );
+
+			logger.debug( "Registered "+myObjects.size()+" of "+target+" objects" );
+		}
+	}
+
+	/**
+	 * Wait until we've had the initial update for the given number of objects from each of
+	 * our peers. Like the throughput test, an object only counts once we know who owns it.
+	 */
+	private void waitForDiscoveries( int target ) throws RTIexception
+	{
+		boolean allObjectsReady = false;
+		while( allObjectsReady == false )
+		{
+			allObjectsReady = true;
+			for( String peer : configuration.getPeers() )
+			{
+				TestFederate federate = storage.getPeer( peer );
+				if( federate == null || federate.getObjectCount() < target )
+				{
+					allObjectsReady = false;
+					Utils.tickOrSleep( rtiamb, configuration, 10 );
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Update the next `--update-subset` of our objects each loop, wrapping around when we get
+	 * to the end, then wait for the updates from our peers to dry up.
+	 */
+	private void update( PopulationResult result ) throws RTIexception
+	{
+		AttributeHandleValueMap attributes = rtiamb.getAttributeHandleValueMapFactory().create( 1 );
+		attributes.put( AC_PAYLOAD, Utils.generatePayload(configuration.getPacketSize()) );
+		int subset = Math.min( configuration.getUpdateSubset(), myObjects.size() );
+
+		int receivedBefore = storage.getReflectEventCount();
+		long cpuBefore = Utils.getProcessCpuTime();
+		long started = System.nanoTime();
+		long sendTime = 0;
+		long sent = 0;
+		for( int loop = 0; loop < configuration.getLoopCount(); loop++ )
+		{
+			long loopStarted = System.nanoTime();
+			for( int i = 0; i < subset; i++ )
+			{
+				rtiamb.updateAttributeValues( myObjects.get(nextUpdate), attributes, null );
+				nextUpdate = (nextUpdate+1) % myObjects.size();
+				sent++;
+			}
+
+			sendTime += System.nanoTime() - loopStarted;
+			if( configuration.isEvokedCallback() )
+				rtiamb.evokeMultipleCallbacks( 0.0, configuration.getLoopWait()/1000.0 );
+		}
+
+		ICounter reflections = new ICounter()
+		{
+			public long getCount()
+			{
+				return storage.getReflectEventCount();
+			}
+		};
+		long lastArrival = Utils.waitForQuiet( rtiamb, configuration, reflections );
+		long cpuAfter = Utils.getProcessCpuTime();
+
+		result.setSent( sent, sendTime );
+		result.setReceived( storage.getReflectEventCount()-receivedBefore, lastArrival-started );
+		if( cpuBefore >= 0 && cpuAfter >= 0 )
+			result.setCpuTime( cpuAfter-cpuBefore );
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// IDriver Methods /////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public void configure( Configuration configuration, Storage storage )
+	{
+		this.configuration = configuration;
+		this.storage = storage;
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.myObjects = new ArrayList<ObjectInstanceHandle>( configuration.getObjectCount() );
+
+		// everyone has the same view of who is in the federation, so they all pick the same leader
+		List<String> federates = new ArrayList<String>( configuration.getPeers() );
+		federates.add( configuration.getFederateName() );
+		this.leader = Collections.min( federates ).equals( configuration.getFederateName() );
+	}
+
+	@Override
+	public void printWelcomeMessage()
+	{
+		long total = (long)configuration.getObjectCount() * (configuration.getPeers().size()+1);
+		logger.info( " ===================================" );
+		logger.info( " =     Running Population Test     =" );
+		logger.info( " ===================================" );
+		logger.info( "" );
+		logger.info( "         Objects = "+configuration.getObjectCount()+" (per federate, "+total+" total)" );
+		logger.info( "           Steps = "+configuration.getPopulationSteps() );
+		logger.info( "  Register Batch = "+configuration.getRegisterBatch() );
+		logger.info( "   Update Subset = "+configuration.getUpdateSubset()+" (per loop)" );
+		logger.info( "           Loops = "+configuration.getLoopCount()+" (per step)" );
+		logger.info( "    Message Size = "+Utils.getSizeString(configuration.getPacketSize()) );
+		logger.info( "" );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public String getName()
+	{
+		return "Population Test";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,105 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.population;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints one row for each step of the population test so we can see how discovery time,
+ * heap per object and the cost of an update change as the federation fills up.
+ */
+public class PopulationReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private List<PopulationResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public PopulationReportGenerator( Configuration configuration, List<PopulationResult> results )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.results = results;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public void printReport()
+	{
+		logger.info( " ==================================" );
+		logger.info( " =     Population Test Report     =" );
+		logger.info( " ==================================" );
+		logger.info( "" );
+		logger.info( "   Federates:     "+(configuration.getPeers().size()+1) );
+		logger.info( "   Update Subset: "+configuration.getUpdateSubset()+" (per loop, per federate)" );
+		logger.info( "   Loops:         "+configuration.getLoopCount()+" (per step)" );
+		logger.info( "" );
+		logger.info( "  |-----------------------------------------------------------------------------------|" );
+		logger.info( "  | Step | Population | Register | Discover | Heap/Obj | Send/Upd | Recv/s  | CPU/Upd |" );
+		logger.info( "  |------|------------|----------|----------|----------|----------|---------|---------|" );
+	  //logger.info( "  |   10 |    1000000 |   1234ms |   1234ms |  123456B |  12345ns | 1234567 | 12345ns |" );
+
+		for( PopulationResult result : results )
+		{
+			long cpu = result.getCpuPerUpdate();
+			String line = String.format( "  | %4d | %10d | %8s | %8s | %7dB | %6dns | %7d | %7s |",
+			                             result.getStep(),
+			                             result.getPopulation(),
+			                             Utils.getLatencyString(result.getRegisterTime()),
+			                             Utils.getLatencyString(result.getDiscoverTime()),
+			                             result.getHeapPerObject(),
+			                             result.getSendTimePerUpdate(),
+			                             (long)result.getReceivedPerSecond(),
+			                             cpu < 0 ? "-" : cpu+"ns" );
+			logger.info( line );
+		}
+
+		logger.info( "  |-----------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: Population counts the objects of every federate. Discover is from the" );
+		logger.info( "              start of the step until we had the initial update for all of them." );
+		logger.info( "     ** Note: Heap/Obj is an estimate taken after a requested GC, and includes the" );
+		logger.info( "              RTI's own per-object state as well as ours." );
+		logger.info( "     ** Note: Send/Upd is time spent in updateAttributeValues. CPU/Upd is process" );
+		logger.info( "              CPU time for every update sent or received." );
+		logger.info( "" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
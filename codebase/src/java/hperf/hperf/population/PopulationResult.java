@@ -0,0 +1,164 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.population;
+
+/**
+ * What we saw at one step of the population test: how long the federation took to grow to
+ * the new size, what the objects are costing us in heap, and what an update costs at that size.
+ */
+public class PopulationResult
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int step;
+	private long population;     // objects in the whole federation (ours and our peers')
+	private long registerTime;   // nanos to register our share of the new objects
+	private long discoverTime;   // nanos from the start of the step until we had all objects
+	private long heapPerObject;  // bytes of heap in use per object in the federation
+	private long sent;           // updates we sent
+	private long sendTime;       // nanos spent inside updateAttributeValues
+	private long received;       // updates we received from our peers
+	private long receiveTime;    // nanos from the first send until the last arrival
+	private long cpuTime;        // process CPU nanos over the update loops, -1 if unavailable
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public PopulationResult( int step, long population )
+	{
+		this.step = step;
+		this.population = population;
+		this.registerTime = 0;
+		this.discoverTime = 0;
+		this.heapPerObject = 0;
+		this.sent = 0;
+		this.sendTime = 0;
+		this.received = 0;
+		this.receiveTime = 0;
+		this.cpuTime = -1;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/** @return Nanos spent in each call to updateAttributeValues */
+	public long getSendTimePerUpdate()
+	{
+		return sent == 0 ? 0 : sendTime / sent;
+	}
+
+	/** @return Updates received per second */
+	public double getReceivedPerSecond()
+	{
+		if( receiveTime <= 0 )
+			return 0.0;
+		else
+			return received / (receiveTime/1000000000.0);
+	}
+
+	/** @return Process CPU nanos for each update sent or received, or -1 if we don't know */
+	public long getCpuPerUpdate()
+	{
+		if( cpuTime < 0 || (sent+received) == 0 )
+			return -1;
+		else
+			return cpuTime / (sent+received);
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public int getStep()
+	{
+		return this.step;
+	}
+
+	public long getPopulation()
+	{
+		return this.population;
+	}
+
+	public long getRegisterTime()
+	{
+		return this.registerTime;
+	}
+
+	public void setRegisterTime( long registerTime )
+	{
+		this.registerTime = registerTime;
+	}
+
+	public long getDiscoverTime()
+	{
+		return this.discoverTime;
+	}
+
+	public void setDiscoverTime( long discoverTime )
+	{
+		this.discoverTime = discoverTime;
+	}
+
+	public long getHeapPerObject()
+	{
+		return this.heapPerObject;
+	}
+
+	public void setHeapPerObject( long heapPerObject )
+	{
+		this.heapPerObject = heapPerObject;
+	}
+
+	public long getSent()
+	{
+		return this.sent;
+	}
+
+	public void setSent( long sent, long sendTime )
+	{
+		this.sent = sent;
+		this.sendTime = sendTime;
+	}
+
+	public long getReceived()
+	{
+		return this.received;
+	}
+
+	public void setReceived( long received, long receiveTime )
+	{
+		this.received = received;
+		this.receiveTime = receiveTime;
+	}
+
+	public void setCpuTime( long cpuTime )
+	{
+		this.cpuTime = cpuTime;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
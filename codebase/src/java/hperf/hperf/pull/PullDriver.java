@@ -0,0 +1,350 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.pull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import hla.rti1516e.AttributeHandleSet;
+import hla.rti1516e.AttributeHandleValueMap;
+import hla.rti1516e.ObjectInstanceHandle;
+import hla.rti1516e.RTIambassador;
+import hla.rti1516e.exceptions.RTIexception;
+import hperf.FederateAmbassador;
+import hperf.IDriver;
+import hperf.Storage;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+import static hperf.Handles.*;
+
+/**
+ * Measures the pull model: one federate (the `--sender`) asks for object state with
+ * requestAttributeValueUpdate and the owners answer from provideAttributeValueUpdate.
+ *
+ * Every other federate registers `--objects` PullTestObjects and then just sits answering
+ * requests. The requester runs `--loops` rounds of each {@link PullMode}, timing from each
+ * request until the first reflect comes back for each object it covers.
+ */
+public class PullDriver implements IDriver
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final String DONE_POINT = "PULL_REQUESTS_DONE";
+	private static final long TIMEOUT = TimeUnit.SECONDS.toNanos( 5 );
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private Storage storage;
+	private RTIambassador rtiamb;
+	private FederateAmbassador fedamb;
+
+	private PullTracker tracker;
+	private AttributeHandleSet attributes;
+	private List<PullResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public PullDriver()
+	{
+		this.logger = null;         // set in configure()
+		this.configuration = null;  // set in configure()
+		this.storage = null;        // set in configure()
+		this.rtiamb = null;         // set in execute()
+		this.fedamb = null;         // set in execute()
+
+		this.tracker = new PullTracker();
+		this.attributes = null;     // set in execute()
+		this.results = new ArrayList<PullResult>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public boolean manageLifecycleManually()
+	{
+		return false;
+	}
+
+	public void execute( RTIambassador rtiamb, FederateAmbassador fedamb ) throws RTIexception
+	{
+		this.rtiamb = rtiamb;
+		this.fedamb = fedamb;
+		this.attributes = rtiamb.getAttributeHandleSetFactory().create();
+		this.attributes.add( AC_PULL_PAYLOAD );
+
+		// have the fedamb feed us before anything can be discovered or requested
+		fedamb.pullTracker = tracker;
+
+		// only the requester subscribes, the owners would just get in each other's way
+		if( configuration.isSender() )
+			rtiamb.subscribeObjectClassAttributes( OC_PULL_TEST_OBJECT, attributes );
+
+		logger.info( "Waiting for all federates to be ready to start" );
+		rtiamb.synchronizationPointAchieved( "START_PULL_TEST" );
+		while( fedamb.achievedSyncPoints.contains("START_PULL_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+		if( configuration.isSender() )
+			request();
+		else
+			serve();
+
+		// Wait for everyone to finish up
+		rtiamb.synchronizationPointAchieved( "FINISH_PULL_TEST" );
+		while( fedamb.achievedSyncPoints.contains("FINISH_PULL_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 100 );
+
+		fedamb.pullTracker = null;
+		logger.info( "Pull Test Finished" );
+		logger.info( "" );
+
+		if( configuration.isSender() )
+			new PullReportGenerator(configuration,results).printReport();
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////////// Owner Methods //////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Register our objects and answer every update request until the requester says it is done
+	 */
+	private void serve() throws RTIexception
+	{
+		for( int i = 0; i < configuration.getObjectCount(); i++ )
+			rtiamb.registerObjectInstance( OC_PULL_TEST_OBJECT );
+
+		logger.info( "Registered "+configuration.getObjectCount()+" objects, waiting for requests" );
+
+		byte[] payload = Utils.generatePayload( configuration.getPacketSize() );
+		long answered = 0;
+		while( fedamb.announcedSyncPoints.contains(DONE_POINT) == false )
+		{
+			PullRequest request = next( tracker.getRequests() );
+			if( request == null )
+				continue;
+
+			// send the request's tag back so the requester can tell which round we're answering
+			AttributeHandleValueMap values = rtiamb.getAttributeHandleValueMapFactory().create(1);
+			values.put( AC_PULL_PAYLOAD, payload );
+			rtiamb.updateAttributeValues( request.getObject(), values, request.getTag() );
+			answered++;
+		}
+
+		logger.info( "Answered "+answered+" update requests" );
+		Utils.synchronize( rtiamb, fedamb, configuration, DONE_POINT, configuration.isSender() );
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////////// Requester Methods ////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Wait to discover everyone's objects and then run through each of the pull modes
+	 */
+	private void request() throws RTIexception
+	{
+		int expected = configuration.getPeers().size() * configuration.getObjectCount();
+		logger.info( "Waiting to discover "+expected+" pull objects" );
+		while( tracker.getObjects().size() < expected )
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+		List<ObjectInstanceHandle> objects = new ArrayList<ObjectInstanceHandle>( tracker.getObjects() );
+		int round = 0;
+		for( PullMode mode : PullMode.values() )
+		{
+			PullResult result = new PullResult( mode );
+			for( int i = 0; i < configuration.getLoopCount(); i++ )
+			{
+				// every request carries the round, so late answers from an earlier one don't count
+				byte[] tag = Utils.intToBytes( ++round );
+				tracker.startRound( round );
+				switch( mode )
+				{
+					case SINGLE:
+						requestSingle( objects.get(i % objects.size()), tag, result );
+						break;
+					case BURST:
+						requestBurst( objects, tag, result );
+						break;
+					case CLASS:
+						requestClass( objects.size(), tag, result );
+						break;
+				}
+			}
+
+			results.add( result );
+			logger.info( String.format("%s: %d requests, %.0f req/s, median=%s",
+			                           mode.getLabel(),
+			                           result.getRequests(),
+			                           result.getRequestsPerSecond(),
+			                           Utils.getLatencyString(result.getLatencies().getMedian()).trim()) );
+		}
+
+		Utils.synchronize( rtiamb, fedamb, configuration, DONE_POINT, configuration.isSender() );
+	}
+
+	private void requestSingle( ObjectInstanceHandle object, byte[] tag, PullResult result )
+		throws RTIexception
+	{
+		long requested = System.nanoTime();
+		rtiamb.requestAttributeValueUpdate( object, attributes, tag );
+		waitForReflects( 1 );
+
+		Long reflected = tracker.getReflected().get( object );
+		if( reflected != null )
+			result.getLatencies().add( reflected-requested );
+
+		result.addRound( 1, 1, System.nanoTime()-requested );
+	}
+
+	private void requestBurst( List<ObjectInstanceHandle> objects, byte[] tag, PullResult result )
+		throws RTIexception
+	{
+		long[] requested = new long[objects.size()];
+		long started = System.nanoTime();
+		for( int i = 0; i < objects.size(); i++ )
+		{
+			requested[i] = System.nanoTime();
+			rtiamb.requestAttributeValueUpdate( objects.get(i), attributes, tag );
+		}
+
+		waitForReflects( objects.size() );
+
+		long last = started;
+		for( int i = 0; i < objects.size(); i++ )
+		{
+			Long reflected = tracker.getReflected().get( objects.get(i) );
+			if( reflected != null )
+			{
+				result.getLatencies().add( reflected-requested[i] );
+				last = Math.max( last, reflected );
+			}
+		}
+
+		result.addRound( objects.size(), objects.size(), last-started );
+	}
+
+	private void requestClass( int objectCount, byte[] tag, PullResult result ) throws RTIexception
+	{
+		long requested = System.nanoTime();
+		rtiamb.requestAttributeValueUpdate( OC_PULL_TEST_OBJECT, attributes, tag );
+		waitForReflects( objectCount );
+
+		long last = requested;
+		for( Long reflected : tracker.getReflected().values() )
+		{
+			result.getLatencies().add( reflected-requested );
+			last = Math.max( last, reflected );
+		}
+
+		result.addRound( 1, objectCount, last-requested );
+	}
+
+	/**
+	 * Wait until the given number of objects have reflected this round, or we give up on them
+	 */
+	private void waitForReflects( int count ) throws RTIexception
+	{
+		long deadline = System.nanoTime() + TIMEOUT;
+		int arrived = 0;
+		while( arrived < count )
+		{
+			if( next(tracker.getArrivals()) != null )
+				arrived++;
+			else if( System.nanoTime() > deadline )
+				break;
+		}
+
+		if( arrived < count )
+			logger.warn( "Timed out waiting for reflects: got "+arrived+" of "+count );
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////////// Common Methods /////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	/** @return The next item from the given queue, or null if nothing came in for a while */
+	private <T> T next( BlockingQueue<T> queue ) throws RTIexception
+	{
+		if( configuration.isEvokedCallback() )
+		{
+			rtiamb.evokeCallback( 0.1 );
+			return queue.poll();
+		}
+
+		try
+		{
+			return queue.poll( 100, TimeUnit.MILLISECONDS );
+		}
+		catch( InterruptedException ie )
+		{
+			return null;
+		}
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// IDriver Methods /////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public void configure( Configuration configuration, Storage storage )
+	{
+		this.configuration = configuration;
+		this.storage = storage;
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+	}
+
+	@Override
+	public void printWelcomeMessage()
+	{
+		logger.info( " ==================================" );
+		logger.info( " =       Running Pull Test        =" );
+		logger.info( " ==================================" );
+		logger.info( "" );
+		logger.info( "            Role = "+(configuration.isSender() ? "REQUESTER":"OWNER") );
+		logger.info( "         Objects = "+configuration.getObjectCount()+" (per owner)" );
+		logger.info( "          Owners = "+(configuration.isSender() ? configuration.getPeers().size() : "-") );
+		logger.info( " Rounds Per Mode = "+configuration.getLoopCount() );
+		logger.info( "    Message Size = "+Utils.getSizeString(configuration.getPacketSize()) );
+		logger.info( "" );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public String getName()
+	{
+		return "Pull Test";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,60 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.pull;
+
+/**
+ * The ways the pull test asks owners for the current state of their objects.
+ */
+public enum PullMode
+{
+	//----------------------------------------------------------
+	//                        VALUES
+	//----------------------------------------------------------
+	/** One requestAttributeValueUpdate for one object, wait for the reflect, repeat */
+	SINGLE( "Single Object" ),
+
+	/** A requestAttributeValueUpdate for every object back-to-back, then wait for them all */
+	BURST( "Object Burst" ),
+
+	/** One requestAttributeValueUpdate for the whole class, then wait for every object */
+	CLASS( "Whole Class" );
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String label;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	private PullMode( String label )
+	{
+		this.label = label;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public String getLabel()
+	{
+		return this.label;
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.pull;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hperf.LatencySamples;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints the request rate and request-to-reflect latency for each way of pulling state from
+ * the owners, as seen by the requesting federate.
+ */
+public class PullReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private List<PullResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public PullReportGenerator( Configuration configuration, List<PullResult> results )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.results = results;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public void printReport()
+	{
+		logger.info( " =================================" );
+		logger.info( " =        Pull Test Report       =" );
+		logger.info( " =================================" );
+		logger.info( "" );
+		logger.info( "   Owners:  "+configuration.getPeers().size() );
+		logger.info( "   Objects: "+configuration.getObjectCount()+" (per owner)" );
+		logger.info( "" );
+		logger.info( "  |--------------------------------------------------------------------------------------------|" );
+		logger.info( "  | Mode          | Requests  | Reflects  | Req/s    | Reflect/s |  Mean   |   Med   |   95%   |" );
+		logger.info( "  |---------------|-----------|-----------|----------|-----------|---------|---------|---------|" );
+	  //logger.info( "  | Object Burst  | 123456789 | 123456789 | 12345678 | 123456789 |  1234us |  1234us |  1234us |" );
+
+		long missing = 0;
+		for( PullResult result : results )
+		{
+			LatencySamples latencies = result.getLatencies();
+			String line = String.format( "  | %-13s | %9d | %9d | %8d | %9d | %7s | %7s | %7s |",
+			                             result.getMode().getLabel(),
+			                             result.getRequests(),
+			                             latencies.size(),
+			                             (int)result.getRequestsPerSecond(),
+			                             (int)result.getReflectsPerSecond(),
+			                             Utils.getLatencyString(latencies.getMean()),
+			                             Utils.getLatencyString(latencies.getMedian()),
+			                             Utils.getLatencyString(latencies.getPercentile(95.0)) );
+			logger.info( line );
+			missing += result.getMissing();
+		}
+
+		logger.info( "  |--------------------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: Latency is from requestAttributeValueUpdate() until the first reflect" );
+		logger.info( "              for each object. A class request covers every object." );
+		if( missing > 0 )
+			logger.info( "     ** WARNING: "+missing+" requested reflects never arrived" );
+		logger.info( "" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
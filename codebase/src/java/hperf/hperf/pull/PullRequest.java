@@ -0,0 +1,64 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.pull;
+
+import hla.rti1516e.ObjectInstanceHandle;
+
+/**
+ * An update request the RTI has passed on to us as an owner, queued up by the federate
+ * ambassador for the {@link PullDriver} to answer. We hang on to the tag the requester sent
+ * so it can go back out with the update, which is how the requester knows which round the
+ * answer belongs to.
+ */
+public class PullRequest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private ObjectInstanceHandle object;
+	private byte[] tag;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public PullRequest( ObjectInstanceHandle object, byte[] tag )
+	{
+		this.object = object;
+		this.tag = tag;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public ObjectInstanceHandle getObject()
+	{
+		return this.object;
+	}
+
+	public byte[] getTag()
+	{
+		return this.tag;
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.pull;
+
+import hperf.LatencySamples;
+
+/**
+ * The requests we made, and the reflects that came back, using a particular pull mode.
+ */
+public class PullResult
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private PullMode mode;
+	private long requests;           // requestAttributeValueUpdate calls made
+	private long expected;           // reflects we should have got back for them
+	private long requestTime;        // nanos from first request to last reflect, summed across rounds
+	private LatencySamples latencies; // request -> reflect, per object
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public PullResult( PullMode mode )
+	{
+		this.mode = mode;
+		this.requests = 0;
+		this.expected = 0;
+		this.requestTime = 0;
+		this.latencies = new LatencySamples();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/** Record a round: the requests made, the reflects they should produce and how long it took */
+	public void addRound( int requests, int expected, long duration )
+	{
+		this.requests += requests;
+		this.expected += expected;
+		this.requestTime += duration;
+	}
+
+	/** @return Requests answered per second of request time */
+	public double getRequestsPerSecond()
+	{
+		if( requestTime <= 0 || expected == 0 )
+			return 0.0;
+
+		// a class request is only answered once all its objects are back
+		double answered = requests * ((double)latencies.size()/expected);
+		return answered / (requestTime/1000000000.0);
+	}
+
+	/** @return Object reflects received per second of request time */
+	public double getReflectsPerSecond()
+	{
+		if( requestTime <= 0 )
+			return 0.0;
+		else
+			return latencies.size() / (requestTime/1000000000.0);
+	}
+
+	/** @return Reflects we asked for that never arrived */
+	public long getMissing()
+	{
+		return expected - latencies.size();
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public PullMode getMode()
+	{
+		return this.mode;
+	}
+
+	public long getRequests()
+	{
+		return this.requests;
+	}
+
+	public LatencySamples getLatencies()
+	{
+		return this.latencies;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,132 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.pull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import hla.rti1516e.ObjectInstanceHandle;
+import hperf.Utils;
+
+/**
+ * Shared between the {@link PullDriver} and the {@link hperf.FederateAmbassador}. On the owning
+ * side the federate ambassador queues up the provideAttributeValueUpdate requests the driver
+ * needs to answer. On the requesting side it notes the pull objects we discover and stamps
+ * the time the first reflect for each object arrives.
+ *
+ * The driver resets the per-round state with {@link #startRound(int)} before each round. It
+ * puts the round number in the tag of each request and the owners send it back with their
+ * update, so a late answer to an earlier round is ignored rather than counted.
+ */
+public class PullTracker
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Set<ObjectInstanceHandle> objects;
+	private BlockingQueue<PullRequest> requests;
+	private int round;
+	private BlockingQueue<ObjectInstanceHandle> arrivals;
+	private Map<ObjectInstanceHandle,Long> reflected;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public PullTracker()
+	{
+		this.objects = ConcurrentHashMap.newKeySet();
+		this.requests = new LinkedBlockingQueue<PullRequest>();
+		this.round = 0;
+		this.arrivals = new LinkedBlockingQueue<ObjectInstanceHandle>();
+		this.reflected = new ConcurrentHashMap<ObjectInstanceHandle,Long>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public synchronized void startRound( int round )
+	{
+		this.round = round;
+		this.arrivals.clear();
+		this.reflected.clear();
+	}
+
+	/** A pull test object was discovered */
+	public void objectDiscovered( ObjectInstanceHandle object )
+	{
+		this.objects.add( object );
+	}
+
+	/** The RTI wants us to provide the current value of one of our objects */
+	public void updateRequested( ObjectInstanceHandle object, byte[] tag )
+	{
+		this.requests.add( new PullRequest(object,tag) );
+	}
+
+	/**
+	 * A reflect for a pull test object arrived. Only the first each round counts, and only if
+	 * its tag says it is an answer to this round.
+	 */
+	public synchronized void reflected( ObjectInstanceHandle object, byte[] tag, long timestamp )
+	{
+		if( tag == null || tag.length < 4 || Utils.bytesToInt(tag) != this.round )
+			return;
+
+		if( this.reflected.putIfAbsent(object,timestamp) == null )
+			this.arrivals.add( object );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public Set<ObjectInstanceHandle> getObjects()
+	{
+		return this.objects;
+	}
+
+	public BlockingQueue<PullRequest> getRequests()
+	{
+		return this.requests;
+	}
+
+	/** @return Objects in the order their first reflect arrived this round, for the driver to wait on */
+	public BlockingQueue<ObjectInstanceHandle> getArrivals()
+	{
+		return this.arrivals;
+	}
+
+	/** @return Time (nanoTime) the first reflect arrived for each object this round */
+	public Map<ObjectInstanceHandle,Long> getReflected()
+	{
+		return this.reflected;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
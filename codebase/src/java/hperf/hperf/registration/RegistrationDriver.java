@@ -0,0 +1,331 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.registration;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.log4j.Logger;
+
+import hla.rti1516e.RTIambassador;
+import hla.rti1516e.exceptions.RTIexception;
+import hperf.FederateAmbassador;
+import hperf.IDriver;
+import hperf.Storage;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+import static hperf.Handles.*;
+
+/**
+ * Measures how quickly a federate can register its objects. The same number of objects
+ * (`--objects`) is registered in a number of phases, each using a different approach:
+ *
+ *   - Unnamed:   `registerObjectInstance()` with no name, so no reservation is needed.
+ *   - Single:    Reserve one name, wait for the answer, register, repeat.
+ *   - Pipelined: Fire off a reservation for every name, wait for all the answers, then register.
+ *   - Batch:     Reserve names with `reserveMultipleObjectInstanceName()`, one phase for each
+ *                of the sizes given in `--reservation-batches`.
+ *
+ * Reservation answers are detected through a latch that the {@link FederateAmbassador}
+ * counts down from its callbacks, so we never wait any longer than we have to.
+ */
+public class RegistrationDriver implements IDriver
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private Storage storage;
+	private RTIambassador rtiamb;
+	private FederateAmbassador fedamb;
+
+	private List<RegistrationResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public RegistrationDriver()
+	{
+		this.logger = null;         // set in configure()
+		this.configuration = null;  // set in configure()
+		this.storage = null;        // set in configure()
+		this.rtiamb = null;         // set in execute()
+		this.fedamb = null;         // set in execute()
+
+		this.results = new ArrayList<RegistrationResult>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public boolean manageLifecycleManually()
+	{
+		return false;
+	}
+
+	public void execute( RTIambassador rtiamb, FederateAmbassador fedamb ) throws RTIexception
+	{
+		this.rtiamb = rtiamb;
+		this.fedamb = fedamb;
+
+		// Everyone starts at the same time so that the load on the RTI is comparable
+		logger.info( "Waiting for all federates to be ready to start" );
+		rtiamb.synchronizationPointAchieved( "START_REGISTRATION_TEST" );
+		while( fedamb.achievedSyncPoints.contains("START_REGISTRATION_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+		/////////////////////////////////////////
+		// Run each of the registration phases //
+		/////////////////////////////////////////
+		results.add( registerUnnamed() );
+		results.add( registerNamedSingle() );
+		results.add( registerNamedPipelined() );
+		for( Integer batchSize : configuration.getReservationBatchSizes() )
+			results.add( registerNamedBatch(batchSize) );
+
+		// Wait for everyone to finish up
+		logger.info( "Finished registering. Waiting for peers to finish" );
+		rtiamb.synchronizationPointAchieved( "FINISH_REGISTRATION_TEST" );
+		while( fedamb.achievedSyncPoints.contains("FINISH_REGISTRATION_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 100 );
+
+		logger.info( "Registration Test Finished" );
+		logger.info( "" );
+
+		new RegistrationReportGenerator(configuration,results).printReport();
+	}
+
+	/**
+	 * Register all the objects without a name. This is the baseline we compare the named
+	 * registrations against.
+	 */
+	private RegistrationResult registerUnnamed() throws RTIexception
+	{
+		logger.info( "Registering ["+configuration.getObjectCount()+"] unnamed objects" );
+		RegistrationResult result = new RegistrationResult( "Unnamed", 0 );
+
+		result.setStarted( System.nanoTime() );
+		for( int i = 0; i < configuration.getObjectCount(); i++ )
+		{
+			rtiamb.registerObjectInstance( OC_TEST_OBJECT );
+			result.objectRegistered();
+		}
+		result.setFinished( System.nanoTime() );
+
+		logResult( result );
+		return result;
+	}
+
+	/**
+	 * Reserve each name and wait for the answer before registering the object and moving on
+	 * to the next. This is what most federates do, and means we pay a full round trip to the
+	 * RTI for every object.
+	 */
+	private RegistrationResult registerNamedSingle() throws RTIexception
+	{
+		logger.info( "Registering ["+configuration.getObjectCount()+"] named objects (single)" );
+		RegistrationResult result = new RegistrationResult( "Single", 1 );
+
+		result.setStarted( System.nanoTime() );
+		for( int i = 0; i < configuration.getObjectCount(); i++ )
+		{
+			String name = getObjectName( "single", i );
+			CountDownLatch latch = new CountDownLatch( 1 );
+			fedamb.reservationLatch = latch;
+
+			long requested = System.nanoTime();
+			rtiamb.reserveObjectInstanceName( name );
+			awaitLatch( latch );
+			result.recordRequest( System.nanoTime() - requested );
+
+			registerIfReserved( name, result );
+		}
+		result.setFinished( System.nanoTime() );
+
+		fedamb.reservationLatch = null;
+		logResult( result );
+		return result;
+	}
+
+	/**
+	 * Send a reservation request for every name without waiting for any answers, and then
+	 * wait for them all to come back before registering. Requests don't each pay for a round
+	 * trip, so we can't time them individually.
+	 */
+	private RegistrationResult registerNamedPipelined() throws RTIexception
+	{
+		logger.info( "Registering ["+configuration.getObjectCount()+"] named objects (pipelined)" );
+		RegistrationResult result = new RegistrationResult( "Pipelined", 1 );
+
+		List<String> names = new ArrayList<String>( configuration.getObjectCount() );
+		for( int i = 0; i < configuration.getObjectCount(); i++ )
+			names.add( getObjectName("pipelined",i) );
+
+		CountDownLatch latch = new CountDownLatch( names.size() );
+		fedamb.reservationLatch = latch;
+
+		result.setStarted( System.nanoTime() );
+		for( String name : names )
+			rtiamb.reserveObjectInstanceName( name );
+
+		awaitLatch( latch );
+		for( String name : names )
+			registerIfReserved( name, result );
+		result.setFinished( System.nanoTime() );
+
+		fedamb.reservationLatch = null;
+		logResult( result );
+		return result;
+	}
+
+	/**
+	 * Reserve names in batches of the given size using `reserveMultipleObjectInstanceName()`,
+	 * registering each batch of objects once its reservation is answered.
+	 */
+	private RegistrationResult registerNamedBatch( int batchSize ) throws RTIexception
+	{
+		logger.info( "Registering ["+configuration.getObjectCount()+"] named objects (batch="+
+		             batchSize+")" );
+		RegistrationResult result = new RegistrationResult( "Batch", batchSize );
+
+		result.setStarted( System.nanoTime() );
+		int index = 0;
+		while( index < configuration.getObjectCount() )
+		{
+			// fill the next batch up
+			Set<String> names = new HashSet<String>();
+			while( names.size() < batchSize && index < configuration.getObjectCount() )
+				names.add( getObjectName("batch"+batchSize,index++) );
+
+			CountDownLatch latch = new CountDownLatch( 1 );
+			fedamb.reservationLatch = latch;
+
+			long requested = System.nanoTime();
+			rtiamb.reserveMultipleObjectInstanceName( names );
+			awaitLatch( latch );
+			result.recordRequest( System.nanoTime() - requested );
+
+			for( String name : names )
+				registerIfReserved( name, result );
+		}
+		result.setFinished( System.nanoTime() );
+
+		fedamb.reservationLatch = null;
+		logResult( result );
+		return result;
+	}
+
+	/**
+	 * Register an object with the given name, so long as its reservation didn't fail.
+	 */
+	private void registerIfReserved( String name, RegistrationResult result ) throws RTIexception
+	{
+		if( fedamb.failedObjectNames.contains(name) )
+		{
+			result.reservationFailed( 1 );
+			return;
+		}
+
+		rtiamb.registerObjectInstance( OC_TEST_OBJECT, name );
+		result.objectRegistered();
+	}
+
+	/**
+	 * Wait until the given latch has been released by the reservation callbacks. In immediate
+	 * mode we just block on it. In evoked mode we have to tick to get the callbacks delivered.
+	 */
+	private void awaitLatch( CountDownLatch latch ) throws RTIexception
+	{
+		while( latch.getCount() > 0 )
+		{
+			if( configuration.isImmediateCallback() )
+				Utils.await( latch );
+			else
+				rtiamb.evokeCallback( 0.1 );
+		}
+	}
+
+	private String getObjectName( String mode, int index )
+	{
+		return configuration.getFederateName()+"-"+mode+"-"+index;
+	}
+
+	private void logResult( RegistrationResult result )
+	{
+		logger.info( String.format("  ... registered %d objects in %s (%d/s)",
+		                           result.getObjectCount(),
+		                           Utils.getLatencyString(result.getTotalTime()).trim(),
+		                           result.getObjectsPerSecond()) );
+
+		if( result.getFailedCount() > 0 )
+			logger.warn( "  ... "+result.getFailedCount()+" name reservations failed" );
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// IDriver Methods /////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public void configure( Configuration configuration, Storage storage )
+	{
+		this.configuration = configuration;
+		this.storage = storage;
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+	}
+
+	@Override
+	public void printWelcomeMessage()
+	{
+		int phases = 3 + configuration.getReservationBatchSizes().size();
+
+		logger.info( " ===================================" );
+		logger.info( " =    Running Registration Test    =" );
+		logger.info( " ===================================" );
+		logger.info( "" );
+		logger.info( " Objects Per Phase = "+Utils.getFormatted(configuration.getObjectCount()) );
+		logger.info( "       Batch Sizes = "+configuration.getReservationBatchSizes() );
+		logger.info( "     Total Objects = "+Utils.getFormatted(configuration.getObjectCount()*phases) );
+		logger.info( "             Peers = "+configuration.getPeers().size() );
+		logger.info( "" );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public String getName()
+	{
+		return "Registration Test";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
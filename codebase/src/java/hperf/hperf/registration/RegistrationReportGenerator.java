@@ -0,0 +1,114 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.registration;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hperf.LatencySamples;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints a table comparing the registration rate for each phase of the registration test,
+ * along with how long each reservation request took to be answered.
+ */
+public class RegistrationReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private List<RegistrationResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public RegistrationReportGenerator( Configuration configuration, List<RegistrationResult> results )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.results = results;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public void printReport()
+	{
+		logger.info( " ===================================" );
+		logger.info( " =    Registration Test Report     =" );
+		logger.info( " ===================================" );
+		logger.info( "" );
+		logger.info( "   Objects Per Phase: "+configuration.getObjectCount() );
+		logger.info( "   Peer Federates:    "+configuration.getPeers().size() );
+		logger.info( "" );
+		logger.info( "  |-------------------------------------------------------------------------------------------|" );
+		logger.info( "  |           |       |         |        |        |           |    -- Request Latency --    |" );
+		logger.info( "  |   Mode    | Batch | Objects | Failed | Total  | Objects/s |  Mean   |   Med   |   95%   |" );
+		logger.info( "  |-----------|-------|---------|--------|--------|-----------|---------|---------|---------|" );
+	  //logger.info( "  | Pipelined |  1000 |   20000 |      0 | 1234ms |   1234567 |  1234us |  1234us |  1234us |" );
+
+		for( RegistrationResult result : results )
+		{
+			LatencySamples latencies = result.getRequestLatencies();
+			String line = String.format( "  | %-9s | %5s | %7d | %6d | %6s | %9d | %7s | %7s | %7s |",
+			                             result.getMode(),
+			                             result.getBatchSize() == 0 ? "-" : ""+result.getBatchSize(),
+			                             result.getObjectCount(),
+			                             result.getFailedCount(),
+			                             Utils.getLatencyString(result.getTotalTime()),
+			                             result.getObjectsPerSecond(),
+			                             getLatencyString(latencies,-1),
+			                             getLatencyString(latencies,50.0),
+			                             getLatencyString(latencies,95.0) );
+			logger.info( line );
+		}
+
+		logger.info( "  |-------------------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: Request latency is the time from sending a reservation request until" );
+		logger.info( "              it is answered. Pipelined requests aren't timed individually." );
+		logger.info( "" );
+	}
+
+	/** Mean if percentile is negative, otherwise the given percentile. "-" if no samples. */
+	private String getLatencyString( LatencySamples latencies, double percentile )
+	{
+		if( latencies.isEmpty() )
+			return "-";
+		else if( percentile < 0 )
+			return Utils.getLatencyString( latencies.getMean() );
+		else
+			return Utils.getLatencyString( latencies.getPercentile(percentile) );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
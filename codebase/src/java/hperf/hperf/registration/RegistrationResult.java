@@ -0,0 +1,135 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.registration;
+
+import hperf.LatencySamples;
+
+/**
+ * Summary of a single phase of the registration test. Each phase registers the same number
+ * of objects using a different approach (unnamed, named with one reservation at a time,
+ * named with reservations in batches...) so they can be compared side by side.
+ */
+public class RegistrationResult
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String mode;
+	private int batchSize;
+	private int objectCount;
+	private int failedCount;
+	private long started;
+	private long finished;
+	private LatencySamples requestLatencies; // reservation request -> answer callback
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public RegistrationResult( String mode, int batchSize )
+	{
+		this.mode = mode;
+		this.batchSize = batchSize;
+		this.objectCount = 0;
+		this.failedCount = 0;
+		this.started = 0;
+		this.finished = 0;
+		this.requestLatencies = new LatencySamples();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void objectRegistered()
+	{
+		this.objectCount++;
+	}
+
+	public void reservationFailed( int names )
+	{
+		this.failedCount += names;
+	}
+
+	public void recordRequest( long nanos )
+	{
+		this.requestLatencies.add( nanos );
+	}
+
+	/** @return The number of objects registered per second over the whole phase */
+	public int getObjectsPerSecond()
+	{
+		double seconds = getTotalTime() / 1000000000.0;
+		return seconds == 0 ? 0 : (int)(objectCount / seconds);
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public String getMode()
+	{
+		return this.mode;
+	}
+
+	/** @return Names per reservation request, or 0 if the phase doesn't reserve names */
+	public int getBatchSize()
+	{
+		return this.batchSize;
+	}
+
+	public int getObjectCount()
+	{
+		return this.objectCount;
+	}
+
+	public int getFailedCount()
+	{
+		return this.failedCount;
+	}
+
+	public void setStarted( long timestamp )
+	{
+		this.started = timestamp;
+	}
+
+	public void setFinished( long timestamp )
+	{
+		this.finished = timestamp;
+	}
+
+	/** Time (nanos) from the first reservation request until the last object was registered */
+	public long getTotalTime()
+	{
+		return this.finished - this.started;
+	}
+
+	/** Time (nanos) from sending each reservation request until it was answered */
+	public LatencySamples getRequestLatencies()
+	{
+		return this.requestLatencies;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,249 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.saverestore;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hla.rti1516e.RTIambassador;
+import hla.rti1516e.exceptions.RTIexception;
+import hperf.FederateAmbassador;
+import hperf.IDriver;
+import hperf.Storage;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+import static hperf.Handles.*;
+
+/**
+ * Measures how long a federation save and restore pauses the federation for, and how that
+ * grows with the amount of state in the federation.
+ *
+ * Each round, every federate registers another `--objects` objects. Once everyone is done,
+ * the sender requests a federation save and then a restore of that save. Each federate
+ * answers the save/restore callbacks straight away, so the times we record are those of
+ * the RTI itself. The sender prints the report.
+ */
+public class SaveRestoreDriver implements IDriver
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final String ROUND_POINT  = "SAVE_RESTORE_ROUND_";
+	private static final String FAILED_POINT = "SAVE_RESTORE_FAILED_";
+	private static final String SAVE_LABEL   = "hperf-save-";
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private Storage storage;
+	private RTIambassador rtiamb;
+	private FederateAmbassador fedamb;
+
+	private List<SaveRestoreEvent> events;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public SaveRestoreDriver()
+	{
+		this.logger = null;         // set in configure()
+		this.configuration = null;  // set in configure()
+		this.storage = null;        // set in configure()
+		this.rtiamb = null;         // set in execute()
+		this.fedamb = null;         // set in execute()
+
+		this.events = new ArrayList<SaveRestoreEvent>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public boolean manageLifecycleManually()
+	{
+		return false;
+	}
+
+	public void execute( RTIambassador rtiamb, FederateAmbassador fedamb ) throws RTIexception
+	{
+		this.rtiamb = rtiamb;
+		this.fedamb = fedamb;
+
+		logger.info( "Waiting for all federates to be ready to start" );
+		rtiamb.synchronizationPointAchieved( "START_SAVE_RESTORE_TEST" );
+		while( fedamb.achievedSyncPoints.contains("START_SAVE_RESTORE_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+		int federateCount = configuration.getPeers().size() + 1;
+		for( int round = 1; round <= configuration.getLoopCount(); round++ )
+		{
+			// grow the federation state
+			registerObjects();
+
+			// set up the event before anyone can request a save
+			int objectCount = round * configuration.getObjectCount() * federateCount;
+			SaveRestoreEvent event = new SaveRestoreEvent( round, objectCount, federateCount );
+			fedamb.currentSaveRestoreEvent = event;
+			Utils.synchronize( rtiamb, fedamb, configuration, ROUND_POINT+round, configuration.isSender() );
+
+			save( event );
+			if( event.isSaveSucceeded() )
+				restore( event );
+
+			fedamb.currentSaveRestoreEvent = null;
+			events.add( event );
+			logger.info( String.format("Round %d (%d objects): save=%s, restore=%s",
+			                           round,
+			                           objectCount,
+			                           Utils.getLatencyString(event.getSavePauseTime()).trim(),
+			                           Utils.getLatencyString(event.getRestorePauseTime()).trim()) );
+		}
+
+		// Wait for everyone to finish up
+		rtiamb.synchronizationPointAchieved( "FINISH_SAVE_RESTORE_TEST" );
+		while( fedamb.achievedSyncPoints.contains("FINISH_SAVE_RESTORE_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 100 );
+
+		logger.info( "Save/Restore Test Finished" );
+		logger.info( "" );
+
+		if( configuration.isSender() )
+			new SaveRestoreReportGenerator(configuration,events).printReport();
+		else
+			logger.info( "Report has been generated by sender federate" );
+	}
+
+	private void registerObjects() throws RTIexception
+	{
+		for( int i = 0; i < configuration.getObjectCount(); i++ )
+			rtiamb.registerObjectInstance( OC_TEST_OBJECT );
+	}
+
+	/**
+	 * Sender requests the save, everyone answers it as soon as they are asked and then
+	 * waits for the federation to be saved.
+	 */
+	private void save( SaveRestoreEvent event ) throws RTIexception
+	{
+		if( configuration.isSender() )
+		{
+			event.setSaveRequested( System.nanoTime() );
+			rtiamb.requestFederationSave( SAVE_LABEL+event.getRound() );
+		}
+
+		while( event.isSaveInitiated() == false && event.isSaveFinished() == false )
+			Utils.tickOrSleep( rtiamb, configuration, 1 );
+
+		if( event.isSaveInitiated() )
+		{
+			rtiamb.federateSaveBegun();
+			rtiamb.federateSaveComplete();
+		}
+
+		while( event.isSaveFinished() == false )
+			Utils.tickOrSleep( rtiamb, configuration, 1 );
+	}
+
+	/**
+	 * Sender requests the restore of the save we just took, everyone answers as soon as they
+	 * are asked and then waits for the federation to be restored.
+	 * 
+	 * If the RTI refuses the request only the sender is told, so it registers a failure point
+	 * for the round. Everyone else gives up on the restore when that is announced.
+	 */
+	private void restore( SaveRestoreEvent event ) throws RTIexception
+	{
+		String failedPoint = FAILED_POINT+event.getRound();
+		if( configuration.isSender() )
+		{
+			event.setRestoreRequested( System.nanoTime() );
+			rtiamb.requestFederationRestore( SAVE_LABEL+event.getRound() );
+		}
+
+		while( event.isRestoreInitiated() == false &&
+		       event.isRestoreFinished() == false &&
+		       fedamb.announcedSyncPoints.contains(failedPoint) == false )
+			Utils.tickOrSleep( rtiamb, configuration, 1 );
+
+		if( event.isRestoreRequestFailed() || fedamb.announcedSyncPoints.contains(failedPoint) )
+		{
+			Utils.synchronize( rtiamb, fedamb, configuration, failedPoint, event.isRestoreRequestFailed() );
+			if( event.isRestoreFinished() == false )
+				event.restoreFinished( System.nanoTime(), false );
+
+			return;
+		}
+
+		if( event.isRestoreInitiated() )
+			rtiamb.federateRestoreComplete();
+
+		while( event.isRestoreFinished() == false )
+			Utils.tickOrSleep( rtiamb, configuration, 1 );
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// IDriver Methods /////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public void configure( Configuration configuration, Storage storage )
+	{
+		this.configuration = configuration;
+		this.storage = storage;
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+	}
+
+	@Override
+	public void printWelcomeMessage()
+	{
+		int federateCount = configuration.getPeers().size() + 1;
+
+		logger.info( " ===================================" );
+		logger.info( " =    Running Save/Restore Test    =" );
+		logger.info( " ===================================" );
+		logger.info( "" );
+		logger.info( "              Role = "+(configuration.isSender() ? "SENDER":"RESPONDER") );
+		logger.info( "            Rounds = "+configuration.getLoopCount() );
+		logger.info( " Objects Per Round = "+configuration.getObjectCount()+" (per federate)" );
+		logger.info( "         Federates = "+federateCount );
+		logger.info( "     Final Objects = "+Utils.getFormatted(configuration.getObjectCount()*
+		                                                          configuration.getLoopCount()*
+		                                                          federateCount) );
+		logger.info( "" );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public String getName()
+	{
+		return "Save/Restore Test";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
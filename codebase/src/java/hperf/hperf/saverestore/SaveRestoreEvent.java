@@ -0,0 +1,197 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.saverestore;
+
+/**
+ * Records the timings of a single federation save and the restore that follows it. All
+ * timestamps are taken from `System.nanoTime()`. The callback side of things is written by
+ * the {@link hperf.FederateAmbassador}, while the driver polls to see where we are up to.
+ */
+public class SaveRestoreEvent
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int round;
+	private int objectCount;
+	private int federateCount;
+
+	// save
+	private long saveRequested;
+	private volatile long saveInitiated;
+	private volatile long saveFinished;
+	private volatile boolean saveSucceeded;
+
+	// restore
+	private long restoreRequested;
+	private volatile long restoreInitiated;
+	private volatile long restoreFinished;
+	private volatile boolean restoreSucceeded;
+	private volatile boolean restoreRequestFailed; // the RTI refused the request outright
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public SaveRestoreEvent( int round, int objectCount, int federateCount )
+	{
+		this.round = round;
+		this.objectCount = objectCount;
+		this.federateCount = federateCount;
+
+		this.saveRequested = 0;
+		this.saveInitiated = 0;
+		this.saveFinished = 0;
+		this.saveSucceeded = false;
+
+		this.restoreRequested = 0;
+		this.restoreInitiated = 0;
+		this.restoreFinished = 0;
+		this.restoreSucceeded = false;
+		this.restoreRequestFailed = false;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void saveFinished( long timestamp, boolean succeeded )
+	{
+		this.saveSucceeded = succeeded;
+		this.saveFinished = timestamp;
+	}
+
+	public void restoreFinished( long timestamp, boolean succeeded )
+	{
+		this.restoreSucceeded = succeeded;
+		this.restoreFinished = timestamp;
+	}
+
+	public void restoreRequestFailed( long timestamp )
+	{
+		this.restoreRequestFailed = true;
+		restoreFinished( timestamp, false );
+	}
+
+	public boolean isSaveInitiated()
+	{
+		return this.saveInitiated != 0;
+	}
+
+	public boolean isSaveFinished()
+	{
+		return this.saveFinished != 0;
+	}
+
+	public boolean isRestoreInitiated()
+	{
+		return this.restoreInitiated != 0;
+	}
+
+	public boolean isRestoreFinished()
+	{
+		return this.restoreFinished != 0;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public int getRound()
+	{
+		return this.round;
+	}
+
+	/** @return The total number of objects in the federation when the save was taken */
+	public int getObjectCount()
+	{
+		return this.objectCount;
+	}
+
+	public int getFederateCount()
+	{
+		return this.federateCount;
+	}
+
+	public void setSaveRequested( long timestamp )
+	{
+		this.saveRequested = timestamp;
+	}
+
+	public void setSaveInitiated( long timestamp )
+	{
+		this.saveInitiated = timestamp;
+	}
+
+	public boolean isSaveSucceeded()
+	{
+		return this.saveSucceeded;
+	}
+
+	public void setRestoreRequested( long timestamp )
+	{
+		this.restoreRequested = timestamp;
+	}
+
+	public void setRestoreInitiated( long timestamp )
+	{
+		this.restoreInitiated = timestamp;
+	}
+
+	public boolean isRestoreSucceeded()
+	{
+		return this.restoreSucceeded;
+	}
+
+	public boolean isRestoreRequestFailed()
+	{
+		return this.restoreRequestFailed;
+	}
+
+	/** Time (nanos) from requesting the save until the federation was saved */
+	public long getSaveTime()
+	{
+		return this.saveFinished - this.saveRequested;
+	}
+
+	/** Time (nanos) from being told to save until the federation was saved - the pause */
+	public long getSavePauseTime()
+	{
+		return this.saveFinished - this.saveInitiated;
+	}
+
+	/** Time (nanos) from requesting the restore until the federation was restored */
+	public long getRestoreTime()
+	{
+		return this.restoreFinished - this.restoreRequested;
+	}
+
+	/** Time (nanos) from being told to restore until the federation was restored */
+	public long getRestorePauseTime()
+	{
+		return this.restoreFinished - this.restoreInitiated;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
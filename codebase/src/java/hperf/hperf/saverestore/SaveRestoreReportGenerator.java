@@ -0,0 +1,100 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.saverestore;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints a table showing how long each save and restore took as the amount of state in the
+ * federation grew.
+ */
+public class SaveRestoreReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private List<SaveRestoreEvent> events;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public SaveRestoreReportGenerator( Configuration configuration, List<SaveRestoreEvent> events )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.events = events;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public void printReport()
+	{
+		logger.info( " ===================================" );
+		logger.info( " =    Save/Restore Test Report     =" );
+		logger.info( " ===================================" );
+		logger.info( "" );
+		logger.info( "   Federates:         "+(configuration.getPeers().size()+1) );
+		logger.info( "   Objects Per Round: "+configuration.getObjectCount()+" (per federate)" );
+		logger.info( "" );
+		logger.info( "  |-------------------------------------------------------------------------------|" );
+		logger.info( "  |       |           |           |       -- Save --      |     -- Restore --     |" );
+		logger.info( "  | Round | Federates |  Objects  |  Request  |   Pause   |  Request  |   Pause   |" );
+		logger.info( "  |-------|-----------|-----------|-----------|-----------|-----------|-----------|" );
+	  //logger.info( "  |    10 |        64 |   1000000 |     12.3s |     12.3s |     12.3s |     12.3s |" );
+
+		for( SaveRestoreEvent event : events )
+		{
+			String line = String.format( "  | %5d | %9d | %9d | %9s | %9s | %9s | %9s |",
+			                             event.getRound(),
+			                             event.getFederateCount(),
+			                             event.getObjectCount(),
+			                             event.isSaveSucceeded() ? Utils.getLatencyString(event.getSaveTime()) : "FAILED",
+			                             event.isSaveSucceeded() ? Utils.getLatencyString(event.getSavePauseTime()) : "FAILED",
+			                             event.isRestoreSucceeded() ? Utils.getLatencyString(event.getRestoreTime()) : "FAILED",
+			                             event.isRestoreSucceeded() ? Utils.getLatencyString(event.getRestorePauseTime()) : "FAILED" );
+			logger.info( line );
+		}
+
+		logger.info( "  |-------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: Request is measured from the sender's request until it is complete." );
+		logger.info( "              Pause is measured from the sender being told to save/restore." );
+		logger.info( "              Run again with more or fewer federates to compare federate counts." );
+		logger.info( "" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
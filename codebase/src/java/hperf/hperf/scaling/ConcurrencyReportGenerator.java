@@ -0,0 +1,141 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.scaling;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints one row for each federation in each round of a concurrent federations run, so we can
+ * see how much one federation suffers as more of them share the RTI. "vs Alone" compares each
+ * federation to the first round, where it had the RTI to itself:
+ *
+ * <ul>
+ *   <li>Throughput: total messages/s received in the federation, relative to running alone</li>
+ *   <li>Latency: the median round trip running alone over the median in this round</li>
+ * </ul>
+ */
+public class ConcurrencyReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private List<List<ScalingResult>> results; // one list per round, one result per federation
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public ConcurrencyReportGenerator( Configuration configuration, List<List<ScalingResult>> results )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.results = results;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public void printReport()
+	{
+		logger.info( " ======================================" );
+		logger.info( " =   Concurrent Federations Report    =" );
+		logger.info( " ======================================" );
+		logger.info( "" );
+		logger.info( "   Workload:     "+(configuration.isThroughputTestEnabled() ? "Throughput":"Latency") );
+		logger.info( "   Federates:    "+(configuration.getPeers().size()+1)+" (per federation)" );
+		logger.info( "   Loops:        "+configuration.getLoopCount() );
+		logger.info( "   Message Size: "+Utils.getSizeString(configuration.getPacketSize()) );
+		logger.info( "" );
+		logger.info( "  |---------------------------------------------------------------------------------|" );
+		logger.info( "  | Running | Fed | Total Msg/s | Per Fed  |  Mean   |   Med   |   95%   | vs Alone |" );
+		logger.info( "  |---------|-----|-------------|----------|---------|---------|---------|----------|" );
+	  //logger.info( "  |       4 |   3 |    12345678 | 12345678 |  1234us |  1234us |  1234us |    87.5% |" );
+
+		ScalingResult alone = results.isEmpty() ? null : results.get(0).get( 0 );
+		for( List<ScalingResult> round : results )
+		{
+			for( int i = 0; i < round.size(); i++ )
+			{
+				ScalingResult result = round.get( i );
+				String line = String.format( "  | %7d | %3d | %11s | %8s | %7s | %7s | %7s | %7.1f%% |",
+				                             round.size(),
+				                             i+1,
+				                             getRateString(result,result.getAggregateRate()),
+				                             getRateString(result,result.getMeanRate()),
+				                             getLatencyString(result,result.getLatencies().getMean()),
+				                             getLatencyString(result,result.getLatencies().getMedian()),
+				                             getLatencyString(result,result.getLatencies().getPercentile(95.0)),
+				                             getRelative(alone,result)*100.0 );
+				logger.info( line );
+			}
+		}
+
+		logger.info( "  |---------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: Running is the number of federations sharing the RTI at the time." );
+		logger.info( "     ** Note: vs Alone compares each federation to the first round, where it ran" );
+		logger.info( "              on its own. Below 100% means the other federations are hurting it." );
+		logger.info( "" );
+	}
+
+	private double getRelative( ScalingResult alone, ScalingResult result )
+	{
+		if( result.hasThroughput() )
+		{
+			double base = alone.getAggregateRate();
+			return base == 0.0 ? 0.0 : result.getAggregateRate() / base;
+		}
+		else if( result.hasLatencies() )
+		{
+			long median = result.getLatencies().getMedian();
+			return median == 0 ? 0.0 : alone.getLatencies().getMedian() / (double)median;
+		}
+		else
+		{
+			return 0.0;
+		}
+	}
+
+	private String getRateString( ScalingResult result, double rate )
+	{
+		return result.hasThroughput() ? String.valueOf((long)rate) : "-";
+	}
+
+	private String getLatencyString( ScalingResult result, long nanos )
+	{
+		return result.hasLatencies() ? Utils.getLatencyString(nanos) : "-";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,145 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.scaling;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints one row for each federation size in a JVM scaling run, with the throughput and/or
+ * latency the federates saw at that size. Efficiency compares each size to the smallest:
+ *
+ * <ul>
+ *   <li>Throughput: the mean rate each federate received at, relative to the smallest size</li>
+ *   <li>Latency: the median round trip at the smallest size over the median at this size</li>
+ * </ul>
+ *
+ * The first size at which efficiency falls below {@link #THRESHOLD} is flagged.
+ */
+public class ScalingReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final double THRESHOLD = 0.75;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private List<ScalingResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public ScalingReportGenerator( Configuration configuration, List<ScalingResult> results )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.results = results;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public void printReport()
+	{
+		logger.info( " =================================" );
+		logger.info( " =      JVM Scaling Report       =" );
+		logger.info( " =================================" );
+		logger.info( "" );
+		logger.info( "   Workload:     "+(configuration.isThroughputTestEnabled() ? "Throughput":"Latency") );
+		logger.info( "   Loops:        "+configuration.getLoopCount() );
+		logger.info( "   Message Size: "+Utils.getSizeString(configuration.getPacketSize()) );
+		logger.info( "" );
+		logger.info( "  |-------------------------------------------------------------------------------------|" );
+		logger.info( "  | Feds | Total Msg/s | Per Fed  | Slowest  |  Mean   |   Med   |   95%   | Efficiency |" );
+		logger.info( "  |------|-------------|----------|----------|---------|---------|---------|------------|" );
+	  //logger.info( "  |   16 |    12345678 | 12345678 | 12345678 |  1234us |  1234us |  1234us |  100.0% << |" );
+
+		ScalingResult baseline = results.isEmpty() ? null : results.get( 0 );
+		boolean flagged = false;
+		for( ScalingResult result : results )
+		{
+			double efficiency = getEfficiency( baseline, result );
+			boolean flag = flagged == false && efficiency < THRESHOLD;
+			flagged |= flag;
+
+			String line = String.format( "  | %4d | %11s | %8s | %8s | %7s | %7s | %7s | %6.1f%% %2s |",
+			                             result.getFederates(),
+			                             getRateString(result,result.getAggregateRate()),
+			                             getRateString(result,result.getMeanRate()),
+			                             getRateString(result,result.getMinRate()),
+			                             getLatencyString(result,result.getLatencies().getMean()),
+			                             getLatencyString(result,result.getLatencies().getMedian()),
+			                             getLatencyString(result,result.getLatencies().getPercentile(95.0)),
+			                             efficiency*100.0,
+			                             flag ? "<<" : "" );
+			logger.info( line );
+		}
+
+		logger.info( "  |-------------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: Msg/s is messages received. Latency is the round trip from the master" );
+		logger.info( "              federate to each of the others." );
+		logger.info( "     ** Note: Efficiency is relative to the smallest federation. << marks the first" );
+		logger.info( "              size where it fell below "+(int)(THRESHOLD*100)+"%." );
+		logger.info( "" );
+	}
+
+	private double getEfficiency( ScalingResult baseline, ScalingResult result )
+	{
+		if( result.hasThroughput() )
+		{
+			double base = baseline.getMeanRate();
+			return base == 0.0 ? 0.0 : result.getMeanRate() / base;
+		}
+		else if( result.hasLatencies() )
+		{
+			long median = result.getLatencies().getMedian();
+			return median == 0 ? 0.0 : baseline.getLatencies().getMedian() / (double)median;
+		}
+		else
+		{
+			return 0.0;
+		}
+	}
+
+	private String getRateString( ScalingResult result, double rate )
+	{
+		return result.hasThroughput() ? String.valueOf((long)rate) : "-";
+	}
+
+	private String getLatencyString( ScalingResult result, long nanos )
+	{
+		return result.hasLatencies() ? Utils.getLatencyString(nanos) : "-";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
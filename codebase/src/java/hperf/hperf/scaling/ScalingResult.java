@@ -0,0 +1,133 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.scaling;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import hperf.LatencySamples;
+import hperf.Storage;
+import hperf.TestFederate;
+import hperf.latency.LatencyEvent;
+
+/**
+ * The results gathered from every federate in one JVM federation of a scaling run.
+ * Throughput tests give us the receive rate of each federate, latency tests give us the
+ * round trip times the master saw to every other federate.
+ */
+public class ScalingResult
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int federates;
+	private List<Double> rates;       // messages/s received by each federate (throughput)
+	private LatencySamples latencies; // round trip to each responder (latency)
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public ScalingResult( int federates )
+	{
+		this.federates = federates;
+		this.rates = new ArrayList<Double>();
+		this.latencies = new LatencySamples();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/** Gather up what a federate recorded when it ran the throughput test */
+	public void addThroughput( Storage storage )
+	{
+		long window = storage.getThroughputTestDuration(); // millis
+		long events = storage.getReflectEventCount() + storage.getInteractionEventCount();
+		if( window > 0 )
+			rates.add( (events/(double)window) * 1000.0 );
+	}
+
+	/** Gather up the round trips the sender recorded when it ran the latency test */
+	public void addLatencies( Storage storage )
+	{
+		for( LatencyEvent event : storage.getLatencyEvents() )
+		{
+			for( TestFederate federate : event.getResponses().keySet() )
+				latencies.add( event.getResponses().get(federate) - event.getSentTimestamp() );
+		}
+	}
+
+	public boolean hasThroughput()
+	{
+		return rates.isEmpty() == false;
+	}
+
+	public boolean hasLatencies()
+	{
+		return latencies.isEmpty() == false;
+	}
+
+	/** @return Messages/s received across all the federates */
+	public double getAggregateRate()
+	{
+		double total = 0.0;
+		for( double rate : rates )
+			total += rate;
+
+		return total;
+	}
+
+	/** @return Mean messages/s received by each federate */
+	public double getMeanRate()
+	{
+		return rates.isEmpty() ? 0.0 : getAggregateRate() / rates.size();
+	}
+
+	/** @return Messages/s received by the slowest federate */
+	public double getMinRate()
+	{
+		double min = rates.isEmpty() ? 0.0 : Double.MAX_VALUE;
+		for( double rate : rates )
+			min = Math.min( min, rate );
+
+		return min;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public int getFederates()
+	{
+		return this.federates;
+	}
+
+	public LatencySamples getLatencies()
+	{
+		return this.latencies;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
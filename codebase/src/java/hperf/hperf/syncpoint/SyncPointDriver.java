@@ -0,0 +1,267 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.syncpoint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import hla.rti1516e.FederateHandleSet;
+import hla.rti1516e.RTIambassador;
+import hla.rti1516e.exceptions.RTIexception;
+import hperf.FederateAmbassador;
+import hperf.IDriver;
+import hperf.Storage;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Measures how long it takes to get through a sync point, and how that grows as more
+ * federates have to take part.
+ *
+ * The sender registers a series of sync points, each restricted to a synchronization set of
+ * itself plus the first `n` of its peers, for `n` from 1 up to all of them. For each it
+ * records the time from registration until the announcement arrives, and the time from
+ * achieving the point until `federationSynchronized` arrives. Timestamps are taken inside
+ * the {@link FederateAmbassador} callbacks so our own polling doesn't skew the results.
+ *
+ * All other federates just achieve every test point they are told about, as fast as they can.
+ */
+public class SyncPointDriver implements IDriver
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final String POINT_PREFIX = "SYNCPOINT_LATENCY_";
+	private static final String FINISH_POINT = "FINISH_SYNCPOINT_TEST";
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private Storage storage;
+	private RTIambassador rtiamb;
+	private FederateAmbassador fedamb;
+
+	private List<SyncPointResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public SyncPointDriver()
+	{
+		this.logger = null;         // set in configure()
+		this.configuration = null;  // set in configure()
+		this.storage = null;        // set in configure()
+		this.rtiamb = null;         // set in execute()
+		this.fedamb = null;         // set in execute()
+
+		this.results = new ArrayList<SyncPointResult>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public boolean manageLifecycleManually()
+	{
+		return false;
+	}
+
+	public void execute( RTIambassador rtiamb, FederateAmbassador fedamb ) throws RTIexception
+	{
+		this.rtiamb = rtiamb;
+		this.fedamb = fedamb;
+
+		// Have announcements queued up for us before anyone can start registering points
+		fedamb.syncPointAnnouncements = new LinkedBlockingQueue<String>();
+
+		logger.info( "Waiting for all federates to be ready to start" );
+		rtiamb.synchronizationPointAchieved( "START_SYNCPOINT_TEST" );
+		while( fedamb.achievedSyncPoints.contains("START_SYNCPOINT_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+		if( configuration.isSender() )
+			executeSender();
+		else
+			executeResponder();
+
+		fedamb.syncPointAnnouncements = null;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////////////// Sender ////////////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	private void executeSender() throws RTIexception
+	{
+		List<String> peers = configuration.getPeers();
+		for( int peerCount = 1; peerCount <= peers.size(); peerCount++ )
+		{
+			// the sync set is us plus the first n peers
+			FederateHandleSet federates = rtiamb.getFederateHandleSetFactory().create();
+			federates.add( rtiamb.getFederateHandle(configuration.getFederateName()) );
+			for( String peer : peers.subList(0,peerCount) )
+				federates.add( rtiamb.getFederateHandle(peer) );
+
+			SyncPointResult result = new SyncPointResult( peerCount+1 );
+			for( int i = 0; i < configuration.getLoopCount(); i++ )
+				synchronize( POINT_PREFIX+(peerCount+1)+"_"+i, federates, result );
+
+			results.add( result );
+			logger.info( String.format("%3d federates: announce=%s, synchronize=%s",
+			                           result.getFederateCount(),
+			                           Utils.getLatencyString(result.getAnnounceLatencies().getMean()).trim(),
+			                           Utils.getLatencyString(result.getSynchronizeLatencies().getMean()).trim()) );
+		}
+
+		// let everyone know we're done
+		rtiamb.registerFederationSynchronizationPoint( FINISH_POINT, new byte[]{} );
+		rtiamb.synchronizationPointAchieved( FINISH_POINT );
+		while( fedamb.achievedSyncPoints.contains(FINISH_POINT) == false )
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+		logger.info( "Sync Point Test Finished" );
+		logger.info( "" );
+
+		new SyncPointReportGenerator(configuration,results).printReport();
+	}
+
+	/**
+	 * Register the point for the given federates and achieve it as soon as it is announced,
+	 * recording both latencies with the given result.
+	 */
+	private void synchronize( String label, FederateHandleSet federates, SyncPointResult result )
+		throws RTIexception
+	{
+		long registered = System.nanoTime();
+		rtiamb.registerFederationSynchronizationPoint( label, new byte[]{}, federates );
+		while( fedamb.syncPointAnnounceTimes.containsKey(label) == false )
+			Utils.tickOrSleep( rtiamb, configuration, 1 );
+
+		long achieved = System.nanoTime();
+		rtiamb.synchronizationPointAchieved( label );
+		while( fedamb.syncPointSynchronizedTimes.containsKey(label) == false )
+			Utils.tickOrSleep( rtiamb, configuration, 1 );
+
+		result.getAnnounceLatencies().add( fedamb.syncPointAnnounceTimes.get(label) - registered );
+		result.getSynchronizeLatencies().add( fedamb.syncPointSynchronizedTimes.get(label) - achieved );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////////////// Responder ///////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Achieve each test point the moment it is announced. We take labels off the announcement
+	 * queue rather than scanning the announced set, so we don't hold the sender up.
+	 */
+	private void executeResponder() throws RTIexception
+	{
+		logger.info( "Achieving sync points as they are announced" );
+
+		int achieved = 0;
+		while( true )
+		{
+			String label = nextAnnouncement();
+			if( label == null )
+				continue;
+
+			if( label.startsWith(POINT_PREFIX) )
+			{
+				rtiamb.synchronizationPointAchieved( label );
+				achieved++;
+			}
+			else if( label.equals(FINISH_POINT) )
+			{
+				rtiamb.synchronizationPointAchieved( label );
+				break;
+			}
+		}
+
+		while( fedamb.achievedSyncPoints.contains(FINISH_POINT) == false )
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+		logger.info( "Sync Point Test Finished - achieved "+achieved+" points" );
+		logger.info( "Report has been generated by sender federate" );
+	}
+
+	/**
+	 * @return The label of the next announced sync point, or null if none turned up within
+	 *         a short wait
+	 */
+	private String nextAnnouncement() throws RTIexception
+	{
+		if( configuration.isEvokedCallback() )
+		{
+			rtiamb.evokeCallback( 0.1 );
+			return fedamb.syncPointAnnouncements.poll();
+		}
+
+		try
+		{
+			return fedamb.syncPointAnnouncements.poll( 100, TimeUnit.MILLISECONDS );
+		}
+		catch( InterruptedException ie )
+		{
+			return null;
+		}
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// IDriver Methods /////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public void configure( Configuration configuration, Storage storage )
+	{
+		this.configuration = configuration;
+		this.storage = storage;
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+	}
+
+	@Override
+	public void printWelcomeMessage()
+	{
+		logger.info( " ===================================" );
+		logger.info( " =     Running Sync Point Test     =" );
+		logger.info( " ===================================" );
+		logger.info( "" );
+		logger.info( "             Role = "+(configuration.isSender() ? "SENDER":"RESPONDER") );
+		logger.info( " Points Per Count = "+configuration.getLoopCount() );
+		logger.info( "  Total Federates = "+(configuration.getPeers().size()+1) );
+		logger.info( "" );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public String getName()
+	{
+		return "Sync Point Test";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,104 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.syncpoint;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hperf.LatencySamples;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints a table showing how sync point latencies grow with the number of federates in the
+ * synchronization set.
+ */
+public class SyncPointReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private List<SyncPointResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public SyncPointReportGenerator( Configuration configuration, List<SyncPointResult> results )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.results = results;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public void printReport()
+	{
+		logger.info( " ===================================" );
+		logger.info( " =     Sync Point Test Report      =" );
+		logger.info( " ===================================" );
+		logger.info( "" );
+		logger.info( "   Points Per Federate Count: "+configuration.getLoopCount() );
+		logger.info( "" );
+		logger.info( "  |----------------------------------------------------------------------------------------------------|" );
+		logger.info( "  |           |        |       -- Register to Announce --      |     -- Achieve to Synchronized --     |" );
+		logger.info( "  | Federates | Points |  Mean   |   Med   |   95%   |   Max   |  Mean   |   Med   |   95%   |   Max   |" );
+		logger.info( "  |-----------|--------|---------|---------|---------|---------|---------|---------|---------|---------|" );
+	  //logger.info( "  |        64 |   1000 |  1234us |  1234us |  1234us |  1234us |  1234us |  1234us |  1234us |  1234us |" );
+
+		for( SyncPointResult result : results )
+		{
+			LatencySamples announce = result.getAnnounceLatencies();
+			LatencySamples synchronize = result.getSynchronizeLatencies();
+			String line = String.format( "  | %9d | %6d | %7s | %7s | %7s | %7s | %7s | %7s | %7s | %7s |",
+			                             result.getFederateCount(),
+			                             announce.size(),
+			                             Utils.getLatencyString(announce.getMean()),
+			                             Utils.getLatencyString(announce.getMedian()),
+			                             Utils.getLatencyString(announce.getPercentile(95.0)),
+			                             Utils.getLatencyString(announce.getMax()),
+			                             Utils.getLatencyString(synchronize.getMean()),
+			                             Utils.getLatencyString(synchronize.getMedian()),
+			                             Utils.getLatencyString(synchronize.getPercentile(95.0)),
+			                             Utils.getLatencyString(synchronize.getMax()) );
+			logger.info( line );
+		}
+
+		logger.info( "  |----------------------------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: Federates is the size of the synchronization set, including the sender." );
+		logger.info( "              Achieve to Synchronized includes the time the others take to achieve." );
+		logger.info( "" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
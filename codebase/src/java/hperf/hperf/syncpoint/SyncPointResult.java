@@ -0,0 +1,80 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.syncpoint;
+
+import hperf.LatencySamples;
+
+/**
+ * The latencies recorded for all the sync points registered with a particular number of
+ * federates in their synchronization set.
+ */
+public class SyncPointResult
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int federateCount;
+	private LatencySamples announceLatencies;     // register -> announce
+	private LatencySamples synchronizeLatencies;  // achieve -> federationSynchronized
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public SyncPointResult( int federateCount )
+	{
+		this.federateCount = federateCount;
+		this.announceLatencies = new LatencySamples();
+		this.synchronizeLatencies = new LatencySamples();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/** @return The number of federates (including the sender) in the synchronization set */
+	public int getFederateCount()
+	{
+		return this.federateCount;
+	}
+
+	/** Time (nanos) from registering each point until it was announced to us */
+	public LatencySamples getAnnounceLatencies()
+	{
+		return this.announceLatencies;
+	}
+
+	/** Time (nanos) from achieving each point until the federation was synchronized */
+	public LatencySamples getSynchronizeLatencies()
+	{
+		return this.synchronizeLatencies;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
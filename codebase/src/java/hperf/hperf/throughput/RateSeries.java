@@ -0,0 +1,169 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.throughput;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import hperf.Storage;
+
+/**
+ * Records the number of events received from our peers in each second of a throughput run,
+ * along with markers for anything interesting that happened along the way (federates
+ * joining or resigning). This lets the report show how far and for how long throughput
+ * dipped around each of these events.
+ *
+ * Sampling is done from a daemon timer thread so that it carries on regardless of what
+ * the driver is blocked on. The received count is the total throughput event count less
+ * the events we generated ourselves, so nothing extra is done on the receive path.
+ */
+public class RateSeries
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Storage storage;
+	private Timer timer;
+	private long started;        // nanoTime that sampling started
+	private int lastCount;       // received count at the last sample
+	private List<Integer> samples;
+	private ConcurrentLinkedQueue<Marker> markers;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public RateSeries( Storage storage )
+	{
+		this.storage = storage;
+		this.timer = null;
+		this.started = 0;
+		this.lastCount = 0;
+		this.samples = new ArrayList<Integer>();
+		this.markers = new ConcurrentLinkedQueue<Marker>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/** Start taking a sample every second */
+	public void start()
+	{
+		this.started = System.nanoTime();
+		this.lastCount = getReceivedCount();
+		this.timer = new Timer( "hperf-rate-series", true );
+		this.timer.scheduleAtFixedRate( new TimerTask()
+		{
+			public void run()
+			{
+				sample();
+			}
+		}, 1000, 1000 );
+	}
+
+	/** Stop sampling. Any partial second at the end is dropped. */
+	public void stop()
+	{
+		if( this.timer != null )
+			this.timer.cancel();
+	}
+
+	private synchronized void sample()
+	{
+		int count = getReceivedCount();
+		samples.add( count - lastCount );
+		lastCount = count;
+	}
+
+	private int getReceivedCount()
+	{
+		return storage.getThroughputEventCount() - storage.getLocalFederate().getEventCount();
+	}
+
+	/** Note that something happened now, such as a federate joining or resigning */
+	public void mark( String label )
+	{
+		this.markers.add( new Marker(System.nanoTime(),label) );
+	}
+
+	/** @return The events received in each whole second since sampling started */
+	public synchronized int[] getSamples()
+	{
+		int[] values = new int[samples.size()];
+		for( int i = 0; i < values.length; i++ )
+			values[i] = samples.get( i );
+
+		return values;
+	}
+
+	/** @return The median of all the samples, or 0 if there are none */
+	public int getMedian()
+	{
+		int[] values = getSamples();
+		if( values.length == 0 )
+			return 0;
+
+		Arrays.sort( values );
+		return values[values.length/2];
+	}
+
+	public ConcurrentLinkedQueue<Marker> getMarkers()
+	{
+		return this.markers;
+	}
+
+	/** @return The sample index (second) the given marker falls into. Negative if before start */
+	public int getSecond( Marker marker )
+	{
+		return (int)Math.floorDiv( marker.timestamp-started, 1000000000L );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////////// Class: Marker //////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public static class Marker
+	{
+		private long timestamp;
+		private String label;
+
+		private Marker( long timestamp, String label )
+		{
+			this.timestamp = timestamp;
+			this.label = label;
+		}
+
+		public String getLabel()
+		{
+			return this.label;
+		}
+	}
+}
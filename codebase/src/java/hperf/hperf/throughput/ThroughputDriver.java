@@ -29,18 +29,29 @@ import java.util.concurrent.TimeUnit;
 import org.apache.log4j.Logger;
 
 import hla.rti1516e.AttributeHandleValueMap;
+import hla.rti1516e.InteractionClassHandle;
+import hla.rti1516e.ObjectClassHandle;
 import hla.rti1516e.ObjectInstanceHandle;
 import hla.rti1516e.ParameterHandleValueMap;
 import hla.rti1516e.RTIambassador;
 import hla.rti1516e.exceptions.RTIexception;
+import hla.rti1516e.time.HLAfloat64Time;
 import hla.rti1516e.time.HLAfloat64TimeFactory;
 import hperf.IDriver;
 import hperf.Storage;
 import hperf.TestFederate;
 import hperf.FederateAmbassador;
+import hperf.PayloadPool;
 import hperf.Utils;
+import hperf.compress.CompressionReportGenerator;
+import hperf.compress.PayloadCompressor;
 import hperf.config.Configuration;
+import hperf.crypto.CryptoReportGenerator;
+import hperf.crypto.PayloadCipher;
+import hperf.entity.EncodingReportGenerator;
+import hperf.entity.EntityStateCodec;
 import hperf.config.LoggingConfigurator;
+import hperf.topology.Topology;
 import static hperf.Handles.*;
 
 public class ThroughputDriver implements IDriver
@@ -59,7 +70,15 @@ public class ThroughputDriver implements IDriver
 	private FederateAmbassador fedamb;
 
 	private List<ObjectInstanceHandle> myObjects;
-	private byte[] payload;
+	private PayloadPool payloads;   // rotated through so we aren't always sending a cached buffer
+	private EntityStateCodec entityCodec; // null if payloads come from the pool
+	private PayloadCompressor compressor; // null if payloads are sent as-is
+	private PayloadCipher cipher;         // null if payloads are sent in the clear
+
+	// who sends to whom, null if everyone sends to everyone
+	private Topology topology;
+	private boolean publishing;                     // do we send anything at all?
+	private InteractionClassHandle throughputClass; // class of the RO interactions we send
 
 	// time factory for use if we are timestepped
 	private HLAfloat64TimeFactory timeFactory;
@@ -76,7 +95,14 @@ public class ThroughputDriver implements IDriver
 		this.fedamb = null;         // set in configure()
 
 		this.myObjects = new ArrayList<ObjectInstanceHandle>();
-		this.payload = null;        // set in execute()
+		this.payloads = null;       // set in execute()
+		this.entityCodec = null;    // set in execute()
+		this.compressor = null;     // set in execute()
+		this.cipher = null;         // set in execute()
+
+		this.topology = null;        // set in configure()
+		this.publishing = true;      // set in configure()
+		this.throughputClass = null; // set in execute()
 	}
 
 	//----------------------------------------------------------
@@ -104,7 +130,18 @@ public class ThroughputDriver implements IDriver
 	{
 		this.rtiamb = rtiamb;
 		this.fedamb = fedamb;
-		this.payload = Utils.generatePayload( configuration.getPacketSize() );
+		this.payloads = new PayloadPool( configuration.getPacketSize(),
+		                                 configuration.getPayloadPool(),
+		                                 configuration.getPayloadContent() );
+		this.entityCodec = fedamb.entityCodec;
+		this.compressor = fedamb.compressor;
+		this.cipher = fedamb.cipher;
+		this.throughputClass = IC_THROUGHPUT;
+		if( topology != null )
+		{
+			String name = Topology.getInteractionClassName( configuration.getFederateName() );
+			this.throughputClass = rtiamb.getInteractionClassHandle( name );
+		}
 
 		// Enable time policy if we use it
 		if( configuration.isTimestepped() )
@@ -117,6 +154,9 @@ public class ThroughputDriver implements IDriver
 		this.waitForStart();
 		this.logger.info( "Starting Throughput Test" );
 		this.storage.startThroughputTestTimer();
+		long cpuBefore = Utils.getProcessCpuTime();
+		if( configuration.isRateSeries() )
+			this.startRateSeries();
 		
 		//////////////////////////////////////////////////////////////////////////////
 		//                                                                          //
@@ -128,8 +168,8 @@ public class ThroughputDriver implements IDriver
 		//////////////////////////////////////////////////////////////////////////////
 		int batchSize = getBatchSize();
 		int packetSize = configuration.getPacketSize();
-		int reflectsPerLoop = configuration.getObjectCount();
-		int interactionsPerLoop = configuration.getInteractionCount();
+		int reflectsPerLoop = publishing ? configuration.getObjectCount() : 0;
+		int interactionsPerLoop = publishing ? configuration.getInteractionCount() : 0;
 		int lastEventCount = 0;
 		long lastTimestamp = System.nanoTime();
 
@@ -191,12 +231,43 @@ public class ThroughputDriver implements IDriver
 
 		// Wait for everyone to finish their stuff
 		this.waitForFinish();
+		long cpuAfter = Utils.getProcessCpuTime();
+		if( cpuBefore >= 0 && cpuAfter >= 0 )
+			storage.setThroughputCpuTime( cpuAfter-cpuBefore );
 
 		logger.info( "Throughput test finished" );
 		logger.info( "" );
 		
 		// Print the report
 		new ThroughputReportGenerator(configuration,storage).printReport();
+		if( compressor != null )
+		{
+			new CompressionReportGenerator(configuration,compressor).printReport(
+			    storage.getThroughputTestDuration() );
+		}
+		if( cipher != null )
+		{
+			new CryptoReportGenerator(configuration,cipher).printReport(
+			    storage.getThroughputTestDuration(), storage.getThroughputCpuTime() );
+		}
+		if( entityCodec != null )
+			new EncodingReportGenerator(configuration,entityCodec).printReport( storage.getThroughputCpuTime() );
+	}
+
+	/**
+	 * @return The next payload from the pool (or a freshly encoded entity state record),
+	 *         compressed and/or encrypted if we've been asked to (compressed first, encrypted
+	 *         data won't compress)
+	 */
+	private byte[] nextPayload()
+	{
+		byte[] payload = entityCodec == null ? payloads.next() : entityCodec.encode();
+		if( compressor != null )
+			payload = compressor.compress( payload );
+		if( cipher != null )
+			payload = cipher.encrypt( payload );
+
+		return payload;
 	}
 
 	/** We print out stats every so often during a run. This method determines how often.
@@ -237,27 +308,14 @@ public class ThroughputDriver implements IDriver
 	 */
 	private void loop( int loopNumber ) throws RTIexception
 	{
-		//////////////////////////////////////////////
-		// send out an update for all local objects //
-		//////////////////////////////////////////////
-		AttributeHandleValueMap attributes = rtiamb.getAttributeHandleValueMapFactory().create(1);
-		attributes.put( AC_PAYLOAD, payload );
-		for( ObjectInstanceHandle testObject : myObjects )
-		{
-			rtiamb.updateAttributeValues( testObject, attributes, null );
-			storage.recordReflect( testObject );
-		}
-
-		ParameterHandleValueMap parameters = rtiamb.getParameterHandleValueMapFactory().create(2);
-		byte[] senderNameBytes = configuration.getFederateName().getBytes();
-		parameters.put( PC_THROUGHPUT_SENDER, senderNameBytes );
-		parameters.put( PC_THROUGHPUT_PAYLOAD, payload );
-		for( int i = 0; i < configuration.getInteractionCount(); i++ )
-		{
-			rtiamb.sendInteraction( IC_THROUGHPUT, parameters, null );
-			storage.recordInteraction( IC_THROUGHPUT, storage.getLocalFederate() );
-		}
+		long sendStarted = System.nanoTime();
+		if( configuration.isTimestampOrder() )
+			sendTimestampOrder();
+		else
+			sendReceiveOrder();
 
+		long sendFinished = System.nanoTime();
+		storage.recordSendTime( sendFinished-sendStarted );
 
 		////////////////////////////////////////////////////
 		// give some time over to process incoming events //
@@ -267,11 +325,12 @@ public class ThroughputDriver implements IDriver
 		// If we use TIMESTEPPING - request an advance and then wait until we get it
 		if( configuration.isTimestepped() )
 		{
-			// Tick until we get the advance grant
-			long requestedTime = fedamb.currentTime + 1;
+			// Request the advance and wait until we get the grant
+			int grantCount = fedamb.grantCount;
+			double requestedTime = fedamb.currentTime + configuration.getTimeStep();
 			rtiamb.timeAdvanceRequest( timeFactory.makeTime(requestedTime) );
-			while( fedamb.currentTime < requestedTime )
-				tickOrSleep( configuration.getLoopWait() );
+			Utils.waitForGrant( rtiamb, fedamb, configuration, grantCount );
+			storage.recordTimestep( sendFinished-sendStarted, System.nanoTime()-sendFinished );
 		}
 		else if( configuration.isEvokedCallback() )
 		{
@@ -284,6 +343,59 @@ public class ThroughputDriver implements IDriver
 		}
 	}
 
+	/**
+	 * Send out an update for all local objects and the configured number of interactions,
+	 * all receive ordered.
+	 */
+	private void sendReceiveOrder() throws RTIexception
+	{
+		AttributeHandleValueMap attributes = rtiamb.getAttributeHandleValueMapFactory().create(1);
+		for( ObjectInstanceHandle testObject : myObjects )
+		{
+			attributes.put( AC_PAYLOAD, nextPayload() );
+			rtiamb.updateAttributeValues( testObject, attributes, null );
+			storage.recordReflect( testObject );
+		}
+
+		ParameterHandleValueMap parameters = rtiamb.getParameterHandleValueMapFactory().create(2);
+		byte[] senderNameBytes = configuration.getFederateName().getBytes();
+		parameters.put( PC_THROUGHPUT_SENDER, senderNameBytes );
+		int interactions = publishing ? configuration.getInteractionCount() : 0;
+		for( int i = 0; i < interactions; i++ )
+		{
+			parameters.put( PC_THROUGHPUT_PAYLOAD, nextPayload() );
+			rtiamb.sendInteraction( throughputClass, parameters, null );
+			storage.recordInteraction( throughputClass, storage.getLocalFederate() );
+		}
+	}
+
+	/**
+	 * Same as {@link #sendReceiveOrder()}, but using the timed classes and stamping everything
+	 * with the earliest time we're allowed to send (current time + lookahead).
+	 */
+	private void sendTimestampOrder() throws RTIexception
+	{
+		HLAfloat64Time timestamp = timeFactory.makeTime( fedamb.currentTime+configuration.getLookahead() );
+
+		AttributeHandleValueMap attributes = rtiamb.getAttributeHandleValueMapFactory().create(1);
+		for( ObjectInstanceHandle testObject : myObjects )
+		{
+			attributes.put( AC_TIMED_PAYLOAD, nextPayload() );
+			rtiamb.updateAttributeValues( testObject, attributes, null, timestamp );
+			storage.recordReflect( testObject );
+		}
+
+		ParameterHandleValueMap parameters = rtiamb.getParameterHandleValueMapFactory().create(2);
+		byte[] senderNameBytes = configuration.getFederateName().getBytes();
+		parameters.put( PC_TIMED_THROUGHPUT_SENDER, senderNameBytes );
+		for( int i = 0; i < configuration.getInteractionCount(); i++ )
+		{
+			parameters.put( PC_TIMED_THROUGHPUT_PAYLOAD, nextPayload() );
+			rtiamb.sendInteraction( IC_TIMED_THROUGHPUT, parameters, null, timestamp );
+			storage.recordInteraction( IC_TIMED_THROUGHPUT, storage.getLocalFederate() );
+		}
+	}
+
 	////////////////////////////////////////////////////////////////////////////////////////////
 	//////////////////////////////////// Time Policy Methods ///////////////////////////////////
 	////////////////////////////////////////////////////////////////////////////////////////////
@@ -293,9 +405,9 @@ public class ThroughputDriver implements IDriver
 
 		// turn on the time policy
 		rtiamb.enableTimeConstrained();
-		rtiamb.enableTimeRegulation( timeFactory.makeInterval(1.0) );
+		rtiamb.enableTimeRegulation( timeFactory.makeInterval(configuration.getLookahead()) );
 		while( fedamb.timeConstrained == false || fedamb.timeRegulating == false )
-			tickOrSleep( 500 );
+			Utils.tickOrSleep( rtiamb, configuration, 500 );
 
 	}
 
@@ -308,11 +420,24 @@ public class ThroughputDriver implements IDriver
 		// 1. Create the test object instances that we'll use for metrics gathering.
 		//    The initial attribute update happens only once we know all peers are present.
 		// ------------------------------------------------------------------------------
+		if( publishing == false )
+		{
+			logger.info( "Not registering any test objects, we don't send to anyone in this topology" );
+			return;
+		}
+
 		logger.info( "Registering ["+configuration.getObjectCount()+"] test objects" );
+		ObjectClassHandle objectClass = configuration.isTimestampOrder() ? OC_TIMED_TEST_OBJECT :
+		                                                                   OC_TEST_OBJECT;
+		if( topology != null )
+		{
+			String name = Topology.getObjectClassName( configuration.getFederateName() );
+			objectClass = rtiamb.getObjectClassHandle( name );
+		}
 		for( int i = 0; i < configuration.getObjectCount(); i++ )
 		{
 			String objectName = configuration.getFederateName()+"-"+(i+1);
-			ObjectInstanceHandle oHandle = rtiamb.registerObjectInstance( OC_TEST_OBJECT );
+			ObjectInstanceHandle oHandle = rtiamb.registerObjectInstance( objectClass );
 
 			// store our details about the object for later reference
 			myObjects.add( oHandle );
@@ -325,7 +450,8 @@ public class ThroughputDriver implements IDriver
 		// ------------------------------------------------------------------------------
 		logger.info( "Send initial attribute updates" );
 		AttributeHandleValueMap values = rtiamb.getAttributeHandleValueMapFactory().create(1);
-		values.put( AC_CREATOR, configuration.getFederateName().getBytes() );
+		values.put( configuration.isTimestampOrder() ? AC_TIMED_CREATOR : AC_CREATOR,
+		            configuration.getFederateName().getBytes() );
 		for( ObjectInstanceHandle myObject : myObjects )
 		{
 			rtiamb.updateAttributeValues( myObject, values, null );
@@ -350,7 +476,7 @@ public class ThroughputDriver implements IDriver
 		
 		// wait for everyone to do the same
 		while( fedamb.achievedSyncPoints.contains("START_THROUGHPUT_TEST") == false )
-			tickOrSleep( 20 );
+			Utils.tickOrSleep( rtiamb, configuration, 20 );
 	}
 
 	/**
@@ -371,9 +497,9 @@ public class ThroughputDriver implements IDriver
 		boolean allObjectsReady = true;
 		do
 		{
-			for( TestFederate federate : storage.getPeers() )
+			for( TestFederate federate : getSources() )
 			{
-				if( federate.getObjectCount() > configuration.getObjectCount() )
+				if( federate.getObjectCount() < configuration.getObjectCount() )
 				{
 					allObjectsReady = false;
 					break;
@@ -384,7 +510,7 @@ public class ThroughputDriver implements IDriver
 				}
 			}
 
-			tickOrSleep( 500 );
+			Utils.tickOrSleep( rtiamb, configuration, 500 );
 
 		} while( allObjectsReady == false );
 	}
@@ -410,7 +536,7 @@ public class ThroughputDriver implements IDriver
                                  (configuration.getInteractionCount() * loopCount); /* interactions */
 		
 		// get a list of all peers - integer is how many messages we've received
-		Collection<TestFederate> notfinished = new ConcurrentLinkedQueue<TestFederate>( storage.getPeers() );
+		Collection<TestFederate> notfinished = new ConcurrentLinkedQueue<TestFederate>( getSources() );
 		notfinished.remove( storage.getLocalFederate() );
 
 		long nextScheduledReport = 0;  // earliest time we should print waiting summary
@@ -448,14 +574,70 @@ public class ThroughputDriver implements IDriver
 			}
 
 			// process a bit
-			tickOrSleep( 100 );
+			Utils.tickOrSleep( rtiamb, configuration, 100 );
 		}
 		
 		storage.stopThroughputTestTimer();
+		if( storage.getRateSeries() != null )
+			storage.getRateSeries().stop();
+
 		logger.info( "All finished - synchronizing" );
 		rtiamb.synchronizationPointAchieved( "FINISH_THROUGHPUT_TEST" );
 		while( fedamb.achievedSyncPoints.contains("FINISH_THROUGHPUT_TEST") == false )
-			tickOrSleep( 500 );
+			Utils.tickOrSleep( rtiamb, configuration, 500 );
+	}
+
+	/**
+	 * The federates taking part in the test - ourselves and our configured peers. Federates
+	 * that come and go during the run (such as those from the churn test) are known to
+	 * storage, but we don't expect anything from them.
+	 */
+	private List<TestFederate> getTestPeers()
+	{
+		List<TestFederate> federates = new ArrayList<TestFederate>();
+		for( TestFederate federate : storage.getPeers() )
+		{
+			if( federate.isLocalFederate() ||
+			    configuration.getPeers().contains(federate.getFederateName()) )
+				federates.add( federate );
+		}
+
+		return federates;
+	}
+
+	/**
+	 * @return The test peers (and us, if we send) whose traffic we expect to receive. Without a
+	 *         topology that is all of them.
+	 */
+	private List<TestFederate> getSources()
+	{
+		if( topology == null )
+			return getTestPeers();
+
+		List<String> sources = topology.getSources( configuration.getFederateName() );
+		List<TestFederate> federates = new ArrayList<TestFederate>();
+		for( TestFederate federate : getTestPeers() )
+		{
+			if( federate.isLocalFederate() ? publishing : sources.contains(federate.getFederateName()) )
+				federates.add( federate );
+		}
+
+		return federates;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////////////// Rate Series ///////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Start recording the number of events we receive each second. Joins and resigns that
+	 * happen while we're running are marked by the {@link FederateAmbassador} so we can see
+	 * the disruption they cause in the report.
+	 */
+	private void startRateSeries()
+	{
+		RateSeries rateSeries = new RateSeries( storage );
+		storage.setRateSeries( rateSeries );
+		rateSeries.start();
 	}
 
 	///////////////////////////////////////////////////////////////////////////////////////////
@@ -468,6 +650,16 @@ public class ThroughputDriver implements IDriver
 		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
 		this.storage = storage;
 		this.fedamb = new FederateAmbassador( configuration, storage );
+
+		if( configuration.isTopologyEnabled() )
+		{
+			// the per-federate subclasses only exist for the receive order classes
+			if( configuration.isTimestepped() )
+				throw new RuntimeException( "Topologies can't be used with --timestepped or --tso" );
+
+			this.topology = new Topology( configuration );
+			this.publishing = topology.isPublisher( configuration.getFederateName() );
+		}
 	}
 
 	@Override
@@ -488,6 +680,15 @@ public class ThroughputDriver implements IDriver
 		logger.info( " ===================================" );
 		logger.info( "" );
 		logger.info( "      Messsage Size = "+Utils.getSizeString(packetSize) );
+		if( configuration.getPayloadPool() > packetSize )
+			logger.info( "       Payload Pool = "+Utils.getSizeString(configuration.getPayloadPool()).trim()+" (rotating, cache-cold)" );
+		logger.info( "    Payload Content = "+configuration.getPayloadContent().getLabel() );
+		if( configuration.isCompressionEnabled() )
+			logger.info( "        Compression = Deflate level "+configuration.getCompressLevel() );
+		if( configuration.isEncryptionEnabled() )
+			logger.info( "         Encryption = AES-128-GCM" );
+		if( configuration.isEntityPayloadEnabled() )
+			logger.info( "     Entity Payload = RPR entity state, "+configuration.getArticulatedParts()+" articulated parts (replaces message size)" );
 		logger.info( "         Loop Count = "+configuration.getLoopCount() );
 		logger.info( "       Object Count = "+configuration.getObjectCount() );
 		logger.info( "  Interaction Count = "+configuration.getInteractionCount() );
@@ -497,6 +698,19 @@ public class ThroughputDriver implements IDriver
 		logger.info( "    Total Send Size = "+Utils.getSizeString(sendSize,2).trim() );
 		logger.info( "    Total Revc Size = "+Utils.getSizeString(recvSize,2).trim() );
 		logger.info( "     Total Messages = "+Utils.getFormatted(messages*loops*(peers+1)) );
+		if( topology != null )
+		{
+			List<String> sources = topology.getSources( configuration.getFederateName() );
+			logger.info( "           Topology = "+topology.getShape().getLabel() );
+			logger.info( "            Sending = "+publishing );
+			logger.info( "     Receiving From = "+(sources.isEmpty() ? "nobody" : sources) );
+		}
+		if( configuration.isTimestepped() )
+		{
+			logger.info( "        Timestepped = "+(configuration.isTimestampOrder() ? "TSO traffic":"RO traffic") );
+			logger.info( "          Lookahead = "+configuration.getLookahead() );
+			logger.info( "          Time Step = "+configuration.getTimeStep() );
+		}
 		logger.info( "" );
 	}
 
@@ -509,18 +723,6 @@ public class ThroughputDriver implements IDriver
 		return "Throughput Test";
 	}
 
-	/**
-	 * Depending on whether we are using the immediate callback processor, or are in a 
-	 * ticking mode, either sleep or tick for at least the given number of millis
-	 */
-	private void tickOrSleep( long millis ) throws RTIexception
-	{
-		if( configuration.isImmediateCallback() )
-			Utils.sleep( millis );
-		else
-			rtiamb.evokeMultipleCallbacks( (millis/1000.0), (millis/1000.0) );
-	}
-
 	//----------------------------------------------------------
 	//                     STATIC METHODS
 	//----------------------------------------------------------
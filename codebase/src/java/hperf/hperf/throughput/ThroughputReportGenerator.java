@@ -22,11 +22,13 @@ package hperf.throughput;
 
 import org.apache.log4j.Logger;
 
+import hperf.LatencySamples;
 import hperf.Storage;
 import hperf.TestFederate;
 import hperf.Utils;
 import hperf.config.Configuration;
 import hperf.config.LoggingConfigurator;
+import hperf.topology.Topology;
 
 public class ThroughputReportGenerator
 {
@@ -40,6 +42,7 @@ public class ThroughputReportGenerator
 	private Logger logger;
 	private Configuration configuration;
 	private Storage storage;
+	private Topology topology; // null if everyone sends to everyone
 
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
@@ -49,6 +52,7 @@ public class ThroughputReportGenerator
 		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
 		this.configuration = configuration;
 		this.storage = storage;
+		this.topology = configuration.isTopologyEnabled() ? new Topology(configuration) : null;
 	}
 
 	//----------------------------------------------------------
@@ -64,6 +68,10 @@ public class ThroughputReportGenerator
 		logger.info( " =     Throughput Test Report     =" );
 		logger.info( " ==================================" );
 		logger.info( "   Duration: "+ executionTime );
+		if( configuration.getPayloadPool() > configuration.getPacketSize() )
+			logger.info( "   Payloads: "+Utils.getSizeString(configuration.getPayloadPool()).trim()+" pool (cache-cold)" );
+		else
+			logger.info( "   Payloads: single buffer (cache-hot)" );
 		logger.info( "   Events Sent / Received: " );
 		logger.info( "      -Discover:    "+ totalReport[0] );
 		logger.info( "      -Reflect:     "+ totalReport[1] );
@@ -73,6 +81,9 @@ public class ThroughputReportGenerator
 		// print the listing for each peer
 		for( TestFederate federate : storage.getPeers() )
 		{
+			if( isTestPeer(federate) == false )
+				continue;
+
 			String receiveWindow = getExecutionTime( federate.getReceiveWindow() );
 			String[] federateReport = getFederateEvents( federate );
 			String local = federate.isLocalFederate() ? "  ** LOCAL FEDERATE **" : "";
@@ -85,6 +96,33 @@ public class ThroughputReportGenerator
 		}
 
 		printThroughputTable();
+
+		if( topology != null && topology.getSubscribeCount() > 0 )
+			printSubscriptionInterest();
+
+		if( configuration.isTimestepped() )
+			printTimeManagement();
+
+		if( storage.getRateSeries() != null )
+			printRateSeries( storage.getRateSeries() );
+	}
+
+	/** Federates that join and resign mid-run (churn federates) aren't part of the test */
+	private boolean isTestPeer( TestFederate federate )
+	{
+		return federate.isLocalFederate() ||
+		       configuration.getPeers().contains( federate.getFederateName() );
+	}
+
+	/** Should we have received traffic from the federate given the topology (if any)? */
+	private boolean isSource( TestFederate federate )
+	{
+		if( topology == null )
+			return true;
+		else if( federate.isLocalFederate() )
+			return topology.isPublisher( federate.getFederateName() );
+		else
+			return topology.getSources(configuration.getFederateName()).contains( federate.getFederateName() );
 	}
 
 	/**
@@ -112,6 +150,12 @@ public class ThroughputReportGenerator
 
 		// build up the report string
 		int peerCount = configuration.getPeers().size()+1;
+		if( topology != null )
+		{
+			String name = configuration.getFederateName();
+			peerCount = topology.getSources(name).size() + (topology.isPublisher(name) ? 1 : 0);
+		}
+
 		int objectCount = configuration.getObjectCount();
 		int interactionCount = configuration.getInteractionCount();
 		int loopCount = configuration.getLoopCount();
@@ -141,6 +185,12 @@ public class ThroughputReportGenerator
 		int expectedDiscovers = configuration.getObjectCount();
 		int expectedReflects = configuration.getObjectCount() * configuration.getLoopCount();
 		int expectedInteractions = configuration.getInteractionCount() * configuration.getLoopCount();
+		if( isSource(federate) == false )
+		{
+			expectedDiscovers = 0;
+			expectedReflects = 0;
+			expectedInteractions = 0;
+		}
 		String discoverProblem = (actualDiscovers != expectedDiscovers) ? "(!!)" : "";
 		String reflectProblem = (actualReflects != expectedReflects) ? "(!!)" : "";
 		String interactionProblem = (actualInteractions != expectedInteractions) ? "(!!)" : "";
@@ -180,7 +230,7 @@ public class ThroughputReportGenerator
 		for( TestFederate federate : storage.getPeers() )
 		{
 			// skip the local federate - we'll display that separately
-			if( federate.isLocalFederate() == false )
+			if( federate.isLocalFederate() == false && isTestPeer(federate) )
 				logThroughputTableEntry( federate );
 		}
 
@@ -215,6 +265,167 @@ public class ThroughputReportGenerator
 		
 	}
 
+	/**
+	 * When running time-stepped, break each step into the time we spent sending and the time
+	 * we spent waiting for our advance to be granted. The grant wait is the cost the time
+	 * management services add on top of the raw exchange.
+	 */
+	private void printTimeManagement()
+	{
+		LatencySamples sendTimes = storage.getStepSendTimes();
+		LatencySamples waitTimes = storage.getStepWaitTimes();
+		long totalNanos = sendTimes.getTotal() + waitTimes.getTotal();
+		double seconds = totalNanos / 1000000000.0;
+		double simulated = waitTimes.size() * configuration.getTimeStep();
+
+		logger.info( "" );
+		logger.info( " === Time Management ===" );
+		logger.info( "" );
+		logger.info( "   Order:       "+(configuration.isTimestampOrder() ? "Timestamp":"Receive") );
+		logger.info( "   Lookahead:   "+configuration.getLookahead() );
+		logger.info( "   Time Step:   "+configuration.getTimeStep() );
+		logger.info( "   Grants:      "+waitTimes.size() );
+		logger.info( "   Sim Time/s:  "+String.format("%.2f", seconds == 0 ? 0.0 : simulated/seconds) );
+		logger.info( "" );
+		logger.info( "         |---------------------------------------------------------------|" );
+		logger.info( "         |    Phase    |   Total   | Share |  Mean   |   Med   |   95%   |" );
+		logger.info( "         |-------------|-----------|-------|---------|---------|---------|" );
+	  //logger.info( "         | Grant Wait  |     12.3s |  100% |  1234us |  1234us |  1234us |" );
+		logger.info( getPhaseLine("Sending",sendTimes,totalNanos) );
+		logger.info( getPhaseLine("Grant Wait",waitTimes,totalNanos) );
+		logger.info( "         |---------------------------------------------------------------|" );
+		logger.info( "" );
+	}
+
+	/**
+	 * When each federate only subscribes to k of the N publishers, print what sending and
+	 * receiving cost us. Comparing runs with different k and N shows whether the RTI's costs
+	 * follow the traffic we actually have to handle (k) or the size of the federation (N).
+	 */
+	private void printSubscriptionInterest()
+	{
+		String name = configuration.getFederateName();
+		int publishers = 0;
+		for( String federate : topology.getFederates() )
+		{
+			if( topology.isPublisher(federate) )
+				publishers++;
+		}
+
+		TestFederate local = storage.getLocalFederate();
+		long sent = local.getReflectEventCount() + local.getInteractionEventCount();
+		long received = storage.getReflectEventCount() + storage.getInteractionEventCount() - sent;
+		long cpuTime = storage.getThroughputCpuTime();
+
+		logger.info( "" );
+		logger.info( " === Subscription Interest ===" );
+		logger.info( "" );
+		logger.info( "   Publishers (N):    "+publishers );
+		logger.info( "   Subscribed To (k): "+topology.getSources(name).size()+" "+topology.getSources(name) );
+		logger.info( "   Subscribed To Us:  "+topology.getReceivers(name).size() );
+		logger.info( "   Messages Sent:     "+sent );
+		logger.info( "   Messages Received: "+received );
+		logger.info( "   Send Cost:         "+(sent == 0 ? "-" : (storage.getSendTime()/sent)+"ns per message sent") );
+		logger.info( "   CPU Cost:          "+(cpuTime < 0 || (sent+received) == 0 ? "-" :
+		                                      (cpuTime/(sent+received))+"ns per message sent or received") );
+		logger.info( "" );
+		logger.info( "     ** Note: If send cost rises with N while k stays put, senders are paying" );
+		logger.info( "              for federates that never receive anything from them." );
+		logger.info( "" );
+	}
+
+	private String getPhaseLine( String phase, LatencySamples samples, long totalNanos )
+	{
+		return String.format( "         | %-11s | %9s | %4d%% | %7s | %7s | %7s |",
+		                      phase,
+		                      Utils.getLatencyString(samples.getTotal()),
+		                      totalNanos == 0 ? 0 : (int)((samples.getTotal()*100)/totalNanos),
+		                      Utils.getLatencyString(samples.getMean()),
+		                      Utils.getLatencyString(samples.getMedian()),
+		                      Utils.getLatencyString(samples.getPercentile(95.0)) );
+	}
+
+	/**
+	 * Print the number of events received in each second of the run, with any joins or
+	 * resigns marked against the second they happened in. Following that, summarise the dip
+	 * in receive rate around each of those events.
+	 */
+	private void printRateSeries( RateSeries rateSeries )
+	{
+		int[] samples = rateSeries.getSamples();
+		int median = rateSeries.getMedian();
+
+		logger.info( "" );
+		logger.info( " === Receive Rate (per second) ===" );
+		logger.info( "" );
+		logger.info( "         |---------------------------------------------|" );
+		logger.info( "         | Second |  Events/s  | Median |    Event     |" );
+		logger.info( "         |--------|------------|--------|--------------|" );
+	  //logger.info( "         |   1234 |    1234567 |   100% | hperf4 joined" );
+
+		for( int second = 0; second < samples.length; second++ )
+		{
+			String line = String.format( "         | %6d | %10d | %5d%% | %s",
+			                             second+1,
+			                             samples[second],
+			                             median == 0 ? 0 : (samples[second]*100)/median,
+			                             getMarkerString(rateSeries,second) );
+			logger.info( line );
+		}
+
+		logger.info( "         |---------------------------------------------|" );
+		logger.info( "" );
+
+		// summarise the disruption around each event
+		logger.info( " === Disruption (median "+median+" events/s) ===" );
+		logger.info( "" );
+		logger.info( "         |------------------------------------------------------|" );
+		logger.info( "         |         Event          | Second |  Lowest/s  | Below |" );
+		logger.info( "         |------------------------|--------|------------|-------|" );
+	  //logger.info( "         | hperf4 resigned        |   1234 |    1234567 |  123s |" );
+
+		for( RateSeries.Marker marker : rateSeries.getMarkers() )
+		{
+			int second = rateSeries.getSecond( marker );
+			if( second < 0 || second >= samples.length )
+				continue;
+
+			// lowest rate in the few seconds either side of the event
+			int lowest = Integer.MAX_VALUE;
+			for( int i = Math.max(0,second-1); i <= Math.min(samples.length-1,second+5); i++ )
+				lowest = Math.min( lowest, samples[i] );
+
+			// how many seconds from the event until we're back within 10% of the median
+			int below = 0;
+			while( second+below < samples.length && samples[second+below] < median*0.9 )
+				below++;
+
+			String line = String.format( "         | %-22s | %6d | %10d | %4ds |",
+			                             marker.getLabel(),
+			                             second+1,
+			                             lowest,
+			                             below );
+			logger.info( line );
+		}
+
+		logger.info( "         |------------------------------------------------------|" );
+		logger.info( "     ** Note: Below is the number of seconds from the event until the receive" );
+		logger.info( "              rate recovered to within 10% of the median." );
+		logger.info( "" );
+	}
+
+	private String getMarkerString( RateSeries rateSeries, int second )
+	{
+		StringBuilder builder = new StringBuilder();
+		for( RateSeries.Marker marker : rateSeries.getMarkers() )
+		{
+			if( rateSeries.getSecond(marker) == second )
+				builder.append( builder.length() == 0 ? "" : ", " ).append( marker.getLabel() );
+		}
+
+		return builder.toString();
+	}
+
 	private void logThroughputTableEntry( TestFederate federate )
 	{
 		String federateName = federate.isLocalFederate() ? "--us--" : federate.getFederateName();
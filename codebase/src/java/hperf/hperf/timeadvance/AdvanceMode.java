@@ -0,0 +1,56 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.timeadvance;
+
+/**
+ * The time advance services the next event test can drive a federate with.
+ */
+public enum AdvanceMode
+{
+	//----------------------------------------------------------
+	//                        VALUES
+	//----------------------------------------------------------
+	TAR( "timeAdvanceRequest" ),
+	NMR( "nextMessageRequest" ),
+	FQR( "flushQueueRequest" );
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String serviceName;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	private AdvanceMode( String serviceName )
+	{
+		this.serviceName = serviceName;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/** @return The name of the RTIambassador service this mode uses to advance */
+	public String getServiceName()
+	{
+		return this.serviceName;
+	}
+}
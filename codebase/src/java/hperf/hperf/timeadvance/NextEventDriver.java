@@ -0,0 +1,274 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.timeadvance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.log4j.Logger;
+
+import hla.rti1516e.ParameterHandleValueMap;
+import hla.rti1516e.RTIambassador;
+import hla.rti1516e.exceptions.RTIexception;
+import hla.rti1516e.time.HLAfloat64Time;
+import hla.rti1516e.time.HLAfloat64TimeFactory;
+import hperf.FederateAmbassador;
+import hperf.IDriver;
+import hperf.Storage;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+import static hperf.Handles.*;
+
+/**
+ * Runs the same sparse, event-driven TSO workload once for each of the time advance services
+ * in `--advance-modes` (timeAdvanceRequest, nextMessageRequest and flushQueueRequest) so we
+ * can see which one moves a sparse federation through logical time fastest.
+ *
+ * Each federate models a single local event queue. The gap between local events is random
+ * (exponential, with a mean of `--event-gap`) and each time a local event fires we send a
+ * TSO interaction to everyone else stamped at current time + lookahead. We always ask to
+ * advance to our next local event; with NMR and FQR the RTI may grant us earlier than that
+ * when a message arrives (or for FQR, when the queue is flushed), in which case we just ask
+ * again.
+ *
+ * Each run covers `--loops` x `--event-gap` of logical time, so every federate finishes a
+ * run at the same logical time and they stay aligned from one mode to the next.
+ */
+public class NextEventDriver implements IDriver
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private Storage storage;
+	private RTIambassador rtiamb;
+	private FederateAmbassador fedamb;
+
+	private HLAfloat64TimeFactory timeFactory;
+	private Random random;
+	private byte[] payload;
+	private List<NextEventResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public NextEventDriver()
+	{
+		this.logger = null;         // set in configure()
+		this.configuration = null;  // set in configure()
+		this.storage = null;        // set in configure()
+		this.rtiamb = null;         // set in execute()
+		this.fedamb = null;         // set in execute()
+
+		this.timeFactory = null;    // set in execute()
+		this.random = null;         // set in configure()
+		this.payload = null;        // set in configure()
+		this.results = new ArrayList<NextEventResult>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public boolean manageLifecycleManually()
+	{
+		return false;
+	}
+
+	public void execute( RTIambassador rtiamb, FederateAmbassador fedamb ) throws RTIexception
+	{
+		this.rtiamb = rtiamb;
+		this.fedamb = fedamb;
+		this.timeFactory = (HLAfloat64TimeFactory)rtiamb.getTimeFactory();
+
+		enableTimePolicy();
+
+		logger.info( "Waiting for all federates to be ready to start" );
+		rtiamb.synchronizationPointAchieved( "START_NEXT_EVENT_TEST" );
+		while( fedamb.achievedSyncPoints.contains("START_NEXT_EVENT_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+		for( AdvanceMode mode : configuration.getAdvanceModes() )
+		{
+			NextEventResult result = run( mode );
+			results.add( result );
+
+			logger.info( String.format("%s: %.2f time/s, %d grants (%d early), median=%s",
+			                           result.getMode(),
+			                           result.getSimTimePerSecond(),
+			                           result.getGrantLatencies().size(),
+			                           result.getEarlyGrants(),
+			                           Utils.getLatencyString(result.getGrantLatencies().getMedian()).trim()) );
+		}
+
+		// Wait for everyone to finish up
+		rtiamb.synchronizationPointAchieved( "FINISH_NEXT_EVENT_TEST" );
+		while( fedamb.achievedSyncPoints.contains("FINISH_NEXT_EVENT_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 100 );
+
+		logger.info( "Next Event Test Finished" );
+		logger.info( "" );
+
+		new NextEventReportGenerator(configuration,results).printReport();
+	}
+
+	/**
+	 * Run the workload through one slice of logical time using the given advance mode
+	 */
+	private NextEventResult run( AdvanceMode mode ) throws RTIexception
+	{
+		double startTime = fedamb.currentTime;
+		double endTime = startTime + (configuration.getLoopCount() * configuration.getEventGap());
+		NextEventResult result = new NextEventResult( mode, startTime, endTime );
+		int receivedBefore = storage.getInteractionEventCount();
+
+		double nextEvent = startTime + nextGap();
+		result.setStarted( System.nanoTime() );
+		while( fedamb.currentTime < endTime )
+		{
+			double requestedTime = Math.min( nextEvent, endTime );
+			long requested = System.nanoTime();
+			advance( mode, requestedTime );
+			result.getGrantLatencies().add( System.nanoTime()-requested );
+
+			// granted early because there was a message for us, ask again
+			if( fedamb.currentTime < requestedTime )
+			{
+				result.earlyGrant();
+				continue;
+			}
+
+			// our local event has come up - fire it and schedule the next one
+			if( fedamb.currentTime >= nextEvent )
+			{
+				sendEvent();
+				result.eventSent();
+				nextEvent = fedamb.currentTime + nextGap();
+			}
+		}
+
+		result.setFinished( System.nanoTime() );
+		result.setEventsReceived( storage.getInteractionEventCount()-receivedBefore );
+		return result;
+	}
+
+	/** @return Time until our next local event, exponentially distributed around the event gap */
+	private double nextGap()
+	{
+		return -configuration.getEventGap() * Math.log( 1.0-random.nextDouble() );
+	}
+
+	private void sendEvent() throws RTIexception
+	{
+		ParameterHandleValueMap parameters = rtiamb.getParameterHandleValueMapFactory().create(2);
+		parameters.put( PC_TIMED_THROUGHPUT_SENDER, configuration.getFederateName().getBytes() );
+		parameters.put( PC_TIMED_THROUGHPUT_PAYLOAD, payload );
+
+		HLAfloat64Time timestamp = timeFactory.makeTime( fedamb.currentTime+configuration.getLookahead() );
+		rtiamb.sendInteraction( IC_TIMED_THROUGHPUT, parameters, null, timestamp );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////////// Time Policy Methods ///////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	private void enableTimePolicy() throws RTIexception
+	{
+		rtiamb.enableTimeConstrained();
+		rtiamb.enableTimeRegulation( timeFactory.makeInterval(configuration.getLookahead()) );
+		while( fedamb.timeConstrained == false || fedamb.timeRegulating == false )
+			Utils.tickOrSleep( rtiamb, configuration, 500 );
+	}
+
+	/**
+	 * Ask to advance to the given time using the given service and wait for the grant. For
+	 * NMR and FQR the grant may well be for an earlier time than we asked for.
+	 */
+	private void advance( AdvanceMode mode, double requestedTime ) throws RTIexception
+	{
+		int grantCount = fedamb.grantCount;
+		HLAfloat64Time time = timeFactory.makeTime( requestedTime );
+		switch( mode )
+		{
+			case TAR:
+				rtiamb.timeAdvanceRequest( time );
+				break;
+			case NMR:
+				rtiamb.nextMessageRequest( time );
+				break;
+			case FQR:
+				rtiamb.flushQueueRequest( time );
+				break;
+		}
+
+		Utils.waitForGrant( rtiamb, fedamb, configuration, grantCount );
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// IDriver Methods /////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public void configure( Configuration configuration, Storage storage )
+	{
+		this.configuration = configuration;
+		this.storage = storage;
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+
+		// seed from our name so a run can be repeated with the same event pattern
+		this.random = new Random( configuration.getFederateName().hashCode() );
+		this.payload = Utils.generatePayload( configuration.getPacketSize() );
+	}
+
+	@Override
+	public void printWelcomeMessage()
+	{
+		logger.info( " ===================================" );
+		logger.info( " =     Running Next Event Test     =" );
+		logger.info( " ===================================" );
+		logger.info( "" );
+		logger.info( "         Federates = "+(configuration.getPeers().size()+1) );
+		logger.info( "     Advance Modes = "+configuration.getAdvanceModes() );
+		logger.info( "         Lookahead = "+configuration.getLookahead() );
+		logger.info( "    Mean Event Gap = "+configuration.getEventGap() );
+		logger.info( "     Time Per Mode = "+(configuration.getLoopCount()*configuration.getEventGap()) );
+		logger.info( "      Message Size = "+Utils.getSizeString(configuration.getPacketSize()) );
+		logger.info( "" );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public String getName()
+	{
+		return "Next Event Test";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,107 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.timeadvance;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hperf.LatencySamples;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints the logical time progress and grant latency for each advance mode so they can be
+ * compared side by side.
+ */
+public class NextEventReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private List<NextEventResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public NextEventReportGenerator( Configuration configuration, List<NextEventResult> results )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.results = results;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public void printReport()
+	{
+		logger.info( " ==================================" );
+		logger.info( " =     Next Event Test Report     =" );
+		logger.info( " ==================================" );
+		logger.info( "" );
+		logger.info( "   Federates:      "+(configuration.getPeers().size()+1) );
+		logger.info( "   Lookahead:      "+configuration.getLookahead() );
+		logger.info( "   Mean Event Gap: "+configuration.getEventGap() );
+		logger.info( "   Time Per Mode:  "+(configuration.getLoopCount()*configuration.getEventGap()) );
+		logger.info( "" );
+		logger.info( "  |---------------------------------------------------------------------------------------|" );
+		logger.info( "  |      |          |         |         |         |         |    -- Grant Latency --      |" );
+		logger.info( "  | Mode | Time/s   | Grants  |  Early  |  Sent   |  Recv   |  Mean   |   Med   |   95%   |" );
+		logger.info( "  |------|----------|---------|---------|---------|---------|---------|---------|---------|" );
+	  //logger.info( "  |  TAR | 12345.67 | 1234567 | 1234567 | 1234567 | 1234567 |  1234us |  1234us |  1234us |" );
+
+		for( NextEventResult result : results )
+		{
+			LatencySamples latencies = result.getGrantLatencies();
+			String line = String.format( "  | %4s | %8.2f | %7d | %7d | %7d | %7d | %7s | %7s | %7s |",
+			                             result.getMode(),
+			                             result.getSimTimePerSecond(),
+			                             latencies.size(),
+			                             result.getEarlyGrants(),
+			                             result.getEventsSent(),
+			                             result.getEventsReceived(),
+			                             Utils.getLatencyString(latencies.getMean()),
+			                             Utils.getLatencyString(latencies.getMedian()),
+			                             Utils.getLatencyString(latencies.getPercentile(95.0)) );
+			logger.info( line );
+		}
+
+		logger.info( "  |---------------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: Time/s is logical time advanced per wall-clock second. Early grants" );
+		logger.info( "              are those for less than the time we asked for (NMR/FQR only)." );
+		for( NextEventResult result : results )
+			logger.info( "              "+result.getMode()+" = "+result.getMode().getServiceName() );
+		logger.info( "" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
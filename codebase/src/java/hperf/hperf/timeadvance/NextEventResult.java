@@ -0,0 +1,140 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.timeadvance;
+
+import hperf.LatencySamples;
+
+/**
+ * What happened while running the next event workload with a particular advance mode.
+ */
+public class NextEventResult
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private AdvanceMode mode;
+	private double startTime;       // logical time the run started at
+	private double endTime;         // logical time the run finished at
+	private long started;           // wall-clock (nanos)
+	private long finished;          // wall-clock (nanos)
+	private int eventsSent;
+	private int eventsReceived;
+	private int earlyGrants;        // grants short of the time we asked for
+	private LatencySamples grantLatencies;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public NextEventResult( AdvanceMode mode, double startTime, double endTime )
+	{
+		this.mode = mode;
+		this.startTime = startTime;
+		this.endTime = endTime;
+		this.started = 0;
+		this.finished = 0;
+		this.eventsSent = 0;
+		this.eventsReceived = 0;
+		this.earlyGrants = 0;
+		this.grantLatencies = new LatencySamples();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/** @return Logical time advanced per second of wall-clock time */
+	public double getSimTimePerSecond()
+	{
+		long duration = finished - started;
+		if( duration <= 0 )
+			return 0.0;
+		else
+			return (endTime-startTime) / (duration/1000000000.0);
+	}
+
+	public void eventSent()
+	{
+		this.eventsSent++;
+	}
+
+	public void earlyGrant()
+	{
+		this.earlyGrants++;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public AdvanceMode getMode()
+	{
+		return this.mode;
+	}
+
+	/** @return Wall-clock time (nanos) the run took */
+	public long getDuration()
+	{
+		return this.finished - this.started;
+	}
+
+	public void setStarted( long started )
+	{
+		this.started = started;
+	}
+
+	public void setFinished( long finished )
+	{
+		this.finished = finished;
+	}
+
+	public int getEventsSent()
+	{
+		return this.eventsSent;
+	}
+
+	public int getEventsReceived()
+	{
+		return this.eventsReceived;
+	}
+
+	public void setEventsReceived( int eventsReceived )
+	{
+		this.eventsReceived = eventsReceived;
+	}
+
+	/** @return Number of grants that came back earlier than the time we requested */
+	public int getEarlyGrants()
+	{
+		return this.earlyGrants;
+	}
+
+	/** Time (nanos) from each advance request until we were granted */
+	public LatencySamples getGrantLatencies()
+	{
+		return this.grantLatencies;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,200 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.timeadvance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.log4j.Logger;
+
+import hla.rti1516e.RTIambassador;
+import hla.rti1516e.exceptions.RTIexception;
+import hla.rti1516e.time.HLAfloat64TimeFactory;
+import hperf.FederateAmbassador;
+import hperf.IDriver;
+import hperf.Storage;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Measures the raw cost of advancing time: how long it takes from a time advance request
+ * until the grant arrives, and so how many frames per second a time-stepped federation can
+ * manage before it sends any traffic at all.
+ *
+ * Every federate is regulating and constrained, and advances as fast as it can with no
+ * other traffic. For each lookahead in `--lookaheads` we advance `--loops` times, each step
+ * the size of the lookahead. As all federates run through the same sweep they stay in
+ * lock-step without needing to synchronize between lookaheads. Each federate reports on the
+ * grants it received.
+ */
+public class TimeAdvanceDriver implements IDriver
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private Storage storage;
+	private RTIambassador rtiamb;
+	private FederateAmbassador fedamb;
+
+	private HLAfloat64TimeFactory timeFactory;
+	private List<TimeAdvanceResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public TimeAdvanceDriver()
+	{
+		this.logger = null;         // set in configure()
+		this.configuration = null;  // set in configure()
+		this.storage = null;        // set in configure()
+		this.rtiamb = null;         // set in execute()
+		this.fedamb = null;         // set in execute()
+
+		this.timeFactory = null;    // set in execute()
+		this.results = new ArrayList<TimeAdvanceResult>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public boolean manageLifecycleManually()
+	{
+		return false;
+	}
+
+	public void execute( RTIambassador rtiamb, FederateAmbassador fedamb ) throws RTIexception
+	{
+		this.rtiamb = rtiamb;
+		this.fedamb = fedamb;
+		this.timeFactory = (HLAfloat64TimeFactory)rtiamb.getTimeFactory();
+
+		// turn on the time policy using the first lookahead we're going to test
+		List<Double> lookaheads = configuration.getLookaheads();
+		enableTimePolicy( lookaheads.get(0) );
+
+		logger.info( "Waiting for all federates to be ready to start" );
+		rtiamb.synchronizationPointAchieved( "START_TIME_ADVANCE_TEST" );
+		while( fedamb.achievedSyncPoints.contains("START_TIME_ADVANCE_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 10 );
+
+		for( double lookahead : lookaheads )
+		{
+			TimeAdvanceResult result = advance( lookahead );
+			results.add( result );
+
+			logger.info( String.format("Lookahead %s: %d grants, %.0f grants/s, median=%s",
+			                           lookahead,
+			                           result.getGrantLatencies().size(),
+			                           result.getGrantsPerSecond(),
+			                           Utils.getLatencyString(result.getGrantLatencies().getMedian()).trim()) );
+		}
+
+		// Wait for everyone to finish up
+		rtiamb.synchronizationPointAchieved( "FINISH_TIME_ADVANCE_TEST" );
+		while( fedamb.achievedSyncPoints.contains("FINISH_TIME_ADVANCE_TEST") == false )
+			Utils.tickOrSleep( rtiamb, configuration, 100 );
+
+		logger.info( "Time Advance Test Finished" );
+		logger.info( "" );
+
+		new TimeAdvanceReportGenerator(configuration,results).printReport();
+	}
+
+	/**
+	 * Advance `--loops` times using the given lookahead, stepping by the lookahead each time
+	 * and recording how long each request took to be granted.
+	 */
+	private TimeAdvanceResult advance( double lookahead ) throws RTIexception
+	{
+		rtiamb.modifyLookahead( timeFactory.makeInterval(lookahead) );
+
+		int loops = configuration.getLoopCount();
+		TimeAdvanceResult result = new TimeAdvanceResult( lookahead, loops );
+		result.setStarted( System.nanoTime() );
+		for( int i = 0; i < loops; i++ )
+		{
+			int grantCount = fedamb.grantCount;
+			long requested = System.nanoTime();
+			rtiamb.timeAdvanceRequest( timeFactory.makeTime(fedamb.currentTime+lookahead) );
+			Utils.waitForGrant( rtiamb, fedamb, configuration, grantCount );
+			result.getGrantLatencies().add( System.nanoTime()-requested );
+		}
+
+		result.setFinished( System.nanoTime() );
+		return result;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////////// Time Policy Methods ///////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	private void enableTimePolicy( double lookahead ) throws RTIexception
+	{
+		rtiamb.enableTimeConstrained();
+		rtiamb.enableTimeRegulation( timeFactory.makeInterval(lookahead) );
+		while( fedamb.timeConstrained == false || fedamb.timeRegulating == false )
+			Utils.tickOrSleep( rtiamb, configuration, 500 );
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// IDriver Methods /////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public void configure( Configuration configuration, Storage storage )
+	{
+		this.configuration = configuration;
+		this.storage = storage;
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+	}
+
+	@Override
+	public void printWelcomeMessage()
+	{
+		logger.info( " ===================================" );
+		logger.info( " =    Running Time Advance Test    =" );
+		logger.info( " ===================================" );
+		logger.info( "" );
+		logger.info( "         Federates = "+(configuration.getPeers().size()+1) );
+		logger.info( "    Grants Per Run = "+configuration.getLoopCount() );
+		logger.info( "        Lookaheads = "+configuration.getLookaheads() );
+		logger.info( "     Callback Mode = "+(configuration.isImmediateCallback() ? "IMMEDIATE":"EVOKED") );
+		logger.info( "" );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Override
+	public String getName()
+	{
+		return "Time Advance Test";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
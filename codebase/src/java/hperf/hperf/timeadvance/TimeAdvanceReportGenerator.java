@@ -0,0 +1,149 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.timeadvance;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+import hperf.LatencySamples;
+import hperf.Utils;
+import hperf.config.Configuration;
+import hperf.config.LoggingConfigurator;
+
+/**
+ * Prints the grant rate and request-to-grant latency for each lookahead tested, along with
+ * a histogram of those latencies so any long tail shows up.
+ */
+public class TimeAdvanceReportGenerator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	/** Upper bounds (exclusive) of the histogram buckets. Anything above the last is lumped together */
+	private static final long[] BUCKETS = new long[]{ TimeUnit.MICROSECONDS.toNanos(50),
+	                                                  TimeUnit.MICROSECONDS.toNanos(100),
+	                                                  TimeUnit.MICROSECONDS.toNanos(250),
+	                                                  TimeUnit.MICROSECONDS.toNanos(500),
+	                                                  TimeUnit.MILLISECONDS.toNanos(1),
+	                                                  TimeUnit.MILLISECONDS.toNanos(5) };
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Configuration configuration;
+	private List<TimeAdvanceResult> results;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public TimeAdvanceReportGenerator( Configuration configuration, List<TimeAdvanceResult> results )
+	{
+		this.logger = LoggingConfigurator.getLogger( configuration.getFederateName() );
+		this.configuration = configuration;
+		this.results = results;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public void printReport()
+	{
+		logger.info( " ====================================" );
+		logger.info( " =     Time Advance Test Report     =" );
+		logger.info( " ====================================" );
+		logger.info( "" );
+		logger.info( "   Federates:     "+(configuration.getPeers().size()+1) );
+		logger.info( "   Callback Mode: "+(configuration.isImmediateCallback() ? "Immediate":"Evoked") );
+		logger.info( "" );
+		logger.info( "  |----------------------------------------------------------------------------------|" );
+		logger.info( "  | Lookahead | Grants  | Grants/s |  Mean   |   Med   |   95%   |   99%   |   Max   |" );
+		logger.info( "  |-----------|---------|----------|---------|---------|---------|---------|---------|" );
+	  //logger.info( "  |     0.001 | 1234567 | 12345678 |  1234us |  1234us |  1234us |  1234us |  1234us |" );
+
+		for( TimeAdvanceResult result : results )
+		{
+			LatencySamples latencies = result.getGrantLatencies();
+			String line = String.format( "  | %9s | %7d | %8d | %7s | %7s | %7s | %7s | %7s |",
+			                             result.getLookahead(),
+			                             latencies.size(),
+			                             (int)result.getGrantsPerSecond(),
+			                             Utils.getLatencyString(latencies.getMean()),
+			                             Utils.getLatencyString(latencies.getMedian()),
+			                             Utils.getLatencyString(latencies.getPercentile(95.0)),
+			                             Utils.getLatencyString(latencies.getPercentile(99.0)),
+			                             Utils.getLatencyString(latencies.getMax()) );
+			logger.info( line );
+		}
+
+		logger.info( "  |----------------------------------------------------------------------------------|" );
+		logger.info( "     ** Note: Latency is from timeAdvanceRequest() until we see the grant. Each" );
+		logger.info( "              step advances time by the lookahead." );
+		logger.info( "" );
+
+		printHistogram();
+	}
+
+	/**
+	 * Print the share of grants that landed in each latency bucket for each lookahead
+	 */
+	private void printHistogram()
+	{
+		logger.info( " === Request to Grant Latency Histogram ===" );
+		logger.info( "" );
+		logger.info( "  |---------------------------------------------------------------------------------|" );
+		logger.info( "  | Lookahead |  <50us  | <100us  | <250us  | <500us  |  <1ms   |  <5ms   |  >=5ms  |" );
+		logger.info( "  |-----------|---------|---------|---------|---------|---------|---------|---------|" );
+	  //logger.info( "  |     0.001 |  100.0% |  100.0% |  100.0% |  100.0% |  100.0% |  100.0% |  100.0% |" );
+
+		for( TimeAdvanceResult result : results )
+		{
+			LatencySamples latencies = result.getGrantLatencies();
+			StringBuilder line = new StringBuilder( String.format("  | %9s |",result.getLookahead()) );
+
+			int below = 0;
+			for( long bucket : BUCKETS )
+			{
+				int count = latencies.getCountBelow( bucket );
+				line.append( String.format(" %6.1f%% |",getPercentage(count-below,latencies.size())) );
+				below = count;
+			}
+
+			line.append( String.format(" %6.1f%% |",getPercentage(latencies.size()-below,latencies.size())) );
+			logger.info( line.toString() );
+		}
+
+		logger.info( "  |---------------------------------------------------------------------------------|" );
+		logger.info( "" );
+	}
+
+	private double getPercentage( int count, int total )
+	{
+		return total == 0 ? 0.0 : (count*100.0)/total;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
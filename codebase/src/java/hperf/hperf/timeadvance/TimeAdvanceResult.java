@@ -0,0 +1,94 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.timeadvance;
+
+import hperf.LatencySamples;
+
+/**
+ * The request-to-grant latencies recorded while advancing with a particular lookahead.
+ */
+public class TimeAdvanceResult
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private double lookahead;
+	private LatencySamples grantLatencies; // timeAdvanceRequest -> timeAdvanceGrant
+	private long started;
+	private long finished;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public TimeAdvanceResult( double lookahead, int grantCount )
+	{
+		this.lookahead = lookahead;
+		this.grantLatencies = new LatencySamples( grantCount );
+		this.started = 0;
+		this.finished = 0;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/** @return Grants we received per second of wall-clock time, or 0 if we got none */
+	public double getGrantsPerSecond()
+	{
+		long duration = finished - started;
+		if( duration <= 0 )
+			return 0.0;
+		else
+			return grantLatencies.size() / (duration/1000000000.0);
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/** @return The lookahead (and so the size of each step) in force for these grants */
+	public double getLookahead()
+	{
+		return this.lookahead;
+	}
+
+	/** Time (nanos) from each time advance request until we were granted */
+	public LatencySamples getGrantLatencies()
+	{
+		return this.grantLatencies;
+	}
+
+	public void setStarted( long started )
+	{
+		this.started = started;
+	}
+
+	public void setFinished( long finished )
+	{
+		this.finished = finished;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,220 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.topology;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import hperf.config.Configuration;
+
+/**
+ * Works out who sends throughput test traffic to whom. The {@link TopologyShape} decides which
+ * federates are connected, then the roles trim that down: a publish-only federate never
+ * receives and a subscribe-only federate never sends. Finally, if `--subscribe-count` is
+ * set, each federate only subscribes to that many of the federates left that could send to
+ * it, picked at random. The pick is seeded from `--subscribe-seed` and the receiver's name so
+ * that every federate works out the same answer for everyone.
+ *
+ * The RTI can only route by class, so each federate gets a subclass of its own under
+ * `TestObject` and `ThroughputInteraction` (see {@link #getObjectClassName(String)}). Senders
+ * publish their own subclass and receivers subscribe to the subclasses of the federates that
+ * send to them. The subclasses live in a generated FOM module, so every federate has to be
+ * started with the same topology settings and the same set of federates.
+ */
+public class Topology
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private TopologyShape shape;
+	private List<String> federates; // everyone in the test, sorted so we all agree on position
+	private List<String> publishOnly;
+	private List<String> subscribeOnly;
+	private int subscribeCount;                 // 0 if receivers take everyone the shape allows
+	private long subscribeSeed;
+	private Map<String,List<String>> subscribed; // receiver to picked senders, filled as needed
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public Topology( Configuration configuration )
+	{
+		this.shape = TopologyShape.valueOf( configuration.getTopology() );
+		this.federates = new ArrayList<String>( configuration.getPeers() );
+		this.federates.add( configuration.getFederateName() );
+		Collections.sort( this.federates );
+		this.publishOnly = configuration.getPublishOnly();
+		this.subscribeOnly = configuration.getSubscribeOnly();
+		this.subscribeCount = configuration.getSubscribeCount();
+		this.subscribeSeed = configuration.getSubscribeSeed();
+		this.subscribed = new HashMap<String,List<String>>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * @return True if traffic from the first federate should reach the second
+	 */
+	public boolean sendsTo( String sender, String receiver )
+	{
+		if( isConnected(sender,receiver) == false )
+			return false;
+		else if( subscribeCount > 0 )
+			return getSubscribed(receiver).contains( sender );
+		else
+			return true;
+	}
+
+	/**
+	 * @return True if the shape and roles allow traffic from the first federate to the second
+	 */
+	private boolean isConnected( String sender, String receiver )
+	{
+		if( sender.equals(receiver) ||
+		    subscribeOnly.contains(sender) ||
+		    publishOnly.contains(receiver) )
+			return false;
+
+		int from = federates.indexOf( sender );
+		int to = federates.indexOf( receiver );
+		switch( shape )
+		{
+			case STAR:
+				return from == 0 || to == 0;
+			case RING:
+				return to == (from+1) % federates.size();
+			case PAIRS:
+				// an odd federate out is left on its own
+				return from/2 == to/2;
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * @return The `--subscribe-count` senders the receiver picked from those it is connected to
+	 */
+	private List<String> getSubscribed( String receiver )
+	{
+		List<String> picked = subscribed.get( receiver );
+		if( picked == null )
+		{
+			picked = new ArrayList<String>();
+			for( String sender : federates )
+			{
+				if( isConnected(sender,receiver) )
+					picked.add( sender );
+			}
+
+			Collections.shuffle( picked, new Random(subscribeSeed ^ receiver.hashCode()) );
+			picked = new ArrayList<String>( picked.subList(0,Math.min(subscribeCount,picked.size())) );
+			subscribed.put( receiver, picked );
+		}
+
+		return picked;
+	}
+
+	/**
+	 * @return True if the federate sends to anyone at all, and so needs to publish
+	 */
+	public boolean isPublisher( String federate )
+	{
+		for( String receiver : federates )
+		{
+			if( sendsTo(federate,receiver) )
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return The federates that the given federate's traffic should reach
+	 */
+	public List<String> getReceivers( String federate )
+	{
+		List<String> receivers = new ArrayList<String>();
+		for( String receiver : federates )
+		{
+			if( sendsTo(federate,receiver) )
+				receivers.add( receiver );
+		}
+
+		return receivers;
+	}
+
+	/**
+	 * @return The federates whose traffic should reach the given federate
+	 */
+	public List<String> getSources( String federate )
+	{
+		List<String> sources = new ArrayList<String>();
+		for( String sender : federates )
+		{
+			if( sendsTo(sender,federate) )
+				sources.add( sender );
+		}
+
+		return sources;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Accessor and Mutator Methods ///////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public TopologyShape getShape()
+	{
+		return this.shape;
+	}
+
+	public List<String> getFederates()
+	{
+		return this.federates;
+	}
+
+	public int getSubscribeCount()
+	{
+		return this.subscribeCount;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	/** @return The name of the TestObject subclass the given federate registers */
+	public static String getObjectClassName( String federate )
+	{
+		return "HLAobjectRoot.TestObject."+federate;
+	}
+
+	/** @return The name of the ThroughputInteraction subclass the given federate sends */
+	public static String getInteractionClassName( String federate )
+	{
+		return "HLAinteractionRoot.ThroughputInteraction."+federate;
+	}
+}
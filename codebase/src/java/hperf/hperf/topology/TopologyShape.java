@@ -0,0 +1,64 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.topology;
+
+/**
+ * The shapes the throughput test traffic can take. Federates are placed in order of name so
+ * that everyone agrees on who sits where.
+ */
+public enum TopologyShape
+{
+	//----------------------------------------------------------
+	//                        VALUES
+	//----------------------------------------------------------
+	/** Everyone sends to everyone (the default) */
+	MESH( "Mesh" ),
+
+	/** The first federate is the hub. It sends to everyone, and everyone sends only to it */
+	STAR( "Star" ),
+
+	/** Each federate sends to the next, and the last sends back to the first */
+	RING( "Ring" ),
+
+	/** Federates are paired off (first and second, third and fourth, ...) and only talk in pairs */
+	PAIRS( "Pairs" );
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String label;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	private TopologyShape( String label )
+	{
+		this.label = label;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public String getLabel()
+	{
+		return this.label;
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+import org.testng.ITestResult;
+import org.testng.TestListenerAdapter;
+
+/**
+ * TestNG listener used by the `java-test` build macro. Prints a single line for each test
+ * as it completes so that a failure is easy to spot in the build output.
+ */
+public class SimpleTestLogger extends TestListenerAdapter
+{
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@Override
+	public void onTestSuccess( ITestResult result )
+	{
+		log( "PASSED", result );
+	}
+
+	@Override
+	public void onTestFailure( ITestResult result )
+	{
+		log( "FAILED", result );
+		if( result.getThrowable() != null )
+			result.getThrowable().printStackTrace( System.out );
+	}
+
+	@Override
+	public void onTestSkipped( ITestResult result )
+	{
+		log( "SKIPPED", result );
+	}
+
+	private void log( String status, ITestResult result )
+	{
+		System.out.println( String.format("[%-7s] %s.%s",
+		                                  status,
+		                                  result.getTestClass().getRealClass().getSimpleName(),
+		                                  result.getName()) );
+	}
+}
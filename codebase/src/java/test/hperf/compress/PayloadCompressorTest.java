@@ -0,0 +1,151 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.compress;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Compression round trips for each kind of payload content, including payloads that aren't
+ * the size the receiver expected.
+ */
+@Test(groups={"compress"})
+public class PayloadCompressorTest
+{
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	private void roundTrip( PayloadContent content, int size )
+	{
+		PayloadCompressor compressor = new PayloadCompressor( 6 );
+		byte[] payload = content.generate( size, 3 );
+		byte[] wire = compressor.compress( payload );
+		Assert.assertEquals( compressor.decompress(wire,size), payload,
+		                     content+" payload of "+size+" bytes did not survive" );
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////////// Round Trips /////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	@Test
+	public void testRoundTripPattern()
+	{
+		for( int size : new int[]{ 1, 100, 1024, 65536 } )
+			roundTrip( PayloadContent.PATTERN, size );
+	}
+
+	@Test
+	public void testRoundTripText()
+	{
+		for( int size : new int[]{ 1, 100, 1024, 65536 } )
+			roundTrip( PayloadContent.TEXT, size );
+	}
+
+	@Test
+	public void testRoundTripRandom()
+	{
+		for( int size : new int[]{ 1, 100, 1024, 65536 } )
+			roundTrip( PayloadContent.RANDOM, size );
+	}
+
+	@Test
+	public void testEmptyPayload()
+	{
+		PayloadCompressor compressor = new PayloadCompressor( 6 );
+		byte[] wire = compressor.compress( new byte[0] );
+		Assert.assertEquals( compressor.decompress(wire,0).length, 0 );
+	}
+
+	@Test
+	public void testPatternCompresses()
+	{
+		PayloadCompressor compressor = new PayloadCompressor( 6 );
+		Assert.assertTrue( compressor.compress(PayloadContent.PATTERN.generate(1024,0)).length < 100 );
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////////// Unexpected Sizes ///////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	@Test
+	public void testLargerThanExpected()
+	{
+		PayloadCompressor compressor = new PayloadCompressor( 6 );
+		byte[] payload = PayloadContent.TEXT.generate( 5000, 1 );
+		Assert.assertEquals( compressor.decompress(compressor.compress(payload),100), payload );
+	}
+
+	@Test
+	public void testSmallerThanExpected()
+	{
+		PayloadCompressor compressor = new PayloadCompressor( 6 );
+		byte[] payload = PayloadContent.TEXT.generate( 100, 1 );
+		Assert.assertEquals( compressor.decompress(compressor.compress(payload),5000), payload );
+	}
+
+	@Test
+	public void testVaryingSizes()
+	{
+		// sizes going up and down must each come back whole, whatever the buffer was left at
+		PayloadCompressor compressor = new PayloadCompressor( 6 );
+		for( int size : new int[]{ 500, 100, 2000, 100, 500 } )
+		{
+			byte[] payload = PayloadContent.TEXT.generate( size, size );
+			Assert.assertEquals( compressor.decompress(compressor.compress(payload),size), payload );
+		}
+	}
+
+	@Test
+	public void testExpectedSizeReusesBuffer()
+	{
+		PayloadCompressor compressor = new PayloadCompressor( 6 );
+		byte[] first = compressor.decompress( compressor.compress(new byte[256]), 256 );
+		byte[] second = compressor.decompress( compressor.compress(new byte[256]), 256 );
+		Assert.assertSame( first, second );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testCorruptPayload()
+	{
+		PayloadCompressor compressor = new PayloadCompressor( 6 );
+		byte[] wire = compressor.compress( PayloadContent.TEXT.generate(1024,0) );
+		wire[0] = 0; // break the zlib header
+		compressor.decompress( wire, 1024 );
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////////// Statistics //////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	@Test
+	public void testStatistics()
+	{
+		PayloadCompressor compressor = new PayloadCompressor( 6 );
+		byte[] wire = compressor.compress( new byte[1000] );
+		compressor.decompress( wire, 1000 );
+		compressor.decompress( wire, 1000 );
+
+		Assert.assertEquals( compressor.getCompressedCount(), 1 );
+		Assert.assertEquals( compressor.getCompressedRawBytes(), 1000 );
+		Assert.assertEquals( compressor.getCompressedWireBytes(), wire.length );
+		Assert.assertEquals( compressor.getDecompressedCount(), 2 );
+		Assert.assertEquals( compressor.getDecompressedRawBytes(), 2000 );
+		Assert.assertEquals( compressor.getDecompressedWireBytes(), 2*wire.length );
+	}
+}
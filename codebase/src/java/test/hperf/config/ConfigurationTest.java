@@ -0,0 +1,292 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import hperf.compress.PayloadContent;
+import hperf.ownership.OwnershipMode;
+import hperf.timeadvance.AdvanceMode;
+
+/**
+ * Command line parsing and validation. None of this needs an RTI.
+ */
+@Test(groups={"config"})
+public class ConfigurationTest
+{
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	private Configuration parse( String... args )
+	{
+		Configuration configuration = new Configuration();
+		configuration.loadCommandLine( args );
+		return configuration;
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////////// General Parsing ////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testUnknownArgument()
+	{
+		parse( "--not-an-argument" );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testMissingValue()
+	{
+		parse( "--loops", "--sender" );
+	}
+
+	@Test
+	public void testLateJoinTest()
+	{
+		Configuration configuration = parse( "--late-join-test", "--sender", "--peers", "one,two" );
+		Assert.assertTrue( configuration.isLateJoinTestEnabled() );
+		Assert.assertTrue( configuration.isSender() );
+		Assert.assertEquals( configuration.getPeers(), Arrays.asList("one","two") );
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////////// Size Parsing /////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	@Test
+	public void testPacketSizeUnits()
+	{
+		Assert.assertEquals( parse("--packet-size","100").getPacketSize(), 100 );
+		Assert.assertEquals( parse("--packet-size","100B").getPacketSize(), 100 );
+		Assert.assertEquals( parse("--packet-size","64K").getPacketSize(), 64*1024 );
+		Assert.assertEquals( parse("--packet-size","2M").getPacketSize(), 2*1024*1024 );
+	}
+
+	@Test
+	public void testLargestSize()
+	{
+		Assert.assertEquals( parse("--packet-size","2047M").getPacketSize(), 2047*1024*1024 );
+		Assert.assertEquals( parse("--packet-size",""+Integer.MAX_VALUE).getPacketSize(),
+		                     Integer.MAX_VALUE );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testSizeOverflowMegabytes()
+	{
+		// 2048M is exactly 2^31, which used to wrap around to a negative size
+		parse( "--packet-size", "2048M" );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testSizeOverflowKilobytes()
+	{
+		parse( "--bulk-sizes", "1K,4194304K" );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testSizeOverflowBytes()
+	{
+		parse( "--payload-pool", "3000000000" );
+	}
+
+	@Test
+	public void testSizeLists()
+	{
+		Configuration configuration = parse( "--bulk-sizes", "1K, 4M", "--chunk-sizes", "512" );
+		Assert.assertEquals( configuration.getBulkSizes(), Arrays.asList(1024,4*1024*1024) );
+		Assert.assertEquals( configuration.getChunkSizes(), Arrays.asList(512) );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testSizeListRejectsZero()
+	{
+		parse( "--chunk-sizes", "1K,0" );
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////////// Payload Options ////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	@Test
+	public void testCompression()
+	{
+		Configuration configuration = parse( "--throughput-test", "--compress", "6", "--payload-content", "text" );
+		Assert.assertTrue( configuration.isCompressionEnabled() );
+		Assert.assertEquals( configuration.getCompressLevel(), 6 );
+		Assert.assertEquals( configuration.getPayloadContent(), PayloadContent.TEXT );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testCompressionLevelRange()
+	{
+		parse( "--compress", "10" );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testUnknownPayloadContent()
+	{
+		parse( "--payload-content", "noise" );
+	}
+
+	@Test
+	public void testEncryption()
+	{
+		// only the throughput and latency tests support encryption
+		Assert.assertFalse( parse("--encrypt").isEncryptionEnabled() );
+		Assert.assertTrue( parse("--latency-test","--encrypt").isEncryptionEnabled() );
+
+		// giving a key turns encryption on, and mustn't be mistaken for --encrypt
+		Configuration configuration = parse( "--latency-test", "--encrypt-key", "secret" );
+		Assert.assertTrue( configuration.isEncryptionEnabled() );
+		Assert.assertEquals( configuration.getEncryptKey(), "secret" );
+	}
+
+	@Test
+	public void testEntityPayload()
+	{
+		Configuration configuration = parse( "--throughput-test", "--entity-payload", "--articulated-parts", "4" );
+		Assert.assertTrue( configuration.isEntityPayloadEnabled() );
+		Assert.assertEquals( configuration.getArticulatedParts(), 4 );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testNegativeArticulatedParts()
+	{
+		parse( "--articulated-parts", "-1" );
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// Test Options //////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	@Test
+	public void testLookaheads()
+	{
+		Assert.assertEquals( parse("--lookaheads","0.5,1,2").getLookaheads(), Arrays.asList(0.5,1.0,2.0) );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testLookaheadsMustBePositive()
+	{
+		parse( "--lookaheads", "1,0" );
+	}
+
+	@Test
+	public void testTimestampOrder()
+	{
+		Configuration configuration = parse( "--tso", "--lookahead", "0.5", "--time-step", "2" );
+		Assert.assertTrue( configuration.isTimestepped() );
+		Assert.assertTrue( configuration.isTimestampOrder() );
+		Assert.assertEquals( configuration.getLookahead(), 0.5, 0.0 );
+		Assert.assertEquals( configuration.getTimeStep(), 2.0, 0.0 );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testTimestampOrderStepShorterThanLookahead()
+	{
+		// order of the arguments shouldn't matter
+		parse( "--time-step", "0.5", "--lookahead", "1", "--tso" );
+	}
+
+	@Test
+	public void testTimesteppedStepShorterThanLookahead()
+	{
+		// without TSO traffic nothing waits on the lookahead, so this is fine
+		Assert.assertEquals( parse("--timestepped","--time-step","0.5").getTimeStep(), 0.5, 0.0 );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testLookaheadMustBePositive()
+	{
+		parse( "--lookahead", "0" );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testTimeStepMustBePositive()
+	{
+		parse( "--time-step", "-1" );
+	}
+
+	@Test
+	public void testAdvanceModes()
+	{
+		Assert.assertEquals( parse().getAdvanceModes(),
+		                     Arrays.asList(AdvanceMode.TAR,AdvanceMode.NMR,AdvanceMode.FQR) );
+		Assert.assertEquals( parse("--advance-modes","fqr, tar").getAdvanceModes(),
+		                     Arrays.asList(AdvanceMode.FQR,AdvanceMode.TAR) );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testUnknownAdvanceMode()
+	{
+		parse( "--advance-modes", "TAR,TARA" );
+	}
+
+	@Test
+	public void testOwnershipModes()
+	{
+		Assert.assertEquals( parse().getOwnershipModes(),
+		                     Arrays.asList(OwnershipMode.NEGOTIATED,
+		                                   OwnershipMode.ACQUISITION,
+		                                   OwnershipMode.UNCONDITIONAL) );
+		Assert.assertEquals( parse("--ownership-modes","unconditional").getOwnershipModes(),
+		                     Arrays.asList(OwnershipMode.UNCONDITIONAL) );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testUnknownOwnershipMode()
+	{
+		parse( "--ownership-modes", "NEGOTIATED,STOLEN" );
+	}
+
+	@Test
+	public void testDdmGrid()
+	{
+		Assert.assertEquals( parse("--ddm-grid","1").getDdmGridSize(), 1 );
+		Assert.assertEquals( parse("--ddm-grid","16").getDdmGridSize(), 16 );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testDdmGridMustBePositive()
+	{
+		parse( "--ddm-grid", "0" );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testUnknownTopology()
+	{
+		parse( "--topology", "tree" );
+	}
+
+	@Test
+	public void testCopyKeepsOptions()
+	{
+		Configuration configuration = parse( "--throughput-test",
+		                                     "--compress", "3",
+		                                     "--encrypt-key", "secret",
+		                                     "--entity-payload" );
+		Configuration copy = configuration.copy( "hperf2", new ArrayList<String>() );
+		Assert.assertEquals( copy.getFederateName(), "hperf2" );
+		Assert.assertEquals( copy.getCompressLevel(), 3 );
+		Assert.assertEquals( copy.getEncryptKey(), "secret" );
+		Assert.assertTrue( copy.isEntityPayloadEnabled() );
+	}
+}
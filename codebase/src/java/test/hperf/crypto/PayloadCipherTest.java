@@ -0,0 +1,140 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.crypto;
+
+import java.util.Arrays;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import hperf.Utils;
+
+/**
+ * AES-GCM round trips between two federates sharing a passphrase, and the ways a payload
+ * should fail to authenticate.
+ */
+@Test(groups={"crypto"})
+public class PayloadCipherTest
+{
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////////// Round Trips /////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	@Test
+	public void testRoundTrip()
+	{
+		PayloadCipher sender = new PayloadCipher( "passphrase" );
+		PayloadCipher receiver = new PayloadCipher( "passphrase" );
+		for( int size : new int[]{ 0, 1, 100, 1024, 65536 } )
+		{
+			byte[] payload = Utils.generatePayload( size, 7 );
+			byte[] wire = sender.encrypt( payload );
+			Assert.assertEquals( wire.length, PayloadCipher.NONCE_SIZE+size+PayloadCipher.TAG_SIZE );
+			Assert.assertEquals( receiver.decrypt(wire), payload, size+" byte payload did not survive" );
+		}
+	}
+
+	@Test
+	public void testNonceChangesEachMessage()
+	{
+		PayloadCipher cipher = new PayloadCipher( "passphrase" );
+		byte[] payload = Utils.generatePayload( 64, 0 );
+		byte[] first = cipher.encrypt( payload );
+		byte[] second = cipher.encrypt( payload );
+		Assert.assertFalse( Arrays.equals(Arrays.copyOf(first,PayloadCipher.NONCE_SIZE),
+		                                  Arrays.copyOf(second,PayloadCipher.NONCE_SIZE)) );
+		Assert.assertFalse( Arrays.equals(first,second) );
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// Authentication ////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testTamperedCiphertext()
+	{
+		PayloadCipher cipher = new PayloadCipher( "passphrase" );
+		byte[] wire = cipher.encrypt( Utils.generatePayload(100,0) );
+		wire[PayloadCipher.NONCE_SIZE+10] ^= 0x01;
+		cipher.decrypt( wire );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testTamperedNonce()
+	{
+		PayloadCipher cipher = new PayloadCipher( "passphrase" );
+		byte[] wire = cipher.encrypt( Utils.generatePayload(100,0) );
+		wire[0] ^= 0x01;
+		cipher.decrypt( wire );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testWrongKey()
+	{
+		byte[] wire = new PayloadCipher("passphrase").encrypt( Utils.generatePayload(100,0) );
+		new PayloadCipher( "another" ).decrypt( wire );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testTooShort()
+	{
+		new PayloadCipher( "passphrase" ).decrypt( new byte[PayloadCipher.NONCE_SIZE] );
+	}
+
+	@Test
+	public void testFailureNotCounted()
+	{
+		PayloadCipher cipher = new PayloadCipher( "passphrase" );
+		byte[] wire = cipher.encrypt( Utils.generatePayload(100,0) );
+		wire[wire.length-1] ^= 0x01;
+		try
+		{
+			cipher.decrypt( wire );
+			Assert.fail( "Tampered tag was accepted" );
+		}
+		catch( RuntimeException re )
+		{
+			// expected
+		}
+
+		Assert.assertEquals( cipher.getEncryptedCount(), 1 );
+		Assert.assertEquals( cipher.getDecryptedCount(), 0 );
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////////// Statistics //////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	@Test
+	public void testStatistics()
+	{
+		PayloadCipher cipher = new PayloadCipher( "passphrase" );
+		byte[] first = cipher.encrypt( new byte[100] );
+		byte[] second = cipher.encrypt( new byte[200] );
+		cipher.decrypt( first );
+
+		int overhead = PayloadCipher.NONCE_SIZE + PayloadCipher.TAG_SIZE;
+		Assert.assertEquals( cipher.getEncryptedCount(), 2 );
+		Assert.assertEquals( cipher.getEncryptedPlainBytes(), 300 );
+		Assert.assertEquals( cipher.getEncryptedWireBytes(), first.length+second.length );
+		Assert.assertEquals( cipher.getEncryptedWireBytes(), 300+2*overhead );
+		Assert.assertEquals( cipher.getDecryptedCount(), 1 );
+		Assert.assertEquals( cipher.getDecryptedPlainBytes(), 100 );
+		Assert.assertEquals( cipher.getDecryptedWireBytes(), 100+overhead );
+	}
+}
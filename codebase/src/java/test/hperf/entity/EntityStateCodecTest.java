@@ -0,0 +1,138 @@
+/*
+ *   Copyright 2015 The OpenLVC Group
+ *
+ *   This file is part of hperf.
+ *
+ *   NOTICE:  All information contained herein is, and remains
+ *            the property of The OpenLVC Group.
+ *            The intellectual and technical concepts contained
+ *            herein are proprietary to The OpenLVC Group.
+ *            Dissemination of this information or reproduction of
+ *            this material is strictly forbidden unless prior written
+ *            permission is obtained from The OpenLVC Group.
+ *
+ *   Unless required by applicable law or agreed to in writing,
+ *   software distributed under the License is distributed on an
+ *   "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *   KIND, either express or implied.  See the License for the
+ *   specific language governing permissions and limitations
+ *   under the License.
+ */
+package hperf.entity;
+
+import java.util.Arrays;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import hla.rti1516e.RtiFactoryFactory;
+import hla.rti1516e.encoding.EncoderFactory;
+
+/**
+ * Entity state records encoded by one federate and decoded by another. This only needs the
+ * RTI's encoder factory, not a running RTI.
+ */
+@Test(groups={"entity"})
+public class EntityStateCodecTest
+{
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private EncoderFactory factory;
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeClass(alwaysRun=true)
+	public void beforeClass() throws Exception
+	{
+		this.factory = RtiFactoryFactory.getRtiFactory().getEncoderFactory();
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////////// Round Trips /////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	@Test
+	public void testRoundTrip()
+	{
+		EntityStateCodec sender = new EntityStateCodec( factory, 4, (short)1 );
+		EntityStateCodec receiver = new EntityStateCodec( factory, 4, (short)2 );
+		long total = 0;
+		for( int i = 0; i < 10; i++ )
+		{
+			byte[] bytes = sender.encode();
+			receiver.decode( bytes );
+			total += bytes.length;
+		}
+
+		Assert.assertEquals( receiver.getDecodedCount(), 10 );
+		Assert.assertEquals( receiver.getDecodedBytes(), total );
+	}
+
+	@Test
+	public void testEntityMoves()
+	{
+		EntityStateCodec codec = new EntityStateCodec( factory, 2, (short)1 );
+		byte[] first = codec.encode();
+		byte[] second = codec.encode();
+		Assert.assertEquals( first.length, second.length );
+		Assert.assertFalse( Arrays.equals(first,second) );
+	}
+
+	@Test
+	public void testEncodedLength()
+	{
+		for( int parts : new int[]{ 0, 1, 10 } )
+		{
+			EntityStateCodec codec = new EntityStateCodec( factory, parts, (short)1 );
+			Assert.assertEquals( codec.encode().length, codec.getEncodedLength() );
+			Assert.assertEquals( codec.encode().length, codec.getEncodedLength() );
+		}
+	}
+
+	@Test
+	public void testMorePartsMeansLarger()
+	{
+		int none = new EntityStateCodec( factory, 0, (short)1 ).getEncodedLength();
+		int some = new EntityStateCodec( factory, 5, (short)1 ).getEncodedLength();
+		Assert.assertTrue( some > none );
+	}
+
+	@Test
+	public void testDecodeDifferentParts()
+	{
+		// the decoding tree resizes to fit, whatever we were told to send
+		EntityStateCodec sender = new EntityStateCodec( factory, 6, (short)1 );
+		EntityStateCodec receiver = new EntityStateCodec( factory, 2, (short)2 );
+		receiver.decode( sender.encode() );
+		receiver.decode( new EntityStateCodec(factory,1,(short)3).encode() );
+		Assert.assertEquals( receiver.getDecodedCount(), 2 );
+	}
+
+	@Test(expectedExceptions=RuntimeException.class)
+	public void testDecodeTruncated()
+	{
+		EntityStateCodec codec = new EntityStateCodec( factory, 3, (short)1 );
+		byte[] bytes = codec.encode();
+		codec.decode( Arrays.copyOf(bytes,bytes.length/2) );
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////////// Statistics //////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	@Test
+	public void testStatistics()
+	{
+		EntityStateCodec codec = new EntityStateCodec( factory, 3, (short)1 );
+		byte[] bytes = codec.encode();
+		codec.encode();
+		codec.decode( bytes );
+
+		Assert.assertEquals( codec.getParts(), 3 );
+		Assert.assertEquals( codec.getEncodedCount(), 2 );
+		Assert.assertEquals( codec.getEncodedBytes(), 2*bytes.length );
+		Assert.assertEquals( codec.getDecodedCount(), 1 );
+		Assert.assertEquals( codec.getDecodedBytes(), bytes.length );
+	}
+}